@@ -7,6 +7,7 @@ import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 
 import com.phuonghieuto.backend.api_gateway.filter.JwtAuthenticationFilter;
 
@@ -25,9 +26,17 @@ public class GatewayConfig {
                         "/api/v1/notifications/api-docs", "/api/v1/ws-notifications/**", "/api/v1/login-page",
                         "/api/v1/oauth2/**", "/api/v1/board-invitations/token/*");
 
+        // Bulk user lookups auth-service answers for the other services only, never routed from outside
+        private final List<String> INTERNAL_ENDPOINTS = Arrays.asList("/api/v1/users/directory", "/api/v1/users/emails",
+                        "/api/v1/users/by-emails", "/api/v1/users/profiles");
+
         @Bean
         public RouteLocator routes(RouteLocatorBuilder builder) {
-                return builder.routes().route("auth-service", r -> r.path("/api/v1/auth/**").uri("lb://auth-service"))
+                return builder.routes()
+                                .route("auth-service-internal", r -> r.order(-1)
+                                                .path(INTERNAL_ENDPOINTS.toArray(String[]::new))
+                                                .filters(f -> f.setStatus(HttpStatus.NOT_FOUND)).uri("no://op"))
+                                .route("auth-service", r -> r.path("/api/v1/auth/**").uri("lb://auth-service"))
                                 .route("auth-service", r -> r.path("/api/v1/users/**").filters(
                                                 f -> f.filter(jwtAuthFilter.apply(new JwtAuthenticationFilter.Config()
                                                                 .setPublicEndpoints(PUBLIC_ENDPOINTS))))
@@ -0,0 +1,31 @@
+package com.phuonghieuto.backend.api_gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.phuonghieuto.backend.api_gateway.service.IdentityHeaderService;
+
+import reactor.core.publisher.Mono;
+
+// Drops identity headers sent by clients on every route, only JwtAuthenticationFilter may set one
+@Component
+public class IdentityHeaderStripFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!exchange.getRequest().getHeaders().containsKey(IdentityHeaderService.HEADER)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(IdentityHeaderService.HEADER)))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,6 +19,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.phuonghieuto.backend.api_gateway.model.Token;
 import com.phuonghieuto.backend.api_gateway.model.common.CustomError;
+import com.phuonghieuto.backend.api_gateway.service.IdentityHeaderService;
 import com.phuonghieuto.backend.api_gateway.service.TokenValidationService;
 
 import feign.FeignException;
@@ -32,10 +34,13 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
     private final ObjectMapper objectMapper;
     private final TokenValidationService tokenValidationService;
+    private final IdentityHeaderService identityHeaderService;
 
-    public JwtAuthenticationFilter(@Lazy TokenValidationService tokenValidationService) {
+    public JwtAuthenticationFilter(@Lazy TokenValidationService tokenValidationService,
+            IdentityHeaderService identityHeaderService) {
         super(Config.class);
         this.tokenValidationService = tokenValidationService;
+        this.identityHeaderService = identityHeaderService;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
     }
@@ -77,7 +82,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                             return true;
                         })
                         .subscribeOn(Schedulers.boundedElastic())
-                        .flatMap(valid -> chain.filter(exchange))
+                        .flatMap(valid -> chain.filter(withIdentity(exchange, jwt)))
                         .onErrorResume(e -> {
                             log.error("Token validation failed for path: {}: {}", path, e.getMessage());
                             
@@ -160,6 +165,17 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
         };
     }
     
+    // Services behind the gateway trust the signed identity instead of verifying the token again
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, String jwt) {
+        String identity = identityHeaderService.sign(jwt);
+        if (identity == null) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> headers.set(IdentityHeaderService.HEADER, identity)))
+                .build();
+    }
+
     /**
      * Creates a standardized error response with the CustomError format
      *
@@ -0,0 +1,87 @@
+package com.phuonghieuto.backend.api_gateway.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Signs the identity of an access token auth-service has validated into {@link #HEADER}, so the services behind the
+ * gateway check one HMAC instead of verifying the token signature again. The header value is
+ * {@code base64url({"userId","userType","exp","tokenHash"}) + "." + base64url(HMAC-SHA256)}; the SHA-256 of the
+ * token ties the header to the bearer token it travels with. Without
+ * {@code auth.identity-header.secret} no header is issued and the services verify the token themselves.
+ */
+@Service
+@Slf4j
+public class IdentityHeaderService {
+
+    public static final String HEADER = "X-User-Identity";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecretKeySpec secretKey;
+
+    public IdentityHeaderService(@Value("${auth.identity-header.secret:}") String secret) {
+        this.secretKey = secret.isBlank() ? null
+                : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        if (secretKey == null) {
+            log.warn("auth.identity-header.secret is not set, services behind the gateway will verify tokens");
+        }
+    }
+
+    /**
+     * Builds the header for a token that has already been validated. The payload is read without checking the
+     * signature again, auth-service just did.
+     *
+     * @param jwt the validated access token
+     * @return the header value, or {@code null} when no secret is configured or the token names no user
+     */
+    public String sign(String jwt) {
+        if (secretKey == null) {
+            return null;
+        }
+        try {
+            String[] parts = jwt.split("\\.");
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            if (!claims.hasNonNull("userId") || !claims.hasNonNull("exp")) {
+                return null;
+            }
+
+            ObjectNode identity = objectMapper.createObjectNode();
+            identity.put("userId", claims.get("userId").asText());
+            if (claims.hasNonNull("userType")) {
+                identity.put("userType", claims.get("userType").asText());
+            }
+            identity.put("exp", claims.get("exp").asLong());
+            identity.put("tokenHash", BASE64_URL.encodeToString(
+                    MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.US_ASCII))));
+
+            String payload = BASE64_URL.encodeToString(objectMapper.writeValueAsBytes(identity));
+            return payload + "." + BASE64_URL.encodeToString(hmac(payload));
+        } catch (Exception e) {
+            log.warn("Could not sign identity header, the service will verify the token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] hmac(String payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(secretKey);
+        return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
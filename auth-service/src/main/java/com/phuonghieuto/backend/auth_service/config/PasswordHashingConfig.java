@@ -0,0 +1,34 @@
+package com.phuonghieuto.backend.auth_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.phuonghieuto.backend.auth_service.service.impl.PasswordHashingServiceImpl;
+
+/**
+ * Bounded pool for BCrypt. The queue is short on purpose: once it is full new logins and registrations are turned
+ * away with a 503 instead of piling up behind minutes of hashing work. Pool, queue and active thread gauges are
+ * published by Spring Boot under executor.* with {@code name=passwordHashingExecutor}.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    @Value("${auth.password-hashing.pool-size:4}")
+    private int poolSize;
+
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Bean(name = PasswordHashingServiceImpl.EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // Default abort policy: a full queue surfaces as TaskRejectedException to the caller
+        return executor;
+    }
+}
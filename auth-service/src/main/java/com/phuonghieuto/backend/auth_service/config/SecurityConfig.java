@@ -2,6 +2,7 @@ package com.phuonghieuto.backend.auth_service.config;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -25,6 +26,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.phuonghieuto.backend.auth_service.filter.CustomBearerTokenAuthenticationFilter;
 import com.phuonghieuto.backend.auth_service.security.CustomAuthenticationEntryPoint;
 import com.phuonghieuto.backend.auth_service.security.HttpCookieOAuth2AuthorizationRequestRepository;
+import com.phuonghieuto.backend.auth_service.security.InternalCallerAuthorizationManager;
 import com.phuonghieuto.backend.auth_service.security.OAuth2AuthenticationFailureHandler;
 import com.phuonghieuto.backend.auth_service.security.OAuth2AuthenticationSuccessHandler;
 
@@ -40,6 +42,10 @@ public class SecurityConfig {
         private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
         private final OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
 
+        // Raising it rehashes existing passwords on their next successful login
+        @Value("${auth.password-hashing.bcrypt-strength:10}")
+        private int bcryptStrength;
+
         @Bean
         protected SessionAuthenticationStrategy sessionAuthenticationStrategy() {
                 return new RegisterSessionAuthenticationStrategy(new SessionRegistryImpl());
@@ -49,7 +55,8 @@ public class SecurityConfig {
         public SecurityFilterChain filterChain(final HttpSecurity httpSecurity,
                         final CustomBearerTokenAuthenticationFilter customBearerTokenAuthenticationFilter,
                         final CustomAuthenticationEntryPoint customAuthenticationEntryPoint,
-                        final HttpCookieOAuth2AuthorizationRequestRepository cookieAuthorizationRequestRepository)
+                        final HttpCookieOAuth2AuthorizationRequestRepository cookieAuthorizationRequestRepository,
+                        final InternalCallerAuthorizationManager internalCallerAuthorizationManager)
                         throws Exception {
 
                 httpSecurity.exceptionHandling(
@@ -57,6 +64,11 @@ public class SecurityConfig {
                                 .cors(customizer -> customizer.configurationSource(corsConfigurationSource()))
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .authorizeHttpRequests(customizer -> customizer
+                                                .requestMatchers(HttpMethod.GET, "/users/directory")
+                                                .access(internalCallerAuthorizationManager)
+                                                .requestMatchers(HttpMethod.POST, "/users/emails", "/users/by-emails",
+                                                                "/users/profiles")
+                                                .access(internalCallerAuthorizationManager)
                                                 .requestMatchers(HttpMethod.POST, "/auth/**").permitAll()
                                                 .requestMatchers(HttpMethod.POST, "/users/**").permitAll()
                                                 .requestMatchers("/auth/api-docs/**", "/auth/swagger-ui.html/**",
@@ -98,6 +110,6 @@ public class SecurityConfig {
 
         @Bean
         public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+                return new BCryptPasswordEncoder(bcryptStrength);
         }
 }
\ No newline at end of file
@@ -8,24 +8,32 @@ import com.phuonghieuto.backend.auth_service.model.user.enums.ConfigurationParam
 import com.phuonghieuto.backend.auth_service.security.FileKeyProvider;
 import com.phuonghieuto.backend.auth_service.util.KeyConverter;
 
+import io.jsonwebtoken.SignatureAlgorithm;
+
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Getter
 @Configuration
 public class TokenConfigurationParameter {
 
     private final FileKeyProvider fileKeyProvider;
-    
+
     private final int accessTokenExpireMinute;
     private final int refreshTokenExpireDay;
     private final PublicKey publicKey;
     private final PrivateKey privateKey;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final String keyId;
+    private final Map<String, PublicKey> verificationKeys;
 
     @Autowired
     public TokenConfigurationParameter(FileKeyProvider fileKeyProvider) {
         this.fileKeyProvider = fileKeyProvider;
-        
+
         this.accessTokenExpireMinute = Integer.parseInt(
                 ConfigurationParameter.AUTH_ACCESS_TOKEN_EXPIRE_MINUTE.getDefaultValue()
         );
@@ -37,5 +45,22 @@ public class TokenConfigurationParameter {
         // Use keys from files instead of hardcoded values
         this.publicKey = KeyConverter.convertPublicKey(fileKeyProvider.getPublicKey());
         this.privateKey = KeyConverter.convertPrivateKey(fileKeyProvider.getPrivateKey());
+
+        this.signatureAlgorithm = SignatureAlgorithm.forName(fileKeyProvider.getAlgorithm());
+        if (!signatureAlgorithm.isRsa() && !signatureAlgorithm.isEllipticCurve()) {
+            throw new IllegalStateException("Unsupported token signing algorithm: " + signatureAlgorithm.getValue());
+        }
+        // Fails on startup rather than on the first login when the key does not fit the algorithm
+        signatureAlgorithm.assertValidSigningKey(privateKey);
+
+        // Tokens name the key they were signed with, the additional keys keep older tokens verifying during a rotation
+        this.keyId = KeyConverter.keyId(publicKey);
+        final Map<String, PublicKey> keys = new LinkedHashMap<>();
+        keys.put(keyId, publicKey);
+        for (String additionalPublicKey : fileKeyProvider.getAdditionalPublicKeys()) {
+            final PublicKey key = KeyConverter.convertPublicKey(additionalPublicKey);
+            keys.putIfAbsent(KeyConverter.keyId(key), key);
+        }
+        this.verificationKeys = Collections.unmodifiableMap(keys);
     }
-}
\ No newline at end of file
+}
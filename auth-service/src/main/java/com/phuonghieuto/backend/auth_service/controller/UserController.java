@@ -2,7 +2,10 @@ package com.phuonghieuto.backend.auth_service.controller;
 
 import com.phuonghieuto.backend.auth_service.model.common.dto.response.CustomResponse;
 import com.phuonghieuto.backend.auth_service.model.user.dto.request.RegisterRequestDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.request.UserEmailsRequestDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.request.UserIdsRequestDTO;
 import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserEmailDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserProfileDTO;
 import com.phuonghieuto.backend.auth_service.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +21,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -25,6 +30,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "User Management", description = "APIs for user registration and management")
 public class UserController {
 
+  private static final int MAX_DIRECTORY_PAGE_SIZE = 5000;
+
   private final UserService userService;
 
   @Operation(summary = "Register a new user", description = "Creates a new user account in the system with the provided details")
@@ -134,6 +141,76 @@ public class UserController {
     return userService.getUserIdFromEmail(email);
   }
 
+  @Operation(summary = "Get emails of several users", description = "Batch form of the user email lookup for services resolving many users at once. Unknown user IDs are left out of the result.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Emails retrieved successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = """
+          [
+            {
+              "userId": "1234567890",
+              "email": "john.doe@example.com"
+            }
+          ]
+          """))),
+      @ApiResponse(responseCode = "400", description = "No user IDs given, or more than 500", content = @Content) })
+  @PostMapping("/emails")
+  public List<UserEmailDTO> getUserEmails(@RequestBody @Validated final UserIdsRequestDTO request) {
+    log.info("UserController | getUserEmails | count: {}", request.getUserIds().size());
+    return userService.getUserEmails(request.getUserIds());
+  }
+
+  @Operation(summary = "Get profiles of several users", description = "Name and email of each user, which access tokens do not carry. Unknown user IDs are left out of the result.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Profiles retrieved successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = """
+          [
+            {
+              "userId": "1234567890",
+              "email": "john.doe@example.com",
+              "firstName": "John",
+              "lastName": "Doe"
+            }
+          ]
+          """))),
+      @ApiResponse(responseCode = "400", description = "No user IDs given, or more than 500", content = @Content) })
+  @PostMapping("/profiles")
+  public List<UserProfileDTO> getUserProfiles(@RequestBody @Validated final UserIdsRequestDTO request) {
+    log.info("UserController | getUserProfiles | count: {}", request.getUserIds().size());
+    return userService.getUserProfiles(request.getUserIds());
+  }
+
+  @Operation(summary = "Get user IDs of several emails", description = "Batch form of the user ID lookup by email for services resolving many users at once. Unknown emails are left out of the result.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "User IDs retrieved successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = """
+          [
+            {
+              "userId": "1234567890",
+              "email": "john.doe@example.com"
+            }
+          ]
+          """))),
+      @ApiResponse(responseCode = "400", description = "No emails given, or more than 500", content = @Content) })
+  @PostMapping("/by-emails")
+  public List<UserEmailDTO> getUserIdsFromEmails(@RequestBody @Validated final UserEmailsRequestDTO request) {
+    log.info("UserController | getUserIdsFromEmails | count: {}", request.getEmails().size());
+    return userService.getUserIdsFromEmails(request.getEmails());
+  }
+
+  @Operation(summary = "Read the user directory", description = "One page of user IDs and emails in user ID order, for services keeping a local copy of the directory. Pass the last user ID of a page as `after` to read the next one; an empty page means the end was reached.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = """
+          [
+            {
+              "userId": "1234567890",
+              "email": "john.doe@example.com"
+            }
+          ]
+          """))) })
+  @GetMapping("/directory")
+  public List<UserEmailDTO> getUserDirectory(@RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "1000") int limit) {
+    log.info("UserController | getUserDirectory | after: {}, limit: {}", after, limit);
+    return userService.getUserDirectory(after, Math.max(1, Math.min(limit, MAX_DIRECTORY_PAGE_SIZE)));
+  }
+
   @Operation(summary = "Confirm user email", description = "Confirms a user's email address using the confirmation token sent to their email")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Email confirmed successfully", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = """
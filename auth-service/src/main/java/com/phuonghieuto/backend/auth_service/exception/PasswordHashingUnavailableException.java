@@ -0,0 +1,25 @@
+package com.phuonghieuto.backend.auth_service.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception named {@link PasswordHashingUnavailableException} thrown when a password cannot be hashed or checked
+ * because the hashing pool is saturated.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -6235218720407912378L;
+
+    private static final String DEFAULT_MESSAGE = """
+            Too many sign-in requests, please try again shortly!
+            """;
+
+    /**
+     * Constructs a {@code PasswordHashingUnavailableException} with the default message.
+     */
+    public PasswordHashingUnavailableException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+}
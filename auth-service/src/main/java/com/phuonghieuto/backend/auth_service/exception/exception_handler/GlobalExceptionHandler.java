@@ -2,6 +2,7 @@ package com.phuonghieuto.backend.auth_service.exception.exception_handler;
 
 import jakarta.validation.ConstraintViolationException;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.phuonghieuto.backend.auth_service.exception.PasswordHashingUnavailableException;
 import com.phuonghieuto.backend.auth_service.exception.PasswordNotValidException;
 import com.phuonghieuto.backend.auth_service.exception.TokenAlreadyInvalidatedException;
 import com.phuonghieuto.backend.auth_service.exception.UserAlreadyExistException;
@@ -118,6 +120,23 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(customError, HttpStatus.BAD_REQUEST);
         }
 
+        /**
+         * Handles PasswordHashingUnavailableException thrown when the password hashing
+         * pool is saturated.
+         *
+         * @param ex The PasswordHashingUnavailableException instance.
+         * @return ResponseEntity with CustomError and a Retry-After header.
+         */
+        @ExceptionHandler(PasswordHashingUnavailableException.class)
+        protected ResponseEntity<Object> handlePasswordHashingUnavailableException(
+                        final PasswordHashingUnavailableException ex) {
+                CustomError customError = CustomError.builder().httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(CustomError.Header.PROCESS_ERROR.getName()).message(ex.getMessage()).build();
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(customError);
+        }
+
         /**
          * Handles TokenAlreadyInvalidatedException thrown when a token is already
          * invalidated.
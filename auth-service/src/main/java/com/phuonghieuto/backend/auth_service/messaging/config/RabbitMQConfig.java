@@ -13,30 +13,10 @@ import com.phuonghieuto.backend.auth_service.model.common.rabbitmq.RabbitMQConst
 @Configuration
 public class RabbitMQConfig {
 
-    public static final String QUEUE_TASK_NOTIFICATIONS = RabbitMQConstants.QUEUE_TASK_NOTIFICATIONS;
-    public static final String EXCHANGE_TASKS = RabbitMQConstants.EXCHANGE_TASKS;
-    public static final String ROUTING_KEY_TASK_DUE_SOON = RabbitMQConstants.ROUTING_KEY_TASK_DUE_SOON;
-    public static final String ROUTING_KEY_TASK_OVERDUE = RabbitMQConstants.ROUTING_KEY_TASK_OVERDUE;
-    public static final String ROUTING_KEY_BOARD_INVITATION = RabbitMQConstants.ROUTING_KEY_BOARD_INVITATION;
-
     public static final String EXCHANGE_NOTIFICATION = RabbitMQConstants.EXCHANGE_NOTIFICATION;
     public static final String QUEUE_EMAIL_CONFIRMATION = RabbitMQConstants.QUEUE_EMAIL_CONFIRMATION;
     public static final String ROUTING_KEY_EMAIL_CONFIRMATION = RabbitMQConstants.ROUTING_KEY_EMAIL_CONFIRMATION;
-
-    @Bean
-    public Queue taskNotificationsQueue() {
-        return new Queue(QUEUE_TASK_NOTIFICATIONS, true);
-    }
-
-    @Bean
-    public DirectExchange tasksExchange() {
-        return new DirectExchange(EXCHANGE_TASKS);
-    }
-
-    @Bean
-    public Binding taskDueSoonBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_TASK_DUE_SOON);
-    }
+    public static final String EXCHANGE_USER_EVENTS = RabbitMQConstants.EXCHANGE_USER_EVENTS;
 
     @Bean
     public MessageConverter jsonMessageConverter() {
@@ -50,16 +30,6 @@ public class RabbitMQConfig {
         return rabbitTemplate;
     }
 
-    @Bean
-    public Binding taskOverdueBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_TASK_OVERDUE);
-    }
-
-    @Bean
-    public Binding boardInvitationBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_BOARD_INVITATION);
-    }
-
     @Bean
     public Queue emailConfirmationQueue() {
         return new Queue(QUEUE_EMAIL_CONFIRMATION, true);
@@ -74,4 +44,9 @@ public class RabbitMQConfig {
     public Binding emailConfirmationBinding(Queue emailConfirmationQueue, DirectExchange notificationExchange) {
         return BindingBuilder.bind(emailConfirmationQueue).to(notificationExchange).with(ROUTING_KEY_EMAIL_CONFIRMATION);
     }
+
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(EXCHANGE_USER_EVENTS);
+    }
 }
\ No newline at end of file
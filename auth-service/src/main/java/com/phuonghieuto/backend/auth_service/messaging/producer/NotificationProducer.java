@@ -5,8 +5,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
+import com.phuonghieuto.backend.auth_service.messaging.config.RabbitMQConfig;
 import com.phuonghieuto.backend.auth_service.model.notification.dto.EmailConfirmationDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.event.UserEventDTO;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
+import com.phuonghieuto.backend.auth_service.model.user.enums.UserEventType;
 
 @Service
 @RequiredArgsConstructor
@@ -25,4 +28,22 @@ public class NotificationProducer {
     log.info("Sending email confirmation message for user: {}", user.getEmail());
     rabbitTemplate.convertAndSend("notification.exchange", "email.confirmation", emailConfirmation);
 }
+
+    /**
+     * Tells the user directory replicas about a new or changed id/email pair. A lost event is not fatal, the replicas
+     * fall back to asking this service for users they do not know.
+     */
+    public void publishUserEvent(UserEntity user, UserEventType type) {
+        UserEventDTO event = UserEventDTO.builder()
+                .type(type)
+                .userId(user.getId())
+                .email(user.getEmail())
+                .build();
+
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_USER_EVENTS, type.getRoutingKey(), event);
+        } catch (Exception e) {
+            log.warn("Failed to publish {} event for user {}: {}", type, user.getId(), e.getMessage());
+        }
+    }
 }
\ No newline at end of file
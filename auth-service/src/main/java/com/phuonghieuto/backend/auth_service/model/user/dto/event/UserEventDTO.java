@@ -0,0 +1,22 @@
+package com.phuonghieuto.backend.auth_service.model.user.dto.event;
+
+import com.phuonghieuto.backend.auth_service.model.user.enums.UserEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published on {@code user.events.exchange} whenever a user's id or email is written, so other services can keep
+ * their own copy of the directory.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserEventDTO {
+    private UserEventType type;
+    private String userId;
+    private String email;
+}
@@ -0,0 +1,22 @@
+package com.phuonghieuto.backend.auth_service.model.user.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEmailsRequestDTO {
+
+    public static final int MAX_EMAILS = 500;
+
+    @NotEmpty
+    @Size(max = MAX_EMAILS)
+    private List<String> emails;
+
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
 
 @Entity
 @Getter
@@ -14,7 +15,10 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-@Table(name = "INVALID_TOKEN")
+@Table(name = "INVALID_TOKEN", indexes = {
+        @Index(name = "IDX_INVALID_TOKEN_TOKEN_ID", columnList = "TOKEN_ID"),
+        @Index(name = "IDX_INVALID_TOKEN_EXPIRES_AT", columnList = "EXPIRES_AT")
+})
 public class InvalidTokenEntity extends BaseEntity {
 
     @Id
@@ -25,4 +29,8 @@ public class InvalidTokenEntity extends BaseEntity {
     @Column(name = "TOKEN_ID")
     private String tokenId;
 
+    // Past this point the token fails validation on its own and the row can be purged
+    @Column(name = "EXPIRES_AT")
+    private LocalDateTime expiresAt;
+
 }
@@ -78,23 +78,19 @@ public class UserEntity extends BaseEntity {
     private String providerId;
 
     /**
-     * Constructs a map of claims based on the user's attributes. This map is
-     * typically used to create JWT claims for the user.
+     * Constructs the claims put into the user's access tokens. Only what every
+     * request needs is included, the token travels with each call between the
+     * services. Other profile fields are looked up through
+     * {@code POST /users/profiles} by the services that need them.
      * 
-     * @return a map of claims containing user attributes
+     * @return a map of claims containing the user ID and type
      */
     public Map<String, Object> getClaims() {
 
         final Map<String, Object> claims = new HashMap<>();
 
         claims.put(TokenClaims.USER_ID.getValue(), this.id);
-        claims.put(TokenClaims.USER_USERNAME.getValue(), this.username);
         claims.put(TokenClaims.USER_TYPE.getValue(), this.userType);
-        claims.put(TokenClaims.USER_STATUS.getValue(), this.userStatus);
-        claims.put(TokenClaims.USER_FIRST_NAME.getValue(), this.firstName);
-        claims.put(TokenClaims.USER_LAST_NAME.getValue(), this.lastName);
-        claims.put(TokenClaims.USER_EMAIL.getValue(), this.email);
-        claims.put(TokenClaims.USER_PHONE_NUMBER.getValue(), this.phoneNumber);
 
         return claims;
 
@@ -0,0 +1,16 @@
+package com.phuonghieuto.backend.auth_service.model.user.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum UserEventType {
+
+    CREATED("user.created"),
+    UPDATED("user.updated"),
+    CONFIRMED("user.confirmed");
+
+    private final String routingKey;
+
+}
@@ -1,8 +1,15 @@
 package com.phuonghieuto.backend.auth_service.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.phuonghieuto.backend.auth_service.model.user.entity.InvalidTokenEntity;
@@ -10,4 +17,21 @@ import com.phuonghieuto.backend.auth_service.model.user.entity.InvalidTokenEntit
 @Repository
 public interface InvalidTokenRepository extends JpaRepository<InvalidTokenEntity, String> {
     Optional<InvalidTokenEntity> findByTokenId(final String tokenId);
-}
\ No newline at end of file
+
+    // Keyset pages on ID, an offset without a fixed order can skip rows between pages
+    List<InvalidTokenEntity> findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(final LocalDateTime now,
+            final String afterId, final Limit limit);
+
+    // Rows written before EXPIRES_AT existed, still relevant while a refresh token issued then can be presented
+    List<InvalidTokenEntity> findByExpiresAtIsNullAndCreatedAtAfterAndIdGreaterThanOrderByIdAsc(
+            final LocalDateTime legacyCutoff, final String afterId, final Limit limit);
+
+    // Rows written before EXPIRES_AT existed are kept until no token issued at that time can still be valid
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM INVALID_TOKEN WHERE ID IN (SELECT ID FROM INVALID_TOKEN "
+            + "WHERE EXPIRES_AT < :now OR (EXPIRES_AT IS NULL AND CREATED_AT < :legacyCutoff) LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("legacyCutoff") LocalDateTime legacyCutoff,
+            @Param("batchSize") int batchSize);
+}
@@ -1,10 +1,16 @@
 package com.phuonghieuto.backend.auth_service.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserEmailDTO;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
 
 @Repository
@@ -13,5 +19,10 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
     boolean existsUserEntityByUsername(final String username);
     Optional<UserEntity> findUserEntityByEmail(final String email);
     Optional<UserEntity> findByEmail(String email);
+    List<UserEntity> findByEmailIn(Collection<String> emails);
     Optional<UserEntity> findByConfirmationToken(String confirmationToken);
+
+    @Query("SELECT new com.phuonghieuto.backend.auth_service.model.user.dto.response.UserEmailDTO(u.id, u.email) "
+            + "FROM UserEntity u WHERE u.id > :after ORDER BY u.id")
+    List<UserEmailDTO> findDirectoryPage(@Param("after") String after, Pageable pageable);
 }
\ No newline at end of file
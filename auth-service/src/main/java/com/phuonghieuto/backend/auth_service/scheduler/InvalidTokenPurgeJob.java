@@ -0,0 +1,50 @@
+package com.phuonghieuto.backend.auth_service.scheduler;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.auth_service.config.TokenConfigurationParameter;
+import com.phuonghieuto.backend.auth_service.repository.InvalidTokenRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes revocation rows whose token has expired, {@code auth.revocation.purge.batch-size} rows per transaction so
+ * the table is never locked for long. The Redis entries expire on their own and need no purging.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "auth.revocation.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class InvalidTokenPurgeJob {
+
+    private final InvalidTokenRepository invalidTokenRepository;
+    private final TokenConfigurationParameter tokenConfigurationParameter;
+
+    @Value("${auth.revocation.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${auth.revocation.purge.cron:0 15 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime legacyCutoff = now.minusDays(tokenConfigurationParameter.getRefreshTokenExpireDay());
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = invalidTokenRepository.deleteExpiredBatch(now, legacyCutoff, batchSize);
+                deleted += batch;
+            } while (batch == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to purge expired token revocations: {}", e.getMessage(), e);
+        }
+        if (deleted > 0) {
+            log.info("Purged {} expired token revocations", deleted);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.phuonghieuto.backend.auth_service.scheduler;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.auth_service.service.TokenManagementService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps Redis in line with the INVALID_TOKEN table: reseeds it on startup, since it may have been flushed while this
+ * instance was down, and writes the revocations it refused while it was unreachable once it answers again.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RevocationReplayJob {
+
+    private final TokenManagementService tokenManagementService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            int restored = tokenManagementService.restoreRevocations();
+            log.info("Restored {} token revocations to Redis", restored);
+        } catch (Exception e) {
+            log.error("Failed to restore token revocations to Redis: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.replay-interval:PT10S}")
+    public void replayPending() {
+        int replayed = tokenManagementService.replayPendingRevocations();
+        if (replayed > 0) {
+            log.info("Replayed {} token revocations to Redis", replayed);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -30,8 +32,17 @@ public class FileKeyProvider {
     @Value("${auth.keys.private-key-path:/app/keys/private.pem}")
     private String privateKeyPath;
 
+    // Algorithm of the private key, RS256 for RSA keys or ES256 for P-256 keys
+    @Value("${auth.keys.algorithm:RS256}")
+    private String algorithm;
+
+    // Public keys still accepted besides the current one, e.g. the previous key while rotating
+    @Value("${auth.keys.additional-public-key-paths:}")
+    private List<String> additionalPublicKeyPaths;
+
     private String publicKey;
     private String privateKey;
+    private final List<String> additionalPublicKeys = new ArrayList<>();
 
     @PostConstruct
     public void init() {
@@ -39,6 +50,12 @@ public class FileKeyProvider {
             log.info("Loading keys from paths: public={}, private={}", publicKeyPath, privateKeyPath);
             publicKey = readFileContent(publicKeyPath);
             privateKey = readFileContent(privateKeyPath);
+            for (String path : additionalPublicKeyPaths) {
+                if (!path.isBlank()) {
+                    log.info("Loading additional public key from path: {}", path);
+                    additionalPublicKeys.add(readFileContent(path.trim()));
+                }
+            }
             log.info("Successfully loaded keys from files");
         } catch (Exception e) {
             log.error("Failed to load keys from files", e);
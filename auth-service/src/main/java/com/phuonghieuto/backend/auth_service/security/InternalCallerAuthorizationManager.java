@@ -0,0 +1,42 @@
+package com.phuonghieuto.backend.auth_service.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grants the user lookups meant for task-service and notification-service, which read the directory in bulk, only
+ * to callers presenting the service token shared through {@code auth.internal-caller.token} in {@link #HEADER}.
+ * Without a configured token every caller is refused.
+ */
+@Component
+@Slf4j
+public class InternalCallerAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String HEADER = "X-Internal-Service-Token";
+
+    private final byte[] serviceToken;
+
+    public InternalCallerAuthorizationManager(@Value("${auth.internal-caller.token:}") String serviceToken) {
+        this.serviceToken = serviceToken.isBlank() ? null : serviceToken.getBytes(StandardCharsets.UTF_8);
+        if (this.serviceToken == null) {
+            log.warn("auth.internal-caller.token is not set, internal user lookups are refused");
+        }
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        final String presented = context.getRequest().getHeader(HEADER);
+        return new AuthorizationDecision(serviceToken != null && presented != null
+                && MessageDigest.isEqual(serviceToken, presented.getBytes(StandardCharsets.UTF_8)));
+    }
+}
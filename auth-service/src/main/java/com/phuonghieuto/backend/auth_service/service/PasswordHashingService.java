@@ -0,0 +1,7 @@
+package com.phuonghieuto.backend.auth_service.service;
+
+public interface PasswordHashingService {
+    String encode(CharSequence rawPassword);
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+    boolean upgradeEncoding(String encodedPassword);
+}
@@ -1,8 +1,11 @@
 package com.phuonghieuto.backend.auth_service.service;
 
-import java.util.Set;
+import java.time.Instant;
+import java.util.Map;
 
 public interface TokenManagementService {
-    void invalidateTokens(Set<String> tokenIds);
+    void invalidateTokens(Map<String, Instant> tokenExpirations);
     boolean checkForInvalidityOfToken(String tokenId);
-}
\ No newline at end of file
+    int restoreRevocations();
+    int replayPendingRevocations();
+}
@@ -1,14 +1,20 @@
 package com.phuonghieuto.backend.auth_service.service;
 
-
+import java.util.Collection;
+import java.util.List;
 
 import com.phuonghieuto.backend.auth_service.model.User;
 import com.phuonghieuto.backend.auth_service.model.user.dto.request.RegisterRequestDTO;
 import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserEmailDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserProfileDTO;
 
 public interface UserService {
     User registerUser(final RegisterRequestDTO registerRequest);
     UserEmailDTO getUserEmail(String userId);
     UserEmailDTO getUserIdFromEmail(String email);
+    List<UserEmailDTO> getUserEmails(Collection<String> userIds);
+    List<UserEmailDTO> getUserIdsFromEmails(Collection<String> emails);
+    List<UserEmailDTO> getUserDirectory(String after, int limit);
+    List<UserProfileDTO> getUserProfiles(Collection<String> userIds);
     public boolean confirmEmail(String token);
 }
\ No newline at end of file
@@ -14,17 +14,19 @@ import com.phuonghieuto.backend.auth_service.model.user.enums.UserStatus;
 import com.phuonghieuto.backend.auth_service.model.user.mapper.TokenToTokenResponseMapper;
 import com.phuonghieuto.backend.auth_service.repository.UserRepository;
 import com.phuonghieuto.backend.auth_service.service.AuthenticationService;
+import com.phuonghieuto.backend.auth_service.service.PasswordHashingService;
 import com.phuonghieuto.backend.auth_service.service.TokenGenerationService;
 import com.phuonghieuto.backend.auth_service.service.TokenManagementService;
 import com.phuonghieuto.backend.auth_service.service.TokenValidationService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -32,7 +34,7 @@ import java.util.Set;
 @Slf4j
 public class AuthenticationServiceImpl implements AuthenticationService {
         private final UserRepository userRepository;
-        private final PasswordEncoder passwordEncoder;
+        private final PasswordHashingService passwordHashingService;
         private final TokenGenerationService tokenGenerationService;
         private final TokenValidationService tokenValidationService;
         private final TokenManagementService tokenManagementService;
@@ -45,7 +47,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                                 .orElseThrow(() -> new UserNotFoundException(
                                                 "Can't find with given email: " + loginRequest.getEmail()));
                 if (Boolean.FALSE.equals(
-                                passwordEncoder.matches(loginRequest.getPassword(), userEntityFromDB.getPassword()))) {
+                                passwordHashingService.matches(loginRequest.getPassword(),
+                                                userEntityFromDB.getPassword()))) {
                         throw new PasswordNotValidException();
                 }
 
@@ -55,6 +58,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 }
 
                 validateUserStatus(userEntityFromDB);
+                upgradePasswordHash(userEntityFromDB, loginRequest.getPassword());
 
                 Token token = tokenGenerationService.generateToken(userEntityFromDB.getClaims());
                 TokenResponseDTO tokenResponse = tokenToTokenResponseMapper.map(token);
@@ -88,17 +92,36 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 tokenValidationService.verifyAndValidate(Set.of(tokenInvalidateRequest.getAccessToken(),
                                 tokenInvalidateRequest.getRefreshToken()));
 
-                final String accessTokenId = tokenValidationService.getPayload(tokenInvalidateRequest.getAccessToken())
-                                .getId();
+                final Claims accessTokenPayload = tokenValidationService
+                                .getPayload(tokenInvalidateRequest.getAccessToken());
 
-                tokenManagementService.checkForInvalidityOfToken(accessTokenId);
+                tokenManagementService.checkForInvalidityOfToken(accessTokenPayload.getId());
 
-                final String refreshTokenId = tokenValidationService
-                                .getPayload(tokenInvalidateRequest.getRefreshToken()).getId();
+                final Claims refreshTokenPayload = tokenValidationService
+                                .getPayload(tokenInvalidateRequest.getRefreshToken());
 
-                tokenManagementService.checkForInvalidityOfToken(refreshTokenId);
+                tokenManagementService.checkForInvalidityOfToken(refreshTokenPayload.getId());
 
-                tokenManagementService.invalidateTokens(Set.of(accessTokenId, refreshTokenId));
+                tokenManagementService.invalidateTokens(Map.of(
+                                accessTokenPayload.getId(), accessTokenPayload.getExpiration().toInstant(),
+                                refreshTokenPayload.getId(), refreshTokenPayload.getExpiration().toInstant()));
+        }
+
+        /**
+         * Rehashes a password stored with a lower cost than the current one while the plain text is at hand. Best
+         * effort: a busy pool or a failed write only postpones it to the next login.
+         */
+        private void upgradePasswordHash(final UserEntity userEntity, final String rawPassword) {
+                if (!passwordHashingService.upgradeEncoding(userEntity.getPassword())) {
+                        return;
+                }
+                try {
+                        userEntity.setPassword(passwordHashingService.encode(rawPassword));
+                        userRepository.save(userEntity);
+                        log.info("Upgraded password hash for user: {}", userEntity.getId());
+                } catch (RuntimeException e) {
+                        log.warn("Skipped password hash upgrade for user {}: {}", userEntity.getId(), e.getMessage());
+                }
         }
 
         private void validateUserStatus(final UserEntity userEntity) {
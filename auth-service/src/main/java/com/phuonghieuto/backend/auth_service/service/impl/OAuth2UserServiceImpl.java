@@ -15,8 +15,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.phuonghieuto.backend.auth_service.exception.OAuth2AuthenticationProcessingException;
+import com.phuonghieuto.backend.auth_service.messaging.producer.NotificationProducer;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
 import com.phuonghieuto.backend.auth_service.model.user.enums.AuthProvider;
+import com.phuonghieuto.backend.auth_service.model.user.enums.UserEventType;
 import com.phuonghieuto.backend.auth_service.model.user.oauth2.CustomOAuth2User;
 import com.phuonghieuto.backend.auth_service.model.user.oauth2.OAuth2UserInfo;
 import com.phuonghieuto.backend.auth_service.model.user.oauth2.OAuth2UserInfoFactory;
@@ -30,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
     private final UserRepository userRepository;
+    private final NotificationProducer notificationProducer;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest oAuth2UserRequest) throws OAuth2AuthenticationException {
@@ -95,7 +98,9 @@ public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
         user.setEmailConfirmed(true); // Email is verified by the provider
 
         log.info("Registering new OAuth2 user: {}", user.getEmail());
-        return userRepository.save(user);
+        UserEntity savedUser = userRepository.save(user);
+        notificationProducer.publishUserEvent(savedUser, UserEventType.CREATED);
+        return savedUser;
     }
 
     private UserEntity updateExistingUser(UserEntity user, OAuth2UserInfo oAuth2UserInfo) {
@@ -103,7 +108,10 @@ public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
             user.setFirstName(oAuth2UserInfo.getFirstName());
             user.setLastName(oAuth2UserInfo.getLastName());
             log.info("Updating existing OAuth2 user: {}", user.getEmail());
-            return userRepository.save(user);
+            UserEntity savedUser = userRepository.save(user);
+            // Also repairs a replica that missed the user's creation
+            notificationProducer.publishUserEvent(savedUser, UserEventType.UPDATED);
+            return savedUser;
         } catch (ObjectOptimisticLockingFailureException ex) {
             log.warn("Concurrent update detected for user: {}, retrying...", user.getEmail());
             throw new InternalAuthenticationServiceException(ex.getMessage(), ex.getCause());
@@ -0,0 +1,104 @@
+package com.phuonghieuto.backend.auth_service.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.phuonghieuto.backend.auth_service.exception.PasswordHashingUnavailableException;
+import com.phuonghieuto.backend.auth_service.service.PasswordHashingService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs BCrypt on a dedicated, bounded pool so a burst of logins cannot take every CPU away from token refresh and
+ * validation. Work is refused up front when the queue is full, and abandoned when it has not finished within
+ * {@code auth.password-hashing.max-wait}; a cancelled task that has not started yet is skipped by the pool.
+ */
+@Service
+@Slf4j
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    public static final String EXECUTOR = "passwordHashingExecutor";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final long maxWaitMillis;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+            @Qualifier(EXECUTOR) ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry,
+            @Value("${auth.password-hashing.max-wait:PT2S}") Duration maxWait) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.maxWaitMillis = maxWait.toMillis();
+        this.waitTimer = meterRegistry.timer("auth.password.hashing.wait");
+        this.hashTimer = meterRegistry.timer("auth.password.hashing.duration");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Only parses the stored hash, cheap enough for the calling thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Supplier<T> work) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(work);
+            });
+        } catch (TaskRejectedException e) {
+            throw reject("queue-full");
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw reject("timeout");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw reject("interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingUnavailableException reject(String reason) {
+        meterRegistry.counter("auth.password.hashing.rejected", "reason", reason).increment();
+        log.warn("Rejected password hashing request ({}), {} queued", reason,
+                executor.getThreadPoolExecutor().getQueue().size());
+        return new PasswordHashingUnavailableException();
+    }
+}
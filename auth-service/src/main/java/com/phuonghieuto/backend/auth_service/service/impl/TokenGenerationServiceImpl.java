@@ -30,10 +30,12 @@ public class TokenGenerationServiceImpl implements TokenGenerationService {
 
                 final String accessToken = Jwts.builder()
                                 .setHeaderParam(TokenClaims.TYP.getValue(), TokenType.BEARER.getValue())
+                                .setHeaderParam(TokenClaims.KEY_ID.getValue(), tokenConfigurationParameter.getKeyId())
                                 .setId(UUID.randomUUID().toString())
                                 .setIssuedAt(tokenIssuedAt)
                                 .setExpiration(accessTokenExpiresAt)
-                                .signWith(tokenConfigurationParameter.getPrivateKey())
+                                .signWith(tokenConfigurationParameter.getPrivateKey(),
+                                                tokenConfigurationParameter.getSignatureAlgorithm())
                                 .addClaims(claims)
                                 .compact();
 
@@ -42,10 +44,12 @@ public class TokenGenerationServiceImpl implements TokenGenerationService {
 
                 final String refreshToken = Jwts.builder()
                                 .setHeaderParam(TokenClaims.TYP.getValue(), TokenType.BEARER.getValue())
+                                .setHeaderParam(TokenClaims.KEY_ID.getValue(), tokenConfigurationParameter.getKeyId())
                                 .setId(UUID.randomUUID().toString())
                                 .setIssuedAt(tokenIssuedAt)
                                 .setExpiration(refreshTokenExpiresAt)
-                                .signWith(tokenConfigurationParameter.getPrivateKey())
+                                .signWith(tokenConfigurationParameter.getPrivateKey(),
+                                                tokenConfigurationParameter.getSignatureAlgorithm())
                                 .claim("userId", claims.get("userId"))
                                 .compact();
 
@@ -67,10 +71,12 @@ public class TokenGenerationServiceImpl implements TokenGenerationService {
 
                 final String accessToken = Jwts.builder()
                                 .setHeaderParam(TokenClaims.TYP.getValue(), TokenType.BEARER.getValue())
+                                .setHeaderParam(TokenClaims.KEY_ID.getValue(), tokenConfigurationParameter.getKeyId())
                                 .setId(UUID.randomUUID().toString())
                                 .setIssuedAt(accessTokenIssuedAt)
                                 .setExpiration(accessTokenExpiresAt)
-                                .signWith(tokenConfigurationParameter.getPrivateKey())
+                                .signWith(tokenConfigurationParameter.getPrivateKey(),
+                                                tokenConfigurationParameter.getSignatureAlgorithm())
                                 .addClaims(claims)
                                 .compact();
 
@@ -1,41 +1,68 @@
 package com.phuonghieuto.backend.auth_service.service.impl;
 
+import com.phuonghieuto.backend.auth_service.config.TokenConfigurationParameter;
 import com.phuonghieuto.backend.auth_service.model.user.entity.InvalidTokenEntity;
 import com.phuonghieuto.backend.auth_service.repository.InvalidTokenRepository;
 import com.phuonghieuto.backend.auth_service.service.TokenManagementService;
 import com.phuonghieuto.backend.auth_service.exception.TokenAlreadyInvalidatedException;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Revoked token ids live in Redis under a key that expires together with the token, so the store never holds more
+ * than the tokens that could still be presented. The INVALID_TOKEN table keeps the same entries with their expiry
+ * and is only read when Redis cannot be reached or has to be reseeded. Revocations that could not be written to Redis
+ * are kept in memory, answered locally and written again by {@link #replayPendingRevocations()}.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TokenManagementServiceImpl implements TokenManagementService {
+
+    public static final String REVOKED_KEY_PREFIX = "auth:revoked:";
+
     private final InvalidTokenRepository invalidTokenRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TokenConfigurationParameter tokenConfigurationParameter;
+
+    private final Map<String, Instant> pendingRevocations = new ConcurrentHashMap<>();
+
+    @Value("${auth.revocation.restore-page-size:1000}")
+    private int restorePageSize;
 
     @Override
-    @CacheEvict(value = "invalidTokens", allEntries = true)
-    public void invalidateTokens(Set<String> tokenIds) {
-        final Set<InvalidTokenEntity> invalidTokenEntities = tokenIds.stream()
-                .map(tokenId -> InvalidTokenEntity.builder()
-                        .tokenId(tokenId)
+    public void invalidateTokens(Map<String, Instant> tokenExpirations) {
+        final Set<InvalidTokenEntity> invalidTokenEntities = tokenExpirations.entrySet().stream()
+                .map(tokenExpiration -> InvalidTokenEntity.builder()
+                        .tokenId(tokenExpiration.getKey())
+                        .expiresAt(LocalDateTime.ofInstant(tokenExpiration.getValue(), ZoneId.systemDefault()))
                         .build())
                 .collect(Collectors.toSet());
 
         invalidTokenRepository.saveAll(invalidTokenEntities);
+        tokenExpirations.forEach(this::markRevoked);
     }
 
     @Override
-    @Cacheable(value = "invalidTokens", key = "#tokenId")
     public boolean checkForInvalidityOfToken(String tokenId) {
-        log.info("Checking for invalidity of token with ID: {}", tokenId);
-        final boolean isTokenInvalid = invalidTokenRepository.findByTokenId(tokenId).isPresent();
+        log.debug("Checking for invalidity of token with ID: {}", tokenId);
+        final boolean isTokenInvalid = isRevoked(tokenId);
 
         if (isTokenInvalid) {
             throw new TokenAlreadyInvalidatedException();
@@ -43,4 +70,99 @@ public class TokenManagementServiceImpl implements TokenManagementService {
 
         return isTokenInvalid;
     }
-}
\ No newline at end of file
+
+    /**
+     * Copies the revocations that have not expired yet from the table back into Redis, for when Redis comes back
+     * empty. Rows written before EXPIRES_AT existed are kept for the refresh token lifetime after they were created,
+     * the longest any token issued at that time can be presented.
+     */
+    @Override
+    public int restoreRevocations() {
+        final LocalDateTime now = LocalDateTime.now();
+        final int refreshTokenExpireDay = tokenConfigurationParameter.getRefreshTokenExpireDay();
+
+        int restored = restore((afterId, limit) -> invalidTokenRepository
+                .findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(now, afterId, limit),
+                InvalidTokenEntity::getExpiresAt);
+        restored += restore((afterId, limit) -> invalidTokenRepository
+                .findByExpiresAtIsNullAndCreatedAtAfterAndIdGreaterThanOrderByIdAsc(
+                        now.minusDays(refreshTokenExpireDay), afterId, limit),
+                invalidToken -> invalidToken.getCreatedAt() != null
+                        ? invalidToken.getCreatedAt().plusDays(refreshTokenExpireDay)
+                        : now.plusDays(refreshTokenExpireDay));
+        return restored;
+    }
+
+    /**
+     * Writes the revocations Redis refused earlier. Stops at the first failure, Redis is most likely still down.
+     */
+    @Override
+    public int replayPendingRevocations() {
+        int replayed = 0;
+        for (Map.Entry<String, Instant> pending : pendingRevocations.entrySet()) {
+            final Duration ttl = Duration.between(Instant.now(), pending.getValue());
+            try {
+                if (!ttl.isNegative() && !ttl.isZero()) {
+                    redisTemplate.opsForValue().set(REVOKED_KEY_PREFIX + pending.getKey(), "1", ttl);
+                    replayed++;
+                }
+                pendingRevocations.remove(pending.getKey(), pending.getValue());
+            } catch (RuntimeException e) {
+                log.warn("Redis still unavailable, {} token revocations pending: {}", pendingRevocations.size(),
+                        e.getMessage());
+                break;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Walks the rows in ID order, each page starting after the last ID of the one before. A row is never skipped
+     * because rows ahead of it were inserted or purged in the meantime.
+     */
+    private int restore(BiFunction<String, Limit, List<InvalidTokenEntity>> pageLoader,
+            Function<InvalidTokenEntity, LocalDateTime> expiresAt) {
+        int restored = 0;
+        String afterId = "";
+        while (true) {
+            final List<InvalidTokenEntity> page = pageLoader.apply(afterId, Limit.of(restorePageSize));
+            for (InvalidTokenEntity invalidToken : page) {
+                markRevoked(invalidToken.getTokenId(),
+                        expiresAt.apply(invalidToken).atZone(ZoneId.systemDefault()).toInstant());
+                restored++;
+            }
+            if (page.size() < restorePageSize) {
+                return restored;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private void markRevoked(String tokenId, Instant expiresAt) {
+        final Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            // Already rejected as expired, nothing to remember
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REVOKED_KEY_PREFIX + tokenId, "1", ttl);
+        } catch (RuntimeException e) {
+            log.warn("Failed to store revocation of token {} in Redis, retrying later: {}", tokenId, e.getMessage());
+            pendingRevocations.put(tokenId, expiresAt);
+        }
+    }
+
+    private boolean isRevoked(String tokenId) {
+        // Not in Redis yet, but this instance knows about it
+        if (tokenId != null && pendingRevocations.containsKey(tokenId)) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_KEY_PREFIX + tokenId));
+        } catch (RuntimeException e) {
+            log.warn("Redis unavailable, checking revocation of token {} in the database: {}", tokenId,
+                    e.getMessage());
+            return invalidTokenRepository.findByTokenId(tokenId).isPresent();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.phuonghieuto.backend.auth_service.config.TokenConfigurationParameter;
 import com.phuonghieuto.backend.auth_service.service.TokenValidationService;
 import com.phuonghieuto.backend.auth_service.model.user.enums.TokenClaims;
 import com.phuonghieuto.backend.auth_service.model.user.enums.UserType;
+import com.phuonghieuto.backend.auth_service.security.KeyIdSigningKeyResolver;
 import com.phuonghieuto.backend.auth_service.service.TokenService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
@@ -36,7 +37,8 @@ public class TokenServiceImpl implements TokenService {
                 try {
                         tokenValidationService.verifyAndValidate(token);
                         final Jws<Claims> claimsJws = Jwts.parserBuilder()
-                                        .setSigningKey(tokenConfigurationParameter.getPublicKey()).build()
+                                        .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
+                                        .build()
                                         .parseClaimsJws(token);
                         final JwsHeader<?> jwsHeader = claimsJws.getHeader();
                         final Claims payload = claimsJws.getBody();
@@ -4,6 +4,7 @@ import com.phuonghieuto.backend.auth_service.config.TokenConfigurationParameter;
 import com.phuonghieuto.backend.auth_service.service.TokenValidationService;
 import com.phuonghieuto.backend.auth_service.service.TokenManagementService;
 import com.phuonghieuto.backend.auth_service.exception.TokenAlreadyInvalidatedException;
+import com.phuonghieuto.backend.auth_service.security.KeyIdSigningKeyResolver;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
@@ -34,7 +35,7 @@ public class TokenValidationServiceImpl implements TokenValidationService {
         try {
             tokenManagementService.checkForInvalidityOfToken(getId(token));
             Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(tokenConfigurationParameter.getPublicKey())
+                    .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                     .build()
                     .parseClaimsJws(token);
 
@@ -76,7 +77,7 @@ public class TokenValidationServiceImpl implements TokenValidationService {
     @Override
     public Jws<Claims> getClaims(String jwt) {
         return Jwts.parserBuilder()
-                .setSigningKey(tokenConfigurationParameter.getPublicKey())
+                .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                 .build()
                 .parseClaimsJws(jwt);
     }
@@ -84,7 +85,7 @@ public class TokenValidationServiceImpl implements TokenValidationService {
     @Override
     public Claims getPayload(String jwt) {
         return Jwts.parserBuilder()
-                .setSigningKey(tokenConfigurationParameter.getPublicKey())
+                .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                 .build()
                 .parseClaimsJws(jwt)
                 .getBody();
@@ -93,7 +94,7 @@ public class TokenValidationServiceImpl implements TokenValidationService {
     @Override
     public String getId(String jwt) {
         return Jwts.parserBuilder()
-                .setSigningKey(tokenConfigurationParameter.getPublicKey())
+                .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                 .build()
                 .parseClaimsJws(jwt)
                 .getBody()
@@ -6,21 +6,27 @@ import com.phuonghieuto.backend.auth_service.messaging.producer.NotificationProd
 import com.phuonghieuto.backend.auth_service.model.User;
 import com.phuonghieuto.backend.auth_service.model.user.dto.request.RegisterRequestDTO;
 import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserEmailDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserProfileDTO;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
+import com.phuonghieuto.backend.auth_service.model.user.enums.UserEventType;
 import com.phuonghieuto.backend.auth_service.model.user.enums.UserStatus;
 import com.phuonghieuto.backend.auth_service.model.user.mapper.RegisterRequestToUserEntityMapper;
 import com.phuonghieuto.backend.auth_service.model.user.mapper.UserEntityToUserMapper;
 import com.phuonghieuto.backend.auth_service.repository.UserRepository;
+import com.phuonghieuto.backend.auth_service.service.PasswordHashingService;
 import com.phuonghieuto.backend.auth_service.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,7 +38,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RegisterRequestToUserEntityMapper registerRequestToUserEntityMapper;
     private final UserEntityToUserMapper userEntityToUserMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final NotificationProducer notificationProducer;
 
     @Override
@@ -53,13 +59,14 @@ public class UserServiceImpl implements UserService {
         }
 
         final UserEntity userEntityToBeSave = registerRequestToUserEntityMapper.mapForSaving(registerRequest);
-        userEntityToBeSave.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        userEntityToBeSave.setPassword(passwordHashingService.encode(registerRequest.getPassword()));
         userEntityToBeSave.setUserStatus(UserStatus.PASSIVE); // Set as PASSIVE until confirmed
         userEntityToBeSave.setEmailConfirmed(false);
 
         UserEntity savedUserEntity = userRepository.save(userEntityToBeSave);
 
         notificationProducer.sendEmailConfirmationMessage(savedUserEntity);
+        notificationProducer.publishUserEvent(savedUserEntity, UserEventType.CREATED);
 
         return userEntityToUserMapper.map(savedUserEntity);
     }
@@ -90,6 +97,56 @@ public class UserServiceImpl implements UserService {
         return UserEmailDTO.builder().userId(userEntity.getId()).email(userEntity.getEmail()).build();
     }
 
+    /**
+     * Batch form of {@link #getUserEmail(String)} for services resolving many recipients at once. Unknown ids are
+     * left out of the result instead of failing the whole batch.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserEmailDTO> getUserEmails(Collection<String> userIds) {
+        log.info("Looking up user emails for {} userIds", userIds.size());
+
+        return userRepository.findAllById(userIds).stream().map(this::toUserEmail).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserEmailDTO> getUserIdsFromEmails(Collection<String> emails) {
+        log.info("Looking up userIds for {} emails", emails.size());
+
+        return userRepository.findByEmailIn(emails).stream().map(this::toUserEmail).collect(Collectors.toList());
+    }
+
+    /**
+     * One page of the id/email directory in id order, starting after {@code after}. Used by the other services to
+     * bootstrap their local replica before following the user events.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserEmailDTO> getUserDirectory(String after, int limit) {
+        log.debug("Reading user directory page after {} (limit {})", after, limit);
+
+        return userRepository.findDirectoryPage(after == null ? "" : after, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Profile fields left out of the access token, for services showing who did something.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserProfileDTO> getUserProfiles(Collection<String> userIds) {
+        log.info("Looking up user profiles for {} userIds", userIds.size());
+
+        return userRepository.findAllById(userIds).stream()
+                .map(userEntity -> UserProfileDTO.builder().userId(userEntity.getId()).email(userEntity.getEmail())
+                        .firstName(userEntity.getFirstName()).lastName(userEntity.getLastName()).build())
+                .collect(Collectors.toList());
+    }
+
+    private UserEmailDTO toUserEmail(UserEntity userEntity) {
+        return UserEmailDTO.builder().userId(userEntity.getId()).email(userEntity.getEmail()).build();
+    }
+
     @Override
     @Transactional
     @CacheEvict(value = { "userById", "userByEmail" }, allEntries = true)
@@ -108,6 +165,7 @@ public class UserServiceImpl implements UserService {
         user.setConfirmationToken(null);
         user.setConfirmationTokenExpiry(null);
         UserEntity savedUser = userRepository.save(user);
+        notificationProducer.publishUserEvent(savedUser, UserEventType.CONFIRMED);
 
         log.info("Email confirmed successfully for user: {}", savedUser.getId());
         return true;
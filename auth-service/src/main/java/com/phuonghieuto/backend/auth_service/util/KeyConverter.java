@@ -1,15 +1,24 @@
 package com.phuonghieuto.backend.auth_service.util;
 
+import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.experimental.UtilityClass;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.openssl.PEMKeyPair;
 import org.bouncycastle.openssl.PEMParser;
 import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAKey;
+import java.util.Arrays;
+import java.util.Base64;
 
 /**
  * Utility class for converting PEM-encoded keys to {@link PublicKey} and {@link PrivateKey} objects.
@@ -40,6 +49,7 @@ public class KeyConverter {
 
     /**
      * Converts a PEM-encoded private key string to a {@link PrivateKey} object.
+     * Accepts PKCS#8 keys of any type as well as EC keys in the SEC1 form written by {@code openssl ecparam}.
      *
      * @param privatePemKey the PEM-encoded private key string
      * @return the corresponding {@link PrivateKey} object
@@ -49,8 +59,10 @@ public class KeyConverter {
 
         StringReader keyReader = new StringReader(privatePemKey);
         try {
-            PrivateKeyInfo privateKeyInfo = PrivateKeyInfo
-                    .getInstance(new PEMParser(keyReader).readObject());
+            final Object pemObject = new PEMParser(keyReader).readObject();
+            PrivateKeyInfo privateKeyInfo = pemObject instanceof PEMKeyPair keyPair
+                    ? keyPair.getPrivateKeyInfo()
+                    : PrivateKeyInfo.getInstance(pemObject);
             return new JcaPEMKeyConverter().getPrivateKey(privateKeyInfo);
         } catch (IOException exception) {
             throw new RuntimeException(exception);
@@ -58,4 +70,37 @@ public class KeyConverter {
 
     }
 
+    /**
+     * Derives the {@code kid} of a public key from its encoding, so every service computes the same identifier from
+     * the same PEM file without it having to be configured anywhere.
+     *
+     * @param publicKey the public key
+     * @return the first 128 bits of the SHA-256 of the encoded key, base64url encoded
+     */
+    public String keyId(final PublicKey publicKey) {
+
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+    }
+
+    /**
+     * Tells whether the key belongs to the family of the signature algorithm, RSA keys for RS/PS algorithms and EC
+     * keys for ES algorithms.
+     *
+     * @param key the key to check
+     * @param signatureAlgorithm the algorithm named in a token header or in the configuration
+     * @return {@code true} if the key can be used with the algorithm
+     */
+    public boolean isKeyFor(final Key key, final SignatureAlgorithm signatureAlgorithm) {
+
+        return (signatureAlgorithm.isRsa() && key instanceof RSAKey)
+                || (signatureAlgorithm.isEllipticCurve() && key instanceof ECKey);
+
+    }
+
 }
@@ -0,0 +1,140 @@
+package com.phuonghieuto.backend.auth_service.benchmark;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of signing and verifying an access token per algorithm, skipped unless {@code benchmark.jwt} is set:
+ *
+ * <pre>
+ * mvn test -Dtest=TokenSigningBenchmark -Dbenchmark.jwt=true
+ * </pre>
+ *
+ * RS256 and ES256 go through jjwt like the services do. jjwt 0.11 cannot sign with EdDSA, so Ed25519 is measured on
+ * the same signing input with the JDK provider; it shows what a later jjwt upgrade would buy, not what ships today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenSigningBenchmark {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    @Param({"RS256", "ES256", "Ed25519"})
+    public String algorithm;
+
+    private KeyPair keyPair;
+    private JwtParser parser;
+    private String token;
+
+    // Ed25519 only: the header.payload part and its signature
+    private byte[] signingInput;
+    private byte[] signature;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        switch (algorithm) {
+            case "RS256" -> {
+                KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+                keyPairGenerator.initialize(2048);
+                keyPair = keyPairGenerator.generateKeyPair();
+            }
+            case "ES256" -> {
+                KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+                keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+                keyPair = keyPairGenerator.generateKeyPair();
+            }
+            case "Ed25519" -> keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+
+        if ("Ed25519".equals(algorithm)) {
+            String header = BASE64_URL.encodeToString(
+                    "{\"typ\":\"Bearer\",\"alg\":\"EdDSA\"}".getBytes(StandardCharsets.UTF_8));
+            String payload = BASE64_URL.encodeToString(("{\"jti\":\"" + UUID.randomUUID()
+                    + "\",\"iat\":1700000000,\"exp\":1700001800,\"userId\":\"" + UUID.randomUUID()
+                    + "\",\"userType\":\"USER\"}").getBytes(StandardCharsets.UTF_8));
+            signingInput = (header + "." + payload).getBytes(StandardCharsets.US_ASCII);
+            signature = signEd25519();
+        } else {
+            parser = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+            token = signJwt();
+        }
+    }
+
+    @Benchmark
+    public Object sign() throws GeneralSecurityException {
+        return "Ed25519".equals(algorithm) ? signEd25519() : signJwt();
+    }
+
+    @Benchmark
+    public Object verify() throws GeneralSecurityException {
+        if ("Ed25519".equals(algorithm)) {
+            Signature verifier = Signature.getInstance("Ed25519");
+            verifier.initVerify(keyPair.getPublic());
+            verifier.update(signingInput);
+            return verifier.verify(signature);
+        }
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // Same shape as the compact access token issued by TokenGenerationServiceImpl
+    private String signJwt() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam("typ", "Bearer")
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TimeUnit.MINUTES.toMillis(30)))
+                .addClaims(Map.of("userId", "8b0c5c6e-4f55-4b7e-9d47-3b7a8f4f2c11", "userType", "USER"))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.forName(algorithm))
+                .compact();
+    }
+
+    private byte[] signEd25519() throws GeneralSecurityException {
+        Signature signer = Signature.getInstance("Ed25519");
+        signer.initSign(keyPair.getPrivate());
+        signer.update(signingInput);
+        return signer.sign();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.jwt", matches = "true")
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TokenSigningBenchmark.class.getName())
+                .build())
+                .run();
+    }
+}
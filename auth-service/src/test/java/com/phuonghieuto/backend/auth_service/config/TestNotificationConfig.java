@@ -2,6 +2,7 @@ package com.phuonghieuto.backend.auth_service.config;
 
 import com.phuonghieuto.backend.auth_service.messaging.producer.NotificationProducer;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
+import com.phuonghieuto.backend.auth_service.model.user.enums.UserEventType;
 
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -31,5 +32,10 @@ public class TestNotificationConfig {
             // Do nothing in tests
             System.out.println("Test mode: Email confirmation skipped for " + user.getEmail());
         }
+
+        @Override
+        public void publishUserEvent(UserEntity user, UserEventType type) {
+            // Do nothing in tests
+        }
     }
 }
\ No newline at end of file
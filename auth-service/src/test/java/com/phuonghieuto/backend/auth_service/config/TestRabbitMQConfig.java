@@ -26,12 +26,6 @@ public class TestRabbitMQConfig {
     }
     
     // Mock all RabbitMQ queue beans
-    @Bean
-    @Primary
-    public Queue taskNotificationsQueue() {
-        return Mockito.mock(Queue.class);
-    }
-    
     @Bean
     @Primary
     public Queue emailConfirmationQueue() {
@@ -39,12 +33,6 @@ public class TestRabbitMQConfig {
     }
     
     // Mock all exchange beans
-    @Bean
-    @Primary
-    public DirectExchange tasksExchange() {
-        return Mockito.mock(DirectExchange.class);
-    }
-    
     @Bean
     @Primary
     public DirectExchange notificationExchange() {
@@ -52,24 +40,6 @@ public class TestRabbitMQConfig {
     }
     
     // Mock all binding beans
-    @Bean
-    @Primary
-    public Binding taskDueSoonBinding() {
-        return Mockito.mock(Binding.class);
-    }
-    
-    @Bean
-    @Primary
-    public Binding taskOverdueBinding() {
-        return Mockito.mock(Binding.class);
-    }
-    
-    @Bean
-    @Primary
-    public Binding boardInvitationBinding() {
-        return Mockito.mock(Binding.class);
-    }
-    
     @Bean
     @Primary
     public Binding emailConfirmationBinding() {
@@ -13,11 +13,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -99,6 +102,32 @@ public class AuthControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.isSuccess").value(false))
                 .andExpect(jsonPath("$.message").value("Password is not valid"));
     }
+
+    @Test
+    void login_LowerCostHash_IsUpgraded() throws Exception {
+        // Stored with a cost below the configured one
+        UserEntity user = new UserEntity();
+        user.setEmail("legacy@example.com");
+        user.setUsername("legacyuser");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("Password123!"));
+        user.setFirstName("Legacy");
+        user.setLastName("User");
+        user.setEmailConfirmed(true);
+        user = userRepository.save(user);
+
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail("legacy@example.com");
+        loginRequest.setPassword("Password123!");
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertFalse(passwordEncoder.upgradeEncoding(storedHash));
+        assertTrue(passwordEncoder.matches("Password123!", storedHash));
+    }
     
     @Test
     void refreshToken_Success() throws Exception {
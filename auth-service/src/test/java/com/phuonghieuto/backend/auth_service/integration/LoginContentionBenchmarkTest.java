@@ -0,0 +1,138 @@
+package com.phuonghieuto.backend.auth_service.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phuonghieuto.backend.auth_service.config.TestConfig;
+import com.phuonghieuto.backend.auth_service.model.user.dto.request.LoginRequestDTO;
+import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
+import com.phuonghieuto.backend.auth_service.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Login throughput under contention, skipped unless {@code benchmark.login.threads} is set. That many threads log in
+ * back to back while one more thread keeps validating an access token, which stands in for the cheap requests that
+ * share the service with BCrypt:
+ *
+ * <pre>
+ * mvn test -Dtest=LoginContentionBenchmarkTest -Dbenchmark.login.threads=64 -Dbenchmark.login.seconds=20
+ * </pre>
+ *
+ * Reports completed and rejected (503) logins per second and the token validation latency while they run. Compare
+ * runs with different {@code auth.password-hashing.*} settings to size the pool and queue.
+ */
+@EnabledIfSystemProperty(named = "benchmark.login.threads", matches = "\\d+")
+@Import(TestConfig.class)
+@AutoConfigureMockMvc
+class LoginContentionBenchmarkTest extends BaseIntegrationTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void concurrentLogins_ReportThroughputAndValidationLatency() throws Exception {
+        int threads = Integer.getInteger("benchmark.login.threads");
+        long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("benchmark.login.seconds", 20));
+
+        userRepository.deleteAll();
+        UserEntity user = new UserEntity();
+        user.setEmail("bench@example.com");
+        user.setUsername("benchuser");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setFirstName("Bench");
+        user.setLastName("User");
+        user.setEmailConfirmed(true);
+        userRepository.save(user);
+
+        byte[] loginBody = loginBody();
+        String accessToken = objectMapper.readTree(mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON).content(loginBody))
+                .andReturn().getResponse().getContentAsString())
+                .path("response").path("accessToken").asText();
+
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<Long> validationNanos = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + durationNanos;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    int status = mockMvc.perform(post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON).content(loginBody))
+                            .andReturn().getResponse().getStatus();
+                    (status == 200 ? succeeded : status == 503 ? rejected : failed).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        workers.add(pool.submit(() -> {
+            while (System.nanoTime() < deadline) {
+                long startedAt = System.nanoTime();
+                mockMvc.perform(post("/auth/validate-token").param("token", accessToken)).andReturn();
+                validationNanos.add(System.nanoTime() - startedAt);
+            }
+            return null;
+        }));
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+
+        double seconds = durationNanos / 1e9;
+        List<Long> latencies = new ArrayList<>(validationNanos);
+        Collections.sort(latencies);
+        System.out.printf("Login contention: %d threads for %.0f s, %.1f logins/s ok, %.1f/s rejected, %d failed, "
+                + "token validation p50 %.2f ms p99 %.2f ms (%d samples)%n",
+                threads, seconds, succeeded.get() / seconds, rejected.get() / seconds, failed.get(),
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99), latencies.size());
+
+        assertTrue(succeeded.get() > 0);
+        assertTrue(failed.get() == 0);
+    }
+
+    private byte[] loginBody() throws Exception {
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail("bench@example.com");
+        loginRequest.setPassword(PASSWORD);
+        return objectMapper.writeValueAsBytes(loginRequest);
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.round(percentile * sorted.size()))) / 1e6;
+    }
+}
@@ -5,6 +5,7 @@ import com.phuonghieuto.backend.auth_service.config.TestConfig;
 import com.phuonghieuto.backend.auth_service.model.user.dto.request.RegisterRequestDTO;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
 import com.phuonghieuto.backend.auth_service.repository.UserRepository;
+import com.phuonghieuto.backend.auth_service.security.InternalCallerAuthorizationManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 public class UserControllerIntegrationTest extends BaseIntegrationTest {
 
+    // auth.internal-caller.token in application-test.yml
+    private static final String SERVICE_TOKEN = "test-internal-service-token";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -160,6 +164,115 @@ public class UserControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.message").value(containsString("User not found with email")));
     }
     
+    @Test
+    void getUserDirectory_InternalCaller() throws Exception {
+        UserEntity user = new UserEntity();
+        user.setEmail("directory@example.com");
+        user.setUsername("directoryuser");
+        user.setPassword(passwordEncoder.encode("Password123!"));
+        user.setFirstName("Directory");
+        user.setLastName("User");
+        userRepository.save(user);
+
+        mockMvc.perform(get("/users/directory")
+                .header(InternalCallerAuthorizationManager.HEADER, SERVICE_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(user.getId()))
+                .andExpect(jsonPath("$[0].email").value("directory@example.com"));
+    }
+    
+    @Test
+    void getUserDirectory_WithoutServiceToken_Unauthorized() throws Exception {
+        mockMvc.perform(get("/users/directory"))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void getUserDirectory_WrongServiceToken_Unauthorized() throws Exception {
+        mockMvc.perform(get("/users/directory")
+                .header(InternalCallerAuthorizationManager.HEADER, "not-the-service-token"))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void getUserEmails_InternalCaller() throws Exception {
+        UserEntity user = new UserEntity();
+        user.setEmail("bulk-email@example.com");
+        user.setUsername("bulkemailuser");
+        user.setPassword(passwordEncoder.encode("Password123!"));
+        user.setFirstName("Bulk");
+        user.setLastName("User");
+        userRepository.save(user);
+
+        mockMvc.perform(post("/users/emails")
+                .header(InternalCallerAuthorizationManager.HEADER, SERVICE_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userIds\":[\"" + user.getId() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("bulk-email@example.com"));
+    }
+    
+    @Test
+    void getUserEmails_WithoutServiceToken_Unauthorized() throws Exception {
+        mockMvc.perform(post("/users/emails")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userIds\":[\"" + UUID.randomUUID() + "\"]}"))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void getUserIdsFromEmails_InternalCaller() throws Exception {
+        UserEntity user = new UserEntity();
+        user.setEmail("bulk-id@example.com");
+        user.setUsername("bulkiduser");
+        user.setPassword(passwordEncoder.encode("Password123!"));
+        user.setFirstName("Bulk");
+        user.setLastName("User");
+        userRepository.save(user);
+
+        mockMvc.perform(post("/users/by-emails")
+                .header(InternalCallerAuthorizationManager.HEADER, SERVICE_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emails\":[\"bulk-id@example.com\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(user.getId()));
+    }
+    
+    @Test
+    void getUserIdsFromEmails_WithoutServiceToken_Unauthorized() throws Exception {
+        mockMvc.perform(post("/users/by-emails")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"emails\":[\"bulk-id@example.com\"]}"))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void getUserProfiles_InternalCaller() throws Exception {
+        UserEntity user = new UserEntity();
+        user.setEmail("profile@example.com");
+        user.setUsername("profileuser");
+        user.setPassword(passwordEncoder.encode("Password123!"));
+        user.setFirstName("Profile");
+        user.setLastName("User");
+        userRepository.save(user);
+
+        mockMvc.perform(post("/users/profiles")
+                .header(InternalCallerAuthorizationManager.HEADER, SERVICE_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userIds\":[\"" + user.getId() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("profile@example.com"))
+                .andExpect(jsonPath("$[0].firstName").value("Profile"));
+    }
+    
+    @Test
+    void getUserProfiles_WithoutServiceToken_Unauthorized() throws Exception {
+        mockMvc.perform(post("/users/profiles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userIds\":[\"" + UUID.randomUUID() + "\"]}"))
+                .andExpect(status().isUnauthorized());
+    }
+    
     @Test
     void confirmEmail_Success() throws Exception {
         // Create a user with unconfirmed email
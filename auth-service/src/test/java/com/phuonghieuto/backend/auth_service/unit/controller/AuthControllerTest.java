@@ -2,6 +2,7 @@ package com.phuonghieuto.backend.auth_service.unit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.phuonghieuto.backend.auth_service.controller.AuthController;
+import com.phuonghieuto.backend.auth_service.exception.PasswordHashingUnavailableException;
 import com.phuonghieuto.backend.auth_service.exception.PasswordNotValidException;
 import com.phuonghieuto.backend.auth_service.exception.TokenAlreadyInvalidatedException;
 import com.phuonghieuto.backend.auth_service.exception.UserNotFoundException;
@@ -33,6 +34,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -168,6 +170,29 @@ class AuthControllerTest {
                 verify(authenticationService).login(any(LoginRequestDTO.class));
         }
 
+        @Test
+        void loginUser_HashingPoolSaturated_ServiceUnavailable() throws Exception {
+                // Arrange
+                LoginRequestDTO loginRequest = new LoginRequestDTO();
+                loginRequest.setEmail("test@example.com");
+                loginRequest.setPassword("Password123!");
+
+                when(authenticationService.login(any(LoginRequestDTO.class)))
+                                .thenThrow(new PasswordHashingUnavailableException());
+
+                // Act
+                ResultActions resultActions = mockMvc
+                                .perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(loginRequest)));
+
+                // Assert
+                resultActions.andExpect(status().isServiceUnavailable()).andExpect(header().string("Retry-After", "1"))
+                                .andExpect(jsonPath("$.isSuccess").value(false))
+                                .andExpect(jsonPath("$.header").value(CustomError.Header.PROCESS_ERROR.getName()));
+
+                verify(authenticationService).login(any(LoginRequestDTO.class));
+        }
+
         @Test
         void refreshToken_Success() throws Exception {
                 // Arrange
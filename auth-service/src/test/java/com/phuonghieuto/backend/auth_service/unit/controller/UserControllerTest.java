@@ -8,8 +8,12 @@ import com.phuonghieuto.backend.auth_service.exception.exception_handler.GlobalE
 import com.phuonghieuto.backend.auth_service.model.User;
 import com.phuonghieuto.backend.auth_service.model.common.CustomError;
 import com.phuonghieuto.backend.auth_service.model.user.dto.request.RegisterRequestDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.request.UserEmailsRequestDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.request.UserIdsRequestDTO;
 import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserEmailDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserProfileDTO;
 import com.phuonghieuto.backend.auth_service.service.UserService;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -182,6 +186,107 @@ class UserControllerTest {
 		verify(userService).getUserIdFromEmail(email);
 	}
 
+	@Test
+	void getUserEmails_Success() throws Exception {
+		// Arrange
+		List<String> userIds = List.of("user123", "user456", "unknown");
+		when(userService.getUserEmails(userIds)).thenReturn(List.of(
+				UserEmailDTO.builder().userId("user123").email("test@example.com").build(),
+				UserEmailDTO.builder().userId("user456").email("other@example.com").build()));
+
+		// Act
+		ResultActions resultActions = mockMvc.perform(post("/users/emails").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(UserIdsRequestDTO.builder().userIds(userIds).build())));
+
+		// Assert
+		resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].userId").value("user123"))
+				.andExpect(jsonPath("$[1].email").value("other@example.com"));
+
+		verify(userService).getUserEmails(userIds);
+	}
+
+	@Test
+	void getUserEmails_EmptyRequest_BadRequest() throws Exception {
+		// Act
+		ResultActions resultActions = mockMvc.perform(post("/users/emails").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(UserIdsRequestDTO.builder().userIds(List.of()).build())));
+
+		// Assert
+		resultActions.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(userService);
+	}
+
+	@Test
+	void getUserProfiles_Success() throws Exception {
+		// Arrange
+		List<String> userIds = List.of("user123", "unknown");
+		when(userService.getUserProfiles(userIds)).thenReturn(List.of(UserProfileDTO.builder().userId("user123")
+				.email("test@example.com").firstName("John").lastName("Doe").build()));
+
+		// Act
+		ResultActions resultActions = mockMvc.perform(post("/users/profiles").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(UserIdsRequestDTO.builder().userIds(userIds).build())));
+
+		// Assert
+		resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].userId").value("user123"))
+				.andExpect(jsonPath("$[0].firstName").value("John"))
+				.andExpect(jsonPath("$[0].lastName").value("Doe"));
+
+		verify(userService).getUserProfiles(userIds);
+	}
+
+	@Test
+	void getUserIdsFromEmails_Success() throws Exception {
+		// Arrange
+		List<String> emails = List.of("test@example.com");
+		when(userService.getUserIdsFromEmails(emails))
+				.thenReturn(List.of(UserEmailDTO.builder().userId("user123").email("test@example.com").build()));
+
+		// Act
+		ResultActions resultActions = mockMvc.perform(post("/users/by-emails").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(UserEmailsRequestDTO.builder().emails(emails).build())));
+
+		// Assert
+		resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].userId").value("user123"));
+
+		verify(userService).getUserIdsFromEmails(emails);
+	}
+
+	@Test
+	void getUserDirectory_Success() throws Exception {
+		// Arrange
+		when(userService.getUserDirectory("user123", 2)).thenReturn(
+				List.of(UserEmailDTO.builder().userId("user456").email("other@example.com").build()));
+
+		// Act
+		ResultActions resultActions = mockMvc
+				.perform(get("/users/directory").param("after", "user123").param("limit", "2"));
+
+		// Assert
+		resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].userId").value("user456"));
+
+		verify(userService).getUserDirectory("user123", 2);
+	}
+
+	@Test
+	void getUserDirectory_LimitIsCapped() throws Exception {
+		// Arrange
+		when(userService.getUserDirectory(null, 5000)).thenReturn(List.of());
+
+		// Act
+		ResultActions resultActions = mockMvc.perform(get("/users/directory").param("limit", "100000"));
+
+		// Assert
+		resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(0));
+
+		verify(userService).getUserDirectory(null, 5000);
+	}
+
 	@Test
 	void confirmEmail_Success() throws Exception {
 		// Arrange
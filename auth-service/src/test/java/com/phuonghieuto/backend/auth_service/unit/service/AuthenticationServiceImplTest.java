@@ -1,5 +1,6 @@
 package com.phuonghieuto.backend.auth_service.unit.service;
 
+import com.phuonghieuto.backend.auth_service.exception.PasswordHashingUnavailableException;
 import com.phuonghieuto.backend.auth_service.exception.PasswordNotValidException;
 import com.phuonghieuto.backend.auth_service.exception.UserNotFoundException;
 import com.phuonghieuto.backend.auth_service.exception.UserStatusNotValidException;
@@ -13,6 +14,7 @@ import com.phuonghieuto.backend.auth_service.model.user.enums.TokenClaims;
 import com.phuonghieuto.backend.auth_service.model.user.enums.UserStatus;
 import com.phuonghieuto.backend.auth_service.model.user.mapper.TokenToTokenResponseMapper;
 import com.phuonghieuto.backend.auth_service.repository.UserRepository;
+import com.phuonghieuto.backend.auth_service.service.PasswordHashingService;
 import com.phuonghieuto.backend.auth_service.service.TokenGenerationService;
 import com.phuonghieuto.backend.auth_service.service.TokenManagementService;
 import com.phuonghieuto.backend.auth_service.service.TokenValidationService;
@@ -27,7 +29,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,7 +46,7 @@ class AuthenticationServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private TokenGenerationService tokenGenerationService;
@@ -111,7 +116,7 @@ class AuthenticationServiceImplTest {
     void login_Success() {
         // Arrange
         when(userRepository.findUserEntityByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
-        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
         when(tokenGenerationService.generateToken(any())).thenReturn(token);
         when(tokenToTokenResponseMapper.map(token)).thenReturn(tokenResponseDTO);
 
@@ -124,11 +129,49 @@ class AuthenticationServiceImplTest {
         assertEquals("refresh-token", result.getRefreshToken());
 
         verify(userRepository).findUserEntityByEmail("active@example.com");
-        verify(passwordEncoder).matches("password123", "encodedPassword");
+        verify(passwordHashingService).matches("password123", "encodedPassword");
         verify(tokenGenerationService).generateToken(any());
         verify(tokenToTokenResponseMapper).map(token);
     }
 
+    @Test
+    void login_OutdatedHash_IsUpgraded() {
+        // Arrange
+        when(userRepository.findUserEntityByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenReturn("strongerPassword");
+        when(tokenGenerationService.generateToken(any())).thenReturn(token);
+        when(tokenToTokenResponseMapper.map(token)).thenReturn(tokenResponseDTO);
+
+        // Act
+        TokenResponseDTO result = authenticationService.login(loginRequest);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("strongerPassword", activeUser.getPassword());
+        verify(userRepository).save(activeUser);
+    }
+
+    @Test
+    void login_HashUpgradeFails_StillLogsIn() {
+        // Arrange
+        when(userRepository.findUserEntityByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenThrow(new PasswordHashingUnavailableException());
+        when(tokenGenerationService.generateToken(any())).thenReturn(token);
+        when(tokenToTokenResponseMapper.map(token)).thenReturn(tokenResponseDTO);
+
+        // Act
+        TokenResponseDTO result = authenticationService.login(loginRequest);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("encodedPassword", activeUser.getPassword());
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     void login_UserNotFound() {
         // Arrange
@@ -146,13 +189,13 @@ class AuthenticationServiceImplTest {
     void login_PasswordNotValid() {
         // Arrange
         when(userRepository.findUserEntityByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
-        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(false);
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(false);
 
         // Act & Assert
         assertThrows(PasswordNotValidException.class, () -> authenticationService.login(loginRequest));
 
         verify(userRepository).findUserEntityByEmail("active@example.com");
-        verify(passwordEncoder).matches("password123", "encodedPassword");
+        verify(passwordHashingService).matches("password123", "encodedPassword");
         verifyNoInteractions(tokenGenerationService);
         verifyNoInteractions(tokenToTokenResponseMapper);
     }
@@ -163,13 +206,13 @@ class AuthenticationServiceImplTest {
         loginRequest.setEmail("unconfirmed@example.com");
         when(userRepository.findUserEntityByEmail("unconfirmed@example.com"))
                 .thenReturn(Optional.of(userWithUnconfirmedEmail));
-        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
 
         // Act & Assert
         assertThrows(UserStatusNotValidException.class, () -> authenticationService.login(loginRequest));
 
         verify(userRepository).findUserEntityByEmail("unconfirmed@example.com");
-        verify(passwordEncoder).matches("password123", "encodedPassword");
+        verify(passwordHashingService).matches("password123", "encodedPassword");
         verifyNoInteractions(tokenGenerationService);
         verifyNoInteractions(tokenToTokenResponseMapper);
     }
@@ -179,13 +222,13 @@ class AuthenticationServiceImplTest {
         // Arrange
         loginRequest.setEmail("passive@example.com");
         when(userRepository.findUserEntityByEmail("passive@example.com")).thenReturn(Optional.of(passiveUser));
-        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
 
         // Act & Assert
         assertThrows(UserStatusNotValidException.class, () -> authenticationService.login(loginRequest));
 
         verify(userRepository).findUserEntityByEmail("passive@example.com");
-        verify(passwordEncoder).matches("password123", "encodedPassword");
+        verify(passwordHashingService).matches("password123", "encodedPassword");
         verifyNoInteractions(tokenGenerationService);
         verifyNoInteractions(tokenToTokenResponseMapper);
     }
@@ -272,11 +315,17 @@ class AuthenticationServiceImplTest {
         invalidateRequest.setAccessToken("access-token");
         invalidateRequest.setRefreshToken("refresh-token");
 
+        // Expirations are kept with second precision in the claims
+        Date accessExpiration = Date.from(Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS));
+        Date refreshExpiration = Date.from(Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS));
+
         Claims accessPayload = Jwts.claims();
         accessPayload.setId("access-token-id");
+        accessPayload.setExpiration(accessExpiration);
 
         Claims refreshPayload = Jwts.claims();
         refreshPayload.setId("refresh-token-id");
+        refreshPayload.setExpiration(refreshExpiration);
 
         when(tokenValidationService.verifyAndValidate(anySet())).thenReturn(true);
         when(tokenValidationService.getPayload("access-token")).thenReturn(accessPayload);
@@ -284,7 +333,7 @@ class AuthenticationServiceImplTest {
 
         // Use doNothing with anyString() to match any string argument
         doReturn(false).when(tokenManagementService).checkForInvalidityOfToken(anyString());
-        doNothing().when(tokenManagementService).invalidateTokens(anySet());
+        doNothing().when(tokenManagementService).invalidateTokens(anyMap());
 
         // Act
         authenticationService.logout(invalidateRequest);
@@ -295,7 +344,9 @@ class AuthenticationServiceImplTest {
         verify(tokenValidationService).getPayload("refresh-token");
         verify(tokenManagementService).checkForInvalidityOfToken("access-token-id");
         verify(tokenManagementService).checkForInvalidityOfToken("refresh-token-id");
-        verify(tokenManagementService).invalidateTokens(Set.of("access-token-id", "refresh-token-id"));
+        verify(tokenManagementService).invalidateTokens(Map.of(
+                "access-token-id", accessExpiration.toInstant(),
+                "refresh-token-id", refreshExpiration.toInstant()));
     }
 
     @Test
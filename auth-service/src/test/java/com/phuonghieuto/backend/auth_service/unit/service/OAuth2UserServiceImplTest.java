@@ -1,8 +1,10 @@
 package com.phuonghieuto.backend.auth_service.unit.service;
 
 import com.phuonghieuto.backend.auth_service.exception.OAuth2AuthenticationProcessingException;
+import com.phuonghieuto.backend.auth_service.messaging.producer.NotificationProducer;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
 import com.phuonghieuto.backend.auth_service.model.user.enums.AuthProvider;
+import com.phuonghieuto.backend.auth_service.model.user.enums.UserEventType;
 import com.phuonghieuto.backend.auth_service.model.user.oauth2.CustomOAuth2User;
 import com.phuonghieuto.backend.auth_service.model.user.oauth2.OAuth2UserInfo;
 import com.phuonghieuto.backend.auth_service.model.user.oauth2.OAuth2UserInfoFactory;
@@ -37,6 +39,9 @@ class OAuth2UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private NotificationProducer notificationProducer;
+
     @InjectMocks
     private OAuth2UserServiceImpl oAuth2UserService;
 
@@ -136,6 +141,7 @@ class OAuth2UserServiceImplTest {
                 assertNotNull(result);
                 verify(userRepository).findByEmail("user@example.com");
                 verify(userRepository).save(existingUser);
+                verify(notificationProducer).publishUserEvent(any(), eq(UserEventType.UPDATED));
             } catch (NoSuchMethodException | SecurityException e) {
                 e.printStackTrace();
             } catch (IllegalAccessException e) {
@@ -174,6 +180,7 @@ class OAuth2UserServiceImplTest {
                 assertNotNull(result);
                 verify(userRepository).findByEmail("user@example.com");
                 verify(userRepository).save(any(UserEntity.class));
+                verify(notificationProducer).publishUserEvent(newUser, UserEventType.CREATED);
             } catch (Exception e) {
                 fail("Exception thrown: " + e.getMessage());
             }
@@ -0,0 +1,133 @@
+package com.phuonghieuto.backend.auth_service.unit.service;
+
+import com.phuonghieuto.backend.auth_service.exception.PasswordHashingUnavailableException;
+import com.phuonghieuto.backend.auth_service.service.impl.PasswordHashingServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnPool() {
+        // Arrange
+        PasswordHashingServiceImpl service = service(new BCryptPasswordEncoder(4), Duration.ofSeconds(5));
+
+        // Act
+        String encoded = service.encode("Password123!");
+
+        // Assert
+        assertTrue(service.matches("Password123!", encoded));
+        assertFalse(service.matches("WrongPassword", encoded));
+        assertEquals(3, meterRegistry.timer("auth.password.hashing.duration").count());
+        assertEquals(3, meterRegistry.timer("auth.password.hashing.wait").count());
+    }
+
+    @Test
+    void upgradeEncoding_LowerCostHash_ReturnsTrue() {
+        // Arrange
+        PasswordHashingServiceImpl service = service(new BCryptPasswordEncoder(5), Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertTrue(service.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Password123!")));
+        assertFalse(service.upgradeEncoding(new BCryptPasswordEncoder(5).encode("Password123!")));
+        assertFalse(service.upgradeEncoding(null));
+    }
+
+    @Test
+    void matches_QueueFull_RejectsImmediately() throws Exception {
+        // Arrange
+        PasswordHashingServiceImpl service = service(blockingEncoder(), Duration.ofSeconds(5));
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> service.matches("a", "hash"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.matches("b", "hash"));
+        awaitQueued(1);
+
+        // Act & Assert
+        assertThrows(PasswordHashingUnavailableException.class, () -> service.matches("c", "hash"));
+        assertEquals(1, meterRegistry.counter("auth.password.hashing.rejected", "reason", "queue-full").count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_WaitExceeded_RejectsAndSkipsQueuedWork() throws Exception {
+        // Arrange
+        PasswordEncoder encoder = blockingEncoder();
+        PasswordHashingServiceImpl service = service(encoder, Duration.ofMillis(100));
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> assertThrows(
+                PasswordHashingUnavailableException.class, () -> service.matches("a", "hash")));
+        awaitActive(1);
+
+        // Act & Assert
+        assertThrows(PasswordHashingUnavailableException.class, () -> service.matches("b", "hash"));
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(2, meterRegistry.counter("auth.password.hashing.rejected", "reason", "timeout").count());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        verify(encoder, never()).matches("b", "hash");
+    }
+
+    private PasswordHashingServiceImpl service(PasswordEncoder encoder, Duration maxWait) {
+        return new PasswordHashingServiceImpl(encoder, executor, meterRegistry, maxWait);
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        return encoder;
+    }
+
+    private void awaitActive(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getActiveCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, executor.getActiveCount());
+    }
+
+    private void awaitQueued(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getThreadPoolExecutor().getQueue().size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, executor.getThreadPoolExecutor().getQueue().size());
+    }
+}
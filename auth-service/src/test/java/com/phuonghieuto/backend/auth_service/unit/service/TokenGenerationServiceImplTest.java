@@ -4,7 +4,9 @@ import com.phuonghieuto.backend.auth_service.config.TokenConfigurationParameter;
 import com.phuonghieuto.backend.auth_service.model.Token;
 import com.phuonghieuto.backend.auth_service.service.impl.TokenGenerationServiceImpl;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import org.apache.commons.lang3.time.DateUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -47,6 +50,7 @@ class TokenGenerationServiceImplTest {
 
 		// Mock configuration
 		when(tokenConfigurationParameter.getPrivateKey()).thenReturn(privateKey);
+		when(tokenConfigurationParameter.getSignatureAlgorithm()).thenReturn(SignatureAlgorithm.RS256);
 		// when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
 		when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(15);
 
@@ -273,4 +277,48 @@ class TokenGenerationServiceImplTest {
 		
 		verify(tokenConfigurationParameter).getRefreshTokenExpireDay();
 	}
+
+	@Test
+	void generateToken_KeyIdHeader_Success() {
+		when(tokenConfigurationParameter.getKeyId()).thenReturn("current-key");
+
+		// Act
+		Token token = tokenGenerationService.generateToken(claims);
+
+		// Assert
+		Jws<Claims> accessToken = Jwts.parserBuilder()
+				.setSigningKey(publicKey)
+				.build()
+				.parseClaimsJws(token.getAccessToken());
+		Jws<Claims> refreshToken = Jwts.parserBuilder()
+				.setSigningKey(publicKey)
+				.build()
+				.parseClaimsJws(token.getRefreshToken());
+
+		assertEquals("current-key", accessToken.getHeader().getKeyId());
+		assertEquals("current-key", refreshToken.getHeader().getKeyId());
+		assertEquals("RS256", accessToken.getHeader().getAlgorithm());
+	}
+
+	@Test
+	void generateToken_EllipticCurveKey_Success() throws Exception {
+		// Arrange
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+		KeyPair keyPair = keyPairGenerator.generateKeyPair();
+		when(tokenConfigurationParameter.getPrivateKey()).thenReturn(keyPair.getPrivate());
+		when(tokenConfigurationParameter.getSignatureAlgorithm()).thenReturn(SignatureAlgorithm.ES256);
+
+		// Act
+		Token token = tokenGenerationService.generateToken(claims, "existing-refresh-token");
+
+		// Assert
+		Jws<Claims> accessToken = Jwts.parserBuilder()
+				.setSigningKey(keyPair.getPublic())
+				.build()
+				.parseClaimsJws(token.getAccessToken());
+
+		assertEquals("ES256", accessToken.getHeader().getAlgorithm());
+		assertEquals("user123", accessToken.getBody().get("userId"));
+	}
 }
@@ -1,5 +1,6 @@
 package com.phuonghieuto.backend.auth_service.unit.service;
 
+import com.phuonghieuto.backend.auth_service.config.TokenConfigurationParameter;
 import com.phuonghieuto.backend.auth_service.exception.TokenAlreadyInvalidatedException;
 import com.phuonghieuto.backend.auth_service.model.user.entity.InvalidTokenEntity;
 import com.phuonghieuto.backend.auth_service.repository.InvalidTokenRepository;
@@ -12,12 +13,23 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import java.util.HashSet;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,35 +38,50 @@ class TokenManagementServiceImplTest {
     @Mock
     private InvalidTokenRepository invalidTokenRepository;
 
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TokenConfigurationParameter tokenConfigurationParameter;
+
     @InjectMocks
     private TokenManagementServiceImpl tokenManagementService;
 
     @Captor
     private ArgumentCaptor<Set<InvalidTokenEntity>> invalidTokenEntitiesCaptor;
 
-    private Set<String> tokenIds;
+    @Captor
+    private ArgumentCaptor<Duration> ttlCaptor;
+
+    private Map<String, Instant> tokenExpirations;
 
     @BeforeEach
     void setUp() {
-        tokenIds = new HashSet<>();
-        tokenIds.add("token-id-1");
-        tokenIds.add("token-id-2");
-        tokenIds.add("token-id-3");
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        tokenExpirations = new HashMap<>();
+        tokenExpirations.put("token-id-1", expiresAt);
+        tokenExpirations.put("token-id-2", expiresAt);
+        tokenExpirations.put("token-id-3", expiresAt);
     }
 
     @Test
     void invalidateTokens_Success() {
         // Arrange
         when(invalidTokenRepository.saveAll(any())).thenReturn(null);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
-        tokenManagementService.invalidateTokens(tokenIds);
+        tokenManagementService.invalidateTokens(tokenExpirations);
 
         // Assert
         verify(invalidTokenRepository).saveAll(invalidTokenEntitiesCaptor.capture());
 
         Set<InvalidTokenEntity> capturedEntities = invalidTokenEntitiesCaptor.getValue();
         assertEquals(3, capturedEntities.size());
+        assertTrue(capturedEntities.stream().allMatch(entity -> entity.getExpiresAt() != null));
 
         // Convert the captured entities back to a set of token IDs for comparison
         Set<String> capturedTokenIds = capturedEntities.stream().map(InvalidTokenEntity::getTokenId)
@@ -63,98 +90,248 @@ class TokenManagementServiceImplTest {
         assertTrue(capturedTokenIds.contains("token-id-1"));
         assertTrue(capturedTokenIds.contains("token-id-2"));
         assertTrue(capturedTokenIds.contains("token-id-3"));
+
+        verify(valueOperations).set(eq("auth:revoked:token-id-1"), eq("1"), ttlCaptor.capture());
+        verify(valueOperations).set(eq("auth:revoked:token-id-2"), eq("1"), any(Duration.class));
+        verify(valueOperations).set(eq("auth:revoked:token-id-3"), eq("1"), any(Duration.class));
+
+        // The Redis entry lives exactly as long as the token would
+        assertTrue(ttlCaptor.getValue().compareTo(Duration.ofHours(1)) <= 0);
+        assertTrue(ttlCaptor.getValue().compareTo(Duration.ofMinutes(59)) > 0);
     }
 
     @Test
-    void invalidateTokens_EmptySet() {
-        // Arrange
-        Set<String> emptyTokenIds = new HashSet<>();
-
+    void invalidateTokens_EmptyMap() {
         // Act
-        tokenManagementService.invalidateTokens(emptyTokenIds);
+        tokenManagementService.invalidateTokens(Map.of());
 
         // Assert
         verify(invalidTokenRepository).saveAll(invalidTokenEntitiesCaptor.capture());
 
         Set<InvalidTokenEntity> capturedEntities = invalidTokenEntitiesCaptor.getValue();
         assertTrue(capturedEntities.isEmpty());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void invalidateTokens_ExpiredToken_NotStoredInRedis() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // Act
+        tokenManagementService.invalidateTokens(Map.of(
+                "expired-token-id", Instant.now().minusSeconds(1),
+                "valid-token-id", Instant.now().plusSeconds(60)));
+
+        // Assert
+        verify(invalidTokenRepository).saveAll(invalidTokenEntitiesCaptor.capture());
+        assertEquals(2, invalidTokenEntitiesCaptor.getValue().size());
+        verify(valueOperations).set(eq("auth:revoked:valid-token-id"), eq("1"), any(Duration.class));
+        verify(valueOperations, never()).set(eq("auth:revoked:expired-token-id"), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void invalidateTokens_RedisUnavailable_StillSavedToDatabase() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("Connection refused"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        // Act
+        assertDoesNotThrow(() -> tokenManagementService.invalidateTokens(tokenExpirations));
+
+        // Assert
+        verify(invalidTokenRepository).saveAll(any());
+        verify(valueOperations, times(3)).set(anyString(), eq("1"), any(Duration.class));
+    }
+
+    @Test
+    void invalidateTokens_RepositoryException() {
+        // Arrange
+        when(invalidTokenRepository.saveAll(any())).thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> tokenManagementService.invalidateTokens(tokenExpirations));
+        verify(invalidTokenRepository).saveAll(any());
+        verifyNoInteractions(redisTemplate);
     }
 
     @Test
     void checkForInvalidityOfToken_ValidToken() {
         // Arrange
-        when(invalidTokenRepository.findByTokenId(anyString())).thenReturn(Optional.empty());
+        when(redisTemplate.hasKey("auth:revoked:valid-token-id")).thenReturn(false);
 
         // Act
         boolean result = tokenManagementService.checkForInvalidityOfToken("valid-token-id");
 
         // Assert
         assertFalse(result);
-        verify(invalidTokenRepository).findByTokenId("valid-token-id");
+        verifyNoInteractions(invalidTokenRepository);
     }
 
     @Test
     void checkForInvalidityOfToken_InvalidToken() {
+        // Arrange
+        when(redisTemplate.hasKey("auth:revoked:invalid-token-id")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> tokenManagementService.checkForInvalidityOfToken("invalid-token-id"));
+
+        verifyNoInteractions(invalidTokenRepository);
+    }
+
+    @Test
+    void checkForInvalidityOfToken_NullTokenId() {
+        // Arrange
+        when(redisTemplate.hasKey(anyString())).thenReturn(null);
+
+        // Act
+        boolean result = tokenManagementService.checkForInvalidityOfToken(null);
+
+        // Assert
+        assertFalse(result);
+        verify(redisTemplate).hasKey("auth:revoked:null");
+    }
+
+    @Test
+    void checkForInvalidityOfToken_RedisUnavailable_FallsBackToDatabase() {
         // Arrange
         InvalidTokenEntity invalidTokenEntity = new InvalidTokenEntity();
         invalidTokenEntity.setTokenId("invalid-token-id");
 
+        when(redisTemplate.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("Connection refused"));
         when(invalidTokenRepository.findByTokenId("invalid-token-id")).thenReturn(Optional.of(invalidTokenEntity));
+        when(invalidTokenRepository.findByTokenId("valid-token-id")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(TokenAlreadyInvalidatedException.class,
                 () -> tokenManagementService.checkForInvalidityOfToken("invalid-token-id"));
+        assertFalse(tokenManagementService.checkForInvalidityOfToken("valid-token-id"));
+    }
+
+    @Test
+    void restoreRevocations_SeveralPages_EachStartsAfterLastId() {
+        // Arrange
+        ReflectionTestUtils.setField(tokenManagementService, "restorePageSize", 2);
+        InvalidTokenEntity first = revocation("id-1", "token-id-1");
+        InvalidTokenEntity second = revocation("id-2", "token-id-2");
+        InvalidTokenEntity third = revocation("id-3", "token-id-3");
+
+        when(invalidTokenRepository.findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(any(LocalDateTime.class),
+                eq(""), eq(Limit.of(2)))).thenReturn(List.of(first, second));
+        when(invalidTokenRepository.findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(any(LocalDateTime.class),
+                eq("id-2"), eq(Limit.of(2)))).thenReturn(List.of(third));
+        when(invalidTokenRepository.findByExpiresAtIsNullAndCreatedAtAfterAndIdGreaterThanOrderByIdAsc(
+                any(LocalDateTime.class), eq(""), eq(Limit.of(2)))).thenReturn(List.of());
+        when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
-        verify(invalidTokenRepository).findByTokenId("invalid-token-id");
+        // Act
+        int restored = tokenManagementService.restoreRevocations();
+
+        // Assert
+        assertEquals(3, restored);
+        verify(valueOperations).set(eq("auth:revoked:token-id-1"), eq("1"), any(Duration.class));
+        verify(valueOperations).set(eq("auth:revoked:token-id-2"), eq("1"), any(Duration.class));
+        verify(valueOperations).set(eq("auth:revoked:token-id-3"), eq("1"), any(Duration.class));
+        verify(invalidTokenRepository, times(2)).findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(
+                any(LocalDateTime.class), anyString(), any(Limit.class));
     }
 
     @Test
-    void checkForInvalidityOfToken_NullTokenId() {
+    void restoreRevocations_FullLastPage_StopsOnEmptyPage() {
         // Arrange
-        when(invalidTokenRepository.findByTokenId(null)).thenReturn(Optional.empty());
+        ReflectionTestUtils.setField(tokenManagementService, "restorePageSize", 1);
+        InvalidTokenEntity only = revocation("id-1", "token-id-1");
+
+        when(invalidTokenRepository.findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(any(LocalDateTime.class),
+                eq(""), eq(Limit.of(1)))).thenReturn(List.of(only));
+        when(invalidTokenRepository.findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(any(LocalDateTime.class),
+                eq("id-1"), eq(Limit.of(1)))).thenReturn(List.of());
+        when(invalidTokenRepository.findByExpiresAtIsNullAndCreatedAtAfterAndIdGreaterThanOrderByIdAsc(
+                any(LocalDateTime.class), eq(""), eq(Limit.of(1)))).thenReturn(List.of());
+        when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
-        boolean result = tokenManagementService.checkForInvalidityOfToken(null);
+        int restored = tokenManagementService.restoreRevocations();
 
         // Assert
-        assertFalse(result);
-        verify(invalidTokenRepository).findByTokenId(null);
+        assertEquals(1, restored);
+    }
+
+    private static InvalidTokenEntity revocation(String id, String tokenId) {
+        InvalidTokenEntity invalidToken = InvalidTokenEntity.builder().tokenId(tokenId)
+                .expiresAt(LocalDateTime.now().plusHours(1)).build();
+        invalidToken.setId(id);
+        return invalidToken;
     }
 
     @Test
-    void invalidateTokens_WithDuplicates() {
+    void restoreRevocations_SeedsLegacyRowsForRefreshLifetime() {
         // Arrange
-        Set<String> tokensWithDuplicates = new HashSet<>();
-        tokensWithDuplicates.add("token-id-1");
-        tokensWithDuplicates.add("token-id-1"); // Duplicate, but HashSet will remove it
-        tokensWithDuplicates.add("token-id-2");
+        ReflectionTestUtils.setField(tokenManagementService, "restorePageSize", 10);
+        InvalidTokenEntity legacy = InvalidTokenEntity.builder().tokenId("legacy-token-id")
+                .createdAt(LocalDateTime.now().minusDays(2)).build();
 
-        when(invalidTokenRepository.saveAll(any())).thenReturn(null);
+        when(invalidTokenRepository.findByExpiresAtAfterAndIdGreaterThanOrderByIdAsc(any(LocalDateTime.class),
+                anyString(), any(Limit.class))).thenReturn(List.of());
+        when(invalidTokenRepository.findByExpiresAtIsNullAndCreatedAtAfterAndIdGreaterThanOrderByIdAsc(
+                any(LocalDateTime.class), anyString(), any(Limit.class))).thenReturn(List.of(legacy));
+        when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
-        tokenManagementService.invalidateTokens(tokensWithDuplicates);
+        int restored = tokenManagementService.restoreRevocations();
 
         // Assert
-        verify(invalidTokenRepository).saveAll(invalidTokenEntitiesCaptor.capture());
+        assertEquals(1, restored);
+        verify(valueOperations).set(eq("auth:revoked:legacy-token-id"), eq("1"), ttlCaptor.capture());
 
-        Set<InvalidTokenEntity> capturedEntities = invalidTokenEntitiesCaptor.getValue();
-        assertEquals(2, capturedEntities.size()); // Only 2 unique token IDs
+        // Kept until a refresh token issued when the row was written can no longer be presented
+        assertTrue(ttlCaptor.getValue().compareTo(Duration.ofDays(5)) <= 0);
+        assertTrue(ttlCaptor.getValue().compareTo(Duration.ofDays(5).minusMinutes(1)) > 0);
+    }
 
-        // Convert the captured entities back to a set of token IDs for comparison
-        Set<String> capturedTokenIds = capturedEntities.stream().map(InvalidTokenEntity::getTokenId)
-                .collect(java.util.stream.Collectors.toSet());
+    @Test
+    void invalidateTokens_RedisUnavailable_RevokedLocallyAndReplayed() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("Connection refused"))
+                .doNothing()
+                .when(valueOperations).set(eq("auth:revoked:token-id-1"), eq("1"), any(Duration.class));
 
-        assertTrue(capturedTokenIds.contains("token-id-1"));
-        assertTrue(capturedTokenIds.contains("token-id-2"));
+        tokenManagementService.invalidateTokens(Map.of("token-id-1", Instant.now().plus(Duration.ofHours(1))));
+
+        // Act & Assert - answered without Redis while the write is pending
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> tokenManagementService.checkForInvalidityOfToken("token-id-1"));
+        verify(redisTemplate, never()).hasKey(anyString());
+
+        // Redis answers again
+        assertEquals(1, tokenManagementService.replayPendingRevocations());
+        verify(valueOperations, times(2)).set(eq("auth:revoked:token-id-1"), eq("1"), any(Duration.class));
+
+        // Nothing left to replay, reads go to Redis again
+        assertEquals(0, tokenManagementService.replayPendingRevocations());
+        when(redisTemplate.hasKey("auth:revoked:token-id-1")).thenReturn(true);
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> tokenManagementService.checkForInvalidityOfToken("token-id-1"));
+        verify(redisTemplate).hasKey("auth:revoked:token-id-1");
     }
 
     @Test
-    void invalidateTokens_RepositoryException() {
+    void replayPendingRevocations_RedisStillUnavailable() {
         // Arrange
-        when(invalidTokenRepository.saveAll(any())).thenThrow(new RuntimeException("Database error"));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("Connection refused"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        tokenManagementService.invalidateTokens(tokenExpirations);
 
-        // Act & Assert
-        assertThrows(RuntimeException.class, () -> tokenManagementService.invalidateTokens(tokenIds));
-        verify(invalidTokenRepository).saveAll(any());
+        // Act & Assert - kept for the next attempt
+        assertEquals(0, tokenManagementService.replayPendingRevocations());
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> tokenManagementService.checkForInvalidityOfToken("token-id-2"));
     }
 }
@@ -6,6 +6,7 @@ import com.phuonghieuto.backend.auth_service.model.user.enums.UserType;
 import com.phuonghieuto.backend.auth_service.service.TokenValidationService;
 import com.phuonghieuto.backend.auth_service.service.impl.TokenServiceImpl;
 
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
@@ -132,12 +133,13 @@ class TokenServiceImplTest {
         doReturn(false).when(tokenValidationService).verifyAndValidate(anyString());
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        JwtException exception = assertThrows(JwtException.class,
                 () -> tokenService.getAuthentication("malformed-token"));
 
-        assertEquals("Invalid token", exception.getMessage());
+        assertEquals("Invalid JWT token", exception.getMessage());
         verify(tokenValidationService).verifyAndValidate("malformed-token");
-        verify(tokenConfigurationParameter).getPublicKey();
+        // The key is only looked up once the header has been read
+        verifyNoInteractions(tokenConfigurationParameter);
     }
 
     @Test
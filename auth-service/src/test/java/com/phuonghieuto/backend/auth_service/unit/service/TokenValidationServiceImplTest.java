@@ -7,7 +7,9 @@ import com.phuonghieuto.backend.auth_service.service.TokenManagementService;
 import com.phuonghieuto.backend.auth_service.service.impl.TokenValidationServiceImpl;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,8 +23,10 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -116,7 +120,41 @@ class TokenValidationServiceImplTest {
         String invalidToken = "invalid.jwt.token";
 
         // Execute and verify
-        assertThrows(ResponseStatusException.class, () -> tokenValidationService.verifyAndValidate(invalidToken));
+        assertThrows(JwtException.class, () -> tokenValidationService.verifyAndValidate(invalidToken));
+        verifyNoInteractions(tokenManagementService);
+    }
+
+    @Test
+    void verifyAndValidate_String_KeyIdSelectsPreviousKey() throws Exception {
+        // A token signed with the EC key being rotated out while RSA is current
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair previousKeyPair = keyPairGenerator.generateKeyPair();
+        String previousKeyToken = Jwts.builder().setHeaderParam("typ", "Bearer").setHeaderParam("kid", "previous")
+                .setId(validTokenId).setIssuedAt(new Date()).setExpiration(new Date(System.currentTimeMillis() + 10000))
+                .signWith(previousKeyPair.getPrivate(), SignatureAlgorithm.ES256).claim("userId", "test-user")
+                .compact();
+
+        when(tokenConfigurationParameter.getVerificationKeys())
+                .thenReturn(Map.of("current", publicKey, "previous", previousKeyPair.getPublic()));
+        doReturn(false).when(tokenManagementService).checkForInvalidityOfToken(validTokenId);
+
+        // Execute and verify
+        assertTrue(tokenValidationService.verifyAndValidate(previousKeyToken));
+        verify(tokenConfigurationParameter, never()).getPublicKey();
+    }
+
+    @Test
+    void verifyAndValidate_String_UnknownKeyId() {
+        String unknownKeyToken = Jwts.builder().setHeaderParam("typ", "Bearer").setHeaderParam("kid", "retired")
+                .setId(validTokenId).setIssuedAt(new Date()).setExpiration(new Date(System.currentTimeMillis() + 10000))
+                .signWith(privateKey).claim("userId", "test-user").compact();
+
+        when(tokenConfigurationParameter.getVerificationKeys()).thenReturn(Map.of("current", publicKey));
+
+        // Execute and verify
+        assertThrows(JwtException.class, () -> tokenValidationService.verifyAndValidate(unknownKeyToken));
+        verifyNoInteractions(tokenManagementService);
     }
 
     @Test
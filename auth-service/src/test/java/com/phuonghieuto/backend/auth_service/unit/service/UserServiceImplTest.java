@@ -6,11 +6,14 @@ import com.phuonghieuto.backend.auth_service.messaging.producer.NotificationProd
 import com.phuonghieuto.backend.auth_service.model.User;
 import com.phuonghieuto.backend.auth_service.model.user.dto.request.RegisterRequestDTO;
 import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserEmailDTO;
+import com.phuonghieuto.backend.auth_service.model.user.dto.response.UserProfileDTO;
 import com.phuonghieuto.backend.auth_service.model.user.entity.UserEntity;
+import com.phuonghieuto.backend.auth_service.model.user.enums.UserEventType;
 import com.phuonghieuto.backend.auth_service.model.user.enums.UserStatus;
 import com.phuonghieuto.backend.auth_service.model.user.mapper.RegisterRequestToUserEntityMapper;
 import com.phuonghieuto.backend.auth_service.model.user.mapper.UserEntityToUserMapper;
 import com.phuonghieuto.backend.auth_service.repository.UserRepository;
+import com.phuonghieuto.backend.auth_service.service.PasswordHashingService;
 import com.phuonghieuto.backend.auth_service.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,8 +21,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,7 +43,7 @@ public class UserServiceImplTest {
     private UserEntityToUserMapper userEntityToUserMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private NotificationProducer notificationProducer;
@@ -81,7 +85,7 @@ public class UserServiceImplTest {
         // Arrange
         when(userRepository.existsUserEntityByEmail(anyString())).thenReturn(false);
         when(userRepository.existsUserEntityByUsername(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(passwordHashingService.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
         when(registerRequestToUserEntityMapper.mapForSaving(any(RegisterRequestDTO.class))).thenReturn(userEntity);
         when(userEntityToUserMapper.map(any(UserEntity.class))).thenReturn(user);
@@ -98,9 +102,10 @@ public class UserServiceImplTest {
 
         verify(userRepository).existsUserEntityByEmail("test@example.com");
         verify(userRepository).existsUserEntityByUsername("testuser");
-        verify(passwordEncoder).encode("password");
+        verify(passwordHashingService).encode("password");
         verify(userRepository).save(userEntity);
         verify(notificationProducer).sendEmailConfirmationMessage(userEntity);
+        verify(notificationProducer).publishUserEvent(userEntity, UserEventType.CREATED);
     }
 
     @Test
@@ -173,6 +178,81 @@ public class UserServiceImplTest {
         assertThrows(UserNotFoundException.class, () -> userService.getUserIdFromEmail("nonexistent@example.com"));
     }
 
+    @Test
+    void getUserEmails_ReturnsKnownUsersOnly() {
+        // Arrange
+        List<String> userIds = List.of("user123", "unknown");
+        when(userRepository.findAllById(userIds)).thenReturn(List.of(userEntity));
+
+        // Act
+        List<UserEmailDTO> result = userService.getUserEmails(userIds);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("user123", result.get(0).getUserId());
+        assertEquals("test@example.com", result.get(0).getEmail());
+        verify(userRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void getUserProfiles_ReturnsKnownUsersOnly() {
+        // Arrange
+        List<String> userIds = List.of("user123", "unknown");
+        userEntity.setFirstName("John");
+        userEntity.setLastName("Doe");
+        when(userRepository.findAllById(userIds)).thenReturn(List.of(userEntity));
+
+        // Act
+        List<UserProfileDTO> result = userService.getUserProfiles(userIds);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("user123", result.get(0).getUserId());
+        assertEquals("test@example.com", result.get(0).getEmail());
+        assertEquals("John", result.get(0).getFirstName());
+        assertEquals("Doe", result.get(0).getLastName());
+    }
+
+    @Test
+    void getUserIdsFromEmails_ReturnsKnownUsersOnly() {
+        // Arrange
+        List<String> emails = List.of("test@example.com", "nonexistent@example.com");
+        when(userRepository.findByEmailIn(emails)).thenReturn(List.of(userEntity));
+
+        // Act
+        List<UserEmailDTO> result = userService.getUserIdsFromEmails(emails);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("user123", result.get(0).getUserId());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void getUserDirectory_FirstPageStartsFromEmptyId() {
+        // Arrange
+        List<UserEmailDTO> page = List.of(UserEmailDTO.builder().userId("user123").email("test@example.com").build());
+        when(userRepository.findDirectoryPage("", PageRequest.of(0, 100))).thenReturn(page);
+
+        // Act
+        List<UserEmailDTO> result = userService.getUserDirectory(null, 100);
+
+        // Assert
+        assertEquals(page, result);
+    }
+
+    @Test
+    void getUserDirectory_ContinuesAfterGivenId() {
+        // Arrange
+        when(userRepository.findDirectoryPage("user123", PageRequest.of(0, 100))).thenReturn(List.of());
+
+        // Act
+        List<UserEmailDTO> result = userService.getUserDirectory("user123", 100);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
     @Test
     void confirmEmail_Success() {
         // Arrange
@@ -197,6 +277,7 @@ public class UserServiceImplTest {
         assertNull(userToConfirm.getConfirmationToken());
         assertNull(userToConfirm.getConfirmationTokenExpiry());
         verify(userRepository).save(userToConfirm);
+        verify(notificationProducer).publishUserEvent(userToConfirm, UserEventType.CONFIRMED);
     }
 
     @Test
@@ -0,0 +1,43 @@
+-- One-off conversion of the notification service's notifications table into monthly range partitions on
+-- created_at. Run it against the notification database while the notification service is stopped:
+--
+--   psql -v ON_ERROR_STOP=1 --dbname notification -f database/notification-partitioning.sql
+--
+-- Once converted, the service keeps partitions ahead of time and drops expired ones itself
+-- (notification.retention.*). Partitions must be named notifications_pYYYYMM for that to work.
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER INDEX idx_notifications_user_cursor RENAME TO idx_notifications_unpartitioned_user_cursor;
+ALTER INDEX IF EXISTS idx_notifications_user_feed RENAME TO idx_notifications_unpartitioned_user_feed;
+
+-- A partitioned table's primary key has to contain the partition key
+CREATE TABLE notifications (LIKE notifications_unpartitioned INCLUDING DEFAULTS INCLUDING IDENTITY)
+    PARTITION BY RANGE (created_at);
+ALTER TABLE notifications ADD PRIMARY KEY (id, created_at);
+CREATE INDEX idx_notifications_user_cursor ON notifications (user_id, stream_cursor);
+CREATE INDEX idx_notifications_user_feed ON notifications (user_id, is_archived, created_at DESC, id DESC);
+
+-- One partition per month from the oldest notification up to two months ahead
+DO $$
+DECLARE
+    partition_start date := date_trunc('month',
+            COALESCE((SELECT min(created_at) FROM notifications_unpartitioned), now()));
+BEGIN
+    WHILE partition_start <= date_trunc('month', now()) + interval '2 months' LOOP
+        EXECUTE format('CREATE TABLE notifications_p%s PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                to_char(partition_start, 'YYYYMM'), partition_start, partition_start + interval '1 month');
+        partition_start := partition_start + interval '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO notifications SELECT * FROM notifications_unpartitioned;
+
+-- Stream cursors keep increasing across the conversion
+SELECT setval(pg_get_serial_sequence('notifications', 'stream_cursor'),
+        COALESCE((SELECT max(stream_cursor) FROM notifications), 1));
+
+DROP TABLE notifications_unpartitioned;
+
+COMMIT;
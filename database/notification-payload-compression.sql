@@ -0,0 +1,8 @@
+-- One-off change of the notification service's payload column from text to bytes. The service stores payloads
+-- gzip-compressed once they are large enough to gain from it, so run this before deploying that version:
+--
+--   psql -v ON_ERROR_STOP=1 --dbname notification -f database/notification-payload-compression.sql
+--
+-- Existing payloads are kept as their UTF-8 bytes, which the service still reads as plain text.
+
+ALTER TABLE notifications ALTER COLUMN payload TYPE bytea USING convert_to(payload, 'UTF8');
@@ -0,0 +1,119 @@
+package com.phuonghieuto.backend.notification_service.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.model.preference.PackedPreferences;
+import com.phuonghieuto.backend.notification_service.model.preference.entity.NotificationPreferenceEntity;
+import com.phuonghieuto.backend.notification_service.model.preference.event.PreferencesChangedEvent;
+import com.phuonghieuto.backend.notification_service.repository.NotificationPreferenceRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process preference store for the delivery path. Entries are dropped on {@link PreferencesChangedEvent}s, which
+ * {@link PreferenceInvalidationRelay} also forwards from other instances. The TTL is only a safety net for
+ * invalidations lost in transit.
+ */
+@Component
+@Slf4j
+public class LocalPreferenceStore {
+
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public LocalPreferenceStore(NotificationPreferenceRepository preferenceRepository,
+            @Value("${notification.preferences.local-cache.max-entries:100000}") int maxEntries,
+            @Value("${notification.preferences.local-cache.ttl:PT10M}") Duration ttl) {
+        this.preferenceRepository = preferenceRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public PackedPreferences get(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null && !entry.isExpired(ttlMillis)) {
+            return entry.preferences();
+        }
+
+        NotificationPreferenceEntity preferences = preferenceRepository.findByUserId(userId)
+                .orElseGet(() -> preferenceRepository.save(createDefaultPreferences(userId)));
+        return put(userId, PackedPreferences.of(preferences));
+    }
+
+    /**
+     * Resolves preferences for a whole batch with at most one read and one bulk insert for the users not cached yet.
+     */
+    public Map<String, PackedPreferences> getAll(Collection<String> userIds) {
+        Map<String, PackedPreferences> result = new HashMap<>();
+        List<String> missing = userIds.stream().filter(userId -> {
+            Entry entry = entries.get(userId);
+            if (entry != null && !entry.isExpired(ttlMillis)) {
+                result.put(userId, entry.preferences());
+                return false;
+            }
+            return true;
+        }).collect(Collectors.toList());
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        preferenceRepository.findByUserIdIn(missing)
+                .forEach(preferences -> result.put(preferences.getUserId(),
+                        put(preferences.getUserId(), PackedPreferences.of(preferences))));
+
+        List<NotificationPreferenceEntity> defaults = missing.stream().filter(userId -> !result.containsKey(userId))
+                .map(this::createDefaultPreferences).collect(Collectors.toList());
+        if (!defaults.isEmpty()) {
+            preferenceRepository.saveAll(defaults)
+                    .forEach(preferences -> result.put(preferences.getUserId(),
+                            put(preferences.getUserId(), PackedPreferences.of(preferences))));
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onPreferencesChanged(PreferencesChangedEvent event) {
+        evict(event.userId());
+    }
+
+    public void evict(String userId) {
+        if (entries.remove(userId) != null) {
+            log.debug("Evicted local preferences for user: {}", userId);
+        }
+    }
+
+    private PackedPreferences put(String userId, PackedPreferences preferences) {
+        if (entries.size() >= maxEntries) {
+            // Coarse bound: entries are cheap to reload, so start over rather than track recency per access
+            log.info("Local preference store reached {} entries, clearing", maxEntries);
+            entries.clear();
+        }
+        entries.put(userId, new Entry(preferences, System.currentTimeMillis()));
+        return preferences;
+    }
+
+    private NotificationPreferenceEntity createDefaultPreferences(String userId) {
+        return NotificationPreferenceEntity.builder().userId(userId)
+                .emailEnabled(true).websocketEnabled(true).dueSoonNotifications(true).overdueNotifications(true)
+                .taskAssignmentNotifications(true).boardSharingNotifications(true).quietHoursEnabled(false).build();
+    }
+
+    private record Entry(PackedPreferences preferences, long loadedAt) {
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.phuonghieuto.backend.notification_service.cache;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.model.preference.event.PreferencesChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcasts preference changes over Redis pub/sub so every instance drops its local copy, not just the one that
+ * handled the write.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.preferences.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PreferenceInvalidationRelay implements MessageListener {
+
+    public static final String CHANNEL = "notification.preferences.invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final LocalPreferenceStore preferenceStore;
+
+    @EventListener
+    public void onPreferencesChanged(PreferencesChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.userId());
+        } catch (Exception e) {
+            // Other instances fall back to the local TTL
+            log.warn("Failed to broadcast preference invalidation for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        preferenceStore.evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
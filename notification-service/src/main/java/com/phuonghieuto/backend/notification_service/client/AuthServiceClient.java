@@ -1,15 +1,30 @@
 package com.phuonghieuto.backend.notification_service.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import com.phuonghieuto.backend.notification_service.model.auth.dto.UserEmailDTO;
+import com.phuonghieuto.backend.notification_service.model.auth.dto.UserIdsRequestDTO;
 
 //Feign client for the Auth Service
-@FeignClient(name = "auth-service", path = "/api/v1/users")
+@FeignClient(name = "auth-service", path = "/api/v1/users", configuration = AuthServiceClientConfig.class)
 public interface AuthServiceClient {
 
     @GetMapping("/{userId}/email")
     UserEmailDTO getUserEmail(@PathVariable("userId") String userId);
 
+    // Unknown users are left out of the result
+    @PostMapping("/emails")
+    List<UserEmailDTO> getUserEmails(@RequestBody UserIdsRequestDTO request);
+
+    // One page of the directory in user id order, starting after the given id
+    @GetMapping("/directory")
+    List<UserEmailDTO> getUserDirectory(@RequestParam(value = "after", required = false) String after,
+            @RequestParam("limit") int limit);
+
 }
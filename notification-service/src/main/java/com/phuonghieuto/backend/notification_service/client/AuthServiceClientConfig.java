@@ -0,0 +1,25 @@
+package com.phuonghieuto.backend.notification_service.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+import feign.RequestInterceptor;
+
+/**
+ * Feign configuration of {@link AuthServiceClient} only, not a component scanned {@code @Configuration}, so the
+ * service token is sent to auth-service and no other client.
+ */
+public class AuthServiceClientConfig {
+
+    private static final String INTERNAL_SERVICE_TOKEN_HEADER = "X-Internal-Service-Token";
+
+    @Bean
+    public RequestInterceptor internalServiceTokenInterceptor(
+            @Value("${auth.internal-caller.token:}") String serviceToken) {
+        return template -> {
+            if (!serviceToken.isBlank()) {
+                template.header(INTERNAL_SERVICE_TOKEN_HEADER, serviceToken);
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.phuonghieuto.backend.notification_service.client;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns single-key lookups against another service into batched calls. Keys asked for within {@code window} of each
+ * other go out in one request of at most {@code maxBatchSize} keys, callers asking for a key that is already on its
+ * way share that lookup, and results are kept for {@code ttl}. Remote load then follows the number of distinct keys
+ * rather than the number of callers. Keys the loader does not return are remembered as missing ({@code null}) for
+ * the same time.
+ */
+@Slf4j
+public class CoalescingLookup<K, V> implements AutoCloseable {
+
+    private final String name;
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final ScheduledExecutorService flusher;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private Set<K> pending = new LinkedHashSet<>();
+
+    public CoalescingLookup(String name, Function<Set<K>, Map<K, V>> batchLoader, Duration window, int maxBatchSize,
+            Duration ttl, int maxEntries) {
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.windowMillis = window.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Blocks until the key has been resolved, either from the local copy or by the next batch. Loader failures are
+     * rethrown to every caller waiting on that batch and nothing is cached for them.
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(ttlMillis)) {
+            return entry.value();
+        }
+
+        CompletableFuture<V> lookup = inFlight.computeIfAbsent(key, this::enqueue);
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void evict(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+    }
+
+    // Runs inside computeIfAbsent, so the flush that completes this key cannot remove it before it is mapped
+    private CompletableFuture<V> enqueue(K key) {
+        synchronized (lock) {
+            pending.add(key);
+            if (pending.size() == 1) {
+                flusher.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            } else if (pending.size() == maxBatchSize) {
+                flusher.execute(this::flush);
+            }
+        }
+        return new CompletableFuture<>();
+    }
+
+    private void flush() {
+        Set<K> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (pending.size() <= maxBatchSize) {
+                batch = pending;
+                pending = new LinkedHashSet<>();
+            } else {
+                // Keys kept arriving while the previous batch was loading, send the rest right after this one
+                batch = new LinkedHashSet<>();
+                Iterator<K> keys = pending.iterator();
+                while (batch.size() < maxBatchSize) {
+                    batch.add(keys.next());
+                    keys.remove();
+                }
+                flusher.execute(this::flush);
+            }
+        }
+
+        Map<K, V> found;
+        try {
+            found = batchLoader.apply(batch);
+        } catch (RuntimeException e) {
+            log.warn("Batched {} lookup of {} keys failed: {}", name, batch.size(), e.getMessage());
+            batch.forEach(key -> {
+                CompletableFuture<V> lookup = inFlight.remove(key);
+                if (lookup != null) {
+                    lookup.completeExceptionally(e);
+                }
+            });
+            return;
+        }
+
+        if (entries.size() + batch.size() > maxEntries) {
+            // Coarse bound: entries are cheap to reload, so start over rather than track recency per access
+            log.info("Local {} lookup cache reached {} entries, clearing", name, maxEntries);
+            entries.clear();
+        }
+        long loadedAt = System.currentTimeMillis();
+        for (K key : batch) {
+            V value = found.get(key);
+            entries.put(key, new Entry<>(value, loadedAt));
+            CompletableFuture<V> lookup = inFlight.remove(key);
+            if (lookup != null) {
+                lookup.complete(value);
+            }
+        }
+        log.debug("Resolved {} {} keys in one batch, {} found", batch.size(), name, found.size());
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
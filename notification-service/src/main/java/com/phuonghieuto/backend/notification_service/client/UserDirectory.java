@@ -0,0 +1,52 @@
+package com.phuonghieuto.backend.notification_service.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.model.auth.dto.UserEmailDTO;
+import com.phuonghieuto.backend.notification_service.model.auth.dto.UserIdsRequestDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recipient email addresses. Answered from the local {@link UserDirectoryReplica} when it knows the user; otherwise
+ * lookups made by the email workers at about the same time are sent to auth-service as one batch request and the
+ * answers are kept for a short while, so a burst of notifications costs one call per window instead of one per email.
+ */
+@Component
+public class UserDirectory {
+
+    private final UserDirectoryReplica replica;
+    private final CoalescingLookup<String, String> emails;
+
+    public UserDirectory(AuthServiceClient authServiceClient, UserDirectoryReplica replica,
+            @Value("${notification.user-directory.batch-window:PT0.01S}") Duration batchWindow,
+            @Value("${notification.user-directory.max-batch-size:500}") int maxBatchSize,
+            @Value("${notification.user-directory.ttl:PT1M}") Duration ttl,
+            @Value("${notification.user-directory.max-entries:10000}") int maxEntries) {
+        this.replica = replica;
+        this.emails = new CoalescingLookup<>("user-email",
+                userIds -> authServiceClient.getUserEmails(new UserIdsRequestDTO(new ArrayList<>(userIds))).stream()
+                        .collect(Collectors.toMap(UserEmailDTO::getUserId, UserEmailDTO::getEmail,
+                                (first, second) -> first)),
+                batchWindow, maxBatchSize, ttl, maxEntries);
+    }
+
+    /**
+     * Email address of the user, or {@code null} when auth-service does not know them.
+     */
+    public String getEmail(String userId) {
+        String email = replica.getEmail(userId);
+        return email != null ? email : emails.get(userId);
+    }
+
+    @PreDestroy
+    public void close() {
+        emails.close();
+    }
+}
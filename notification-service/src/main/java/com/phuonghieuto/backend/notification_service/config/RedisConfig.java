@@ -1,12 +1,19 @@
 package com.phuonghieuto.backend.notification_service.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.phuonghieuto.backend.notification_service.cache.PreferenceInvalidationRelay;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.RedisWebSocketFanout;
+
 @Configuration
 public class RedisConfig {
 
@@ -25,4 +32,25 @@ public class RedisConfig {
         
         return new ReactiveRedisTemplate<>(factory, context);
     }
-}
\ No newline at end of file
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.preferences.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer preferenceInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, PreferenceInvalidationRelay preferenceInvalidationRelay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(preferenceInvalidationRelay,
+                new ChannelTopic(PreferenceInvalidationRelay.CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.fanout.redis.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer webSocketFanoutListenerContainer(
+            RedisConnectionFactory connectionFactory, RedisWebSocketFanout redisWebSocketFanout) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisWebSocketFanout, new ChannelTopic(RedisWebSocketFanout.CHANNEL));
+        return container;
+    }
+}
@@ -1,5 +1,9 @@
 package com.phuonghieuto.backend.notification_service.controller;
 
+import com.phuonghieuto.backend.notification_service.model.notification.dto.BulkNotificationRequestDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.BulkNotificationResultDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationFeedDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationSummaryDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
 import com.phuonghieuto.backend.notification_service.service.NotificationService;
 
@@ -11,6 +15,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,34 +37,97 @@ import java.util.List;
 @Tag(name = "Notification Management", description = "APIs for managing user notifications")
 public class NotificationController {
 
+    private static final int MAX_REPLAY_LIMIT = 500;
+
     private final NotificationService notificationService;
 
-    @Operation(summary = "Get user notifications", description = "Retrieves paginated notifications for the authenticated user")
+    @Operation(summary = "Get user notifications", description = "Retrieves paginated notifications for the authenticated user. Deep pages get slower with the offset, use /notifications/feed instead.", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
     @GetMapping
-    public ResponseEntity<Page<NotificationEntity>> getUserNotifications(Authentication authentication,
+    public ResponseEntity<Page<NotificationSummaryDTO>> getUserNotifications(Authentication authentication,
             @Parameter(description = "Pagination parameters (page, size, sort)", example = "?page=0&size=10&sort=createdAt,desc") @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
 
         Jwt jwt = (Jwt) authentication.getPrincipal();
         String userId = jwt.getClaim("userId");
         log.info("Getting notifications for user: " + userId);
-        Page<NotificationEntity> notifications = notificationService.getUserNotifications(userId, pageable);
+        Page<NotificationSummaryDTO> notifications = notificationService.getUserNotifications(userId, pageable);
         return ResponseEntity.ok(notifications);
     }
 
-    @Operation(summary = "Get unread notifications", description = "Retrieves all unread notifications for the authenticated user")
+    @Operation(summary = "Get notification feed", description = "Retrieves the authenticated user's notifications newest first, one page at a time. Pass the returned nextCursor to get the following page; it is null on the last page.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Unread notifications retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationFeedDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
+    @GetMapping("/feed")
+    public ResponseEntity<NotificationFeedDTO> getNotificationFeed(Authentication authentication,
+            @Parameter(description = "Cursor returned with the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of notifications to return", example = "50") @RequestParam(defaultValue = "" + NotificationService.FEED_PAGE_SIZE) int limit) {
+
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        String userId = jwt.getClaim("userId");
+        log.info("Getting notification feed for user: {}", userId);
+        NotificationFeedDTO feed = notificationService.getNotificationFeed(userId, cursor, clampLimit(limit));
+        return ResponseEntity.ok(feed);
+    }
+
+    @Operation(summary = "Get unread notifications", description = "Retrieves the authenticated user's unread notifications newest first, one page at a time. Pass the returned nextCursor to get the following page; it is null on the last page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unread notifications retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationFeedDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
     @GetMapping("/unread")
-    public ResponseEntity<List<NotificationEntity>> getUnreadNotifications(Authentication authentication) {
+    public ResponseEntity<NotificationFeedDTO> getUnreadNotifications(Authentication authentication,
+            @Parameter(description = "Cursor returned with the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of notifications to return", example = "50") @RequestParam(defaultValue = "" + NotificationService.FEED_PAGE_SIZE) int limit) {
 
         log.info("Getting unread notifications for user");
         Jwt jwt = (Jwt) authentication.getPrincipal();
         String userId = jwt.getClaim("userId");
-        List<NotificationEntity> notifications = notificationService.getUnreadNotifications(userId);
+        NotificationFeedDTO notifications = notificationService.getUnreadNotifications(userId, cursor,
+                clampLimit(limit));
+        return ResponseEntity.ok(notifications);
+    }
+
+    private int clampLimit(int limit) {
+        return Math.min(Math.max(limit, 1), NotificationService.MAX_FEED_PAGE_SIZE);
+    }
+
+    @Operation(summary = "Get a notification", description = "Retrieves a single notification of the authenticated user including its message and payload. The list endpoints only return summaries.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notification retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = NotificationEntity.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Notification not found", content = @Content) })
+    @GetMapping("/{id}")
+    public ResponseEntity<NotificationEntity> getNotification(
+            @Parameter(description = "Notification ID", example = "a1b2c3d4-e5f6-g7h8-i9j0-k1l2m3n4o5p6") @PathVariable String id,
+            Authentication authentication) {
+
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        String userId = jwt.getClaim("userId");
+        log.info("Getting notification {} for user: {}", id, userId);
+        NotificationEntity notification = notificationService.getNotification(userId, id);
+        return ResponseEntity.ok(notification);
+    }
+
+    @Operation(summary = "Replay notifications after a cursor", description = "Returns the authenticated user's notifications pushed after the given stream cursor, oldest first. Used by clients resuming after a disconnect; page through by passing the last cursor received. The cursor can also be sent as a Last-Event-ID header.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
+    @GetMapping("/replay")
+    public ResponseEntity<List<NotificationEntity>> replayNotifications(Authentication authentication,
+            @Parameter(description = "Last stream cursor the client has seen", example = "1024") @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Maximum number of notifications to return", example = "100") @RequestParam(defaultValue = "100") int limit) {
+
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        String userId = jwt.getClaim("userId");
+        long cursor = after != null ? after : lastEventId != null ? lastEventId : 0L;
+        log.info("Replaying notifications after cursor {} for user: {}", cursor, userId);
+        List<NotificationEntity> notifications = notificationService.getNotificationsAfter(userId, cursor,
+                Math.min(Math.max(limit, 1), MAX_REPLAY_LIMIT));
         return ResponseEntity.ok(notifications);
     }
 
@@ -87,8 +155,10 @@ public class NotificationController {
             @Parameter(description = "Notification ID", example = "a1b2c3d4-e5f6-g7h8-i9j0-k1l2m3n4o5p6") @PathVariable String id,
             Authentication authentication) {
 
-        log.info("Marking notification as read: {}", id);
-        NotificationEntity notification = notificationService.markAsRead(id);
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        String userId = jwt.getClaim("userId");
+        log.info("Marking notification {} as read for user: {}", id, userId);
+        NotificationEntity notification = notificationService.markAsRead(userId, id);
         return ResponseEntity.ok(notification);
     }
 
@@ -105,4 +175,52 @@ public class NotificationController {
         notificationService.markAllAsRead(userId);
         return ResponseEntity.ok().build();
     }
+
+    @Operation(summary = "Mark notifications as read in bulk", description = "Marks the listed notifications, or every notification matching the filter, as read for the authenticated user in a single statement. Returns the number of notifications that were unread.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications marked as read successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkNotificationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Neither ids nor a filter given, or too many ids", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
+    @PostMapping("/bulk/read")
+    public ResponseEntity<BulkNotificationResultDTO> markAsReadInBulk(Authentication authentication,
+            @RequestBody @Valid BulkNotificationRequestDTO request) {
+
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        String userId = jwt.getClaim("userId");
+        log.info("Bulk marking notifications as read for user: {}", userId);
+        int affected = notificationService.markMatchingAsRead(request.toFilter(userId));
+        return ResponseEntity.ok(BulkNotificationResultDTO.builder().affected(affected).build());
+    }
+
+    @Operation(summary = "Archive notifications in bulk", description = "Archives the listed notifications, or every notification matching the filter, for the authenticated user in a single statement. Archived notifications are read and no longer listed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications archived successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkNotificationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Neither ids nor a filter given, or too many ids", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
+    @PostMapping("/bulk/archive")
+    public ResponseEntity<BulkNotificationResultDTO> archiveInBulk(Authentication authentication,
+            @RequestBody @Valid BulkNotificationRequestDTO request) {
+
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        String userId = jwt.getClaim("userId");
+        log.info("Bulk archiving notifications for user: {}", userId);
+        int affected = notificationService.archiveMatching(request.toFilter(userId));
+        return ResponseEntity.ok(BulkNotificationResultDTO.builder().affected(affected).build());
+    }
+
+    @Operation(summary = "Delete notifications in bulk", description = "Deletes the listed notifications, or every notification matching the filter, for the authenticated user in a single statement.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications deleted successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkNotificationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Neither ids nor a filter given, or too many ids", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkNotificationResultDTO> deleteInBulk(Authentication authentication,
+            @RequestBody @Valid BulkNotificationRequestDTO request) {
+
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        String userId = jwt.getClaim("userId");
+        log.info("Bulk deleting notifications for user: {}", userId);
+        int affected = notificationService.deleteMatching(request.toFilter(userId));
+        return ResponseEntity.ok(BulkNotificationResultDTO.builder().affected(affected).build());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.phuonghieuto.backend.notification_service.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,40 +1,119 @@
 package com.phuonghieuto.backend.notification_service.exception.exception_handler;
 
-import org.springframework.amqp.AmqpRejectAndDontRequeueException;
-import org.springframework.amqp.ImmediateRequeueAmqpException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
 import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.mail.MailSendException;
+
+import com.phuonghieuto.backend.notification_service.messaging.config.RabbitMQConfig;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Configuration
 @Slf4j
 public class RabbitMQErrorHandler {
 
+    public static final String HEADER_RETRY_COUNT = "x-retry-count";
+    public static final String HEADER_ORIGINAL_QUEUE = "x-original-queue";
+    public static final String HEADER_LAST_ERROR = "x-last-error";
+
+    @Value("${notification.retry.delays-ms:5000,30000,300000}")
+    private long[] retryDelaysMs;
+
+    @Value("${notification.retry.max-attempts:5}")
+    private int maxAttempts;
+
     @Bean
-    public MessageRecoverer messageRecoverer() {
-        return new CustomErrorHandler();
+    public MessageRecoverer messageRecoverer(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry) {
+        return new CustomErrorHandler(rabbitTemplate, meterRegistry, retryDelaysMs, maxAttempts);
     }
-    
-    private static class CustomErrorHandler implements MessageRecoverer {
+
+    /**
+     * Downstream outages (SMTP, Postgres, auth-service) are worth waiting out, anything else will fail the same way
+     * on every redelivery. The whole cause chain is inspected because listener failures arrive wrapped.
+     */
+    public static boolean isRetryableError(Throwable cause) {
+        return ExceptionUtils.getThrowableList(cause).stream()
+                .anyMatch(t -> t instanceof ConnectException
+                        || t instanceof SocketTimeoutException
+                        || t instanceof DataAccessResourceFailureException
+                        || t instanceof TransientDataAccessException
+                        || t instanceof MailSendException
+                        || t instanceof feign.RetryableException);
+    }
+
+    /**
+     * Republishes failed messages to a delay queue instead of requeueing them in place. Each delay queue dead-letters
+     * back to the work queue once its TTL expires, so an outage costs one publish per tier rather than a hot loop.
+     * Messages that exhaust their attempts or fail for a non-retryable reason are moved to the parking lot.
+     */
+    @RequiredArgsConstructor
+    private static class CustomErrorHandler implements MessageBatchRecoverer {
+
+        private final RabbitTemplate rabbitTemplate;
+        private final MeterRegistry meterRegistry;
+        private final long[] retryDelaysMs;
+        private final int maxAttempts;
+
+        @Override
+        public void recover(List<Message> messages, Throwable cause) {
+            messages.forEach(message -> recover(message, cause));
+        }
+
         @Override
         public void recover(Message message, Throwable cause) {
-            if (isRetryableError(cause)) {
-                log.warn("Retrying message due to retryable error: {}", cause.getMessage());
-                throw new ImmediateRequeueAmqpException("Retrying due to " + cause.getMessage(), cause);
-            } else {
-                log.error("Rejecting message due to non-retryable error: {}", cause.getMessage());
-                throw new AmqpRejectAndDontRequeueException("Error processing message", cause);
+            MessageProperties properties = message.getMessageProperties();
+            String queue = properties.getConsumerQueue();
+            int retryCount = getRetryCount(properties);
+
+            if (!isRetryableError(cause)) {
+                park(message, queue, cause, "non-retryable");
+                return;
+            }
+            if (retryCount >= maxAttempts || !RabbitMQConfig.RETRYABLE_QUEUES.contains(queue)) {
+                park(message, queue, cause, "exhausted");
+                return;
             }
+
+            long delayMs = retryDelaysMs[Math.min(retryCount, retryDelaysMs.length - 1)];
+            properties.setHeader(HEADER_RETRY_COUNT, retryCount + 1);
+            rabbitTemplate.send("", RabbitMQConfig.retryQueueName(queue, delayMs), message);
+            meterRegistry.counter("notification.messages.retried",
+                    "queue", queue, "delay", String.valueOf(delayMs)).increment();
+            log.warn("Retrying message from {} in {} ms (attempt {}/{}) due to: {}",
+                    queue, delayMs, retryCount + 1, maxAttempts, cause.getMessage());
+        }
+
+        private void park(Message message, String queue, Throwable cause, String reason) {
+            MessageProperties properties = message.getMessageProperties();
+            properties.setHeader(HEADER_ORIGINAL_QUEUE, queue);
+            properties.setHeader(HEADER_LAST_ERROR,
+                    StringUtils.abbreviate(ExceptionUtils.getRootCauseMessage(cause), 500));
+            rabbitTemplate.send("", RabbitMQConfig.QUEUE_PARKING_LOT, message);
+            meterRegistry.counter("notification.messages.parked",
+                    "queue", String.valueOf(queue), "reason", reason).increment();
+            log.error("Parking message from {} after {} retries ({}): {}",
+                    queue, getRetryCount(properties), reason, cause.getMessage());
         }
-        
-        private boolean isRetryableError(Throwable cause) {
-            // Define which exceptions should be retried vs. sent to dead letter
-            return cause instanceof java.net.ConnectException 
-                || cause instanceof java.net.SocketTimeoutException
-                || cause instanceof org.springframework.dao.DataAccessResourceFailureException;
+
+        private int getRetryCount(MessageProperties properties) {
+            Object retryCount = properties.getHeader(HEADER_RETRY_COUNT);
+            return retryCount instanceof Number number ? number.intValue() : 0;
         }
     }
 }
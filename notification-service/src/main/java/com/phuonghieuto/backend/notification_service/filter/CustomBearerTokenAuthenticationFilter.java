@@ -17,6 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.phuonghieuto.backend.notification_service.model.auth.Token;
+import com.phuonghieuto.backend.notification_service.service.IdentityHeaderService;
 import com.phuonghieuto.backend.notification_service.service.TokenService;
 
 import java.io.IOException;
@@ -27,6 +28,7 @@ import java.io.IOException;
 public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter {
     
     private final TokenService tokenService;
+    private final IdentityHeaderService identityHeaderService;
     
     @Override
     protected void doFilterInternal(@NonNull final HttpServletRequest httpServletRequest,
@@ -43,10 +45,15 @@ public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter
         try {
             final String jwt = Token.getJwt(authHeader);
             
-            // Validate the token locally
-            tokenService.validateToken(jwt);
+            // The gateway has already validated the token and signed who it belongs to
+            UsernamePasswordAuthenticationToken authentication = identityHeaderService
+                    .getAuthentication(httpServletRequest.getHeader(IdentityHeaderService.HEADER), jwt);
             
-            final UsernamePasswordAuthenticationToken authentication = tokenService.getAuthentication(jwt);
+            if (authentication == null) {
+                // Direct calls, validate the token locally
+                tokenService.validateToken(jwt);
+                authentication = tokenService.getAuthentication(jwt);
+            }
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
         } catch (ResponseStatusException e) {
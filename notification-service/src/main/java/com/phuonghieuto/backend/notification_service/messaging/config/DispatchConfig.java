@@ -0,0 +1,71 @@
+package com.phuonghieuto.backend.notification_service.messaging.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.BufferedSessionFactory;
+
+/**
+ * One bounded worker pool per delivery channel. When a channel's queue is full the submitting listener thread runs
+ * the task itself, which slows consumption instead of dropping work or growing the heap. Pool, queue and active
+ * thread gauges are published by Spring Boot under executor.* with the bean name as the {@code name} tag.
+ */
+@Configuration
+public class DispatchConfig {
+
+    @Value("${notification.dispatch.websocket.pool-size:4}")
+    private int websocketPoolSize;
+
+    @Value("${notification.dispatch.websocket.queue-capacity:2000}")
+    private int websocketQueueCapacity;
+
+    @Value("${notification.dispatch.email.pool-size:8}")
+    private int emailPoolSize;
+
+    @Value("${notification.dispatch.email.queue-capacity:1000}")
+    private int emailQueueCapacity;
+
+    @Value("${notification.websocket.send-buffer.pool-size:8}")
+    private int websocketSendPoolSize;
+
+    @Bean(name = NotificationDispatcher.WEBSOCKET_EXECUTOR)
+    public ThreadPoolTaskExecutor websocketDispatchExecutor() {
+        return dispatchExecutor("ws-dispatch-", websocketPoolSize, websocketQueueCapacity);
+    }
+
+    @Bean(name = NotificationDispatcher.EMAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor emailDispatchExecutor() {
+        return dispatchExecutor("email-dispatch-", emailPoolSize, emailQueueCapacity);
+    }
+
+    /**
+     * Writes buffered frames to the sockets. The queue is left unbounded on purpose: each session has at most one
+     * drain task pending, so its length is capped by the number of connected sessions.
+     */
+    @Bean(name = BufferedSessionFactory.SEND_EXECUTOR)
+    public ThreadPoolTaskExecutor websocketSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ws-send-");
+        executor.setCorePoolSize(websocketSendPoolSize);
+        executor.setMaxPoolSize(websocketSendPoolSize);
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor dispatchExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Drain what was already accepted, the source messages have been acknowledged
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
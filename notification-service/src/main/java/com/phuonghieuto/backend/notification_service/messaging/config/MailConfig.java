@@ -3,9 +3,14 @@ package com.phuonghieuto.backend.notification_service.messaging.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import com.phuonghieuto.backend.notification_service.messaging.email.BulkEmailSender;
+import com.phuonghieuto.backend.notification_service.messaging.email.TokenBucket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
@@ -23,8 +28,26 @@ public class MailConfig {
     @Value("${spring.mail.password}")
     private String password;
 
+    @Value("${notification.email.connections:4}")
+    private int connections;
+
+    @Value("${notification.email.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${notification.email.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${notification.email.idle-timeout:PT30S}")
+    private Duration idleTimeout;
+
+    @Value("${notification.email.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${notification.email.burst:20}")
+    private int burst;
+
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost(host);
         mailSender.setPort(port);
@@ -43,4 +66,14 @@ public class MailConfig {
 
         return mailSender;
     }
+
+    /**
+     * Pooled sender for the configured provider. The rate limit applies to the provider as a whole, across all of
+     * its connections.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BulkEmailSender bulkEmailSender(JavaMailSenderImpl javaMailSender, MeterRegistry meterRegistry) {
+        return new BulkEmailSender(javaMailSender, new TokenBucket(ratePerSecond, burst), meterRegistry,
+                connections, queueCapacity, maxMessagesPerConnection, idleTimeout);
+    }
 }
\ No newline at end of file
@@ -1,10 +1,19 @@
 package com.phuonghieuto.backend.notification_service.messaging.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aopalliance.aop.Advice;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,7 +22,10 @@ import com.phuonghieuto.backend.notification_service.model.common.rabbitmq.Rabbi
 @Configuration
 public class RabbitMQConfig {
 
-    public static final String QUEUE_TASK_NOTIFICATIONS = RabbitMQConstants.QUEUE_TASK_NOTIFICATIONS;
+    public static final String QUEUE_TASK_DUE_SOON = RabbitMQConstants.QUEUE_TASK_DUE_SOON;
+    public static final String QUEUE_TASK_OVERDUE = RabbitMQConstants.QUEUE_TASK_OVERDUE;
+    public static final String QUEUE_BOARD_INVITATION = RabbitMQConstants.QUEUE_BOARD_INVITATION;
+    public static final String QUEUE_TASK_EMAIL = RabbitMQConstants.QUEUE_TASK_EMAIL;
     public static final String EXCHANGE_TASKS = RabbitMQConstants.EXCHANGE_TASKS;
     public static final String ROUTING_KEY_TASK_DUE_SOON = RabbitMQConstants.ROUTING_KEY_TASK_DUE_SOON;
     public static final String ROUTING_KEY_TASK_OVERDUE = RabbitMQConstants.ROUTING_KEY_TASK_OVERDUE;
@@ -21,14 +33,94 @@ public class RabbitMQConfig {
     public static final String EXCHANGE_NOTIFICATION = RabbitMQConstants.EXCHANGE_NOTIFICATION;
     public static final String QUEUE_EMAIL_CONFIRMATION = RabbitMQConstants.QUEUE_EMAIL_CONFIRMATION;
     public static final String ROUTING_KEY_EMAIL_CONFIRMATION = RabbitMQConstants.ROUTING_KEY_EMAIL_CONFIRMATION;
+    public static final String QUEUE_PARKING_LOT = RabbitMQConstants.QUEUE_PARKING_LOT;
+    public static final String EXCHANGE_USER_EVENTS = RabbitMQConstants.EXCHANGE_USER_EVENTS;
+    public static final String ROUTING_KEY_USER_EVENTS = RabbitMQConstants.ROUTING_KEY_USER_EVENTS;
+    public static final List<String> RETRYABLE_QUEUES = List.of(QUEUE_TASK_DUE_SOON, QUEUE_TASK_OVERDUE,
+            QUEUE_BOARD_INVITATION, QUEUE_EMAIL_CONFIRMATION, QUEUE_TASK_EMAIL);
+    public static final String DUE_SOON_LISTENER_CONTAINER_FACTORY = "dueSoonListenerContainerFactory";
+    public static final String OVERDUE_LISTENER_CONTAINER_FACTORY = "overdueListenerContainerFactory";
+    public static final String INVITATION_LISTENER_CONTAINER_FACTORY = "invitationListenerContainerFactory";
+
+    @Value("${notification.consumer.batch-size:100}")
+    private int consumerBatchSize;
+
+    @Value("${notification.consumer.linger-ms:200}")
+    private long consumerLingerMs;
+
+    @Value("${notification.consumer.due-soon.prefetch:200}")
+    private int dueSoonPrefetch;
+
+    @Value("${notification.consumer.overdue.prefetch:200}")
+    private int overduePrefetch;
+
+    @Value("${notification.consumer.invitation.prefetch:10}")
+    private int invitationPrefetch;
+
+    @Value("${notification.retry.delays-ms:5000,30000,300000}")
+    private long[] retryDelaysMs;
+
+    public static String retryQueueName(String queue, long delayMs) {
+        return queue + ".retry." + delayMs;
+    }
+
+    @Bean
+    public Queue taskDueSoonQueue() {
+        return workQueue(QUEUE_TASK_DUE_SOON);
+    }
+
     @Bean
-    public Binding taskOverdueBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_TASK_OVERDUE);
+    public Queue taskOverdueQueue() {
+        return workQueue(QUEUE_TASK_OVERDUE);
     }
 
     @Bean
-    public Queue taskNotificationsQueue() {
-        return new Queue(QUEUE_TASK_NOTIFICATIONS, true);
+    public Queue boardInvitationQueue() {
+        return workQueue(QUEUE_BOARD_INVITATION);
+    }
+
+    /**
+     * Only fed by this service: the email pool hands it the task emails it failed to send, see
+     * {@link com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher}.
+     */
+    @Bean
+    public Queue taskEmailQueue() {
+        return workQueue(QUEUE_TASK_EMAIL);
+    }
+
+    /**
+     * Rejected messages (e.g. payloads that cannot be converted) are dead-lettered to the parking lot instead of
+     * being dropped. Must match the declaration in task-service.
+     */
+    private static Queue workQueue(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(QUEUE_PARKING_LOT)
+                .build();
+    }
+
+    @Bean
+    public Queue parkingLotQueue() {
+        return new Queue(QUEUE_PARKING_LOT, true);
+    }
+
+    /**
+     * One delay queue per work queue and backoff tier. Nothing consumes them; once the TTL expires the message is
+     * dead-lettered through the default exchange straight back to its work queue.
+     */
+    @Bean
+    public Declarables retryQueues() {
+        List<Declarable> queues = new ArrayList<>();
+        for (String queue : RETRYABLE_QUEUES) {
+            for (long delayMs : retryDelaysMs) {
+                queues.add(QueueBuilder.durable(retryQueueName(queue, delayMs))
+                        .ttl((int) delayMs)
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(queue)
+                        .build());
+            }
+        }
+        return new Declarables(queues);
     }
 
     @Bean
@@ -37,8 +129,18 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Binding taskDueSoonBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_TASK_DUE_SOON);
+    public Binding taskDueSoonBinding(Queue taskDueSoonQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(taskDueSoonQueue).to(tasksExchange).with(ROUTING_KEY_TASK_DUE_SOON);
+    }
+
+    @Bean
+    public Binding taskOverdueBinding(Queue taskOverdueQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(taskOverdueQueue).to(tasksExchange).with(ROUTING_KEY_TASK_OVERDUE);
+    }
+
+    @Bean
+    public Binding boardInvitationBinding(Queue boardInvitationQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(boardInvitationQueue).to(tasksExchange).with(ROUTING_KEY_BOARD_INVITATION);
     }
 
     @Bean
@@ -53,9 +155,72 @@ public class RabbitMQConfig {
         return rabbitTemplate;
     }
 
+    /**
+     * Batch listener for due-soon reminders. A short batch is delivered when no further message arrives within
+     * {@code notification.consumer.linger-ms}. Concurrency is set on the listener itself.
+     */
+    @Bean(name = DUE_SOON_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory dueSoonListenerContainerFactory(ConnectionFactory connectionFactory,
+            MessageRecoverer messageRecoverer) {
+        return batchListenerContainerFactory(connectionFactory, messageRecoverer, dueSoonPrefetch);
+    }
+
+    @Bean(name = OVERDUE_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory overdueListenerContainerFactory(ConnectionFactory connectionFactory,
+            MessageRecoverer messageRecoverer) {
+        return batchListenerContainerFactory(connectionFactory, messageRecoverer, overduePrefetch);
+    }
+
+    /**
+     * Invitations are consumed one at a time with a small prefetch so they are never stuck behind a reminder backlog.
+     */
+    @Bean(name = INVITATION_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory invitationListenerContainerFactory(
+            ConnectionFactory connectionFactory, MessageRecoverer messageRecoverer) {
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(connectionFactory, messageRecoverer);
+        factory.setPrefetchCount(invitationPrefetch);
+        return factory;
+    }
+
+    /**
+     * Default factory, used by listeners that do not name one (email confirmations).
+     */
     @Bean
-    public Binding boardInvitationBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_BOARD_INVITATION);
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory,
+            MessageRecoverer messageRecoverer) {
+        return listenerContainerFactory(connectionFactory, messageRecoverer);
+    }
+
+    private SimpleRabbitListenerContainerFactory batchListenerContainerFactory(ConnectionFactory connectionFactory,
+            MessageRecoverer messageRecoverer, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(connectionFactory, messageRecoverer);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(consumerBatchSize);
+        factory.setPrefetchCount(Math.max(prefetch, consumerBatchSize));
+        factory.setReceiveTimeout(consumerLingerMs);
+        return factory;
+    }
+
+    /**
+     * Failed deliveries are handed straight to the recoverer, which schedules them on a delay queue or parks them.
+     * Nothing is ever requeued in place, so a downstream outage cannot spin a message through the consumer.
+     */
+    private SimpleRabbitListenerContainerFactory listenerContainerFactory(ConnectionFactory connectionFactory,
+            MessageRecoverer messageRecoverer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(retryAdvice(messageRecoverer));
+        return factory;
+    }
+
+    private static Advice retryAdvice(MessageRecoverer messageRecoverer) {
+        return RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(messageRecoverer)
+                .build();
     }
 
     @Bean
@@ -72,4 +237,26 @@ public class RabbitMQConfig {
     public Binding emailConfirmationBinding(Queue emailConfirmationQueue, DirectExchange notificationExchange) {
         return BindingBuilder.bind(emailConfirmationQueue).to(notificationExchange).with(ROUTING_KEY_EMAIL_CONFIRMATION);
     }
-}
\ No newline at end of file
+
+    /**
+     * Every instance keeps its own user directory replica, so each one gets a private, auto-deleted queue rather
+     * than competing on a shared one.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "notification.user-directory.replica.enabled", havingValue = "true", matchIfMissing = true)
+    public Queue userEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.user-directory.replica.enabled", havingValue = "true", matchIfMissing = true)
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(EXCHANGE_USER_EVENTS);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.user-directory.replica.enabled", havingValue = "true", matchIfMissing = true)
+    public Binding userEventsBinding(Queue userEventsQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userEventsQueue).to(userEventsExchange).with(ROUTING_KEY_USER_EVENTS);
+    }
+}
@@ -1,9 +1,14 @@
 package com.phuonghieuto.backend.notification_service.messaging.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
 import com.phuonghieuto.backend.notification_service.messaging.websocket.NotificationWebSocketHandler;
 import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketAuthInterceptor;
@@ -18,10 +23,33 @@ public class WebSocketConfig implements WebSocketConfigurer {
     private final NotificationWebSocketHandler notificationWebSocketHandler;
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
 
+    @Value("${notification.websocket.max-text-message-size:4096}")
+    private int maxTextMessageSize;
+
+    @Value("${notification.websocket.max-binary-message-size:1024}")
+    private int maxBinaryMessageSize;
+
+    @Value("${notification.websocket.idle-timeout:PT90S}")
+    private Duration idleTimeout;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(notificationWebSocketHandler, "/ws-notifications")
                 .addInterceptors(webSocketAuthInterceptor)
                 .setAllowedOrigins("*");
     }
-}
\ No newline at end of file
+
+    /**
+     * The container allocates its inbound message buffers per connection up front (8 KB binary plus 8 KB of chars by
+     * default), which dominates the per-connection heap. Clients only send small control frames, so keep them
+     * small. The container idle timeout is a backstop for {@code WebSocketHeartbeat}.
+     */
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxTextMessageSize);
+        container.setMaxBinaryMessageBufferSize(maxBinaryMessageSize);
+        container.setMaxSessionIdleTimeout(idleTimeout.toMillis() * 2);
+        return container;
+    }
+}
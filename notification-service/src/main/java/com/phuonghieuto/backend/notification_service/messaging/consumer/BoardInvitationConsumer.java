@@ -20,7 +20,9 @@ public class BoardInvitationConsumer {
     @Value("${app.frontend-url}")
     private String frontendUrl;
 
-    @RabbitListener(queues = RabbitMQConfig.QUEUE_TASK_NOTIFICATIONS)
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_BOARD_INVITATION,
+            containerFactory = RabbitMQConfig.INVITATION_LISTENER_CONTAINER_FACTORY,
+            concurrency = "${notification.consumer.invitation.concurrency:2-4}")
     public void receiveBoardInvitation(BoardInvitationNotificationDTO invitationNotification) {
         log.info("Received board invitation notification: {}", invitationNotification);
         
@@ -38,7 +40,9 @@ public class BoardInvitationConsumer {
             
             log.info("Successfully sent board invitation email to: {}", invitationNotification.getInviteeEmail());
         } catch (Exception e) {
+            // Rethrow so the recoverer can schedule a delayed retry or park the message
             log.error("Error processing board invitation notification", e);
+            throw e;
         }
     }
 }
\ No newline at end of file
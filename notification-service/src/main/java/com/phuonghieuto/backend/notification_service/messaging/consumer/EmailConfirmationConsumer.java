@@ -29,7 +29,9 @@ public class EmailConfirmationConsumer {
             
             log.info("Successfully sent confirmation email to: {}", emailConfirmation.getEmail());
         } catch (Exception e) {
+            // Rethrow so the recoverer can schedule a delayed retry or park the message
             log.error("Error processing email confirmation", e);
+            throw e;
         }
     }
 }
\ No newline at end of file
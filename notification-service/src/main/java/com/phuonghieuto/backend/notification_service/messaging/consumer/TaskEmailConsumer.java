@@ -0,0 +1,30 @@
+package com.phuonghieuto.backend.notification_service.messaging.consumer;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.messaging.config.RabbitMQConfig;
+import com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskEmailDTO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the task emails the email pool failed to deliver once their delay has passed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskEmailConsumer {
+
+    private final NotificationDispatcher notificationDispatcher;
+
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_TASK_EMAIL)
+    public void consumeTaskEmail(TaskEmailDTO taskEmail) {
+        log.info("Retrying task email with {} tasks for user: {}", taskEmail.getTaskNotifications().size(),
+                taskEmail.getRecipientId());
+        // Failures propagate so the recoverer can schedule the next attempt or park the message
+        notificationDispatcher.deliverTaskEmail(taskEmail);
+    }
+}
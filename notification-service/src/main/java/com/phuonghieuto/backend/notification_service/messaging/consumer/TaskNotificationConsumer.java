@@ -1,38 +1,110 @@
 package com.phuonghieuto.backend.notification_service.messaging.consumer;
 
+import com.phuonghieuto.backend.notification_service.exception.exception_handler.RabbitMQErrorHandler;
 import com.phuonghieuto.backend.notification_service.messaging.config.RabbitMQConfig;
 import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
-import com.phuonghieuto.backend.notification_service.model.notification.enums.NotificationType;
 import com.phuonghieuto.backend.notification_service.service.NotificationService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Takes the raw messages of a batch so a failure can be handed to the recoverer for the message that caused it.
+ * Messages that cannot be read, and every message that still fails on its own once the bulk insert has failed, are
+ * retried or parked by the recoverer instead of being acknowledged with the rest of the batch.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TaskNotificationConsumer {
 
+    private static final ParameterizedTypeReference<TaskNotificationDTO> NOTIFICATION_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
     private final NotificationService notificationService;
+    private final MessageRecoverer messageRecoverer;
+    // The producer's type id names a task-service class, the payload is read as the target type instead
+    private final Jackson2JsonMessageConverter messageConverter = new Jackson2JsonMessageConverter();
+
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_TASK_DUE_SOON,
+            containerFactory = RabbitMQConfig.DUE_SOON_LISTENER_CONTAINER_FACTORY,
+            concurrency = "${notification.consumer.due-soon.concurrency:1-4}")
+    public void receiveDueSoonNotifications(List<Message> messages) {
+        log.info("Received batch of {} due soon notifications", messages.size());
+        processBatch(messages);
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_TASK_OVERDUE,
+            containerFactory = RabbitMQConfig.OVERDUE_LISTENER_CONTAINER_FACTORY,
+            concurrency = "${notification.consumer.overdue.concurrency:1-4}")
+    public void receiveOverdueNotifications(List<Message> messages) {
+        log.info("Received batch of {} overdue notifications", messages.size());
+        processBatch(messages);
+    }
+
+    private void processBatch(List<Message> messages) {
+        List<Message> readable = new ArrayList<>(messages.size());
+        List<TaskNotificationDTO> taskNotifications = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                // Without a JSON content type the converter hands back the raw body
+                if (!(messageConverter.fromMessage(message, NOTIFICATION_TYPE)
+                        instanceof TaskNotificationDTO taskNotification)) {
+                    throw new MessageConversionException("Not a task notification, content type "
+                            + message.getMessageProperties().getContentType());
+                }
+                taskNotifications.add(taskNotification);
+                readable.add(message);
+            } catch (MessageConversionException e) {
+                log.error("Unreadable task notification, handing it to the recoverer: {}", e.getMessage());
+                messageRecoverer.recover(message, e);
+            }
+        }
+        if (readable.isEmpty()) {
+            return;
+        }
+
+        try {
+            notificationService.queueTaskNotifications(taskNotifications);
+        } catch (Exception e) {
+            if (RabbitMQErrorHandler.isRetryableError(e)) {
+                // Database or network outage, move the whole batch to a delay queue
+                log.warn("Task notification batch failed, scheduling a retry: {}", e.getMessage());
+                readable.forEach(message -> messageRecoverer.recover(message, e));
+                return;
+            }
+            // Bulk insert failed as a whole, queue message by message so one bad record cannot sink the batch
+            log.error("Error processing task notification batch, falling back to single processing: {}",
+                    e.getMessage(), e);
+            for (int i = 0; i < readable.size(); i++) {
+                queueTaskNotification(readable.get(i), taskNotifications.get(i));
+            }
+        }
+    }
 
-    @RabbitListener(queues = RabbitMQConfig.QUEUE_TASK_NOTIFICATIONS)
-    public void receiveTaskNotification(TaskNotificationDTO taskNotification) {
-        log.info("Received task notification: {}", taskNotification);
-        
+    private void queueTaskNotification(Message message, TaskNotificationDTO taskNotification) {
         try {
-            if (NotificationType.TASK_DUE_SOON.name().equals(taskNotification.getType())) {
-                notificationService.createTaskDueSoonNotification(taskNotification);
-                log.info("Successfully processed task due soon notification for task: {}", taskNotification.getTaskId());
-            } else if (NotificationType.TASK_OVERDUE.name().equals(taskNotification.getType())) {
-                notificationService.createTaskOverdueNotification(taskNotification);
-                log.info("Successfully processed task overdue notification for task: {}", taskNotification.getTaskId());
-            } else {
-                log.warn("Unknown task notification type: {}", taskNotification.getType());
+            // Goes through the same coalescing window as the batch path
+            if (notificationService.queueTaskNotifications(List.of(taskNotification)) > 0) {
+                log.info("Successfully queued {} notification for task: {}", taskNotification.getType(),
+                        taskNotification.getTaskId());
             }
         } catch (Exception e) {
-            log.error("Error processing task notification: {}", e.getMessage(), e);
+            // The recoverer retries outages and parks everything else, the rest of the batch is unaffected
+            log.error("Error processing task notification for task {}: {}", taskNotification.getTaskId(),
+                    e.getMessage(), e);
+            messageRecoverer.recover(message, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.phuonghieuto.backend.notification_service.messaging.consumer;
+
+import java.util.List;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.client.AuthServiceClient;
+import com.phuonghieuto.backend.notification_service.client.UserDirectoryReplica;
+import com.phuonghieuto.backend.notification_service.model.auth.dto.UserEmailDTO;
+import com.phuonghieuto.backend.notification_service.model.auth.dto.UserEventDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds the {@link UserDirectoryReplica}. Every instance has its own queue on the user events exchange, which is
+ * already consuming when the snapshot is read on startup, so no change falls between the two.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.user-directory.replica.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class UserEventConsumer {
+
+    private final UserDirectoryReplica replica;
+    private final AuthServiceClient authServiceClient;
+    private final int snapshotPageSize;
+
+    public UserEventConsumer(UserDirectoryReplica replica, AuthServiceClient authServiceClient,
+            @Value("${notification.user-directory.replica.snapshot-page-size:1000}") int snapshotPageSize) {
+        this.replica = replica;
+        this.authServiceClient = authServiceClient;
+        this.snapshotPageSize = snapshotPageSize;
+    }
+
+    @RabbitListener(queues = "#{userEventsQueue.name}")
+    public void consumeUserEvent(UserEventDTO event) {
+        log.debug("Received user {} event for user: {}", event.getType(), event.getUserId());
+        replica.put(event.getUserId(), event.getEmail());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        String after = null;
+        try {
+            List<UserEmailDTO> page;
+            do {
+                page = authServiceClient.getUserDirectory(after, snapshotPageSize);
+                replica.load(page);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getUserId();
+                }
+            } while (page.size() == snapshotPageSize);
+            log.info("User directory replica loaded with {} users", replica.size());
+        } catch (Exception e) {
+            // Lookups that miss the replica still go to auth-service
+            log.warn("Failed to load user directory snapshot after {}: {}", after, e.getMessage());
+        }
+    }
+}
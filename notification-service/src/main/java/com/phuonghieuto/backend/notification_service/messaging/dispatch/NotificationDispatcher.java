@@ -0,0 +1,169 @@
+package com.phuonghieuto.backend.notification_service.messaging.dispatch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.client.UserDirectory;
+import com.phuonghieuto.backend.notification_service.messaging.config.RabbitMQConfig;
+import com.phuonghieuto.backend.notification_service.messaging.email.EmailService;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketService;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskEmailDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.UnreadCountUpdateDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands routed notifications to the per-channel worker pools, so a slow SMTP server or auth-service lookup never
+ * delays WebSocket delivery or the listener thread that persisted the notification.
+ * <p>
+ * The source message has been acknowledged by the time an email is sent, so a failed task email is queued on
+ * {@link RabbitMQConfig#QUEUE_TASK_EMAIL} through the {@link MessageRecoverer}. It is retried from there on the same
+ * delay tiers as the work queues, or parked when it cannot succeed.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    public static final String WEBSOCKET_EXECUTOR = "websocketDispatchExecutor";
+    public static final String EMAIL_EXECUTOR = "emailDispatchExecutor";
+
+    private static final String CHANNEL_WEBSOCKET = "websocket";
+    private static final String CHANNEL_EMAIL = "email";
+
+    private final WebSocketService webSocketService;
+    private final EmailService emailService;
+    private final UserDirectory userDirectory;
+    private final MeterRegistry meterRegistry;
+    private final Executor websocketExecutor;
+    private final Executor emailExecutor;
+    private final MessageRecoverer messageRecoverer;
+    private final MessageConverter messageConverter = new Jackson2JsonMessageConverter();
+
+    public NotificationDispatcher(WebSocketService webSocketService, EmailService emailService,
+            UserDirectory userDirectory, MeterRegistry meterRegistry,
+            @Qualifier(WEBSOCKET_EXECUTOR) Executor websocketExecutor,
+            @Qualifier(EMAIL_EXECUTOR) Executor emailExecutor, MessageRecoverer messageRecoverer) {
+        this.webSocketService = webSocketService;
+        this.emailService = emailService;
+        this.userDirectory = userDirectory;
+        this.meterRegistry = meterRegistry;
+        this.websocketExecutor = websocketExecutor;
+        this.emailExecutor = emailExecutor;
+        this.messageRecoverer = messageRecoverer;
+    }
+
+    public void sendWebSocket(String recipientId, NotificationEntity notification) {
+        submit(websocketExecutor, CHANNEL_WEBSOCKET, notification.getReferenceId(),
+                () -> webSocketService.sendNotificationToUser(recipientId, notification));
+    }
+
+    public void sendUnreadCount(String recipientId, UnreadCountUpdateDTO update) {
+        submit(websocketExecutor, CHANNEL_WEBSOCKET, "unread count",
+                () -> webSocketService.sendUnreadCount(recipientId, update));
+    }
+
+    /**
+     * Resolves the recipient's address and sends the task email on the email pool. {@code recipientEmails} is shared
+     * by all emails of a batch so each address is looked up at most once; it must be safe for concurrent use.
+     */
+    public void sendTaskEmail(TaskNotificationDTO taskNotification, boolean overdue,
+            Map<String, String> recipientEmails) {
+        TaskEmailDTO taskEmail = new TaskEmailDTO(taskNotification.getRecipientId(), overdue,
+                List.of(taskNotification));
+        submit(emailExecutor, CHANNEL_EMAIL, taskNotification.getTaskId(), () -> {
+            String email = recipientEmails.computeIfAbsent(taskNotification.getRecipientId(), this::getEmail);
+            sendTaskEmail(taskEmail, email);
+        }, e -> retryTaskEmail(taskEmail, e));
+    }
+
+    /**
+     * Sends one email listing every task of a coalesced window to its single recipient.
+     */
+    public void sendTaskDigestEmail(String recipientId, List<TaskNotificationDTO> taskNotifications, boolean overdue) {
+        TaskEmailDTO taskEmail = new TaskEmailDTO(recipientId, overdue, taskNotifications);
+        submit(emailExecutor, CHANNEL_EMAIL, taskNotifications.size() + " digested tasks",
+                () -> deliverTaskEmail(taskEmail), e -> retryTaskEmail(taskEmail, e));
+    }
+
+    /**
+     * Sends a task email taken off the retry queue on the calling thread. Failures are thrown so the listener
+     * container hands the message back to the recoverer.
+     */
+    public void deliverTaskEmail(TaskEmailDTO taskEmail) {
+        sendTaskEmail(taskEmail, getEmail(taskEmail.getRecipientId()));
+    }
+
+    private void sendTaskEmail(TaskEmailDTO taskEmail, String email) {
+        List<TaskNotificationDTO> taskNotifications = taskEmail.getTaskNotifications();
+        if (taskNotifications.size() > 1) {
+            emailService.sendTaskDigestEmail(taskNotifications, taskEmail.isOverdue(), email);
+        } else if (taskEmail.isOverdue()) {
+            emailService.sendTaskOverdueEmail(taskNotifications.get(0), email);
+        } else {
+            emailService.sendTaskDueSoonEmail(taskNotifications.get(0), email);
+        }
+    }
+
+    // The recoverer schedules a delayed attempt for outages and parks everything else
+    private void retryTaskEmail(TaskEmailDTO taskEmail, Exception cause) {
+        try {
+            MessageProperties properties = new MessageProperties();
+            properties.setConsumerQueue(RabbitMQConfig.QUEUE_TASK_EMAIL);
+            Message message = messageConverter.toMessage(taskEmail, properties);
+            messageRecoverer.recover(message, cause);
+            meterRegistry.counter("notification.dispatch.email.failed", "handling", "requeued").increment();
+        } catch (Exception e) {
+            meterRegistry.counter("notification.dispatch.email.failed", "handling", "dropped").increment();
+            log.error("Failed to queue task email for user {} for another attempt, it is lost: {}",
+                    taskEmail.getRecipientId(), e.getMessage(), e);
+        }
+    }
+
+    // Lookups of concurrent email workers are batched by the directory
+    private String getEmail(String userId) {
+        String email = userDirectory.getEmail(userId);
+        if (email == null) {
+            throw new IllegalStateException("No email address known for user " + userId);
+        }
+        return email;
+    }
+
+    // WebSocket frames are not retried, a client that reconnects replays what it missed
+    private void submit(Executor executor, String channel, String taskId, Runnable delivery) {
+        submit(executor, channel, taskId, delivery, e -> {
+        });
+    }
+
+    private void submit(Executor executor, String channel, String taskId, Runnable delivery,
+            Consumer<Exception> onFailure) {
+        long enqueuedAt = System.nanoTime();
+        executor.execute(() -> {
+            try {
+                delivery.run();
+                meterRegistry.counter("notification.dispatch", "channel", channel, "outcome", "sent").increment();
+            } catch (Exception e) {
+                meterRegistry.counter("notification.dispatch", "channel", channel, "outcome", "failed").increment();
+                log.error("Failed to send {} notification for task {}: {}", channel, taskId, e.getMessage(), e);
+                onFailure.accept(e);
+            } finally {
+                // Includes time spent queued, which is what a slow channel shows up as
+                meterRegistry.timer("notification.dispatch.latency", "channel", channel)
+                        .record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+}
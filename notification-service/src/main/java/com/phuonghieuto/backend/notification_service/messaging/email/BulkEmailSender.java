@@ -0,0 +1,204 @@
+package com.phuonghieuto.backend.notification_service.messaging.email;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends prepared messages over a fixed set of long-lived SMTP connections, one per worker thread. Each worker drains
+ * whatever is queued and pushes it through its open connection, so the handshake and authentication are paid once
+ * per connection instead of once per email. All workers share one {@link TokenBucket} for the configured provider.
+ * <p>
+ * Callers render and encode the message on their own thread; only the SMTP conversation happens here.
+ */
+@Slf4j
+public class BulkEmailSender {
+
+    private static final int MAX_DRAIN = 50;
+
+    private final JavaMailSenderImpl mailSender;
+    private final TokenBucket rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMillis;
+    private final BlockingQueue<PendingEmail> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public BulkEmailSender(JavaMailSenderImpl mailSender, TokenBucket rateLimiter, MeterRegistry meterRegistry,
+            int connections, int queueCapacity, int maxMessagesPerConnection, Duration idleTimeout) {
+        this.mailSender = mailSender;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("notification.email.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        for (int i = 0; i < connections; i++) {
+            Thread worker = new Thread(this::runWorker, "smtp-sender-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues the message and waits until it has been accepted by the SMTP server. Failures surface as
+     * {@link MailException}s, the same as {@link JavaMailSenderImpl#send(MimeMessage)}.
+     */
+    public void send(MimeMessage message) {
+        try {
+            submit(message).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MailException mailException) {
+                throw mailException;
+            }
+            throw new MailSendException("Failed to send email", e.getCause());
+        }
+    }
+
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        try {
+            // Same preparation JavaMailSenderImpl does, kept off the SMTP threads
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+        } catch (MessagingException e) {
+            throw new MailPreparationException(e);
+        }
+
+        PendingEmail pending = new PendingEmail(message, new CompletableFuture<>());
+        try {
+            // Blocks when the queue is full, which pushes back on the email dispatch workers
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while queueing email", e);
+        }
+        return pending.result();
+    }
+
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+
+        List<PendingEmail> unsent = new ArrayList<>();
+        queue.drainTo(unsent);
+        unsent.forEach(email -> email.result()
+                .completeExceptionally(new MailSendException("Email sender shut down before sending")));
+    }
+
+    private void runWorker() {
+        SmtpConnection connection = new SmtpConnection();
+        List<PendingEmail> batch = new ArrayList<>(MAX_DRAIN);
+        try {
+            while (running) {
+                PendingEmail first = queue.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Let the server reclaim idle sessions rather than having it drop them under us
+                    connection.close();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_DRAIN - 1);
+                for (PendingEmail email : batch) {
+                    send(connection, email);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connection.close();
+            batch.forEach(email -> email.result()
+                    .completeExceptionally(new MailSendException("Email sender shut down before sending")));
+        }
+    }
+
+    private void send(SmtpConnection connection, PendingEmail email) throws InterruptedException {
+        if (email.result().isDone()) {
+            return;
+        }
+        rateLimiter.acquire();
+        MimeMessage message = email.message();
+        try {
+            try {
+                connection.send(message);
+            } catch (MessagingException e) {
+                if (!connection.wasReused()) {
+                    throw e;
+                }
+                // A pooled connection may have been closed by the server, retry once on a fresh one
+                log.debug("Send over reused SMTP connection failed, reconnecting: {}", e.getMessage());
+                connection.close();
+                connection.send(message);
+            }
+            meterRegistry.counter("notification.email.sent", "outcome", "sent").increment();
+            email.result().complete(null);
+        } catch (MessagingException | RuntimeException e) {
+            connection.close();
+            meterRegistry.counter("notification.email.sent", "outcome", "failed").increment();
+            email.result().completeExceptionally(new MailSendException("Failed to send email", e));
+        }
+    }
+
+    private record PendingEmail(MimeMessage message, CompletableFuture<Void> result) {
+    }
+
+    /**
+     * A worker's SMTP session, opened lazily and recycled after {@code maxMessagesPerConnection} messages.
+     */
+    private class SmtpConnection {
+
+        private Transport transport;
+        private int messagesSent;
+
+        void send(MimeMessage message) throws MessagingException {
+            if (transport == null || messagesSent >= maxMessagesPerConnection) {
+                close();
+                Transport connected = mailSender.getSession().getTransport(mailSender.getProtocol());
+                connected.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                        mailSender.getPassword());
+                transport = connected;
+            }
+            messagesSent++;
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        boolean wasReused() {
+            return messagesSent > 1;
+        }
+
+        void close() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.debug("Failed to close SMTP connection: {}", e.getMessage());
+                }
+                transport = null;
+            }
+            messagesSent = 0;
+        }
+    }
+}
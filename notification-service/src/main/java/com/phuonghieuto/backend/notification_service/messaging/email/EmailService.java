@@ -1,5 +1,7 @@
 package com.phuonghieuto.backend.notification_service.messaging.email;
 
+import java.util.List;
+
 import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
 
@@ -7,6 +9,7 @@ public interface EmailService {
     void sendNotificationEmail(NotificationEntity notification, String userEmail);
     void sendTaskDueSoonEmail(TaskNotificationDTO notification, String userEmail);
     void sendTaskOverdueEmail(TaskNotificationDTO notification, String userEmail);
+    void sendTaskDigestEmail(List<TaskNotificationDTO> notifications, boolean overdue, String userEmail);
     void sendBoardInvitationEmail(String recipientEmail, String inviterName, String boardName, String boardUrl);
     void sendEmailConfirmation(String email, String name, String token);
 }
\ No newline at end of file
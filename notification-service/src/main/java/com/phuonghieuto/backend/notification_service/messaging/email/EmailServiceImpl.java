@@ -12,6 +12,10 @@ import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
@@ -21,6 +25,7 @@ import jakarta.mail.internet.MimeMessage;
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final BulkEmailSender emailSender;
     private final TemplateEngine templateEngine;
     
     @Value("${spring.mail.username}")
@@ -48,7 +53,7 @@ public class EmailServiceImpl implements EmailService {
             String emailContent = templateEngine.process("email/notification-email", context);
             helper.setText(emailContent, true);
             
-            mailSender.send(message);
+            emailSender.send(message);
             log.info("Email notification sent to {}", userEmail);
         } catch (MessagingException e) {
             log.error("Failed to send email notification: {}", e.getMessage(), e);
@@ -75,7 +80,7 @@ public class EmailServiceImpl implements EmailService {
             String emailContent = templateEngine.process("email/task-due-soon", context);
             helper.setText(emailContent, true);
             
-            mailSender.send(message);
+            emailSender.send(message);
             log.info("Task due soon email sent to {}", userEmail);
         } catch (MessagingException e) {
             log.error("Failed to send task due soon email: {}", e.getMessage(), e);
@@ -102,13 +107,49 @@ public class EmailServiceImpl implements EmailService {
             String emailContent = templateEngine.process("email/task-overdue", context);
             helper.setText(emailContent, true);
             
-            mailSender.send(message);
+            emailSender.send(message);
             log.info("Task overdue email sent to {}", userEmail);
         } catch (MessagingException e) {
             log.error("Failed to send task overdue email: {}", e.getMessage(), e);
         }
     }
 
+    @Override
+    public void sendTaskDigestEmail(List<TaskNotificationDTO> notifications, boolean overdue, String userEmail) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            
+            helper.setFrom(fromEmail);
+            helper.setTo(userEmail);
+            helper.setSubject(overdue
+                    ? "You have " + notifications.size() + " overdue tasks"
+                    : "You have " + notifications.size() + " tasks due soon");
+            
+            List<Map<String, Object>> tasks = notifications.stream().map(notification -> {
+                Map<String, Object> task = new HashMap<>();
+                task.put("taskTitle", notification.getTaskTitle());
+                task.put("dueDate", notification.getDueDate());
+                task.put("boardName", notification.getBoardName());
+                task.put("tableName", notification.getTableName());
+                task.put("taskUrl", frontendUrl + "/board/" + notification.getBoardId() + "?task=" + notification.getTaskId());
+                return task;
+            }).toList();
+            
+            Context context = new Context();
+            context.setVariable("overdue", overdue);
+            context.setVariable("tasks", tasks);
+            
+            String emailContent = templateEngine.process("email/task-digest", context);
+            helper.setText(emailContent, true);
+            
+            emailSender.send(message);
+            log.info("Task digest email with {} tasks sent to {}", notifications.size(), userEmail);
+        } catch (MessagingException e) {
+            log.error("Failed to send task digest email: {}", e.getMessage(), e);
+        }
+    }
+
     @Override
     public void sendBoardInvitationEmail(String recipientEmail, String inviterName, String boardName, String boardUrl) {
         try {
@@ -127,7 +168,7 @@ public class EmailServiceImpl implements EmailService {
             String emailContent = templateEngine.process("email/board-invitation", context);
             helper.setText(emailContent, true);
             
-            mailSender.send(message);
+            emailSender.send(message);
             log.info("Board invitation email sent to {}", recipientEmail);
         } catch (MessagingException e) {
             log.error("Failed to send board invitation email: {}", e.getMessage(), e);
@@ -151,7 +192,7 @@ public class EmailServiceImpl implements EmailService {
             String emailContent = templateEngine.process("email/email-confirmation", context);
             helper.setText(emailContent, true);
             
-            mailSender.send(message);
+            emailSender.send(message);
             log.info("Email confirmation sent to {}", email);
         } catch (MessagingException e) {
             log.error("Failed to send email confirmation: {}", e.getMessage(), e);
@@ -0,0 +1,84 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.phuonghieuto.backend.notification_service.messaging.websocket.BufferedWebSocketSession.OverflowPolicy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+/**
+ * Wraps connected sessions in {@link BufferedWebSocketSession}s sharing one send executor, one set of limits and one
+ * set of buffer metrics.
+ */
+@Component
+public class BufferedSessionFactory {
+
+    public static final String SEND_EXECUTOR = "websocketSendExecutor";
+
+    @Getter
+    private final Executor executor;
+    @Getter
+    private final int capacity;
+    @Getter
+    private final int batchSize;
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+    @Getter
+    private final int maxInboundPerSecond;
+
+    private final AtomicLong queuedFrames = new AtomicLong();
+    private final DistributionSummary depthSummary;
+    private final Counter overflowCounter;
+
+    public BufferedSessionFactory(@Qualifier(SEND_EXECUTOR) Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${notification.websocket.send-buffer.capacity:256}") int capacity,
+            @Value("${notification.websocket.send-buffer.batch-size:32}") int batchSize,
+            @Value("${notification.websocket.send-buffer.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+            @Value("${notification.websocket.inbound.max-messages-per-second:5}") int maxInboundPerSecond) {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.maxInboundPerSecond = maxInboundPerSecond;
+
+        Gauge.builder("notification.websocket.buffer.queued", queuedFrames, AtomicLong::get)
+                .description("Frames waiting in WebSocket send buffers across all sessions")
+                .register(meterRegistry);
+        this.depthSummary = DistributionSummary.builder("notification.websocket.buffer.depth")
+                .description("Send buffer depth of a session after each enqueue")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("notification.websocket.buffer.overflow")
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry);
+    }
+
+    public BufferedWebSocketSession wrap(WebSocketSession session) {
+        return new BufferedWebSocketSession(session, this);
+    }
+
+    void onEnqueued(int depth) {
+        queuedFrames.incrementAndGet();
+        depthSummary.record(depth);
+    }
+
+    void onDequeued(int count) {
+        if (count > 0) {
+            queuedFrames.addAndGet(-count);
+        }
+    }
+
+    void onOverflow() {
+        overflowCounter.increment();
+    }
+}
@@ -0,0 +1,204 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Session whose {@link #sendMessage} only enqueues. Frames are written by a shared executor, at most one task per
+ * session and at most {@code batchSize} frames per task, so a slow client delays only its own frames and cannot hold
+ * a pool thread indefinitely while others wait. The queue is bounded; what happens when it fills up is decided by
+ * the {@link OverflowPolicy}.
+ * <p>
+ * Also carries the little inbound state a connection needs: when the peer was last heard from, for
+ * {@link WebSocketHeartbeat}, and a one-second message counter for the inbound rate limit.
+ */
+@Slf4j
+public class BufferedWebSocketSession extends WebSocketSessionDecorator {
+
+    /**
+     * Sent in place of the frames discarded by {@link OverflowPolicy#COALESCE}, the client should reload what it
+     * missed.
+     */
+    static final String RESYNC_FRAME_TEMPLATE = "{\"type\":\"RESYNC\",\"dropped\":%d}";
+
+    public enum OverflowPolicy {
+        /** Discard the oldest queued frame to make room. */
+        DROP_OLDEST,
+        /** Replace the whole backlog with a single resync frame. */
+        COALESCE,
+        /** Close the session, the client reconnects and reloads. */
+        DISCONNECT
+    }
+
+    private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final BufferedSessionFactory factory;
+    private volatile boolean discarded;
+    private volatile long lastActiveAt = System.currentTimeMillis();
+    // Inbound frames of a session are delivered one at a time, so these need no synchronization
+    private long inboundWindowStart;
+    private int inboundInWindow;
+
+    BufferedWebSocketSession(WebSocketSession delegate, BufferedSessionFactory factory) {
+        super(delegate);
+        this.factory = factory;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (discarded) {
+            return;
+        }
+
+        boolean overflowed = false;
+        synchronized (queue) {
+            if (queue.size() >= factory.getCapacity()) {
+                overflowed = true;
+                switch (factory.getOverflowPolicy()) {
+                    case DROP_OLDEST -> {
+                        queue.pollFirst();
+                        factory.onDequeued(1);
+                    }
+                    case COALESCE -> {
+                        int dropped = queue.size();
+                        queue.clear();
+                        queue.addLast(new TextMessage(String.format(RESYNC_FRAME_TEMPLATE, dropped)));
+                        factory.onDequeued(dropped - 1);
+                    }
+                    case DISCONNECT -> {
+                        // handled outside the lock
+                    }
+                }
+            }
+            if (!overflowed || factory.getOverflowPolicy() != OverflowPolicy.DISCONNECT) {
+                queue.addLast(message);
+                factory.onEnqueued(queue.size());
+            }
+        }
+
+        if (overflowed) {
+            factory.onOverflow();
+            if (factory.getOverflowPolicy() == OverflowPolicy.DISCONNECT) {
+                log.warn("Send buffer of session {} is full, disconnecting", getId());
+                closeQuietly(CloseStatus.SESSION_NOT_RELIABLE.withReason("Send buffer overflow"));
+                return;
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Records an inbound frame from the client and counts it against the per-second limit.
+     *
+     * @return {@code false} once the client has sent more frames in the current second than allowed
+     */
+    public boolean tryAcceptInbound() {
+        long now = System.currentTimeMillis();
+        lastActiveAt = now;
+        if (now - inboundWindowStart >= 1000) {
+            inboundWindowStart = now;
+            inboundInWindow = 0;
+        }
+        return ++inboundInWindow <= factory.getMaxInboundPerSecond();
+    }
+
+    /**
+     * Records a pong, which keeps the session alive without counting against the inbound limit.
+     */
+    public void markActive() {
+        lastActiveAt = System.currentTimeMillis();
+    }
+
+    public long getLastActiveAt() {
+        return lastActiveAt;
+    }
+
+    /**
+     * Drops the backlog and closes the connection.
+     */
+    public void evict(CloseStatus status) {
+        closeQuietly(status);
+    }
+
+    /**
+     * Drops whatever is still queued. Called once the underlying connection is gone.
+     */
+    public void discard() {
+        discarded = true;
+        synchronized (queue) {
+            factory.onDequeued(queue.size());
+            queue.clear();
+        }
+    }
+
+    public int getQueuedCount() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            factory.getExecutor().execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drainScheduled.set(false);
+            log.error("Send executor rejected drain for session {}", getId());
+        }
+    }
+
+    private void drain() {
+        List<WebSocketMessage<?>> batch = new ArrayList<>(factory.getBatchSize());
+        synchronized (queue) {
+            while (batch.size() < factory.getBatchSize() && !queue.isEmpty()) {
+                batch.add(queue.pollFirst());
+            }
+            factory.onDequeued(batch.size());
+        }
+
+        try {
+            for (WebSocketMessage<?> message : batch) {
+                if (!isOpen()) {
+                    discard();
+                    break;
+                }
+                getDelegate().sendMessage(message);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write to session {}, closing: {}", getId(), e.getMessage());
+            discard();
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            drainScheduled.set(false);
+        }
+
+        // Yield the pool thread after each batch, frames that arrived meanwhile get a new task
+        if (!discarded && getQueuedCount() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        discard();
+        try {
+            getDelegate().close(status);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to close session {}: {}", getId(), e.getMessage());
+        }
+    }
+}
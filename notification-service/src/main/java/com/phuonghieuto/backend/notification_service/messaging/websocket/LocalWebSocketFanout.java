@@ -0,0 +1,28 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Single-instance fan-out that writes straight to the local sessions. Used when Redis pub/sub is disabled, e.g. in
+ * tests or a one-node deployment.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.websocket.fanout.redis.enabled", havingValue = "false")
+@RequiredArgsConstructor
+public class LocalWebSocketFanout implements WebSocketFanout {
+
+    private final NotificationWebSocketHandler notificationWebSocketHandler;
+
+    @Override
+    public void publishToUser(String userId, String payload) {
+        notificationWebSocketHandler.sendToLocalSessions(userId, payload);
+    }
+
+    @Override
+    public void publishBroadcast(String payload) {
+        notificationWebSocketHandler.broadcastToLocalSessions(payload);
+    }
+}
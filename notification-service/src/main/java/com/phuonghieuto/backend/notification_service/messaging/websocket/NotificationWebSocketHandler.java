@@ -1,19 +1,14 @@
 package com.phuonghieuto.backend.notification_service.messaging.websocket;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.databind.SerializationFeature;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,36 +17,33 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class NotificationWebSocketHandler extends TextWebSocketHandler {
     
-    private static final Map<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
-    private static final Map<String, WebSocketSession> allSessions = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper;
-    
-    public NotificationWebSocketHandler() {
-        // Initialize and configure ObjectMapper with JavaTimeModule
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    }
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final BufferedSessionFactory bufferedSessionFactory;
+    private final WebSocketReplayer webSocketReplayer;
     
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         String userId = extractUserId(session);
         if (userId != null) {
-            // Check if there's already a session for this user
-            WebSocketSession existingSession = userSessions.get(userId);
-            if (existingSession != null && existingSession.isOpen()) {
-                // Close the old session
-                try {
-                    existingSession.close(CloseStatus.NORMAL.withReason("Session replaced by new connection"));
-                    log.info("Closed previous session for user: {}", userId);
-                } catch (IOException e) {
-                    log.error("Error closing previous session: {}", e.getMessage());
+            // Every tab/device keeps its own session, none of them replaces another
+            BufferedWebSocketSession buffered = bufferedSessionFactory.wrap(session);
+            switch (sessionRegistry.register(userId, buffered)) {
+                case ACCEPTED -> {
+                    log.info("WebSocket connection established: {} for user: {} ({} sessions on this node)",
+                            session.getId(), userId, sessionRegistry.getSessionCount());
+                    if (session.getAttributes().get(WebSocketAuthInterceptor.CURSOR_ATTRIBUTE) instanceof Long cursor) {
+                        webSocketReplayer.replay(buffered, userId, cursor);
+                    }
+                }
+                case USER_LIMIT -> {
+                    log.warn("Rejecting WebSocket connection {}: user {} has too many sessions", session.getId(), userId);
+                    session.close(CloseStatus.POLICY_VIOLATION.withReason("Too many connections"));
+                }
+                case NODE_LIMIT -> {
+                    log.warn("Rejecting WebSocket connection {}: node at capacity", session.getId());
+                    session.close(CloseStatus.SERVICE_OVERLOAD);
                 }
             }
-            
-            userSessions.put(userId, session);
-            allSessions.put(session.getId(), session);
-            log.info("WebSocket connection established: {} for user: {}", session.getId(), userId);
         } else {
             log.warn("No userId found in session attributes");
             session.close(CloseStatus.POLICY_VIOLATION.withReason("Authentication failed"));
@@ -61,21 +53,34 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         String userId = extractUserId(session);
-        if (userId != null) {
-            userSessions.remove(userId);
+        if (sessionRegistry.unregister(userId, session) instanceof BufferedWebSocketSession buffered) {
+            buffered.discard();
         }
-        allSessions.remove(session.getId());
         log.info("WebSocket connection closed: {} for user: {} with status: {}", 
                 session.getId(), userId, status);
     }
     
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        // Handle incoming messages if needed
-        log.info("Received message: {}", message.getPayload());
-        
-        // Echo back the message for testing purposes
-        session.sendMessage(new TextMessage("Echo: " + message.getPayload()));
+        BufferedWebSocketSession buffered = buffered(session);
+        if (buffered == null) {
+            return;
+        }
+        if (!buffered.tryAcceptInbound()) {
+            log.warn("Closing WebSocket session {}: inbound message rate exceeded", session.getId());
+            buffered.evict(CloseStatus.POLICY_VIOLATION.withReason("Message rate exceeded"));
+            return;
+        }
+        // The channel is push-only, inbound frames only count as liveness
+        log.debug("Received {} chars on session {}", message.getPayloadLength(), session.getId());
+    }
+    
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
+        BufferedWebSocketSession buffered = buffered(session);
+        if (buffered != null) {
+            buffered.markActive();
+        }
     }
     
     @Override
@@ -86,48 +91,44 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         }
     }
     
+    private BufferedWebSocketSession buffered(WebSocketSession session) {
+        return sessionRegistry.getSession(session.getId()) instanceof BufferedWebSocketSession buffered
+                ? buffered : null;
+    }
+    
     private String extractUserId(WebSocketSession session) {
         // Get userId from session attributes (set by the interceptor)
         return (String) session.getAttributes().get("userId");
     }
     
-    // Methods to send notifications to specific users or broadcast
-    public void sendToUser(String userId, Object notification) {
-        WebSocketSession session = userSessions.get(userId);
-        if (session != null && session.isOpen()) {
-            try {
-                String jsonMessage = objectMapper.writeValueAsString(notification);
-                session.sendMessage(new TextMessage(jsonMessage));
-                log.debug("Sent message to user {}: {}", userId, jsonMessage);
-            } catch (IOException e) {
-                log.error("Failed to send message to user {}", userId, e);
-            }
-        } else {
-            log.warn("User {} is not connected to WebSocket", userId);
+    /**
+     * Queues an already serialized frame on every session the user holds on this instance. Sessions on other
+     * instances are reached through {@link WebSocketFanout}. Never blocks on the network, see
+     * {@link BufferedWebSocketSession}.
+     */
+    public void sendToLocalSessions(String userId, String payload) {
+        TextMessage message = new TextMessage(payload);
+        for (WebSocketSession session : sessionRegistry.getSessions(userId)) {
+            send(session, message);
         }
     }
     
-    public void broadcast(Object notification) {
-        String message;
-        try {
-            message = objectMapper.writeValueAsString(notification);
-            log.info("Broadcasting message to {} sessions", allSessions.size());
-            for (WebSocketSession session : allSessions.values()) {
-                if (session.isOpen()) {
-                    try {
-                        session.sendMessage(new TextMessage(message));
-                    } catch (IOException e) {
-                        log.error("Failed to send broadcast message to session {}", session.getId(), e);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            log.error("Failed to serialize broadcast message", e);
+    public void broadcastToLocalSessions(String payload) {
+        log.info("Broadcasting message to {} local sessions", sessionRegistry.getSessionCount());
+        TextMessage message = new TextMessage(payload);
+        for (WebSocketSession session : sessionRegistry.getAllSessions()) {
+            send(session, message);
         }
     }
-
-    // For debugging
-    public Map<String, WebSocketSession> getActiveSessions() {
-        return userSessions;
+    
+    private void send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        } catch (IOException | IllegalStateException e) {
+            log.error("Failed to send message to session {}", session.getId(), e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans WebSocket frames out over Redis pub/sub. Every instance, including the publisher, receives each frame and
+ * delivers it to whatever sessions it holds for the recipient, so there is a single delivery path regardless of
+ * where the user is connected.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.websocket.fanout.redis.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RedisWebSocketFanout implements WebSocketFanout, MessageListener {
+
+    public static final String CHANNEL = "notification.websocket.fanout";
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationWebSocketHandler notificationWebSocketHandler;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publishToUser(String userId, String payload) {
+        publish(new FanoutMessage(userId, payload));
+    }
+
+    @Override
+    public void publishBroadcast(String payload) {
+        publish(new FanoutMessage(null, payload));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            deliverLocally(objectMapper.readValue(message.getBody(), FanoutMessage.class));
+        } catch (Exception e) {
+            log.error("Failed to handle WebSocket fan-out message: {}", e.getMessage(), e);
+        }
+    }
+
+    private void publish(FanoutMessage message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize WebSocket fan-out message", e);
+        } catch (Exception e) {
+            // Without Redis only the sessions on this instance can be reached
+            log.warn("Failed to publish WebSocket fan-out message, delivering locally only: {}", e.getMessage());
+            deliverLocally(message);
+        }
+    }
+
+    private void deliverLocally(FanoutMessage message) {
+        if (message.userId() == null) {
+            notificationWebSocketHandler.broadcastToLocalSessions(message.payload());
+        } else {
+            notificationWebSocketHandler.sendToLocalSessions(message.userId(), message.payload());
+        }
+    }
+
+    /**
+     * Frame as sent over the channel, a {@code null} user id means broadcast.
+     */
+    record FanoutMessage(String userId, String payload) {
+    }
+}
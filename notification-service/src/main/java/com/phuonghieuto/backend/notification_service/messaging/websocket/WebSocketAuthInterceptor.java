@@ -2,11 +2,14 @@ package com.phuonghieuto.backend.notification_service.messaging.websocket;
 
 import java.util.Map;
 
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -22,16 +25,26 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class WebSocketAuthInterceptor implements HandshakeInterceptor {
 
+    public static final String CURSOR_ATTRIBUTE = "cursor";
+
     private final TokenService tokenService;
+    private final WebSocketSessionRegistry sessionRegistry;
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
                                   WebSocketHandler wsHandler, Map<String, Object> attributes) throws Exception {
+        // Turn clients away before the upgrade when this node is full, the load balancer retries elsewhere
+        if (sessionRegistry.isNodeFull()) {
+            log.warn("Rejecting WebSocket handshake, node at capacity");
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return false;
+        }
+
         // Get token from query parameters
-        String token = UriComponentsBuilder.fromUri(request.getURI())
+        MultiValueMap<String, String> queryParams = UriComponentsBuilder.fromUri(request.getURI())
                 .build()
-                .getQueryParams()
-                .getFirst("token");
+                .getQueryParams();
+        String token = queryParams.getFirst("token");
         
         if (token == null) {
             log.warn("No token provided in WebSocket connection");
@@ -59,6 +72,12 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
             
             // Store userId in attributes for later use in the handler
             attributes.put("userId", userId);
+
+            // Reconnecting clients pass the last stream cursor they saw to have missed notifications replayed
+            long cursor = NumberUtils.toLong(queryParams.getFirst(CURSOR_ATTRIBUTE), -1L);
+            if (cursor >= 0) {
+                attributes.put(CURSOR_ATTRIBUTE, cursor);
+            }
             
             log.debug("WebSocket authentication successful for user: {}", userId);
             return true;
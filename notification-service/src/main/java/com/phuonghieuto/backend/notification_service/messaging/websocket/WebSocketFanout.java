@@ -0,0 +1,13 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+/**
+ * Carries serialized WebSocket frames to every notification-service instance, each of which writes them to the
+ * sessions it holds locally. Callers do not need to know which instance a user is connected to.
+ */
+public interface WebSocketFanout {
+
+    void publishToUser(String userId, String payload);
+
+    void publishBroadcast(String payload);
+
+}
@@ -0,0 +1,58 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pings every local session on a fixed interval and closes the ones that have not sent anything, pongs included,
+ * within the idle timeout. Browsers answer pings on their own, so this only evicts peers that are gone without a
+ * close frame (sleeping laptops, dropped mobile links, half-open TCP).
+ */
+@Component
+@Slf4j
+public class WebSocketHeartbeat {
+
+    private static final CloseStatus IDLE_TIMEOUT = CloseStatus.SESSION_NOT_RELIABLE.withReason("Idle timeout");
+
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final long idleTimeoutMillis;
+    private final Counter evictedCounter;
+
+    public WebSocketHeartbeat(WebSocketSessionRegistry sessionRegistry, MeterRegistry meterRegistry,
+            @Value("${notification.websocket.idle-timeout:PT90S}") Duration idleTimeout) {
+        this.sessionRegistry = sessionRegistry;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.evictedCounter = meterRegistry.counter("notification.websocket.evicted", "reason", "idle");
+    }
+
+    @Scheduled(fixedDelayString = "${notification.websocket.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (WebSocketSession session : sessionRegistry.getAllSessions()) {
+            if (!(session instanceof BufferedWebSocketSession buffered)) {
+                continue;
+            }
+            if (now - buffered.getLastActiveAt() > idleTimeoutMillis) {
+                buffered.evict(IDLE_TIMEOUT);
+                evicted++;
+            } else if (buffered.isOpen()) {
+                buffered.sendMessage(new PingMessage());
+            }
+        }
+        if (evicted > 0) {
+            evictedCounter.increment(evicted);
+            log.info("Evicted {} idle WebSocket sessions", evicted);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resumes a reconnecting client from the last stream cursor it saw, so a reconnect costs a few indexed rows instead
+ * of a reload of the whole unread list. Replayed frames may interleave with live ones pushed meanwhile, clients
+ * de-duplicate by notification id.
+ */
+@Component
+@Slf4j
+public class WebSocketReplayer {
+
+    private final NotificationRepository notificationRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxFrames;
+
+    public WebSocketReplayer(NotificationRepository notificationRepository, ObjectMapper objectMapper,
+            @Value("${notification.websocket.replay.max-frames:200}") int maxFrames) {
+        this.notificationRepository = notificationRepository;
+        this.objectMapper = objectMapper;
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Queues everything the user was sent after {@code cursor}, oldest first. A client that missed more than
+     * {@code max-frames} notifications gets a single RESYNC frame instead and reloads through the REST API.
+     */
+    public void replay(BufferedWebSocketSession session, String userId, long cursor) {
+        List<NotificationEntity> missed = notificationRepository.findByUserIdAndCursorGreaterThanOrderByCursorAsc(
+                userId, cursor, PageRequest.of(0, maxFrames + 1));
+        if (missed.size() > maxFrames) {
+            log.info("User {} missed more than {} notifications since cursor {}, requesting resync",
+                    userId, maxFrames, cursor);
+            session.sendMessage(new TextMessage(String.format(BufferedWebSocketSession.RESYNC_FRAME_TEMPLATE,
+                    missed.size())));
+            return;
+        }
+
+        for (NotificationEntity notification : missed) {
+            try {
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(notification)));
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize notification {} for replay", notification.getId(), e);
+            }
+        }
+        log.debug("Replayed {} notifications after cursor {} to session {}", missed.size(), cursor, session.getId());
+    }
+}
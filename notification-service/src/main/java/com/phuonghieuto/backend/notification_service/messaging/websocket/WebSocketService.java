@@ -1,5 +1,6 @@
 package com.phuonghieuto.backend.notification_service.messaging.websocket;
 
+import com.phuonghieuto.backend.notification_service.model.notification.dto.UnreadCountUpdateDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
 
 public interface WebSocketService {
@@ -8,4 +9,6 @@ public interface WebSocketService {
 
     public void broadcastNotification(NotificationEntity notification);
 
+    public void sendUnreadCount(String userId, UnreadCountUpdateDTO update);
+
 }
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.UnreadCountUpdateDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
 
 @Service
@@ -11,13 +13,15 @@ import com.phuonghieuto.backend.notification_service.model.notification.entity.N
 @Slf4j
 public class WebSocketServiceImpl implements WebSocketService {
 
-    private final NotificationWebSocketHandler notificationWebSocketHandler;
+    private final WebSocketFanout webSocketFanout;
+    private final ObjectMapper objectMapper;
 
     @Override
     public void sendNotificationToUser(String userId, NotificationEntity notification) {
         try {
             log.info("Attempting to send notification to user: {}", userId);
-            notificationWebSocketHandler.sendToUser(userId, notification);
+            // Serialized once here, every instance holding a session for the user writes the same frame
+            webSocketFanout.publishToUser(userId, objectMapper.writeValueAsString(notification));
             log.info("Sent WebSocket notification to user {}: {}", userId, notification.getTitle());
         } catch (Exception e) {
             log.error("Failed to send WebSocket notification to user {}: {}", userId, e.getMessage(), e);
@@ -27,10 +31,20 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void broadcastNotification(NotificationEntity notification) {
         try {
-            notificationWebSocketHandler.broadcast(notification);
+            webSocketFanout.publishBroadcast(objectMapper.writeValueAsString(notification));
             log.info("Broadcast notification to all users: {}", notification.getTitle());
         } catch (Exception e) {
             log.error("Failed to broadcast notification: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void sendUnreadCount(String userId, UnreadCountUpdateDTO update) {
+        try {
+            webSocketFanout.publishToUser(userId, objectMapper.writeValueAsString(update));
+            log.debug("Sent unread count {} ({}) to user {}", update.getUnreadCount(), update.getDelta(), userId);
+        } catch (Exception e) {
+            log.error("Failed to send unread count to user {}: {}", userId, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.phuonghieuto.backend.notification_service.messaging.websocket;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sessions connected to this instance, indexed by user. A user may hold any number of sessions (one per tab or
+ * device), so a new connection never replaces an existing one. Sessions are keyed by id because the registered
+ * instance may be a decorator of the one the container hands to the handler callbacks.
+ * <p>
+ * The per-user cap is exact, the per-node cap is checked before registering and may be overshot by the number of
+ * handshakes completing at the same moment.
+ */
+@Component
+public class WebSocketSessionRegistry {
+
+    public enum Admission {
+        ACCEPTED, USER_LIMIT, NODE_LIMIT
+    }
+
+    private final Map<String, Map<String, WebSocketSession>> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, WebSocketSession> sessionsById = new ConcurrentHashMap<>();
+    private final int maxConnectionsPerUser;
+    private final int maxConnectionsPerNode;
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketSessionRegistry(MeterRegistry meterRegistry,
+            @Value("${notification.websocket.max-connections-per-user:10}") int maxConnectionsPerUser,
+            @Value("${notification.websocket.max-connections-per-node:50000}") int maxConnectionsPerNode) {
+        this.meterRegistry = meterRegistry;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.maxConnectionsPerNode = maxConnectionsPerNode;
+        Gauge.builder("notification.websocket.sessions", sessionsById, Map::size).register(meterRegistry);
+        Gauge.builder("notification.websocket.users", sessionsByUser, Map::size).register(meterRegistry);
+    }
+
+    public Admission register(String userId, WebSocketSession session) {
+        if (isNodeFull()) {
+            return reject(Admission.NODE_LIMIT);
+        }
+
+        boolean[] accepted = new boolean[1];
+        sessionsByUser.compute(userId, (key, sessions) -> {
+            Map<String, WebSocketSession> result = sessions != null ? sessions : new ConcurrentHashMap<>();
+            if (result.size() < maxConnectionsPerUser) {
+                result.put(session.getId(), session);
+                accepted[0] = true;
+            }
+            return result.isEmpty() ? null : result;
+        });
+        if (!accepted[0]) {
+            return reject(Admission.USER_LIMIT);
+        }
+        sessionsById.put(session.getId(), session);
+        return Admission.ACCEPTED;
+    }
+
+    /**
+     * Cheap check for the handshake, so a full node can turn clients away before upgrading the connection.
+     */
+    public boolean isNodeFull() {
+        return sessionsById.size() >= maxConnectionsPerNode;
+    }
+
+    /**
+     * @return the session that was registered under the same id, or {@code null}
+     */
+    public WebSocketSession unregister(String userId, WebSocketSession session) {
+        WebSocketSession registered = sessionsById.remove(session.getId());
+        if (userId != null) {
+            // Drop the user entry together with its last session so the map only holds connected users
+            sessionsByUser.computeIfPresent(userId, (key, sessions) -> {
+                sessions.remove(session.getId());
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+        return registered;
+    }
+
+    public WebSocketSession getSession(String sessionId) {
+        return sessionsById.get(sessionId);
+    }
+
+    public Collection<WebSocketSession> getSessions(String userId) {
+        Map<String, WebSocketSession> sessions = sessionsByUser.get(userId);
+        return sessions != null ? sessions.values() : List.of();
+    }
+
+    public Collection<WebSocketSession> getAllSessions() {
+        return sessionsById.values();
+    }
+
+    public int getSessionCount() {
+        return sessionsById.size();
+    }
+
+    private Admission reject(Admission reason) {
+        meterRegistry.counter("notification.websocket.rejected", "reason", reason.name()).increment();
+        return reason;
+    }
+}
@@ -1,8 +1,16 @@
 package com.phuonghieuto.backend.notification_service.model.common.rabbitmq;
 
 public class RabbitMQConstants {
-    // Queue names
-    public static final String QUEUE_TASK_NOTIFICATIONS = "task.notifications.queue";
+    // Queue names, one durable queue per notification type
+    public static final String QUEUE_TASK_DUE_SOON = "task.due.soon.queue";
+    public static final String QUEUE_TASK_OVERDUE = "task.overdue.queue";
+    public static final String QUEUE_BOARD_INVITATION = "board.invitation.queue";
+
+    // Task emails that failed on the email pool after their source message was acknowledged
+    public static final String QUEUE_TASK_EMAIL = "task.email.queue";
+
+    // Messages that failed for good, kept for inspection and manual replay
+    public static final String QUEUE_PARKING_LOT = "notification.parking-lot.queue";
     
     // Exchange names
     public static final String EXCHANGE_TASKS = "task.events.exchange";
@@ -15,4 +23,8 @@ public class RabbitMQConstants {
     public static final String EXCHANGE_NOTIFICATION = "notification.exchange";
     public static final String QUEUE_EMAIL_CONFIRMATION = "email.confirmation.queue";
     public static final String ROUTING_KEY_EMAIL_CONFIRMATION = "email.confirmation";
+
+    // User directory changes published by auth-service
+    public static final String EXCHANGE_USER_EVENTS = "user.events.exchange";
+    public static final String ROUTING_KEY_USER_EVENTS = "user.#";
 }
@@ -0,0 +1,20 @@
+package com.phuonghieuto.backend.notification_service.model.notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects a set of one user's notifications for a bulk operation, either by id or by matching attributes. The user
+ * id is always part of the selection, so a filter can never reach another user's notifications.
+ */
+public record NotificationFilter(String userId, List<String> ids, String type, String referenceId,
+        String referenceType, LocalDateTime from, LocalDateTime to) {
+
+    public static NotificationFilter ofIds(String userId, List<String> ids) {
+        return new NotificationFilter(userId, ids, null, null, null, null, null);
+    }
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package com.phuonghieuto.backend.notification_service.model.notification;
+
+/**
+ * What the read state needs from a notification to resolve whether it has been read, implemented by both the full
+ * entity and the list summaries.
+ */
+public interface ReadableNotification {
+
+    String getId();
+
+    Long getCursor();
+
+    boolean isRead();
+
+    void setRead(boolean read);
+}
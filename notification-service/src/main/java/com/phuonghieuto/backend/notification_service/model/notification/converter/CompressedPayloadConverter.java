@@ -0,0 +1,63 @@
+package com.phuonghieuto.backend.notification_service.model.notification.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores notification payloads gzip-compressed. Payloads too small to gain from it, and rows written before
+ * compression was introduced, are plain UTF-8 bytes; the two are told apart by the gzip magic number, which JSON
+ * text can never start with.
+ */
+@Converter
+public class CompressedPayloadConverter implements AttributeConverter<String, byte[]> {
+
+    private static final int MIN_COMPRESSED_LENGTH = 128;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        byte[] raw = payload.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < MIN_COMPRESSED_LENGTH) {
+            return raw;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress notification payload", e);
+        }
+        return compressed.size() < raw.length ? compressed.toByteArray() : raw;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+        if (!isCompressed(column)) {
+            return new String(column, StandardCharsets.UTF_8);
+        }
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(column))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress notification payload", e);
+        }
+    }
+
+    private boolean isCompressed(byte[] column) {
+        return column.length > 2 && (column[0] & 0xff) == (GZIPInputStream.GZIP_MAGIC & 0xff)
+                && (column[1] & 0xff) == (GZIPInputStream.GZIP_MAGIC >>> 8);
+    }
+}
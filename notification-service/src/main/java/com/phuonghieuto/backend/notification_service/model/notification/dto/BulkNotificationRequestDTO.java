@@ -0,0 +1,59 @@
+package com.phuonghieuto.backend.notification_service.model.notification.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notifications to apply a bulk operation to: the listed ids, or when no ids are given, every notification matching
+ * all of the filter fields that are set. The date range is half-open, {@code from} inclusive and {@code to}
+ * exclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationRequestDTO {
+
+    public static final int MAX_IDS = 1000;
+
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids can be given at once")
+    private List<String> ids;
+
+    private String type;
+
+    private String referenceId;
+
+    private String referenceType;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    // An empty request would silently select everything, which is never what a bulk delete wants
+    @JsonIgnore
+    @AssertTrue(message = "Either ids or at least one filter must be given")
+    public boolean isScoped() {
+        return (ids != null && !ids.isEmpty()) || StringUtils.isNotBlank(type) || StringUtils.isNotBlank(referenceId)
+                || StringUtils.isNotBlank(referenceType) || from != null || to != null;
+    }
+
+    public NotificationFilter toFilter(String userId) {
+        if (ids != null && !ids.isEmpty()) {
+            return NotificationFilter.ofIds(userId, ids);
+        }
+        return new NotificationFilter(userId, null, StringUtils.trimToNull(type), StringUtils.trimToNull(referenceId),
+                StringUtils.trimToNull(referenceType), from, to);
+    }
+}
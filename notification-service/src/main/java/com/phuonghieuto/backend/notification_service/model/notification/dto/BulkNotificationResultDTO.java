@@ -0,0 +1,14 @@
+package com.phuonghieuto.backend.notification_service.model.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationResultDTO {
+    private int affected;
+}
@@ -0,0 +1,25 @@
+package com.phuonghieuto.backend.notification_service.model.notification.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated notification list. {@code nextCursor} is passed back to fetch the following page
+ * and is null on the last one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<NotificationSummaryDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.phuonghieuto.backend.notification_service.model.notification.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.phuonghieuto.backend.notification_service.model.notification.ReadableNotification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * List entry for a notification, selected directly by the list queries so the message and payload are never read.
+ * The full notification is fetched on demand with {@code GET /notifications/{id}}. Serializable because the unread
+ * list is cached.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSummaryDTO implements ReadableNotification, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+    private String title;
+    private String type;
+    private boolean read;
+    private LocalDateTime createdAt;
+    private Long cursor;
+}
@@ -0,0 +1,20 @@
+package com.phuonghieuto.backend.notification_service.model.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A task email whose delivery failed, queued for another attempt. A single task is sent as its own email, several
+ * as one digest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEmailDTO {
+    private String recipientId;
+    private boolean overdue;
+    private List<TaskNotificationDTO> taskNotifications;
+}
@@ -0,0 +1,21 @@
+package com.phuonghieuto.backend.notification_service.model.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Badge frame pushed to the user's sockets whenever their unread count changes. Clients apply {@code delta} and can
+ * resynchronize from {@code unreadCount} if they suspect they missed a frame.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountUpdateDTO {
+    @Builder.Default
+    private String type = "UNREAD_COUNT";
+    private long delta;
+    private long unreadCount;
+}
@@ -0,0 +1,48 @@
+package com.phuonghieuto.backend.notification_service.model.notification.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cold copy of a read notification that has passed the retention period. Only what is needed to show a history
+ * entry is kept, the message and payload are dropped.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "notifications_archive", indexes = @Index(name = "idx_notifications_archive_user_created",
+        columnList = "user_id, created_at"))
+public class ArchivedNotificationEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "notification_type")
+    private String type;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "reference_type")
+    private String referenceType;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
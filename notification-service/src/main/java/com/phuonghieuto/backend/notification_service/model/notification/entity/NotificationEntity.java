@@ -1,21 +1,27 @@
 package com.phuonghieuto.backend.notification_service.model.notification.entity;
 
+import com.phuonghieuto.backend.notification_service.model.notification.ReadableNotification;
+import com.phuonghieuto.backend.notification_service.model.notification.converter.CompressedPayloadConverter;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Generated;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_cursor", columnList = "user_id, stream_cursor"),
+        @Index(name = "idx_notifications_user_feed", columnList = "user_id, is_archived, created_at DESC, id DESC") })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class NotificationEntity {
+public class NotificationEntity implements ReadableNotification {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -42,10 +48,31 @@ public class NotificationEntity {
     @Column(name = "is_read", nullable = false)
     private boolean read = false;
 
+    /**
+     * Archived notifications are read and left out of the notification list, but kept for the user's history.
+     */
+    @Builder.Default
+    @Column(name = "is_archived", nullable = false, columnDefinition = "boolean default false not null")
+    private boolean archived = false;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @Column(name = "payload", columnDefinition = "TEXT")
+    /**
+     * Serialized {@link com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO}.
+     * Never selected by list queries; stored compressed by {@link CompressedPayloadConverter}.
+     */
+    @Convert(converter = CompressedPayloadConverter.class)
+    @Column(name = "payload", columnDefinition = "bytea")
     private String payload;
+
+    /**
+     * Position in the user's notification stream, assigned by the database on insert and increasing with every
+     * notification. Clients keep the highest value they have seen and pass it back when they reconnect.
+     */
+    @Generated
+    @Column(name = "stream_cursor", insertable = false, updatable = false,
+            columnDefinition = "bigint generated by default as identity")
+    private Long cursor;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.phuonghieuto.backend.notification_service.model.notification.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification read on its own while it is still above the user's read watermark. Only these exceptions are
+ * stored, everything at or below the watermark is read by definition, so the rows are pruned whenever the watermark
+ * moves past them.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "notification_reads", indexes = @Index(name = "idx_notification_reads_user_cursor",
+        columnList = "user_id, stream_cursor"))
+public class NotificationReadEntity {
+
+    @Id
+    @Column(name = "notification_id")
+    private String notificationId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "stream_cursor", nullable = false)
+    private long cursor;
+}
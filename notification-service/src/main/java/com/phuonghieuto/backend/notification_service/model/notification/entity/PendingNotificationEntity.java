@@ -0,0 +1,55 @@
+package com.phuonghieuto.backend.notification_service.model.notification.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Task notification waiting in its (user, type) coalescing window. Rows are folded into a single
+ * {@link NotificationEntity} when the window closes and deleted in the same transaction.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "pending_notifications", indexes = @Index(name = "idx_pending_user_type_created",
+        columnList = "user_id, notification_type, created_at"))
+public class PendingNotificationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "notification_type", nullable = false)
+    private String type;
+
+    @Column(name = "task_id")
+    private String taskId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Set when quiet hours deferred the window, which is not looked at again before then
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+}
@@ -0,0 +1,37 @@
+package com.phuonghieuto.backend.notification_service.model.notification.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user notification bookkeeping, kept in one row so badge reads are a primary key lookup. The unread count is
+ * adjusted with relative updates in the same transaction as the notification change it mirrors.
+ * <p>
+ * Read state is a watermark over the notification stream: every notification with a cursor at or below
+ * {@code readWatermark} is read, above it only the ids in {@link NotificationReadEntity} are. Marking everything
+ * as read therefore only moves the watermark.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_notification_state")
+public class UserNotificationStateEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "read_watermark", nullable = false, columnDefinition = "bigint default 0 not null")
+    private long readWatermark;
+}
@@ -0,0 +1,107 @@
+package com.phuonghieuto.backend.notification_service.model.preference;
+
+import java.time.LocalTime;
+
+import com.phuonghieuto.backend.notification_service.model.preference.entity.NotificationPreferenceEntity;
+
+/**
+ * Immutable, allocation-free view of a user's notification preferences used on the delivery hot path.
+ * Channel toggles, type toggles and the quiet-hours range are packed into a single int:
+ * <pre>
+ *  bit  0-1   channels (email, websocket)
+ *  bit  2-5   types (due soon, overdue, task assignment, board sharing)
+ *  bit  6     quiet hours enabled
+ *  bit  7     quiet hours range present
+ *  bit  8-12  quiet hours start (0-23)
+ *  bit 13-17  quiet hours end (0-23)
+ * </pre>
+ */
+public final class PackedPreferences {
+
+    public static final int CHANNEL_EMAIL = 1;
+    public static final int CHANNEL_WEBSOCKET = 1 << 1;
+    public static final int CHANNELS = CHANNEL_EMAIL | CHANNEL_WEBSOCKET;
+
+    public static final int TYPE_DUE_SOON = 1 << 2;
+    public static final int TYPE_OVERDUE = 1 << 3;
+    public static final int TYPE_TASK_ASSIGNMENT = 1 << 4;
+    public static final int TYPE_BOARD_SHARING = 1 << 5;
+
+    private static final int QUIET_HOURS_ENABLED = 1 << 6;
+    private static final int QUIET_HOURS_RANGE = 1 << 7;
+    private static final int QUIET_START_SHIFT = 8;
+    private static final int QUIET_END_SHIFT = 13;
+    private static final int HOUR_MASK = 0x1F;
+
+    public static final PackedPreferences DEFAULTS = new PackedPreferences(
+            CHANNELS | TYPE_DUE_SOON | TYPE_OVERDUE | TYPE_TASK_ASSIGNMENT | TYPE_BOARD_SHARING);
+
+    private final int bits;
+
+    private PackedPreferences(int bits) {
+        this.bits = bits;
+    }
+
+    public static PackedPreferences of(NotificationPreferenceEntity preferences) {
+        int bits = 0;
+        bits |= preferences.isEmailEnabled() ? CHANNEL_EMAIL : 0;
+        bits |= preferences.isWebsocketEnabled() ? CHANNEL_WEBSOCKET : 0;
+        bits |= preferences.isDueSoonNotifications() ? TYPE_DUE_SOON : 0;
+        bits |= preferences.isOverdueNotifications() ? TYPE_OVERDUE : 0;
+        bits |= preferences.isTaskAssignmentNotifications() ? TYPE_TASK_ASSIGNMENT : 0;
+        bits |= preferences.isBoardSharingNotifications() ? TYPE_BOARD_SHARING : 0;
+        bits |= preferences.isQuietHoursEnabled() ? QUIET_HOURS_ENABLED : 0;
+        if (preferences.getQuietHoursStart() != null && preferences.getQuietHoursEnd() != null) {
+            bits |= QUIET_HOURS_RANGE;
+            bits |= (preferences.getQuietHoursStart() & HOUR_MASK) << QUIET_START_SHIFT;
+            bits |= (preferences.getQuietHoursEnd() & HOUR_MASK) << QUIET_END_SHIFT;
+        }
+        return new PackedPreferences(bits);
+    }
+
+    /**
+     * Channels a notification of the given type should go out on right now. Returns 0 when the type is disabled or
+     * the user is in quiet hours and the notification is not allowed to bypass them.
+     */
+    public int route(int type, boolean bypassQuietHours, LocalTime now) {
+        if ((bits & type) == 0) {
+            return 0;
+        }
+        if (!bypassQuietHours && isInQuietHours(now)) {
+            return 0;
+        }
+        return bits & CHANNELS;
+    }
+
+    public boolean isInQuietHours(LocalTime now) {
+        int required = QUIET_HOURS_ENABLED | QUIET_HOURS_RANGE;
+        if ((bits & required) != required) {
+            return false;
+        }
+
+        LocalTime start = LocalTime.of((bits >>> QUIET_START_SHIFT) & HOUR_MASK, 0);
+        LocalTime end = LocalTime.of((bits >>> QUIET_END_SHIFT) & HOUR_MASK, 0);
+
+        if (start.isAfter(end)) {
+            // Handles overnight quiet hours (e.g., 22:00 - 07:00)
+            return now.isAfter(start) || now.isBefore(end);
+        } else {
+            // Regular quiet hours (e.g., 00:00 - 07:00)
+            return now.isAfter(start) && now.isBefore(end);
+        }
+    }
+
+    /**
+     * Hour quiet hours end at, or {@code null} when no range is set.
+     */
+    public LocalTime quietHoursEnd() {
+        if ((bits & QUIET_HOURS_RANGE) == 0) {
+            return null;
+        }
+        return LocalTime.of((bits >>> QUIET_END_SHIFT) & HOUR_MASK, 0);
+    }
+
+    public int bits() {
+        return bits;
+    }
+}
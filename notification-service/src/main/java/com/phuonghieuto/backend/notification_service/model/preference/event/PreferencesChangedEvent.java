@@ -0,0 +1,7 @@
+package com.phuonghieuto.backend.notification_service.model.preference.event;
+
+/**
+ * Published after a user's notification preferences have been written.
+ */
+public record PreferencesChangedEvent(String userId) {
+}
@@ -0,0 +1,21 @@
+package com.phuonghieuto.backend.notification_service.repository;
+
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+
+/**
+ * Set-based operations over the notifications selected by a {@link NotificationFilter}. Each method is a single
+ * statement however many notifications match, and each returns the number of rows it changed.
+ */
+public interface NotificationBulkRepository {
+
+    /**
+     * Adds a read mark for every matching notification that is still unread above the given watermark.
+     */
+    int markReadMatching(NotificationFilter filter, long watermark);
+
+    int archiveMatching(NotificationFilter filter);
+
+    int deleteReadMarksMatching(NotificationFilter filter);
+
+    int deleteMatching(NotificationFilter filter);
+}
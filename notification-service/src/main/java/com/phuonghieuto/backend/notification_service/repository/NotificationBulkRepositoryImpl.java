@@ -0,0 +1,94 @@
+package com.phuonghieuto.backend.notification_service.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Builds the selection once as a JPQL predicate over {@code n}, with only the filter fields that are set, and
+ * reuses it for every statement. The ownership predicate comes first so the lookups stay on the user's index range.
+ */
+public class NotificationBulkRepositoryImpl implements NotificationBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int markReadMatching(NotificationFilter filter, long watermark) {
+        Map<String, Object> parameters = new HashMap<>();
+        String selection = selection(filter, parameters);
+        parameters.put("watermark", watermark);
+        return execute("INSERT INTO NotificationReadEntity (notificationId, userId, cursor) "
+                + "SELECT n.id, n.userId, n.cursor FROM NotificationEntity n WHERE " + selection
+                + " AND n.cursor > :watermark AND n.read = false"
+                + " AND NOT EXISTS (SELECT r FROM NotificationReadEntity r WHERE r.notificationId = n.id)",
+                parameters);
+    }
+
+    @Override
+    @Transactional
+    public int archiveMatching(NotificationFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        return execute("UPDATE NotificationEntity n SET n.archived = true WHERE " + selection(filter, parameters)
+                + " AND n.archived = false", parameters);
+    }
+
+    @Override
+    @Transactional
+    public int deleteReadMarksMatching(NotificationFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        return execute("DELETE FROM NotificationReadEntity r WHERE r.notificationId IN "
+                + "(SELECT n.id FROM NotificationEntity n WHERE " + selection(filter, parameters) + ")", parameters);
+    }
+
+    @Override
+    @Transactional
+    public int deleteMatching(NotificationFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        return execute("DELETE FROM NotificationEntity n WHERE " + selection(filter, parameters), parameters);
+    }
+
+    private String selection(NotificationFilter filter, Map<String, Object> parameters) {
+        StringBuilder selection = new StringBuilder("n.userId = :userId");
+        parameters.put("userId", filter.userId());
+        if (filter.hasIds()) {
+            selection.append(" AND n.id IN :ids");
+            parameters.put("ids", filter.ids());
+        }
+        if (filter.type() != null) {
+            selection.append(" AND n.type = :type");
+            parameters.put("type", filter.type());
+        }
+        if (filter.referenceId() != null) {
+            selection.append(" AND n.referenceId = :referenceId");
+            parameters.put("referenceId", filter.referenceId());
+        }
+        if (filter.referenceType() != null) {
+            selection.append(" AND n.referenceType = :referenceType");
+            parameters.put("referenceType", filter.referenceType());
+        }
+        if (filter.from() != null) {
+            selection.append(" AND n.createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.from());
+        }
+        if (filter.to() != null) {
+            selection.append(" AND n.createdAt < :createdTo");
+            parameters.put("createdTo", filter.to());
+        }
+        return selection.toString();
+    }
+
+    private int execute(String statement, Map<String, Object> parameters) {
+        Query query = entityManager.createQuery(statement);
+        parameters.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,89 @@
+package com.phuonghieuto.backend.notification_service.repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Monthly range partitions of {@code notifications} on PostgreSQL, named {@code notifications_pYYYYMM}. Hibernate
+ * cannot declare partitioning, so the table is converted once by {@code database/notification-partitioning.sql};
+ * on any other database, or before the conversion, {@link #isPartitioned()} is false and nothing here is used.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationPartitionRepository {
+
+    private static final String TABLE = "notifications";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long RETENTION_LOCK_KEY = 0x6e6f7469L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public boolean isPartitioned() {
+        return isPostgres() && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                        + "WHERE c.relname = ? AND pg_table_is_visible(c.oid))",
+                Boolean.class, TABLE));
+    }
+
+    public List<YearMonth> findPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ? AND pg_table_is_visible(p.oid)",
+                String.class, TABLE).stream()
+                .map(name -> {
+                    Matcher matcher = PARTITION_NAME.matcher(name);
+                    return matcher.matches() ? YearMonth.parse(matcher.group(1), SUFFIX) : null;
+                })
+                .filter(Objects::nonNull).sorted().toList();
+    }
+
+    public void createPartition(YearMonth month) {
+        // Bounds are dates formatted here, never user input
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Detaches and drops the partition. Detaching briefly locks the parent table, which is why retention runs once
+     * a day at a quiet hour rather than continuously.
+     */
+    public void dropPartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    /**
+     * Transaction-scoped lock so only one instance applies retention at a time. Always granted on databases other
+     * than PostgreSQL, which only run as a single instance here.
+     */
+    public boolean tryRetentionLock() {
+        return !isPostgres() || Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RETENTION_LOCK_KEY));
+    }
+
+    private String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(SUFFIX);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> "PostgreSQL"
+                    .equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
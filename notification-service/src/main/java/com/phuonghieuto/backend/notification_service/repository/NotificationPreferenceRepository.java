@@ -1,5 +1,7 @@
 package com.phuonghieuto.backend.notification_service.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,4 +12,6 @@ import com.phuonghieuto.backend.notification_service.model.preference.entity.Not
 @Repository
 public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreferenceEntity, String> {
     Optional<NotificationPreferenceEntity> findByUserId(String userId);
+
+    List<NotificationPreferenceEntity> findByUserIdIn(Collection<String> userIds);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.phuonghieuto.backend.notification_service.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationReadEntity;
+
+@Repository
+public interface NotificationReadRepository extends JpaRepository<NotificationReadEntity, String> {
+
+    @Query("SELECT r.notificationId FROM NotificationReadEntity r WHERE r.notificationId IN :notificationIds")
+    Set<String> findReadIds(@Param("notificationIds") Collection<String> notificationIds);
+
+    // Returns 0 when the notification already has a mark, so a repeated read is not counted twice
+    @Modifying
+    @Query(value = "INSERT INTO notification_reads (notification_id, user_id, stream_cursor) "
+            + "VALUES (:notificationId, :userId, :cursor) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("notificationId") String notificationId, @Param("userId") String userId,
+            @Param("cursor") long cursor);
+
+    // Marks covered by the watermark carry no information any more
+    @Modifying
+    @Query("DELETE FROM NotificationReadEntity r WHERE r.userId = :userId AND r.cursor <= :watermark")
+    int deleteCoveredByWatermark(@Param("userId") String userId, @Param("watermark") long watermark);
+}
@@ -1,18 +1,59 @@
 package com.phuonghieuto.backend.notification_service.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationSummaryDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<NotificationEntity, String> {
+public interface NotificationRepository extends JpaRepository<NotificationEntity, String>, NotificationBulkRepository {
+    String SELECT_SUMMARY = "SELECT new com.phuonghieuto.backend.notification_service.model.notification.dto."
+            + "NotificationSummaryDTO(n.id, n.title, n.type, n.read, n.createdAt, n.cursor) FROM NotificationEntity n ";
+
     List<NotificationEntity> findByUserId(String userId);
-    Page<NotificationEntity> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
-    List<NotificationEntity> findByUserIdAndReadFalseOrderByCreatedAtDesc(String userId);
-    long countByUserIdAndReadFalse(String userId);
+    Optional<NotificationEntity> findByIdAndUserId(String id, String userId);
+    List<NotificationEntity> findByUserIdAndCursorGreaterThanOrderByCursorAsc(String userId, Long cursor, Pageable pageable);
+
+    // List queries select the summary columns only, message and payload stay on disk until a single notification is
+    // fetched
+    @Query(value = SELECT_SUMMARY + "WHERE n.userId = :userId AND n.archived = false ORDER BY n.createdAt DESC",
+            countQuery = "SELECT COUNT(n) FROM NotificationEntity n WHERE n.userId = :userId AND n.archived = false")
+    Page<NotificationSummaryDTO> findSummariesByUserId(@Param("userId") String userId, Pageable pageable);
+
+    // Keyset pages of the feed, each one a range scan of idx_notifications_user_feed from the previous page's last
+    // entry regardless of how deep it is. Callers pass the page size in the Pageable and always ask for page 0.
+    @Query(SELECT_SUMMARY + "WHERE n.userId = :userId AND n.archived = false ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummaryDTO> findFeed(@Param("userId") String userId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE n.userId = :userId AND n.archived = false "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummaryDTO> findFeedBefore(@Param("userId") String userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+
+    // Unread means above the read watermark and not read individually. The is_read flag is no longer written but
+    // still honoured for rows read before the watermark existed. All three walk idx_notifications_user_cursor, the
+    // list is paged by stream cursor with each page starting below the last cursor of the previous one.
+    @Query(SELECT_SUMMARY + "WHERE n.userId = :userId AND n.cursor > :watermark AND n.cursor < :before "
+            + "AND n.read = false "
+            + "AND NOT EXISTS (SELECT r FROM NotificationReadEntity r WHERE r.notificationId = n.id) "
+            + "ORDER BY n.cursor DESC")
+    List<NotificationSummaryDTO> findUnreadAboveWatermark(@Param("userId") String userId,
+            @Param("watermark") long watermark, @Param("before") long before, Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM NotificationEntity n WHERE n.userId = :userId AND n.cursor > :watermark "
+            + "AND n.read = false AND NOT EXISTS (SELECT r FROM NotificationReadEntity r WHERE r.notificationId = n.id)")
+    long countUnreadAboveWatermark(@Param("userId") String userId, @Param("watermark") long watermark);
+
+    @Query("SELECT MAX(n.cursor) FROM NotificationEntity n WHERE n.userId = :userId")
+    Optional<Long> findMaxCursorByUserId(@Param("userId") String userId);
 }
@@ -0,0 +1,56 @@
+package com.phuonghieuto.backend.notification_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+
+/**
+ * Statements run before the notifications created in [from, to) are removed. All of them are bounded by
+ * {@code created_at}, so on a partitioned table they only touch the partition about to be dropped.
+ */
+@Repository
+public interface NotificationRetentionRepository
+        extends org.springframework.data.repository.Repository<NotificationEntity, String> {
+
+    @Query("SELECT MIN(n.createdAt) FROM NotificationEntity n")
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    // One grouped pass over the range instead of a correlated count per user
+    @Modifying
+    @Query(value = "MERGE INTO user_notification_state s USING ("
+            + "SELECT n.user_id, COUNT(*) AS expired FROM notifications n "
+            + "JOIN user_notification_state st ON st.user_id = n.user_id "
+            + "WHERE n.created_at >= :createdFrom AND n.created_at < :createdTo AND n.is_read = false "
+            + "AND n.stream_cursor > st.read_watermark "
+            + "AND NOT EXISTS (SELECT 1 FROM notification_reads r WHERE r.notification_id = n.id) "
+            + "GROUP BY n.user_id) e ON (s.user_id = e.user_id) "
+            + "WHEN MATCHED THEN UPDATE SET unread_count = GREATEST(s.unread_count - e.expired, 0)",
+            nativeQuery = true)
+    int releaseUnreadCounts(@Param("createdFrom") LocalDateTime from, @Param("createdTo") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "INSERT INTO notifications_archive "
+            + "(id, user_id, notification_type, reference_id, reference_type, title, created_at) "
+            + "SELECT n.id, n.user_id, n.notification_type, n.reference_id, n.reference_type, n.title, n.created_at "
+            + "FROM notifications n LEFT JOIN user_notification_state s ON s.user_id = n.user_id "
+            + "WHERE n.created_at >= :createdFrom AND n.created_at < :createdTo AND (n.is_read = true "
+            + "OR n.stream_cursor <= COALESCE(s.read_watermark, 0) "
+            + "OR EXISTS (SELECT 1 FROM notification_reads r WHERE r.notification_id = n.id))",
+            nativeQuery = true)
+    int archiveRead(@Param("createdFrom") LocalDateTime from, @Param("createdTo") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM NotificationReadEntity r WHERE r.notificationId IN "
+            + "(SELECT n.id FROM NotificationEntity n WHERE n.createdAt >= :createdFrom AND n.createdAt < :createdTo)")
+    int deleteReadMarks(@Param("createdFrom") LocalDateTime from, @Param("createdTo") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM NotificationEntity n WHERE n.createdAt >= :createdFrom AND n.createdAt < :createdTo")
+    int deleteCreatedBetween(@Param("createdFrom") LocalDateTime from, @Param("createdTo") LocalDateTime to);
+}
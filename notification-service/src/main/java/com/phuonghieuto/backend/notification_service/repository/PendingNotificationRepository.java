@@ -0,0 +1,41 @@
+package com.phuonghieuto.backend.notification_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.phuonghieuto.backend.notification_service.model.notification.entity.PendingNotificationEntity;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface PendingNotificationRepository extends JpaRepository<PendingNotificationEntity, String> {
+
+    interface PendingGroup {
+        String getUserId();
+
+        String getType();
+    }
+
+    // A window opens with the oldest pending row of a (user, type) pair, oldest windows first. Windows deferred
+    // by quiet hours are left out until their next attempt, rows queued since then carry none
+    @Query("SELECT p.userId AS userId, p.type AS type FROM PendingNotificationEntity p "
+            + "GROUP BY p.userId, p.type HAVING MIN(p.createdAt) <= :cutoff "
+            + "AND (MAX(p.nextAttemptAt) IS NULL OR MAX(p.nextAttemptAt) <= :now) "
+            + "ORDER BY MIN(p.createdAt)")
+    List<PendingGroup> findGroupsReadyToFlush(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    // Lock timeout -2 maps to SKIP LOCKED so two instances never flush the same window twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<PendingNotificationEntity> findByUserIdAndTypeOrderByCreatedAtAsc(String userId, String type);
+}
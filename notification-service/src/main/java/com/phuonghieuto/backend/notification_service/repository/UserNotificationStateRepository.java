@@ -0,0 +1,49 @@
+package com.phuonghieuto.backend.notification_service.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.phuonghieuto.backend.notification_service.model.notification.entity.UserNotificationStateEntity;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface UserNotificationStateRepository extends JpaRepository<UserNotificationStateEntity, String> {
+
+    // Two first-time callers may seed at once, the second one keeps the first row instead of failing on the key
+    @Modifying
+    @Query(value = "INSERT INTO user_notification_state (user_id, unread_count, read_watermark) "
+            + "VALUES (:userId, :unreadCount, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId, @Param("unreadCount") long unreadCount);
+
+    // Relative update so concurrent changes never overwrite each other, clamped at zero
+    @Modifying
+    @Query("UPDATE UserNotificationStateEntity s SET s.unreadCount = "
+            + "CASE WHEN s.unreadCount + :delta < 0 THEN 0 ELSE s.unreadCount + :delta END WHERE s.userId = :userId")
+    int adjustUnreadCount(@Param("userId") String userId, @Param("delta") long delta);
+
+    // Scalar projection, always read from the database rather than a possibly stale managed entity
+    @Query("SELECT s.unreadCount FROM UserNotificationStateEntity s WHERE s.userId = :userId")
+    Optional<Long> findUnreadCountByUserId(@Param("userId") String userId);
+
+    // SELECT ... FOR UPDATE, counter changes of other transactions wait for this one to commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserNotificationStateEntity s WHERE s.userId = :userId")
+    Optional<UserNotificationStateEntity> lockByUserId(@Param("userId") String userId);
+
+    @Query("SELECT s.readWatermark FROM UserNotificationStateEntity s WHERE s.userId = :userId")
+    Optional<Long> findReadWatermarkByUserId(@Param("userId") String userId);
+
+    // The watermark only moves forward, a late request with an older stream position must not un-read anything
+    @Modifying
+    @Query("UPDATE UserNotificationStateEntity s SET s.unreadCount = :unreadCount, s.readWatermark = "
+            + "CASE WHEN :watermark > s.readWatermark THEN :watermark ELSE s.readWatermark END WHERE s.userId = :userId")
+    int advanceReadWatermark(@Param("userId") String userId, @Param("watermark") long watermark,
+            @Param("unreadCount") long unreadCount);
+}
@@ -0,0 +1,103 @@
+package com.phuonghieuto.backend.notification_service.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.repository.NotificationPartitionRepository;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRetentionRepository;
+import com.phuonghieuto.backend.notification_service.service.NotificationRetentionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies {@code notification.retention.period} once a day. On a table partitioned by month, partitions for the
+ * coming months are created ahead of time and partitions entirely past the cutoff are dropped, which costs the same
+ * however many rows they hold. On an unpartitioned table expired rows are deleted one day of notifications per
+ * transaction instead.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationRetentionJob {
+
+    private final NotificationPartitionRepository partitionRepository;
+    private final NotificationRetentionRepository retentionRepository;
+    private final NotificationRetentionService retentionService;
+
+    @Value("${notification.retention.period:P180D}")
+    private Duration period;
+
+    @Value("${notification.retention.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    // Inserts fail without a partition for their month, so make sure they exist before the first nightly run
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            if (partitionRepository.isPartitioned()) {
+                createUpcomingPartitions();
+            }
+        } catch (Exception e) {
+            log.error("Failed to create upcoming notification partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        LocalDateTime cutoff = LocalDate.now().atStartOfDay().minus(period);
+        try {
+            if (partitionRepository.isPartitioned()) {
+                createUpcomingPartitions();
+                dropExpiredPartitions(cutoff);
+            } else {
+                deleteExpiredRows(cutoff);
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply notification retention before {}: {}", cutoff, e.getMessage(), e);
+        }
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= partitionsAhead; i++) {
+            partitionRepository.createPartition(current.plusMonths(i));
+        }
+    }
+
+    private void dropExpiredPartitions(LocalDateTime cutoff) {
+        for (YearMonth month : partitionRepository.findPartitions()) {
+            if (month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                break;
+            }
+            if (!retentionService.dropPartition(month)) {
+                log.info("Notification retention is running on another instance");
+                return;
+            }
+            log.info("Dropped notification partition for {}", month);
+        }
+    }
+
+    private void deleteExpiredRows(LocalDateTime cutoff) {
+        LocalDateTime from = retentionRepository.findOldestCreatedAt().orElse(cutoff).toLocalDate().atStartOfDay();
+        int deleted = 0;
+        while (from.isBefore(cutoff)) {
+            LocalDateTime to = from.plusDays(1).isAfter(cutoff) ? cutoff : from.plusDays(1);
+            deleted += retentionService.purgeCreatedBetween(from, to);
+            from = to;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} notifications created before {}", deleted, cutoff);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.phuonghieuto.backend.notification_service.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.notification_service.cache.LocalPreferenceStore;
+import com.phuonghieuto.backend.notification_service.repository.PendingNotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.PendingNotificationRepository.PendingGroup;
+import com.phuonghieuto.backend.notification_service.service.NotificationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Closes coalescing windows whose oldest item is older than {@code notification.digest.window}, oldest first. Windows
+ * deferred by quiet hours stay open and are skipped until the quiet hours end.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.digest.flush.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingNotificationFlusher {
+
+    private final PendingNotificationRepository pendingNotificationRepository;
+    private final NotificationService notificationService;
+    private final LocalPreferenceStore preferenceStore;
+
+    @Value("${notification.digest.window:PT1M}")
+    private Duration window;
+
+    @Value("${notification.digest.max-groups-per-run:1000}")
+    private int maxGroupsPerRun;
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval-ms:5000}")
+    public void flushDueWindows() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingGroup> groups = pendingNotificationRepository.findGroupsReadyToFlush(now.minus(window), now,
+                PageRequest.of(0, maxGroupsPerRun));
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        // Warm the local store with one query instead of one per window
+        preferenceStore.getAll(groups.stream().map(PendingGroup::getUserId).collect(Collectors.toSet()));
+
+        for (PendingGroup group : groups) {
+            try {
+                notificationService.flushPendingNotifications(group.getUserId(), group.getType());
+            } catch (Exception e) {
+                log.error("Failed to flush pending {} notifications for user {}: {}", group.getType(),
+                        group.getUserId(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.phuonghieuto.backend.notification_service.security;
+
+import java.security.Key;
+import java.security.PublicKey;
+
+import com.phuonghieuto.backend.notification_service.config.TokenConfigurationParameter;
+import com.phuonghieuto.backend.notification_service.util.KeyConverter;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Picks the key a token is verified with from its {@code kid} header, so tokens signed by auth-service with the
+ * previous key keep verifying while a new key is rolled out. Tokens without a {@code kid} were issued before tokens
+ * named their key and are verified with a configured key of the family their {@code alg} names.
+ */
+@RequiredArgsConstructor
+public class KeyIdSigningKeyResolver extends SigningKeyResolverAdapter {
+
+    private final TokenConfigurationParameter tokenConfigurationParameter;
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        final String keyId = header.getKeyId();
+        if (keyId != null) {
+            final PublicKey publicKey = tokenConfigurationParameter.getVerificationKeys().get(keyId);
+            if (publicKey == null) {
+                throw new UnsupportedJwtException("Unknown signing key: " + keyId);
+            }
+            return publicKey;
+        }
+
+        final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+        final PublicKey publicKey = tokenConfigurationParameter.getPublicKey();
+        if (publicKey == null || KeyConverter.isKeyFor(publicKey, signatureAlgorithm)) {
+            return publicKey;
+        }
+        return tokenConfigurationParameter.getVerificationKeys().values().stream()
+                .filter(key -> KeyConverter.isKeyFor(key, signatureAlgorithm))
+                .findFirst()
+                .orElse(publicKey);
+    }
+}
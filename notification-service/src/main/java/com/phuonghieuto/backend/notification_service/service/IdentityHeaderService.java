@@ -0,0 +1,22 @@
+package com.phuonghieuto.backend.notification_service.service;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * Authenticates requests from the identity the gateway signs into {@link #HEADER} after auth-service has validated
+ * the access token, so the token signature is not verified a second time.
+ */
+public interface IdentityHeaderService {
+
+    String HEADER = "X-User-Identity";
+
+    /**
+     * Builds the authentication from the identity header.
+     *
+     * @param identityHeader the value of {@link #HEADER}, may be {@code null}
+     * @param token the bearer token the request carries, kept as the token value of the principal
+     * @return the authentication, or {@code null} when the header is missing, not trusted or expired and the token
+     *         has to be verified instead
+     */
+    UsernamePasswordAuthenticationToken getAuthentication(String identityHeader, String token);
+}
@@ -0,0 +1,11 @@
+package com.phuonghieuto.backend.notification_service.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+public interface NotificationRetentionService {
+
+    public int purgeCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    public boolean dropPartition(YearMonth month);
+}
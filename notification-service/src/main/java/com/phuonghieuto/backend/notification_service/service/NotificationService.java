@@ -5,21 +5,39 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationFeedDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationSummaryDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
 
 public interface NotificationService {
-    public NotificationEntity createTaskDueSoonNotification(TaskNotificationDTO taskNotification);
+    public static final int FEED_PAGE_SIZE = 50;
+    public static final int MAX_FEED_PAGE_SIZE = 200;
 
-    public Page<NotificationEntity> getUserNotifications(String userId, Pageable pageable);
+    public Page<NotificationSummaryDTO> getUserNotifications(String userId, Pageable pageable);
 
-    public List<NotificationEntity> getUnreadNotifications(String userId);
+    public NotificationFeedDTO getNotificationFeed(String userId, String cursor, int limit);
+
+    public NotificationFeedDTO getUnreadNotifications(String userId, String cursor, int limit);
+
+    public NotificationEntity getNotification(String userId, String notificationId);
+
+    public List<NotificationEntity> getNotificationsAfter(String userId, long cursor, int limit);
 
     public long countUnreadNotifications(String userId);
 
-    public NotificationEntity markAsRead(String notificationId);
+    public NotificationEntity markAsRead(String userId, String notificationId);
 
     public void markAllAsRead(String userId);
 
-    public NotificationEntity createTaskOverdueNotification(TaskNotificationDTO taskNotification);
+    public int markMatchingAsRead(NotificationFilter filter);
+
+    public int archiveMatching(NotificationFilter filter);
+
+    public int deleteMatching(NotificationFilter filter);
+
+    public int queueTaskNotifications(List<TaskNotificationDTO> taskNotifications);
+
+    public NotificationEntity flushPendingNotifications(String userId, String type);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.phuonghieuto.backend.notification_service.service;
+
+import java.util.Collection;
+
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+import com.phuonghieuto.backend.notification_service.model.notification.ReadableNotification;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+
+public interface ReadStateService {
+
+    public long getUnreadCount(String userId);
+
+    public long getReadWatermark(String userId);
+
+    public void adjustUnreadCount(String userId, long delta);
+
+    public boolean markRead(NotificationEntity notification);
+
+    public int markReadMatching(NotificationFilter filter);
+
+    public void markAllRead(String userId);
+
+    public void applyReadState(String userId, Collection<? extends ReadableNotification> notifications);
+}
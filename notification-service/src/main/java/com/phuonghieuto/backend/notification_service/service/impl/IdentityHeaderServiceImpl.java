@@ -0,0 +1,111 @@
+package com.phuonghieuto.backend.notification_service.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phuonghieuto.backend.notification_service.model.auth.UserType;
+import com.phuonghieuto.backend.notification_service.model.auth.enums.TokenClaims;
+import com.phuonghieuto.backend.notification_service.service.IdentityHeaderService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks the HMAC-SHA256 the gateway appends to the identity, {@code base64url(payload) + "." +
+ * base64url(signature)}, with the secret shared through {@code auth.identity-header.secret}, and that the SHA-256
+ * of the presented bearer token matches the one signed into it. Without the secret every request falls back to
+ * verifying the token.
+ */
+@Service
+@Slf4j
+public class IdentityHeaderServiceImpl implements IdentityHeaderService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String TOKEN_HASH = "tokenHash";
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecretKeySpec secretKey;
+
+    public IdentityHeaderServiceImpl(@Value("${auth.identity-header.secret:}") String secret) {
+        this.secretKey = secret.isBlank() ? null
+                : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    @Override
+    public UsernamePasswordAuthenticationToken getAuthentication(String identityHeader, String token) {
+        if (secretKey == null || identityHeader == null) {
+            return null;
+        }
+        try {
+            final int separator = identityHeader.indexOf('.');
+            if (separator < 0) {
+                log.warn("Malformed identity header, verifying the token instead");
+                return null;
+            }
+            final String payload = identityHeader.substring(0, separator);
+            final byte[] signature = Base64.getUrlDecoder().decode(identityHeader.substring(separator + 1));
+            if (!MessageDigest.isEqual(hmac(payload), signature)) {
+                log.warn("Identity header signature does not match, verifying the token instead");
+                return null;
+            }
+
+            final Map<String, Object> claims = objectMapper.readValue(Base64.getUrlDecoder().decode(payload),
+                    CLAIMS_TYPE);
+            // A header copied onto another request only holds for the token it was signed for
+            final Object tokenHash = claims.remove(TOKEN_HASH);
+            final byte[] presentedTokenHash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            if (!(tokenHash instanceof String signedTokenHash)
+                    || !MessageDigest.isEqual(Base64.getUrlDecoder().decode(signedTokenHash), presentedTokenHash)) {
+                log.warn("Identity header was not issued for this token, verifying the token instead");
+                return null;
+            }
+            final Instant expiresAt = Instant
+                    .ofEpochSecond(((Number) claims.get(TokenClaims.EXPIRES_AT.getValue())).longValue());
+            if (!expiresAt.isAfter(Instant.now())) {
+                // Token verification reports the expiry the usual way
+                return null;
+            }
+            claims.put(TokenClaims.EXPIRES_AT.getValue(), expiresAt);
+
+            final Jwt jwt = new Jwt(token, null, expiresAt,
+                    Map.of(TokenClaims.TYP.getValue(), "Bearer", TokenClaims.ALGORITHM.getValue(), "HS256"), claims);
+
+            final String userType = (String) claims.get(TokenClaims.USER_TYPE.getValue());
+            final ArrayList<SimpleGrantedAuthority> authorities = new ArrayList<>();
+            if (userType != null) {
+                authorities.add(new SimpleGrantedAuthority(userType));
+            } else {
+                authorities.add(new SimpleGrantedAuthority(UserType.USER.name()));
+            }
+
+            return new UsernamePasswordAuthenticationToken(jwt, null, authorities);
+        } catch (Exception e) {
+            log.warn("Could not read identity header, verifying the token instead: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] hmac(String payload) throws GeneralSecurityException {
+        final Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(secretKey);
+        return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
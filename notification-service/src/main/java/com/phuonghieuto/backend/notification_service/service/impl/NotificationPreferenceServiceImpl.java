@@ -1,6 +1,7 @@
 package com.phuonghieuto.backend.notification_service.service.impl;
 
 import com.phuonghieuto.backend.notification_service.model.preference.entity.NotificationPreferenceEntity;
+import com.phuonghieuto.backend.notification_service.model.preference.event.PreferencesChangedEvent;
 import com.phuonghieuto.backend.notification_service.repository.NotificationPreferenceRepository;
 import com.phuonghieuto.backend.notification_service.service.NotificationPreferenceService;
 
@@ -9,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -19,6 +21,7 @@ import java.util.Optional;
 public class NotificationPreferenceServiceImpl implements NotificationPreferenceService {
 
     private final NotificationPreferenceRepository preferenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Cacheable(value = "userPreferences", key = "#userId")
@@ -44,7 +47,7 @@ public class NotificationPreferenceServiceImpl implements NotificationPreference
             preferences.setId(existingPrefs.getId());
         }
 
-        return preferenceRepository.save(preferences);
+        return saveAndPublish(preferences);
     }
 
     @Override
@@ -52,7 +55,7 @@ public class NotificationPreferenceServiceImpl implements NotificationPreference
     public NotificationPreferenceEntity setEmailEnabled(String userId, boolean enabled) {
         NotificationPreferenceEntity preferences = getPreferences(userId);
         preferences.setEmailEnabled(enabled);
-        return preferenceRepository.save(preferences);
+        return saveAndPublish(preferences);
     }
 
     @Override
@@ -60,7 +63,7 @@ public class NotificationPreferenceServiceImpl implements NotificationPreference
     public NotificationPreferenceEntity setWebsocketEnabled(String userId, boolean enabled) {
         NotificationPreferenceEntity preferences = getPreferences(userId);
         preferences.setWebsocketEnabled(enabled);
-        return preferenceRepository.save(preferences);
+        return saveAndPublish(preferences);
     }
 
     @Override
@@ -79,7 +82,7 @@ public class NotificationPreferenceServiceImpl implements NotificationPreference
             preferences.setQuietHoursEnd(end);
         }
 
-        return preferenceRepository.save(preferences);
+        return saveAndPublish(preferences);
     }
 
     @Override
@@ -105,7 +108,7 @@ public class NotificationPreferenceServiceImpl implements NotificationPreference
             throw new IllegalArgumentException("Unknown notification type: " + type);
         }
 
-        return preferenceRepository.save(preferences);
+        return saveAndPublish(preferences);
     }
 
     @Override
@@ -117,7 +120,14 @@ public class NotificationPreferenceServiceImpl implements NotificationPreference
         NotificationPreferenceEntity defaultPrefs = createDefaultPreferences(userId);
         existingPrefs.ifPresent(prefs -> defaultPrefs.setId(prefs.getId()));
 
-        return preferenceRepository.save(defaultPrefs);
+        return saveAndPublish(defaultPrefs);
+    }
+
+    // Lets the local preference stores on every instance drop their copy
+    private NotificationPreferenceEntity saveAndPublish(NotificationPreferenceEntity preferences) {
+        NotificationPreferenceEntity savedPrefs = preferenceRepository.save(preferences);
+        eventPublisher.publishEvent(new PreferencesChangedEvent(preferences.getUserId()));
+        return savedPrefs;
     }
 
     private NotificationPreferenceEntity createDefaultPreferences(String userId) {
@@ -0,0 +1,82 @@
+package com.phuonghieuto.backend.notification_service.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.phuonghieuto.backend.notification_service.repository.NotificationPartitionRepository;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRetentionRepository;
+import com.phuonghieuto.backend.notification_service.service.NotificationRetentionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes expired notifications one time range per transaction. Before the rows go, unread ones are taken off the
+ * users' unread counters, read marks pointing at them are deleted and, if enabled, read ones are copied to the
+ * archive table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    private final NotificationRetentionRepository retentionRepository;
+    private final NotificationPartitionRepository partitionRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${notification.retention.archive-read:false}")
+    private boolean archiveRead;
+
+    @Override
+    @Transactional
+    public int purgeCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        if (!partitionRepository.tryRetentionLock()) {
+            return 0;
+        }
+        release(from, to);
+        return retentionRepository.deleteCreatedBetween(from, to);
+    }
+
+    @Override
+    @Transactional
+    public boolean dropPartition(YearMonth month) {
+        if (!partitionRepository.tryRetentionLock()) {
+            return false;
+        }
+        release(month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        partitionRepository.dropPartition(month);
+        return true;
+    }
+
+    private void release(LocalDateTime from, LocalDateTime to) {
+        int counters = retentionRepository.releaseUnreadCounts(from, to);
+        int archived = archiveRead ? retentionRepository.archiveRead(from, to) : 0;
+        int marks = retentionRepository.deleteReadMarks(from, to);
+        if (counters > 0) {
+            clearCachesAfterCommit();
+        }
+        log.info("Released notifications created in [{}, {}): {} counters adjusted, {} archived, {} read marks removed",
+                from, to, counters, archived, marks);
+    }
+
+    // Counters and unread lists changed underneath the caches, a daily clear is cheaper than tracking the users
+    private void clearCachesAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Stream.of("unreadNotificationsCount", "unreadNotifications").map(cacheManager::getCache)
+                        .filter(Objects::nonNull).forEach(Cache::clear);
+            }
+        });
+    }
+}
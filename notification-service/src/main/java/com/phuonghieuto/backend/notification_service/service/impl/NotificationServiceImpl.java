@@ -1,30 +1,48 @@
 package com.phuonghieuto.backend.notification_service.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.phuonghieuto.backend.notification_service.client.AuthServiceClient;
+import com.phuonghieuto.backend.notification_service.cache.LocalPreferenceStore;
+import com.phuonghieuto.backend.notification_service.exception.InvalidCursorException;
 import com.phuonghieuto.backend.notification_service.exception.NotificationNotFoundException;
-import com.phuonghieuto.backend.notification_service.messaging.email.EmailService;
-import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketService;
-import com.phuonghieuto.backend.notification_service.model.auth.dto.UserEmailDTO;
+import com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher;
+import com.phuonghieuto.backend.notification_service.model.notification.FeedCursor;
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationFeedDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationSummaryDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
-import com.phuonghieuto.backend.notification_service.model.preference.entity.NotificationPreferenceEntity;
-import com.phuonghieuto.backend.notification_service.repository.NotificationPreferenceRepository;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.PendingNotificationEntity;
+import com.phuonghieuto.backend.notification_service.model.notification.enums.NotificationType;
+import com.phuonghieuto.backend.notification_service.model.preference.PackedPreferences;
 import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.PendingNotificationRepository;
 import com.phuonghieuto.backend.notification_service.service.NotificationService;
+import com.phuonghieuto.backend.notification_service.service.ReadStateService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,118 +50,224 @@ import java.util.Optional;
 public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final NotificationPreferenceRepository preferenceRepository;
-    private final WebSocketService webSocketService;
-    private final EmailService emailService;
-    private final AuthServiceClient authServiceClient;
+    private final PendingNotificationRepository pendingNotificationRepository;
+    private final LocalPreferenceStore preferenceStore;
+    private final NotificationDispatcher notificationDispatcher;
     private final ObjectMapper objectMapper;
+    private final ReadStateService readStateService;
 
     @Override
-    @CacheEvict(value = "unreadNotificationsCount", key = "#taskNotification.recipientId")
-    public NotificationEntity createTaskDueSoonNotification(TaskNotificationDTO taskNotification) {
-        try {
-            String jsonPayload = objectMapper.writeValueAsString(taskNotification);
-
-            NotificationEntity notification = NotificationEntity.builder().userId(taskNotification.getRecipientId())
-                    .title("Task Due Soon").message("Your task '" + taskNotification.getTaskTitle() + "' is due soon")
-                    .type("TASK_DUE_SOON").referenceId(taskNotification.getTaskId()).referenceType("TASK").read(false)
-                    .payload(jsonPayload).build();
+    @Transactional
+    public int queueTaskNotifications(List<TaskNotificationDTO> taskNotifications) {
+        List<PendingNotificationEntity> pending = new ArrayList<>();
+        for (TaskNotificationDTO taskNotification : taskNotifications) {
+            if (taskNotification.getRecipientId() == null) {
+                continue;
+            }
+            if (!NotificationType.TASK_DUE_SOON.name().equals(taskNotification.getType())
+                    && !NotificationType.TASK_OVERDUE.name().equals(taskNotification.getType())) {
+                log.warn("Unknown task notification type: {}", taskNotification.getType());
+                continue;
+            }
+            try {
+                pending.add(PendingNotificationEntity.builder().userId(taskNotification.getRecipientId())
+                        .type(taskNotification.getType()).taskId(taskNotification.getTaskId())
+                        .payload(objectMapper.writeValueAsString(taskNotification)).build());
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize task notification for task {}: {}", taskNotification.getTaskId(),
+                        e.getMessage());
+            }
+        }
 
-            NotificationEntity savedNotification = notificationRepository.save(notification);
+        if (!pending.isEmpty()) {
+            // Single batched insert for the whole batch (hibernate.jdbc.batch_size)
+            pendingNotificationRepository.saveAll(pending);
+            log.debug("Queued {} task notifications for coalescing", pending.size());
+        }
+        return pending.size();
+    }
 
-            // Get user preferences
-            NotificationPreferenceEntity preferences = getOrCreateUserPreferences(taskNotification.getRecipientId());
+    @Override
+    @Transactional
+    public NotificationEntity flushPendingNotifications(String userId, String type) {
+        List<PendingNotificationEntity> pending = pendingNotificationRepository
+                .findByUserIdAndTypeOrderByCreatedAtAsc(userId, type);
+        if (pending.isEmpty()) {
+            // Already flushed, or locked by another instance
+            return null;
+        }
 
-            // Check if in quiet hours
-            if (preferences.isQuietHoursEnabled() && isInQuietHours(preferences)) {
-                log.info("Not sending notifications during quiet hours for user: {}",
-                        taskNotification.getRecipientId());
-                return savedNotification;
+        boolean overdue = NotificationType.TASK_OVERDUE.name().equals(type);
+        PackedPreferences preferences = preferenceStore.get(userId);
+        LocalTime currentTime = getCurrentTime();
+        if (!overdue && preferences.isInQuietHours(currentTime)) {
+            // Keep the window open, everything collected so far goes out in the first digest after quiet hours
+            LocalDateTime now = LocalDate.now().atTime(currentTime);
+            LocalDateTime nextAttemptAt = LocalDate.now().atTime(preferences.quietHoursEnd());
+            if (!nextAttemptAt.isAfter(now)) {
+                nextAttemptAt = nextAttemptAt.plusDays(1);
             }
+            for (PendingNotificationEntity pendingNotification : pending) {
+                pendingNotification.setNextAttemptAt(nextAttemptAt);
+            }
+            pendingNotificationRepository.saveAll(pending);
+            log.debug("Deferring {} pending notifications for user {} until {}", pending.size(), userId,
+                    nextAttemptAt);
+            return null;
+        }
 
-            // Send real-time WebSocket notification if enabled
-            if (preferences.isWebsocketEnabled() && preferences.isDueSoonNotifications()) {
-                webSocketService.sendNotificationToUser(taskNotification.getRecipientId(), savedNotification);
+        List<TaskNotificationDTO> taskNotifications = new ArrayList<>();
+        for (PendingNotificationEntity pendingNotification : pending) {
+            try {
+                taskNotifications.add(objectMapper.readValue(pendingNotification.getPayload(),
+                        TaskNotificationDTO.class));
+            } catch (JsonProcessingException e) {
+                log.error("Dropping unreadable pending notification {}: {}", pendingNotification.getId(),
+                        e.getMessage());
             }
+        }
 
-            // Send email notification if enabled
-            if (preferences.isEmailEnabled() && preferences.isDueSoonNotifications()) {
-                try {
-                    UserEmailDTO userEmail = authServiceClient.getUserEmail(taskNotification.getRecipientId());
-                    emailService.sendTaskDueSoonEmail(taskNotification, userEmail.getEmail());
-                } catch (Exception e) {
-                    log.error("Failed to send email notification for task due soon: {}", e.getMessage(), e);
-                }
+        NotificationEntity savedNotification = null;
+        if (taskNotifications.size() == 1) {
+            TaskNotificationDTO taskNotification = taskNotifications.get(0);
+            NotificationEntity notification = buildTaskNotification(taskNotification);
+            if (notification != null) {
+                savedNotification = notificationRepository.save(notification);
+                NotificationEntity single = savedNotification;
+                afterCommit(() -> dispatchTaskNotification(taskNotification, single, preferences, overdue,
+                        new ConcurrentHashMap<>()));
+            }
+        } else if (!taskNotifications.isEmpty()) {
+            try {
+                savedNotification = notificationRepository.save(
+                        buildTaskDigestNotification(userId, taskNotifications, overdue));
+                NotificationEntity digest = savedNotification;
+                afterCommit(() -> dispatchTaskDigest(userId, taskNotifications, digest, preferences, overdue));
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize task digest for user {}: {}", userId, e.getMessage());
             }
+        }
 
-            return savedNotification;
-        } catch (Exception e) {
-            log.error("Error creating task due soon notification", e);
-            throw new RuntimeException("Failed to create notification", e);
+        pendingNotificationRepository.deleteAllInBatch(pending);
+        if (savedNotification != null) {
+            readStateService.adjustUnreadCount(userId, 1);
         }
+        log.info("Flushed {} pending {} notifications for user {}", pending.size(), type, userId);
+        return savedNotification;
     }
 
-    @Override
-    @CacheEvict(value = "unreadNotificationsCount", key = "#taskNotification.recipientId")
-    public NotificationEntity createTaskOverdueNotification(TaskNotificationDTO taskNotification) {
+    private NotificationEntity buildTaskNotification(TaskNotificationDTO taskNotification) {
         try {
-            String jsonPayload = objectMapper.writeValueAsString(taskNotification);
-
-            long daysOverdue = 0;
-            if (taskNotification.getAdditionalData() != null
-                    && taskNotification.getAdditionalData().containsKey("daysOverdue")) {
-                daysOverdue = Long.parseLong(taskNotification.getAdditionalData().get("daysOverdue").toString());
+            if (NotificationType.TASK_DUE_SOON.name().equals(taskNotification.getType())) {
+                return buildTaskDueSoonNotification(taskNotification);
+            } else if (NotificationType.TASK_OVERDUE.name().equals(taskNotification.getType())) {
+                return buildTaskOverdueNotification(taskNotification);
             }
+            log.warn("Unknown task notification type: {}", taskNotification.getType());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize task notification for task {}: {}", taskNotification.getTaskId(),
+                    e.getMessage());
+        }
+        return null;
+    }
 
-            String message = "Your task '" + taskNotification.getTaskTitle() + "' is overdue";
-            if (daysOverdue > 0) {
-                message += " by " + daysOverdue + (daysOverdue == 1 ? " day" : " days");
-            }
+    private NotificationEntity buildTaskDueSoonNotification(TaskNotificationDTO taskNotification)
+            throws JsonProcessingException {
+        String jsonPayload = objectMapper.writeValueAsString(taskNotification);
 
-            NotificationEntity notification = NotificationEntity.builder().userId(taskNotification.getRecipientId())
-                    .title("Task Overdue").message(message).type("TASK_OVERDUE")
-                    .referenceId(taskNotification.getTaskId()).referenceType("TASK").read(false).payload(jsonPayload)
-                    .build();
+        return NotificationEntity.builder().userId(taskNotification.getRecipientId())
+                .title("Task Due Soon").message("Your task '" + taskNotification.getTaskTitle() + "' is due soon")
+                .type("TASK_DUE_SOON").referenceId(taskNotification.getTaskId()).referenceType("TASK").read(false)
+                .payload(jsonPayload).build();
+    }
 
-            NotificationEntity savedNotification = notificationRepository.save(notification);
+    private NotificationEntity buildTaskOverdueNotification(TaskNotificationDTO taskNotification)
+            throws JsonProcessingException {
+        String jsonPayload = objectMapper.writeValueAsString(taskNotification);
 
-            // Get user preferences
-            NotificationPreferenceEntity preferences = getOrCreateUserPreferences(taskNotification.getRecipientId());
+        long daysOverdue = 0;
+        if (taskNotification.getAdditionalData() != null
+                && taskNotification.getAdditionalData().containsKey("daysOverdue")) {
+            daysOverdue = Long.parseLong(taskNotification.getAdditionalData().get("daysOverdue").toString());
+        }
 
-            // Overdue notifications bypass quiet hours for urgency
+        String message = "Your task '" + taskNotification.getTaskTitle() + "' is overdue";
+        if (daysOverdue > 0) {
+            message += " by " + daysOverdue + (daysOverdue == 1 ? " day" : " days");
+        }
 
-            // Send real-time WebSocket notification if enabled
-            if (preferences.isWebsocketEnabled() && preferences.isOverdueNotifications()) {
-                webSocketService.sendNotificationToUser(taskNotification.getRecipientId(), savedNotification);
-            }
+        return NotificationEntity.builder().userId(taskNotification.getRecipientId())
+                .title("Task Overdue").message(message).type("TASK_OVERDUE")
+                .referenceId(taskNotification.getTaskId()).referenceType("TASK").read(false).payload(jsonPayload)
+                .build();
+    }
 
-            // Send email notification if enabled
-            if (preferences.isEmailEnabled() && preferences.isOverdueNotifications()) {
-                try {
-                    UserEmailDTO userEmail = authServiceClient.getUserEmail(taskNotification.getRecipientId());
-                    emailService.sendTaskOverdueEmail(taskNotification, userEmail.getEmail());
-                } catch (Exception e) {
-                    log.error("Failed to send email notification for overdue task: {}", e.getMessage(), e);
-                }
-            }
+    private NotificationEntity buildTaskDigestNotification(String userId, List<TaskNotificationDTO> taskNotifications,
+            boolean overdue) throws JsonProcessingException {
+        String jsonPayload = objectMapper.writeValueAsString(taskNotifications);
+
+        String titles = taskNotifications.stream().limit(3).map(task -> "'" + task.getTaskTitle() + "'")
+                .collect(Collectors.joining(", "));
+        int remaining = taskNotifications.size() - 3;
+        String message = "Your tasks " + titles + (remaining > 0 ? " and " + remaining + " more" : "")
+                + (overdue ? " are overdue" : " are due soon");
+
+        return NotificationEntity.builder().userId(userId)
+                .title(taskNotifications.size() + (overdue ? " Tasks Overdue" : " Tasks Due Soon"))
+                .message(StringUtils.abbreviate(message, 500))
+                .type(overdue ? NotificationType.TASK_OVERDUE.name() : NotificationType.TASK_DUE_SOON.name())
+                .referenceType("TASK_DIGEST").read(false).payload(jsonPayload).build();
+    }
+
+    private void dispatchTaskDigest(String userId, List<TaskNotificationDTO> taskNotifications,
+            NotificationEntity savedNotification, PackedPreferences preferences, boolean overdue) {
+        // Quiet hours were checked when the window was flushed
+        int channels = preferences.route(overdue ? PackedPreferences.TYPE_OVERDUE : PackedPreferences.TYPE_DUE_SOON,
+                true, getCurrentTime());
+
+        if ((channels & PackedPreferences.CHANNEL_WEBSOCKET) != 0) {
+            notificationDispatcher.sendWebSocket(userId, savedNotification);
+        }
+
+        if ((channels & PackedPreferences.CHANNEL_EMAIL) != 0) {
+            notificationDispatcher.sendTaskDigestEmail(userId, taskNotifications, overdue);
+        }
+    }
 
-            return savedNotification;
-        } catch (Exception e) {
-            log.error("Error creating task overdue notification", e);
-            throw new RuntimeException("Failed to create notification", e);
+    // Delivery must never announce a notification whose transaction rolled back
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
-    private NotificationPreferenceEntity getOrCreateUserPreferences(String userId) {
-        Optional<NotificationPreferenceEntity> existingPrefs = preferenceRepository.findByUserId(userId);
+    private void dispatchTaskNotification(TaskNotificationDTO taskNotification, NotificationEntity savedNotification,
+            PackedPreferences preferences, boolean overdue, Map<String, String> recipientEmails) {
+        String recipientId = taskNotification.getRecipientId();
+
+        // Overdue notifications bypass quiet hours for urgency
+        int channels = preferences.route(overdue ? PackedPreferences.TYPE_OVERDUE : PackedPreferences.TYPE_DUE_SOON,
+                overdue, getCurrentTime());
+        if (channels == 0) {
+            log.debug("No channel enabled for user {} right now, notification stored only", recipientId);
+            return;
+        }
 
-        return existingPrefs.orElseGet(() -> {
-            NotificationPreferenceEntity defaultPrefs = NotificationPreferenceEntity.builder().userId(userId)
-                    .emailEnabled(true).websocketEnabled(true).dueSoonNotifications(true).overdueNotifications(true)
-                    .taskAssignmentNotifications(true).boardSharingNotifications(true).quietHoursEnabled(false).build();
+        // Each channel is delivered on its own worker pool, the listener thread only routes
+        if ((channels & PackedPreferences.CHANNEL_WEBSOCKET) != 0) {
+            notificationDispatcher.sendWebSocket(recipientId, savedNotification);
+        }
 
-            return preferenceRepository.save(defaultPrefs);
-        });
+        if ((channels & PackedPreferences.CHANNEL_EMAIL) != 0) {
+            notificationDispatcher.sendTaskEmail(taskNotification, overdue, recipientEmails);
+        }
     }
 
     // Add this as a protected method for easier testing
@@ -151,60 +275,129 @@ public class NotificationServiceImpl implements NotificationService {
         return LocalTime.now();
     }
 
-    private boolean isInQuietHours(NotificationPreferenceEntity preferences) {
-        if (preferences.getQuietHoursStart() == null || preferences.getQuietHoursEnd() == null) {
-            return false;
+    @Override
+    public Page<NotificationSummaryDTO> getUserNotifications(String userId, Pageable pageable) {
+        Page<NotificationSummaryDTO> notifications = notificationRepository.findSummariesByUserId(userId, pageable);
+        readStateService.applyReadState(userId, notifications.getContent());
+        return notifications;
+    }
+
+    @Override
+    public NotificationFeedDTO getNotificationFeed(String userId, String cursor, int limit) {
+        // One extra row tells whether another page follows without a count query
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<NotificationSummaryDTO> notifications;
+        if (cursor == null) {
+            notifications = notificationRepository.findFeed(userId, page);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            notifications = notificationRepository.findFeedBefore(userId, position.createdAt(), position.id(), page);
         }
 
-        LocalTime now = getCurrentTime();
-        LocalTime start = LocalTime.of(preferences.getQuietHoursStart(), 0);
-        LocalTime end = LocalTime.of(preferences.getQuietHoursEnd(), 0);
+        NotificationFeedDTO feed = toFeed(notifications, limit,
+                last -> new FeedCursor(last.getCreatedAt(), last.getId()).encode());
+        readStateService.applyReadState(userId, feed.getItems());
+        return feed;
+    }
 
-        if (start.isAfter(end)) {
-            // Handles overnight quiet hours (e.g., 22:00 - 07:00)
-            return now.isAfter(start) || now.isBefore(end);
-        } else {
-            // Regular quiet hours (e.g., 00:00 - 07:00)
-            return now.isAfter(start) && now.isBefore(end);
+    // Only the default first page is cached, that is what the badge dropdown asks for on every open
+    @Override
+    @Cacheable(value = "unreadNotifications", key = "#userId",
+            condition = "#cursor == null && #limit == " + FEED_PAGE_SIZE)
+    public NotificationFeedDTO getUnreadNotifications(String userId, String cursor, int limit) {
+        List<NotificationSummaryDTO> notifications = notificationRepository.findUnreadAboveWatermark(userId,
+                readStateService.getReadWatermark(userId), cursor == null ? Long.MAX_VALUE : parseStreamCursor(cursor),
+                PageRequest.of(0, limit + 1));
+        return toFeed(notifications, limit, last -> String.valueOf(last.getCursor()));
+    }
+
+    private NotificationFeedDTO toFeed(List<NotificationSummaryDTO> notifications, int limit,
+            Function<NotificationSummaryDTO, String> nextCursor) {
+        if (notifications.size() <= limit) {
+            return NotificationFeedDTO.builder().items(notifications).build();
+        }
+        List<NotificationSummaryDTO> items = new ArrayList<>(notifications.subList(0, limit));
+        return NotificationFeedDTO.builder().items(items).nextCursor(nextCursor.apply(items.get(limit - 1))).build();
+    }
+
+    private long parseStreamCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
         }
     }
 
     @Override
-    public Page<NotificationEntity> getUserNotifications(String userId, Pageable pageable) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    public NotificationEntity getNotification(String userId, String notificationId) {
+        // Scoped to the owner, someone else's notification is reported as missing rather than forbidden
+        NotificationEntity notification = notificationRepository.findByIdAndUserId(notificationId, userId)
+                .orElseThrow(() -> new NotificationNotFoundException("Notification not found"));
+        readStateService.applyReadState(userId, List.of(notification));
+        return notification;
     }
 
     @Override
-    @Cacheable(value = "unreadNotifications", key = "#userId")
-    public List<NotificationEntity> getUnreadNotifications(String userId) {
-        return notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
+    public List<NotificationEntity> getNotificationsAfter(String userId, long cursor, int limit) {
+        List<NotificationEntity> notifications = notificationRepository
+                .findByUserIdAndCursorGreaterThanOrderByCursorAsc(userId, cursor, PageRequest.of(0, limit));
+        readStateService.applyReadState(userId, notifications);
+        return notifications;
     }
 
     @Override
-    @Cacheable(value = "unreadNotificationsCount", key = "#userId")
     public long countUnreadNotifications(String userId) {
-        return notificationRepository.countByUserIdAndReadFalse(userId);
+        return readStateService.getUnreadCount(userId);
     }
 
+    // Not transactional on purpose: the read is recorded in the read state, the notification row is left untouched
     @Override
-    @CacheEvict(value = {"unreadNotifications", "unreadNotificationsCount"}, key = "#result.userId")
-    public NotificationEntity markAsRead(String notificationId) {
-        log.info("Marking notification as read: {}", notificationId);
-        NotificationEntity notification = notificationRepository.findById(notificationId)
+    @CacheEvict(value = "unreadNotifications", key = "#result.userId")
+    public NotificationEntity markAsRead(String userId, String notificationId) {
+        log.info("Marking notification {} as read for user: {}", notificationId, userId);
+        // Scoped to the owner like getNotification, marking someone else's notification reports it as missing
+        NotificationEntity notification = notificationRepository.findByIdAndUserId(notificationId, userId)
                 .orElseThrow(() -> new NotificationNotFoundException("Notification not found"));
+        readStateService.markRead(notification);
         notification.setRead(true);
-        return notificationRepository.save(notification);
+        return notification;
     }
 
     @Override
-    @CacheEvict(value = {"unreadNotifications", "unreadNotificationsCount"}, key = "#userId")
+    @CacheEvict(value = "unreadNotifications", key = "#userId")
     public void markAllAsRead(String userId) {
-        List<NotificationEntity> unreadNotifications = notificationRepository
-                .findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
+        readStateService.markAllRead(userId);
+    }
 
-        if (!unreadNotifications.isEmpty()) {
-            unreadNotifications.forEach(notification -> notification.setRead(true));
-            notificationRepository.saveAll(unreadNotifications);
-        }
+    @Override
+    @Transactional
+    @CacheEvict(value = "unreadNotifications", key = "#filter.userId()")
+    public int markMatchingAsRead(NotificationFilter filter) {
+        int marked = readStateService.markReadMatching(filter);
+        log.info("Marked {} notifications as read for user: {}", marked, filter.userId());
+        return marked;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "unreadNotifications", key = "#filter.userId()")
+    public int archiveMatching(NotificationFilter filter) {
+        // Archiving reads what it archives, so the unread count never includes notifications the user cannot see
+        readStateService.markReadMatching(filter);
+        int archived = notificationRepository.archiveMatching(filter);
+        log.info("Archived {} notifications for user: {}", archived, filter.userId());
+        return archived;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "unreadNotifications", key = "#filter.userId()")
+    public int deleteMatching(NotificationFilter filter) {
+        // Reading them first takes unread ones off the counter in the same set-based way, the marks go with the rows
+        readStateService.markReadMatching(filter);
+        notificationRepository.deleteReadMarksMatching(filter);
+        int deleted = notificationRepository.deleteMatching(filter);
+        log.info("Deleted {} notifications for user: {}", deleted, filter.userId());
+        return deleted;
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.phuonghieuto.backend.notification_service.service.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher;
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+import com.phuonghieuto.backend.notification_service.model.notification.ReadableNotification;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.UnreadCountUpdateDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.repository.NotificationReadRepository;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.UserNotificationStateRepository;
+import com.phuonghieuto.backend.notification_service.service.ReadStateService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns a user's read state: a watermark over the notification stream, the sparse set of notifications read
+ * individually above it, and the unread badge counter. Notifications are never updated to record that they were
+ * read, so marking everything as read is a single row update however much has piled up.
+ * <p>
+ * Every counter change is pushed to the user's sockets as an {@link UnreadCountUpdateDTO} once it has committed.
+ * Users without a state row yet are seeded from a one-off count of the rows above a zero watermark.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReadStateServiceImpl implements ReadStateService {
+
+    private static final String CACHE_NAME = "unreadNotificationsCount";
+
+    private final UserNotificationStateRepository stateRepository;
+    private final NotificationReadRepository readRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Cacheable(value = CACHE_NAME, key = "#userId")
+    @Transactional
+    public long getUnreadCount(String userId) {
+        return stateRepository.findUnreadCountByUserId(userId).orElseGet(() -> {
+            seed(userId);
+            return stateRepository.findUnreadCountByUserId(userId).orElse(0L);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getReadWatermark(String userId) {
+        return stateRepository.findReadWatermarkByUserId(userId).orElse(0L);
+    }
+
+    @Override
+    @Transactional
+    public void adjustUnreadCount(String userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        // A row seeded here already includes the change made earlier in this transaction, one seeded concurrently by
+        // another request does not
+        if (stateRepository.adjustUnreadCount(userId, delta) == 0 && !seed(userId)) {
+            stateRepository.adjustUnreadCount(userId, delta);
+        }
+        long unreadCount = stateRepository.findUnreadCountByUserId(userId).orElse(0L);
+        publishAfterCommit(userId, delta, unreadCount);
+    }
+
+    @Override
+    @Transactional
+    public boolean markRead(NotificationEntity notification) {
+        String userId = notification.getUserId();
+        // Same lock as markAllRead, the watermark cannot move past this notification until the mark has committed
+        lockState(userId);
+        if (isRead(notification, getReadWatermark(userId))) {
+            return false;
+        }
+        // Zero when a concurrent request marked it first, only the one that recorded the mark takes it off the counter
+        int marked = readRepository.insertIfAbsent(notification.getId(), userId, notification.getCursor());
+        adjustUnreadCount(userId, -marked);
+        return marked > 0;
+    }
+
+    @Override
+    @Transactional
+    public int markReadMatching(NotificationFilter filter) {
+        String userId = filter.userId();
+        lockState(userId);
+        int marked = notificationRepository.markReadMatching(filter, getReadWatermark(userId));
+        adjustUnreadCount(userId, -marked);
+        return marked;
+    }
+
+    @Override
+    @Transactional
+    public void markAllRead(String userId) {
+        // Lock the state row before reading anything: a transaction that already adjusted the counter has committed
+        // by the time the lock is granted, so its notification is covered by the max below, and later ones wait
+        lockState(userId);
+        long previous = stateRepository.findUnreadCountByUserId(userId).orElse(0L);
+        long watermark = notificationRepository.findMaxCursorByUserId(userId).orElse(0L);
+        // Normally empty, only notifications committed after the max was read can still be above the watermark
+        long remaining = notificationRepository.countUnreadAboveWatermark(userId, watermark);
+        stateRepository.advanceReadWatermark(userId, watermark, remaining);
+        int pruned = readRepository.deleteCoveredByWatermark(userId, watermark);
+        log.debug("Moved read watermark of user {} to {}, pruned {} read marks", userId, watermark, pruned);
+        if (previous != remaining) {
+            publishAfterCommit(userId, remaining - previous, remaining);
+        }
+    }
+
+    @Override
+    public void applyReadState(String userId, Collection<? extends ReadableNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        long watermark = getReadWatermark(userId);
+        List<String> candidates = notifications.stream().filter(notification -> !isRead(notification, watermark))
+                .map(ReadableNotification::getId).collect(Collectors.toList());
+        Set<String> readIds = candidates.isEmpty() ? Set.of() : readRepository.findReadIds(candidates);
+        notifications.forEach(notification -> notification
+                .setRead(isRead(notification, watermark) || readIds.contains(notification.getId())));
+    }
+
+    private boolean isRead(ReadableNotification notification, long watermark) {
+        return notification.isRead() || (notification.getCursor() != null && notification.getCursor() <= watermark);
+    }
+
+    // SELECT ... FOR UPDATE on the state row, seeding it first for users without one
+    private void lockState(String userId) {
+        if (stateRepository.lockByUserId(userId).isEmpty()) {
+            seed(userId);
+            stateRepository.lockByUserId(userId);
+        }
+    }
+
+    // False when another request seeded the row first, its count is kept
+    private boolean seed(String userId) {
+        long unreadCount = notificationRepository.countUnreadAboveWatermark(userId, 0L);
+        if (stateRepository.insertIfAbsent(userId, unreadCount) == 0) {
+            return false;
+        }
+        log.debug("Seeded unread counter for user {} with {}", userId, unreadCount);
+        return true;
+    }
+
+    private void publishAfterCommit(String userId, long delta, long unreadCount) {
+        Runnable publish = () -> {
+            // Evict rather than put, commits of concurrent changes may land in any order
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+            notificationDispatcher.sendUnreadCount(userId,
+                    UnreadCountUpdateDTO.builder().delta(delta).unreadCount(unreadCount).build());
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish.run();
+            }
+        });
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.web.server.ResponseStatusException;
 import com.phuonghieuto.backend.notification_service.config.TokenConfigurationParameter;
 import com.phuonghieuto.backend.notification_service.model.auth.UserType;
 import com.phuonghieuto.backend.notification_service.model.auth.enums.TokenClaims;
+import com.phuonghieuto.backend.notification_service.security.KeyIdSigningKeyResolver;
 import com.phuonghieuto.backend.notification_service.service.TokenService;
 
 import io.jsonwebtoken.Claims;
@@ -36,7 +37,8 @@ public class TokenServiceImpl implements TokenService {
     @Cacheable(value = "tokenValidation", key = "#token")
     public void validateToken(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder().setSigningKey(tokenConfigurationParameter.getPublicKey())
+            Jws<Claims> claimsJws = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                     .build().parseClaimsJws(token);
 
             Claims claims = claimsJws.getBody();
@@ -66,7 +68,8 @@ public class TokenServiceImpl implements TokenService {
         try {
             validateToken(token);
 
-            final Jws<Claims> claimsJws = Jwts.parserBuilder().setSigningKey(tokenConfigurationParameter.getPublicKey())
+            final Jws<Claims> claimsJws = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                     .build().parseClaimsJws(token);
 
             final JwsHeader<?> jwsHeader = claimsJws.getHeader();
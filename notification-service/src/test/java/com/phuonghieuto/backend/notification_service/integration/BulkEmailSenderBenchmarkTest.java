@@ -0,0 +1,116 @@
+package com.phuonghieuto.backend.notification_service.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.phuonghieuto.backend.notification_service.messaging.email.BulkEmailSender;
+import com.phuonghieuto.backend.notification_service.messaging.email.TokenBucket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SMTP throughput of the pooled sender against GreenMail, skipped unless {@code benchmark.email.count} is set:
+ *
+ * <pre>
+ * mvn test -Dtest=BulkEmailSenderBenchmarkTest -Dbenchmark.email.count=5000
+ * </pre>
+ *
+ * Logs the emails per second with and without a rate limit and checks that the token bucket actually holds the
+ * limited run back. Delivery itself is covered by {@link BulkEmailSenderIntegrationTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark.email.count", matches = "\\d+")
+@Slf4j
+class BulkEmailSenderBenchmarkTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private JavaMailSenderImpl mailSender;
+    private BulkEmailSender emailSender;
+
+    @AfterEach
+    void tearDown() {
+        if (emailSender != null) {
+            emailSender.shutdown();
+        }
+    }
+
+    @Test
+    void submit_Unlimited_PooledThroughput() {
+        // Arrange
+        emailSender = createSender(100_000, 1_000);
+        int count = Integer.getInteger("benchmark.email.count");
+
+        // Act
+        double seconds = sendAll(count);
+        log.info("Pooled SMTP: {} emails in {} s ({} emails/s)", count, String.format("%.2f", seconds),
+                String.format("%.0f", count / seconds));
+
+        // Assert
+        assertTrue(greenMail.waitForIncomingEmail(60_000, count));
+    }
+
+    @Test
+    void submit_RateLimited_ThroughputCappedByTokenBucket() {
+        // Arrange - 10 tokens up front, then 50 per second
+        emailSender = createSender(50, 10);
+        int count = 60;
+
+        // Act
+        double seconds = sendAll(count);
+        log.info("Rate limited SMTP: {} emails in {} s ({} emails/s)", count, String.format("%.2f", seconds),
+                String.format("%.0f", count / seconds));
+
+        // Assert - the 50 emails beyond the burst need about a second of refill
+        assertTrue(seconds >= 0.9, "Expected rate limiting, took " + seconds + " s");
+        assertEquals(count, greenMail.getReceivedMessages().length);
+    }
+
+    private double sendAll(int count) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> results = IntStream.range(0, count)
+                .mapToObj(i -> emailSender.submit(createMessage(i)))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+
+    private BulkEmailSender createSender(double ratePerSecond, int burst) {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return new BulkEmailSender(mailSender, new TokenBucket(ratePerSecond, burst), new SimpleMeterRegistry(), 4,
+                500, 100, Duration.ofSeconds(5));
+    }
+
+    private MimeMessage createMessage(int index) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setFrom("noreply@localhost");
+            helper.setTo("user" + index + "@localhost");
+            helper.setSubject("Task due soon #" + index);
+            helper.setText("<p>Your task is due soon</p>", true);
+            return message;
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.phuonghieuto.backend.notification_service.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.phuonghieuto.backend.notification_service.messaging.email.BulkEmailSender;
+import com.phuonghieuto.backend.notification_service.messaging.email.TokenBucket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Runs the pooled sender against an in-memory GreenMail SMTP server. Throughput is measured separately by
+ * {@link BulkEmailSenderBenchmarkTest}.
+ */
+class BulkEmailSenderIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private JavaMailSenderImpl mailSender;
+    private BulkEmailSender emailSender;
+
+    @AfterEach
+    void tearDown() {
+        if (emailSender != null) {
+            emailSender.shutdown();
+        }
+    }
+
+    @Test
+    void submit_ManyMessages_AllDeliveredOverPooledConnections() throws Exception {
+        // Arrange
+        emailSender = createSender(ServerSetupTest.SMTP.getPort(), 100_000, 1_000);
+        int count = 500;
+
+        // Act
+        List<CompletableFuture<Void>> results = IntStream.range(0, count)
+                .mapToObj(i -> emailSender.submit(createMessage(i)))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        assertTrue(greenMail.waitForIncomingEmail(10_000, count));
+        assertEquals(count, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void submit_RateLimited_AllDeliveredOnceRefilled() {
+        // Arrange - 10 tokens up front, then 50 per second
+        emailSender = createSender(ServerSetupTest.SMTP.getPort(), 50, 10);
+        int count = 60;
+
+        // Act
+        List<CompletableFuture<Void>> results = IntStream.range(0, count)
+                .mapToObj(i -> emailSender.submit(createMessage(i)))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        // Assert - the emails beyond the burst wait for tokens rather than being dropped
+        assertEquals(count, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void send_ServerUnreachable_ThrowsMailSendException() {
+        // Arrange - nothing listens on this port
+        emailSender = createSender(ServerSetupTest.SMTP.getPort() + 1, 100, 10);
+
+        // Act & Assert
+        assertThrows(MailSendException.class, () -> emailSender.send(createMessage(0)));
+    }
+
+    private BulkEmailSender createSender(int port, double ratePerSecond, int burst) {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(port);
+        return new BulkEmailSender(mailSender, new TokenBucket(ratePerSecond, burst), new SimpleMeterRegistry(), 4,
+                500, 100, Duration.ofSeconds(5));
+    }
+
+    private MimeMessage createMessage(int index) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setFrom("noreply@localhost");
+            helper.setTo("user" + index + "@localhost");
+            helper.setSubject("Task due soon #" + index);
+            helper.setText("<p>Your task is due soon</p>", true);
+            return message;
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
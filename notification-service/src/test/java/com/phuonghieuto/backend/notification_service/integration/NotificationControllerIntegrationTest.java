@@ -1,19 +1,26 @@
 package com.phuonghieuto.backend.notification_service.integration;
 
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,14 +28,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
-import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.phuonghieuto.backend.notification_service.config.TestTokenConfigurationParameter;
 import com.phuonghieuto.backend.notification_service.model.auth.enums.TokenClaims;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationFeedDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationSummaryDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.repository.NotificationReadRepository;
 import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.UserNotificationStateRepository;
 import io.jsonwebtoken.Jwts;
 
 @AutoConfigureMockMvc
@@ -40,6 +53,12 @@ public class NotificationControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationReadRepository notificationReadRepository;
+
+    @Autowired
+    private UserNotificationStateRepository stateRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -56,6 +75,8 @@ public class NotificationControllerIntegrationTest extends BaseIntegrationTest {
     void setUp() {
         // Clean up the database before each test
         notificationRepository.deleteAll();
+        notificationReadRepository.deleteAll();
+        stateRepository.deleteAll();
 
         // Create test tokens
         accessToken = generateToken(TEST_USER_ID, TEST_USER_EMAIL);
@@ -112,8 +133,8 @@ public class NotificationControllerIntegrationTest extends BaseIntegrationTest {
 
         // Parse response and verify details
         String responseJson = result.getResponse().getContentAsString();
-        Page<NotificationEntity> page = objectMapper.readValue(responseJson, 
-                objectMapper.getTypeFactory().constructParametricType(Page.class, NotificationEntity.class));
+        Page<NotificationSummaryDTO> page = objectMapper.readValue(responseJson, 
+                objectMapper.getTypeFactory().constructParametricType(Page.class, NotificationSummaryDTO.class));
         
         assertEquals(3, page.getTotalElements());
         assertEquals(0, page.getNumber()); // First page
@@ -135,8 +156,8 @@ public class NotificationControllerIntegrationTest extends BaseIntegrationTest {
 
         // Parse response and verify
         String responseJson = result.getResponse().getContentAsString();
-        List<NotificationEntity> notifications = objectMapper.readValue(responseJson, 
-                new TypeReference<List<NotificationEntity>>() {});
+        List<NotificationSummaryDTO> notifications = objectMapper.readValue(responseJson, NotificationFeedDTO.class)
+                .getItems();
         
         assertEquals(2, notifications.size());
         assertFalse(notifications.get(0).isRead());
@@ -183,10 +204,21 @@ public class NotificationControllerIntegrationTest extends BaseIntegrationTest {
         assertTrue(updatedNotification.isRead());
         assertEquals(notification.getId(), updatedNotification.getId());
         
-        // Verify in the database
+        // Verify in the database: recorded as a read mark, the notification row is left as it was
+        assertTrue(notificationReadRepository.existsById(notification.getId()));
         NotificationEntity dbNotification = notificationRepository.findById(notification.getId()).orElse(null);
         assertNotNull(dbNotification);
-        assertTrue(dbNotification.isRead());
+        assertFalse(dbNotification.isRead());
+
+        // And reported as read from then on
+        mockMvc.perform(get("/notifications")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].read").value(true));
+        mockMvc.perform(get("/notifications/unread")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
     }
 
     @Test
@@ -198,6 +230,96 @@ public class NotificationControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void markAsRead_OtherUsersNotification_NotFound() throws Exception {
+        NotificationEntity notification = createNotification(OTHER_USER_ID, "Other User Task",
+                "This is for another user", "TASK_DUE_SOON", "task-1", "TASK", false);
+
+        mockMvc.perform(put("/notifications/{id}/read", notification.getId())
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNotFound());
+
+        assertFalse(notificationReadRepository.existsById(notification.getId()));
+    }
+
+    @Test
+    void getNotificationFeed_PagesThroughWithCursor() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            createNotification(TEST_USER_ID, "Task " + i, "Task " + i + " is due soon", "TASK_DUE_SOON", "task-" + i,
+                    "TASK", false);
+        }
+        createNotification(OTHER_USER_ID, "Other User Task", "This is for another user", "TASK_DUE_SOON", "task-6",
+                "TASK", false);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/notifications/feed")
+                    .param("limit", "2")
+                    .header("Authorization", "Bearer " + accessToken);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            NotificationFeedDTO page = objectMapper.readValue(result.getResponse().getContentAsString(),
+                    NotificationFeedDTO.class);
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        // Every notification exactly once, newest first
+        assertEquals(3, pages);
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+        List<NotificationSummaryDTO> expected = notificationRepository.findFeed(TEST_USER_ID, PageRequest.of(0, 10));
+        assertEquals(expected.stream().map(NotificationSummaryDTO::getId).collect(Collectors.toList()), seen);
+    }
+
+    @Test
+    void getNotificationFeed_InvalidCursor_BadRequest() throws Exception {
+        mockMvc.perform(get("/notifications/feed")
+                .param("cursor", "not-a-cursor")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNotification_ReturnsPayloadLeftOutOfLists() throws Exception {
+        String payload = "{\"taskId\":\"task-1\",\"description\":\"" + "Long task description. ".repeat(40) + "\"}";
+        NotificationEntity notification = notificationRepository.save(NotificationEntity.builder().userId(TEST_USER_ID)
+                .title("Task Due Soon").message("Task 1 is due soon").type("TASK_DUE_SOON").referenceId("task-1")
+                .referenceType("TASK").payload(payload).build());
+
+        mockMvc.perform(get("/notifications")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(notification.getId()))
+                .andExpect(jsonPath("$.content[0].payload").doesNotExist())
+                .andExpect(jsonPath("$.content[0].message").doesNotExist());
+
+        // Stored compressed, read back unchanged
+        mockMvc.perform(get("/notifications/{id}", notification.getId())
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Task 1 is due soon"))
+                .andExpect(jsonPath("$.payload").value(payload))
+                .andExpect(jsonPath("$.read").value(false));
+    }
+
+    @Test
+    void getNotification_OtherUsersNotification_NotFound() throws Exception {
+        NotificationEntity notification = createNotification(OTHER_USER_ID, "Other User Task",
+                "This is for another user", "TASK_DUE_SOON", "task-4", "TASK", false);
+
+        mockMvc.perform(get("/notifications/{id}", notification.getId())
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void markAllAsRead_Success() throws Exception {
         // Create several unread notifications
@@ -214,19 +336,100 @@ public class NotificationControllerIntegrationTest extends BaseIntegrationTest {
                 .andDo(print())
                 .andExpect(status().isOk());
         
-        // Verify all test user notifications are now read
-        List<NotificationEntity> testUserNotifications = notificationRepository.findByUserId(TEST_USER_ID);
-        assertEquals(3, testUserNotifications.size());
-        for (NotificationEntity notification : testUserNotifications) {
-            assertTrue(notification.isRead(), "Notification should be marked as read");
-        }
-        
+        // Verify all test user notifications are now read, through the watermark alone
+        mockMvc.perform(get("/notifications")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[*].read").value(everyItem(is(true))));
+        mockMvc.perform(get("/notifications/unread/count")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+        assertTrue(stateRepository.findReadWatermarkByUserId(TEST_USER_ID).orElse(0L) > 0);
+
         // Verify other user's notifications are not affected
-        List<NotificationEntity> otherUserNotifications = notificationRepository.findByUserId(OTHER_USER_ID);
-        assertEquals(1, otherUserNotifications.size());
-        assertFalse(otherUserNotifications.get(0).isRead(), "Other user's notification should remain unread");
+        mockMvc.perform(get("/notifications/unread")
+                .header("Authorization", "Bearer " + generateToken(OTHER_USER_ID, "other@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].read").value(false));
     }
     
+    @Test
+    void markAsReadInBulk_ByFilter_OnlyMatchingRead() throws Exception {
+        createNotification(TEST_USER_ID, "Task Due Soon", "Task 1 is due soon", "TASK_DUE_SOON", "task-1", "TASK", false);
+        createNotification(TEST_USER_ID, "Task Overdue", "Task 2 is overdue", "TASK_OVERDUE", "task-2", "TASK", false);
+        createNotification(TEST_USER_ID, "Task Overdue", "Task 3 is overdue", "TASK_OVERDUE", "task-3", "TASK", false);
+        createNotification(OTHER_USER_ID, "Task Overdue", "Task 4 is overdue", "TASK_OVERDUE", "task-4", "TASK", false);
+
+        mockMvc.perform(post("/notifications/bulk/read")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"TASK_OVERDUE\"}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        // Only the caller's overdue notifications were read
+        mockMvc.perform(get("/notifications/unread/count")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+        mockMvc.perform(get("/notifications/unread")
+                .header("Authorization", "Bearer " + generateToken(OTHER_USER_ID, "other@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+    }
+
+    @Test
+    void deleteInBulk_ByIds_OtherUsersNotificationsUntouched() throws Exception {
+        NotificationEntity own = createNotification(TEST_USER_ID, "Task Due Soon", "Task 1 is due soon",
+                "TASK_DUE_SOON", "task-1", "TASK", false);
+        NotificationEntity kept = createNotification(TEST_USER_ID, "Task Overdue", "Task 2 is overdue",
+                "TASK_OVERDUE", "task-2", "TASK", false);
+        NotificationEntity foreign = createNotification(OTHER_USER_ID, "Task Overdue", "Task 3 is overdue",
+                "TASK_OVERDUE", "task-3", "TASK", false);
+
+        mockMvc.perform(post("/notifications/bulk/delete")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[\"" + own.getId() + "\",\"" + foreign.getId() + "\"]}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertFalse(notificationRepository.existsById(own.getId()));
+        assertTrue(notificationRepository.existsById(kept.getId()));
+        assertTrue(notificationRepository.existsById(foreign.getId()), "Another user's notification must survive");
+        mockMvc.perform(get("/notifications/unread/count")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+    }
+
+    @Test
+    void archiveInBulk_ArchivedLeaveTheList() throws Exception {
+        NotificationEntity archived = createNotification(TEST_USER_ID, "Task Due Soon", "Task 1 is due soon",
+                "TASK_DUE_SOON", "task-1", "TASK", false);
+        createNotification(TEST_USER_ID, "Task Overdue", "Task 2 is overdue", "TASK_OVERDUE", "task-2", "TASK", false);
+
+        mockMvc.perform(post("/notifications/bulk/archive")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"referenceId\":\"task-1\"}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertTrue(notificationRepository.findById(archived.getId()).orElseThrow().isArchived());
+        mockMvc.perform(get("/notifications")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].referenceId").value("task-2"));
+    }
+
     @Test
     void getUserNotifications_Unauthorized() throws Exception {
         mockMvc.perform(get("/notifications"))
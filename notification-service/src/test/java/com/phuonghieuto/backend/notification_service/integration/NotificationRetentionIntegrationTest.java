@@ -0,0 +1,82 @@
+package com.phuonghieuto.backend.notification_service.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.repository.NotificationReadRepository;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.UserNotificationStateRepository;
+import com.phuonghieuto.backend.notification_service.service.NotificationRetentionService;
+import com.phuonghieuto.backend.notification_service.service.ReadStateService;
+
+/**
+ * Retention on an unpartitioned table, which is what H2 and a not yet converted PostgreSQL database run.
+ */
+public class NotificationRetentionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private NotificationRetentionService retentionService;
+
+    @Autowired
+    private ReadStateService readStateService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationReadRepository notificationReadRepository;
+
+    @Autowired
+    private UserNotificationStateRepository stateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String TEST_USER_ID = "retention-user-id";
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        notificationReadRepository.deleteAll();
+        stateRepository.deleteAll();
+    }
+
+    private NotificationEntity createNotification(String referenceId, LocalDateTime createdAt) {
+        NotificationEntity notification = notificationRepository.save(NotificationEntity.builder().userId(TEST_USER_ID)
+                .title("Task Overdue").message("Task is overdue").type("TASK_OVERDUE").referenceId(referenceId)
+                .referenceType("TASK").build());
+        // created_at is assigned on insert, age the row afterwards
+        jdbcTemplate.update("UPDATE notifications SET created_at = ? WHERE id = ?", createdAt, notification.getId());
+        return notification;
+    }
+
+    @Test
+    void purgeCreatedBetween_ExpiredRowsRemovedAndCounterReleased() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(180);
+        NotificationEntity expiredUnread = createNotification("task-1", cutoff.minusDays(10));
+        NotificationEntity expiredRead = createNotification("task-2", cutoff.minusDays(10));
+        NotificationEntity recent = createNotification("task-3", LocalDateTime.now());
+        readStateService.markRead(notificationRepository.findById(expiredRead.getId()).orElseThrow());
+        assertEquals(2L, readStateService.getUnreadCount(TEST_USER_ID));
+
+        // Act
+        int deleted = retentionService.purgeCreatedBetween(cutoff.minusDays(30), cutoff);
+
+        // Assert
+        assertEquals(2, deleted);
+        assertFalse(notificationRepository.existsById(expiredUnread.getId()));
+        assertFalse(notificationRepository.existsById(expiredRead.getId()));
+        assertTrue(notificationRepository.existsById(recent.getId()));
+        assertFalse(notificationReadRepository.existsById(expiredRead.getId()), "Read marks go with their rows");
+        assertEquals(1L, stateRepository.findUnreadCountByUserId(TEST_USER_ID).orElseThrow());
+    }
+}
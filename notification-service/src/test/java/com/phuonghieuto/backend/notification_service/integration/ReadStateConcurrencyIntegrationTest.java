@@ -0,0 +1,156 @@
+package com.phuonghieuto.backend.notification_service.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.repository.NotificationReadRepository;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.UserNotificationStateRepository;
+import com.phuonghieuto.backend.notification_service.service.ReadStateService;
+
+/**
+ * Races the read state operations of one user against each other and checks the unread counter against a recount
+ * of the rows afterwards.
+ */
+public class ReadStateConcurrencyIntegrationTest extends BaseIntegrationTest {
+
+    private static final String TEST_USER_ID = "concurrent-reader-id";
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private ReadStateService readStateService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationReadRepository notificationReadRepository;
+
+    @Autowired
+    private UserNotificationStateRepository stateRepository;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private void reset() {
+        notificationReadRepository.deleteAll();
+        notificationRepository.deleteAll();
+        stateRepository.deleteAll();
+    }
+
+    private List<NotificationEntity> createNotifications(int count) {
+        List<NotificationEntity> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NotificationEntity notification = notificationRepository.save(NotificationEntity.builder()
+                    .userId(TEST_USER_ID).title("Task Overdue").message("Task is overdue").type("TASK_OVERDUE")
+                    .referenceId("task-" + i).referenceType("TASK").build());
+            // Reloaded for the stream cursor assigned by the database
+            notifications.add(notificationRepository.findById(notification.getId()).orElseThrow());
+        }
+        return notifications;
+    }
+
+    private <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(tasks.size());
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private long recount() {
+        return notificationRepository.countUnreadAboveWatermark(TEST_USER_ID,
+                readStateService.getReadWatermark(TEST_USER_ID));
+    }
+
+    @Test
+    void getUnreadCount_FirstCallsConcurrent_SeededOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // Arrange
+            reset();
+            createNotifications(3);
+
+            // Act - both callers find no state row and seed it
+            List<Long> counts = runConcurrently(List.of(() -> readStateService.getUnreadCount(TEST_USER_ID),
+                    () -> readStateService.getUnreadCount(TEST_USER_ID)));
+
+            // Assert
+            assertEquals(List.of(3L, 3L), counts);
+            assertEquals(1L, stateRepository.count());
+        }
+    }
+
+    @Test
+    void markRead_SameNotificationTwice_CountedOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // Arrange
+            reset();
+            NotificationEntity notification = createNotifications(3).get(0);
+            assertEquals(3L, readStateService.getUnreadCount(TEST_USER_ID));
+
+            // Act
+            List<Boolean> marked = runConcurrently(List.of(() -> readStateService.markRead(notification),
+                    () -> readStateService.markRead(notification)));
+
+            // Assert - exactly one of them recorded the read
+            assertEquals(1L, marked.stream().filter(Boolean::booleanValue).count());
+            assertEquals(2L, stateRepository.findUnreadCountByUserId(TEST_USER_ID).orElseThrow());
+            assertEquals(2L, recount());
+        }
+    }
+
+    @Test
+    void markRead_RacingMarkAllRead_CounterMatchesRows() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // Arrange
+            reset();
+            NotificationEntity notification = createNotifications(3).get(1);
+            assertEquals(3L, readStateService.getUnreadCount(TEST_USER_ID));
+
+            // Act
+            runConcurrently(List.<Callable<Object>>of(() -> readStateService.markRead(notification), () -> {
+                readStateService.markAllRead(TEST_USER_ID);
+                return null;
+            }));
+
+            // Assert - whichever commits second sees the other, nothing is taken off the counter twice
+            assertEquals(0L, stateRepository.findUnreadCountByUserId(TEST_USER_ID).orElseThrow());
+            assertEquals(0L, recount());
+
+            // A notification arriving afterwards is counted from the same base
+            NotificationEntity next = createNotifications(1).get(0);
+            readStateService.adjustUnreadCount(TEST_USER_ID, 1);
+            assertEquals(1L, stateRepository.findUnreadCountByUserId(TEST_USER_ID).orElseThrow());
+            assertEquals(1L, recount(), "Notification " + next.getId() + " should be the only unread one");
+        }
+    }
+}
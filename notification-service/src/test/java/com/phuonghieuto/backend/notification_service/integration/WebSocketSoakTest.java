@@ -0,0 +1,120 @@
+package com.phuonghieuto.backend.notification_service.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import com.phuonghieuto.backend.notification_service.config.TestTokenConfigurationParameter;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketSessionRegistry;
+import com.phuonghieuto.backend.notification_service.model.auth.enums.TokenClaims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Soak harness for the WebSocket tier, skipped unless {@code soak.connections} is set. Opens that many idle
+ * connections against the embedded server, holds them through a few heartbeats and reports the heap they cost:
+ *
+ * <pre>
+ * ulimit -n 300000
+ * mvn test -Dtest=WebSocketSoakTest -Dsoak.connections=100000 -DargLine="-Xmx4g"
+ * </pre>
+ *
+ * Connections are spread over 127.0.0.1-127.0.0.250 so the client does not run out of ephemeral ports. Client and
+ * server share the JVM, so the reported figure is an upper bound for the server side.
+ */
+@EnabledIfSystemProperty(named = "soak.connections", matches = "\\d+")
+@TestPropertySource(properties = {
+    "server.tomcat.max-connections=-1",
+    "server.tomcat.threads.max=50",
+    "notification.websocket.max-connections-per-node=1000000",
+    "notification.websocket.max-connections-per-user=1000000",
+    "notification.websocket.heartbeat-interval-ms=5000",
+    "logging.level.com.phuonghieuto.backend.notification_service.messaging.websocket=WARN"
+})
+class WebSocketSoakTest extends BaseIntegrationTest {
+
+    private static final int USERS = 100;
+    private static final int CONNECT_BATCH = 500;
+    private static final long HOLD_MILLIS = 20_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+
+    @Autowired
+    private TestTokenConfigurationParameter tokenConfigurationParameter;
+
+    @Test
+    void idleConnections_HeldThroughHeartbeats_ReportsHeapPerConnection() throws Exception {
+        int connections = Integer.getInteger("soak.connections");
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            tokens.add(generateToken("soak-user-" + i));
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = usedHeapAfterGc(memory);
+
+        HttpClient client = HttpClient.newHttpClient();
+        List<WebSocket> sockets = new ArrayList<>(connections);
+        long startedAt = System.nanoTime();
+        for (int offset = 0; offset < connections; offset += CONNECT_BATCH) {
+            List<CompletableFuture<WebSocket>> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + CONNECT_BATCH, connections); i++) {
+                URI uri = URI.create("ws://127.0.0." + (1 + i % 250) + ":" + port
+                        + "/api/v1/ws-notifications?token=" + tokens.get(i % USERS));
+                batch.add(client.newWebSocketBuilder().buildAsync(uri, new WebSocket.Listener() { }));
+            }
+            for (CompletableFuture<WebSocket> future : batch) {
+                sockets.add(future.get(30, TimeUnit.SECONDS));
+            }
+        }
+        long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // Idle long enough for a few ping/pong rounds, nothing may be evicted
+        Thread.sleep(HOLD_MILLIS);
+        assertEquals(connections, sessionRegistry.getSessionCount());
+
+        long heapAfter = usedHeapAfterGc(memory);
+        System.out.printf("WebSocket soak: %d connections opened in %d ms, heap %d MB -> %d MB, %d bytes per connection%n",
+                connections, connectMillis, heapBefore >> 20, heapAfter >> 20, (heapAfter - heapBefore) / connections);
+
+        sockets.forEach(socket -> socket.sendClose(WebSocket.NORMAL_CLOSURE, "done"));
+    }
+
+    private long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private String generateToken(String userId) {
+        final long currentTimeMillis = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam(TokenClaims.TYP.getValue(), "Bearer")
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(currentTimeMillis))
+                .setExpiration(DateUtils.addMinutes(new Date(currentTimeMillis), 30))
+                .signWith(tokenConfigurationParameter.getPrivateKey())
+                .addClaims(Map.of("userId", userId, "userEmail", userId + "@example.com"))
+                .compact();
+    }
+}
@@ -0,0 +1,116 @@
+package com.phuonghieuto.backend.notification_service.unit.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.phuonghieuto.backend.notification_service.client.CoalescingLookup;
+
+class CoalescingLookupTest {
+
+    private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private CoalescingLookup<String, String> lookup;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        lookup.close();
+    }
+
+    private CoalescingLookup<String, String> lookup(Function<Set<String>, Map<String, String>> loader,
+            int maxBatchSize) {
+        return new CoalescingLookup<>("test", keys -> {
+            batches.add(new HashSet<>(keys));
+            return loader.apply(keys);
+        }, Duration.ofMillis(200), maxBatchSize, Duration.ofMinutes(1), 100);
+    }
+
+    private Map<String, String> emailsOf(Set<String> userIds) {
+        return userIds.stream().filter(userId -> !userId.startsWith("unknown"))
+                .collect(Collectors.toMap(userId -> userId, userId -> userId + "@example.com"));
+    }
+
+    private List<String> getConcurrently(List<String> keys) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(keys.size());
+        List<Future<String>> results = new ArrayList<>();
+        for (String key : keys) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return lookup.get(key);
+            }));
+        }
+        List<String> values = new ArrayList<>();
+        for (Future<String> result : results) {
+            values.add(result.get());
+        }
+        return values;
+    }
+
+    @Test
+    void concurrentLookups_SentAsOneBatch() throws Exception {
+        lookup = lookup(this::emailsOf, 100);
+
+        List<String> emails = getConcurrently(List.of("user-1", "user-2", "user-3", "user-2", "user-1"));
+
+        assertEquals(List.of("user-1@example.com", "user-2@example.com", "user-3@example.com", "user-2@example.com",
+                "user-1@example.com"), emails);
+        assertEquals(1, batches.size());
+        assertEquals(Set.of("user-1", "user-2", "user-3"), batches.get(0));
+    }
+
+    @Test
+    void resolvedKeys_ServedLocally() {
+        lookup = lookup(this::emailsOf, 100);
+
+        assertEquals("user-1@example.com", lookup.get("user-1"));
+        assertEquals("user-1@example.com", lookup.get("user-1"));
+        assertNull(lookup.get("unknown-1"));
+        assertNull(lookup.get("unknown-1"));
+
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void batches_SplitAtMaxBatchSize() throws Exception {
+        lookup = lookup(this::emailsOf, 2);
+
+        getConcurrently(List.of("user-1", "user-2", "user-3", "user-4", "user-5"));
+
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2));
+        assertEquals(5, batches.stream().mapToInt(Set::size).sum());
+    }
+
+    @Test
+    void failedBatch_RethrownAndNotCached() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        lookup = lookup(keys -> {
+            if (failing.get()) {
+                throw new IllegalStateException("auth-service unavailable");
+            }
+            return emailsOf(keys);
+        }, 100);
+
+        assertThrows(IllegalStateException.class, () -> lookup.get("user-1"));
+
+        failing.set(false);
+        assertEquals("user-1@example.com", lookup.get("user-1"));
+        assertEquals(2, batches.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.phuonghieuto.backend.notification_service.unit.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.phuonghieuto.backend.notification_service.client.UserDirectoryReplica;
+import com.phuonghieuto.backend.notification_service.model.auth.dto.UserEmailDTO;
+
+class UserDirectoryReplicaTest {
+
+    private final UserDirectoryReplica replica = new UserDirectoryReplica();
+
+    @Test
+    void put_IndexesBothDirections() {
+        replica.put("user1", "user1@example.com");
+
+        assertEquals("user1@example.com", replica.getEmail("user1"));
+        assertEquals("user1", replica.getUserId("user1@example.com"));
+    }
+
+    @Test
+    void put_EmailChangeDropsOldEmail() {
+        replica.put("user1", "old@example.com");
+
+        replica.put("user1", "new@example.com");
+
+        assertEquals("new@example.com", replica.getEmail("user1"));
+        assertEquals("user1", replica.getUserId("new@example.com"));
+        assertNull(replica.getUserId("old@example.com"));
+        assertEquals(1, replica.size());
+    }
+
+    @Test
+    void put_IgnoresIncompleteEvents() {
+        replica.put("user1", null);
+        replica.put(null, "user1@example.com");
+
+        assertEquals(0, replica.size());
+    }
+
+    @Test
+    void load_KeepsUsersAlreadyWrittenByEvents() {
+        replica.put("user1", "new@example.com");
+
+        replica.load(List.of(new UserEmailDTO("user1", "old@example.com"),
+                new UserEmailDTO("user2", "user2@example.com")));
+
+        assertEquals("new@example.com", replica.getEmail("user1"));
+        assertNull(replica.getUserId("old@example.com"));
+        assertEquals("user2@example.com", replica.getEmail("user2"));
+        assertEquals(2, replica.size());
+    }
+}
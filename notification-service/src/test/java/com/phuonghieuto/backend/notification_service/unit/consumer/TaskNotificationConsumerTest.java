@@ -0,0 +1,107 @@
+package com.phuonghieuto.backend.notification_service.unit.consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import com.phuonghieuto.backend.notification_service.messaging.consumer.TaskNotificationConsumer;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
+import com.phuonghieuto.backend.notification_service.service.NotificationService;
+
+@ExtendWith(MockitoExtension.class)
+class TaskNotificationConsumerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private MessageRecoverer messageRecoverer;
+
+    @InjectMocks
+    private TaskNotificationConsumer consumer;
+
+    private static TaskNotificationDTO notification(String taskId) {
+        TaskNotificationDTO dto = new TaskNotificationDTO();
+        dto.setType("TASK_OVERDUE");
+        dto.setTaskId(taskId);
+        dto.setRecipientId("user-1");
+        return dto;
+    }
+
+    private static Message message(String taskId) {
+        return json("{\"type\":\"TASK_OVERDUE\",\"taskId\":\"" + taskId + "\",\"recipientId\":\"user-1\"}");
+    }
+
+    private static Message json(String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    @Test
+    void receiveOverdueNotifications_BatchQueued_NothingRecovered() {
+        when(notificationService.queueTaskNotifications(List.of(notification("task-1"), notification("task-2"))))
+                .thenReturn(2);
+
+        consumer.receiveOverdueNotifications(List.of(message("task-1"), message("task-2")));
+
+        verify(messageRecoverer, never()).recover(any(Message.class), any());
+    }
+
+    @Test
+    void receiveOverdueNotifications_UnreadableMessage_RecoveredAlone() {
+        Message unreadable = json("not json");
+        when(notificationService.queueTaskNotifications(List.of(notification("task-1")))).thenReturn(1);
+
+        consumer.receiveOverdueNotifications(List.of(unreadable, message("task-1")));
+
+        verify(messageRecoverer).recover(eq(unreadable), any(MessageConversionException.class));
+        verify(notificationService).queueTaskNotifications(List.of(notification("task-1")));
+    }
+
+    @Test
+    void receiveDueSoonNotifications_BatchRejected_OnlyFailingMessageRecovered() {
+        Message good = message("task-1");
+        Message bad = message("task-2");
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("bad record");
+        when(notificationService.queueTaskNotifications(List.of(notification("task-1"), notification("task-2"))))
+                .thenThrow(failure);
+        when(notificationService.queueTaskNotifications(List.of(notification("task-1")))).thenReturn(1);
+        when(notificationService.queueTaskNotifications(List.of(notification("task-2")))).thenThrow(failure);
+
+        consumer.receiveDueSoonNotifications(List.of(good, bad));
+
+        verify(messageRecoverer).recover(bad, failure);
+        verify(messageRecoverer, never()).recover(eq(good), any());
+    }
+
+    @Test
+    void receiveDueSoonNotifications_Outage_WholeBatchRecovered() {
+        Message first = message("task-1");
+        Message second = message("task-2");
+        DataAccessResourceFailureException outage = new DataAccessResourceFailureException("database down");
+        when(notificationService.queueTaskNotifications(anyList())).thenThrow(outage);
+
+        consumer.receiveDueSoonNotifications(List.of(first, second));
+
+        verify(messageRecoverer).recover(first, outage);
+        verify(messageRecoverer).recover(second, outage);
+        // No message by message fallback during an outage
+        verify(notificationService).queueTaskNotifications(anyList());
+    }
+}
@@ -1,14 +1,17 @@
 package com.phuonghieuto.backend.notification_service.unit.controller;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -20,6 +23,7 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -34,8 +38,12 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import com.phuonghieuto.backend.notification_service.controller.NotificationController;
+import com.phuonghieuto.backend.notification_service.exception.InvalidCursorException;
 import com.phuonghieuto.backend.notification_service.exception.NotificationNotFoundException;
 import com.phuonghieuto.backend.notification_service.exception.exception_handler.GlobalExceptionHandler;
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationFeedDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationSummaryDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
 import com.phuonghieuto.backend.notification_service.service.NotificationService;
 
@@ -61,7 +69,8 @@ class NotificationControllerTest {
         private NotificationEntity testNotification1;
         private NotificationEntity testNotification2;
         private List<NotificationEntity> notificationList;
-        private Page<NotificationEntity> notificationPage;
+        private List<NotificationSummaryDTO> summaryList;
+        private Page<NotificationSummaryDTO> summaryPage;
 
         @BeforeEach
         void setUp() {
@@ -80,7 +89,8 @@ class NotificationControllerTest {
 
                 // Create collection of notifications
                 notificationList = Arrays.asList(testNotification1, testNotification2);
-                notificationPage = new PageImpl<>(notificationList, PageRequest.of(0, 10), 2);
+                summaryList = Arrays.asList(toSummary(testNotification1), toSummary(testNotification2));
+                summaryPage = new PageImpl<>(summaryList, PageRequest.of(0, 10), 2);
 
                 // Set up JWT claims
 
@@ -107,12 +117,18 @@ class NotificationControllerTest {
                 return notification;
         }
 
+        private NotificationSummaryDTO toSummary(NotificationEntity notification) {
+                return NotificationSummaryDTO.builder().id(notification.getId()).title(notification.getTitle())
+                                .type(notification.getType()).read(notification.isRead())
+                                .createdAt(notification.getCreatedAt()).cursor(notification.getCursor()).build();
+        }
+
         @Test
         void getUserNotifications_Success() throws Exception {
                 // Arrange
                 // Use ArgumentMatcher instead of a specific Pageable instance
                 when(notificationService.getUserNotifications(eq(TEST_USER_ID), any(Pageable.class)))
-                                .thenReturn(notificationPage);
+                                .thenReturn(summaryPage);
                 when(authentication.getPrincipal()).thenReturn(jwt);
                 when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
                 // Act & Assert
@@ -121,6 +137,8 @@ class NotificationControllerTest {
                                 .andExpect(jsonPath("$.content[0].id").value("notification-1"))
                                 .andExpect(jsonPath("$.content[0].title").value("Task Due Soon"))
                                 .andExpect(jsonPath("$.content[0].read").value(false))
+                                .andExpect(jsonPath("$.content[0].message").doesNotExist())
+                                .andExpect(jsonPath("$.content[0].payload").doesNotExist())
                                 .andExpect(jsonPath("$.content[1].id").value("notification-2"))
                                 .andExpect(jsonPath("$.content[1].title").value("Task Overdue"))
                                 .andExpect(jsonPath("$.content[1].read").value(true));
@@ -129,10 +147,39 @@ class NotificationControllerTest {
                 verify(notificationService, times(1)).getUserNotifications(eq(TEST_USER_ID), any(Pageable.class));
         }
 
+        @Test
+        void replayNotifications_AfterCursor_ReturnsMissedNotifications() throws Exception {
+                // Arrange
+                testNotification1.setCursor(11L);
+                testNotification2.setCursor(12L);
+                when(notificationService.getNotificationsAfter(TEST_USER_ID, 10L, 100)).thenReturn(notificationList);
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+
+                // Act & Assert
+                mockMvc.perform(get("/notifications/replay").param("after", "10").principal(authentication))
+                                .andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(2)))
+                                .andExpect(jsonPath("$[0].cursor").value(11))
+                                .andExpect(jsonPath("$[1].cursor").value(12));
+
+                verify(notificationService, times(1)).getNotificationsAfter(TEST_USER_ID, 10L, 100);
+        }
+
+        @Test
+        void replayNotifications_LastEventIdHeader_UsedAsCursor() throws Exception {
+                // Arrange
+                when(notificationService.getNotificationsAfter(TEST_USER_ID, 12L, 100)).thenReturn(List.of());
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+
+                // Act & Assert
+                mockMvc.perform(get("/notifications/replay").header("Last-Event-ID", "12").principal(authentication))
+                                .andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(0)));
+        }
         @Test
         void getUserNotifications_EmptyList() throws Exception {
                 // Arrange
-                Page<NotificationEntity> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+                Page<NotificationSummaryDTO> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
                 when(notificationService.getUserNotifications(eq(TEST_USER_ID), any(Pageable.class)))
                                 .thenReturn(emptyPage);
                                 when(authentication.getPrincipal()).thenReturn(jwt);
@@ -149,33 +196,114 @@ class NotificationControllerTest {
         @Test
         void getUnreadNotifications_Success() throws Exception {
                 // Arrange
-                List<NotificationEntity> unreadList = Arrays.asList(testNotification1); // Only the unread notification
-                when(notificationService.getUnreadNotifications(TEST_USER_ID)).thenReturn(unreadList);
+                NotificationFeedDTO unread = NotificationFeedDTO.builder()
+                                .items(List.of(toSummary(testNotification1))).nextCursor("41").build(); // Only the unread notification
+                when(notificationService.getUnreadNotifications(TEST_USER_ID, null, NotificationService.FEED_PAGE_SIZE))
+                                .thenReturn(unread);
                 when(authentication.getPrincipal()).thenReturn(jwt);
                 when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
                 // Act & Assert
                 mockMvc.perform(get("/notifications/unread").principal(authentication)).andDo(print())
-                                .andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(1)))
-                                .andExpect(jsonPath("$[0].id").value("notification-1"))
-                                .andExpect(jsonPath("$[0].title").value("Task Due Soon"))
-                                .andExpect(jsonPath("$[0].read").value(false));
+                                .andExpect(status().isOk()).andExpect(jsonPath("$.items", hasSize(1)))
+                                .andExpect(jsonPath("$.items[0].id").value("notification-1"))
+                                .andExpect(jsonPath("$.items[0].title").value("Task Due Soon"))
+                                .andExpect(jsonPath("$.items[0].read").value(false))
+                                .andExpect(jsonPath("$.nextCursor").value("41"));
 
                 verify(jwt, times(1)).getClaim("userId");
-                verify(notificationService, times(1)).getUnreadNotifications(TEST_USER_ID);
+                verify(notificationService, times(1)).getUnreadNotifications(TEST_USER_ID, null,
+                                NotificationService.FEED_PAGE_SIZE);
+        }
+
+        @Test
+        void getUnreadNotifications_NextPage_LimitCapped() throws Exception {
+                // Arrange
+                when(notificationService.getUnreadNotifications(TEST_USER_ID, "41",
+                                NotificationService.MAX_FEED_PAGE_SIZE))
+                                .thenReturn(NotificationFeedDTO.builder().items(List.of()).build());
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+                // Act & Assert
+                mockMvc.perform(get("/notifications/unread").param("cursor", "41").param("limit", "10000")
+                                .principal(authentication)).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items", hasSize(0)))
+                                .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
 
         @Test
         void getUnreadNotifications_EmptyList() throws Exception {
                 // Arrange
-                when(notificationService.getUnreadNotifications(TEST_USER_ID)).thenReturn(List.of());
+                when(notificationService.getUnreadNotifications(TEST_USER_ID, null, NotificationService.FEED_PAGE_SIZE))
+                                .thenReturn(NotificationFeedDTO.builder().items(List.of()).build());
                 when(authentication.getPrincipal()).thenReturn(jwt);
                 when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
                 // Act & Assert
                 mockMvc.perform(get("/notifications/unread").principal(authentication)).andDo(print())
-                                .andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(0)));
+                                .andExpect(status().isOk()).andExpect(jsonPath("$.items", hasSize(0)));
 
                 verify(jwt, times(1)).getClaim("userId");
-                verify(notificationService, times(1)).getUnreadNotifications(TEST_USER_ID);
+                verify(notificationService, times(1)).getUnreadNotifications(TEST_USER_ID, null,
+                                NotificationService.FEED_PAGE_SIZE);
+        }
+
+        @Test
+        void getNotificationFeed_FirstPage_ReturnsNextCursor() throws Exception {
+                // Arrange
+                NotificationFeedDTO feed = NotificationFeedDTO.builder().items(summaryList).nextCursor("next-page")
+                                .build();
+                when(notificationService.getNotificationFeed(TEST_USER_ID, null, 2)).thenReturn(feed);
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+                // Act & Assert
+                mockMvc.perform(get("/notifications/feed").param("limit", "2").principal(authentication))
+                                .andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.items", hasSize(2)))
+                                .andExpect(jsonPath("$.items[0].id").value("notification-1"))
+                                .andExpect(jsonPath("$.items[1].id").value("notification-2"))
+                                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+
+                verify(notificationService, times(1)).getNotificationFeed(TEST_USER_ID, null, 2);
+        }
+
+        @Test
+        void getNotificationFeed_InvalidCursor_BadRequest() throws Exception {
+                // Arrange
+                when(notificationService.getNotificationFeed(TEST_USER_ID, "garbage", NotificationService.FEED_PAGE_SIZE))
+                                .thenThrow(new InvalidCursorException("Invalid cursor"));
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+                // Act & Assert
+                mockMvc.perform(get("/notifications/feed").param("cursor", "garbage").principal(authentication))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        }
+
+        @Test
+        void getNotification_Success_IncludesPayload() throws Exception {
+                // Arrange
+                when(notificationService.getNotification(TEST_USER_ID, "notification-1")).thenReturn(testNotification1);
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+
+                // Act & Assert
+                mockMvc.perform(get("/notifications/{id}", "notification-1").principal(authentication)).andDo(print())
+                                .andExpect(status().isOk()).andExpect(jsonPath("$.id").value("notification-1"))
+                                .andExpect(jsonPath("$.message").value("Your task 'Complete API Tests' is due soon"))
+                                .andExpect(jsonPath("$.payload").value(testNotification1.getPayload()));
+
+                verify(notificationService, times(1)).getNotification(TEST_USER_ID, "notification-1");
+        }
+
+        @Test
+        void getNotification_NotFound() throws Exception {
+                // Arrange
+                when(notificationService.getNotification(TEST_USER_ID, TEST_NOTIFICATION_ID))
+                                .thenThrow(new NotificationNotFoundException("Notification not found"));
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+
+                // Act & Assert
+                mockMvc.perform(get("/notifications/{id}", TEST_NOTIFICATION_ID).principal(authentication))
+                                .andExpect(status().isNotFound());
         }
 
         @Test
@@ -216,7 +344,9 @@ class NotificationControllerTest {
                                 "task-123", "TASK", true); // Now marked as read
 
                 // Arrange
-                when(notificationService.markAsRead(TEST_NOTIFICATION_ID)).thenReturn(readNotification);
+                when(notificationService.markAsRead(TEST_USER_ID, TEST_NOTIFICATION_ID)).thenReturn(readNotification);
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
 
                 // Act & Assert
                 mockMvc.perform(put("/notifications/{id}/read", TEST_NOTIFICATION_ID).principal(authentication)
@@ -225,21 +355,23 @@ class NotificationControllerTest {
                                 .andExpect(jsonPath("$.title").value("Task Due Soon"))
                                 .andExpect(jsonPath("$.read").value(true)); // Verify now marked as read
 
-                verify(notificationService, times(1)).markAsRead(TEST_NOTIFICATION_ID);
+                verify(notificationService, times(1)).markAsRead(TEST_USER_ID, TEST_NOTIFICATION_ID);
         }
 
         @Test
         void markAsRead_NotificationNotFound() throws Exception {
                 // Arrange
-                when(notificationService.markAsRead(TEST_NOTIFICATION_ID))
+                when(notificationService.markAsRead(TEST_USER_ID, TEST_NOTIFICATION_ID))
                                 .thenThrow(new NotificationNotFoundException("Notification not found"));
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
 
                 // Act & Assert
                 mockMvc.perform(put("/notifications/{id}/read", TEST_NOTIFICATION_ID).principal(authentication)
                                 .contentType(MediaType.APPLICATION_JSON)).andDo(print())
                                 .andExpect(status().isNotFound());
 
-                verify(notificationService, times(1)).markAsRead(TEST_NOTIFICATION_ID);
+                verify(notificationService, times(1)).markAsRead(TEST_USER_ID, TEST_NOTIFICATION_ID);
         }
 
         @Test
@@ -274,4 +406,56 @@ class NotificationControllerTest {
                 verify(jwt, times(1)).getClaim("userId");
                 verify(notificationService, times(1)).markAllAsRead(TEST_USER_ID);
         }
+
+        @Test
+        void markAsReadInBulk_ByIds_Success() throws Exception {
+                // Arrange
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+                when(notificationService.markMatchingAsRead(any(NotificationFilter.class))).thenReturn(2);
+
+                // Act & Assert
+                mockMvc.perform(post("/notifications/bulk/read").principal(authentication)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[\"notification-1\",\"notification-2\"]}"))
+                                .andDo(print()).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.affected").value(2));
+
+                // Scoped to the caller, by ids only
+                ArgumentCaptor<NotificationFilter> captor = ArgumentCaptor.forClass(NotificationFilter.class);
+                verify(notificationService, times(1)).markMatchingAsRead(captor.capture());
+                assertEquals(TEST_USER_ID, captor.getValue().userId());
+                assertEquals(List.of("notification-1", "notification-2"), captor.getValue().ids());
+        }
+
+        @Test
+        void archiveInBulk_ByFilter_Success() throws Exception {
+                // Arrange
+                when(authentication.getPrincipal()).thenReturn(jwt);
+                when(jwt.getClaim("userId")).thenReturn(TEST_USER_ID);
+                when(notificationService.archiveMatching(any(NotificationFilter.class))).thenReturn(5);
+
+                // Act & Assert
+                mockMvc.perform(post("/notifications/bulk/archive").principal(authentication)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"type\":\"TASK_OVERDUE\",\"referenceId\":\"task-456\"}"))
+                                .andDo(print()).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.affected").value(5));
+
+                ArgumentCaptor<NotificationFilter> captor = ArgumentCaptor.forClass(NotificationFilter.class);
+                verify(notificationService, times(1)).archiveMatching(captor.capture());
+                assertEquals(TEST_USER_ID, captor.getValue().userId());
+                assertEquals("TASK_OVERDUE", captor.getValue().type());
+                assertEquals("task-456", captor.getValue().referenceId());
+        }
+
+        @Test
+        void deleteInBulk_NoIdsOrFilter_BadRequest() throws Exception {
+                // Act & Assert - an empty body must not turn into "delete everything"
+                mockMvc.perform(post("/notifications/bulk/delete").principal(authentication)
+                                .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                                .andDo(print()).andExpect(status().isBadRequest());
+
+                verify(notificationService, never()).deleteMatching(any());
+        }
 }
\ No newline at end of file
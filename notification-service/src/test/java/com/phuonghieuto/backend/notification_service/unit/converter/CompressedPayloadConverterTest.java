@@ -0,0 +1,47 @@
+package com.phuonghieuto.backend.notification_service.unit.converter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import com.phuonghieuto.backend.notification_service.model.notification.converter.CompressedPayloadConverter;
+
+class CompressedPayloadConverterTest {
+
+    private final CompressedPayloadConverter converter = new CompressedPayloadConverter();
+
+    @Test
+    void largePayload_StoredCompressed_RoundTrips() {
+        String payload = "{\"taskId\":\"task-1\",\"description\":\"" + "Long task description. ".repeat(40) + "\"}";
+
+        byte[] stored = converter.convertToDatabaseColumn(payload);
+
+        assertTrue(stored.length < payload.length() / 4);
+        assertEquals(payload, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void smallPayload_StoredAsPlainText() {
+        String payload = "{\"taskId\":\"task-1\",\"taskTitle\":\"Test Task\"}";
+
+        byte[] stored = converter.convertToDatabaseColumn(payload);
+
+        assertArrayEquals(payload.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(payload, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void uncompressedLegacyRow_ReadAsText() {
+        String payload = "{\"taskId\":\"task-1\",\"taskTitle\":\"T\u00e4sk\"}";
+
+        assertEquals(payload, converter.convertToEntityAttribute(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void nullPayload_StaysNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,152 @@
+package com.phuonghieuto.backend.notification_service.unit.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.mail.MailSendException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.phuonghieuto.backend.notification_service.client.UserDirectory;
+import com.phuonghieuto.backend.notification_service.messaging.config.RabbitMQConfig;
+import com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher;
+import com.phuonghieuto.backend.notification_service.messaging.email.EmailService;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketService;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskEmailDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    private static final String TEST_USER_ID = "test-user-id";
+    private static final String TEST_EMAIL = "test@example.com";
+
+    @Mock
+    private WebSocketService webSocketService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private MessageRecoverer messageRecoverer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        // Both pools run on the calling thread
+        dispatcher = new NotificationDispatcher(webSocketService, emailService, userDirectory, meterRegistry,
+                Runnable::run, Runnable::run, messageRecoverer);
+    }
+
+    private static TaskNotificationDTO task(String taskId) {
+        TaskNotificationDTO taskNotification = new TaskNotificationDTO();
+        taskNotification.setTaskId(taskId);
+        taskNotification.setRecipientId(TEST_USER_ID);
+        return taskNotification;
+    }
+
+    private double failures(String handling) {
+        return meterRegistry.counter("notification.dispatch.email.failed", "handling", handling).count();
+    }
+
+    @Test
+    void sendTaskEmail_SmtpFailure_QueuedForRetry() {
+        // Arrange
+        TaskNotificationDTO taskNotification = task("task-1");
+        MailSendException failure = new MailSendException("SMTP unavailable");
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(TEST_EMAIL);
+        doThrow(failure).when(emailService).sendTaskOverdueEmail(taskNotification, TEST_EMAIL);
+
+        // Act
+        dispatcher.sendTaskEmail(taskNotification, true, new ConcurrentHashMap<>());
+
+        // Assert - handed to the recoverer as a message of the task email queue
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messageRecoverer).recover(captor.capture(), eq(failure));
+        Message message = captor.getValue();
+        assertEquals(RabbitMQConfig.QUEUE_TASK_EMAIL, message.getMessageProperties().getConsumerQueue());
+        TaskEmailDTO taskEmail = (TaskEmailDTO) new Jackson2JsonMessageConverter().fromMessage(message);
+        assertEquals(TEST_USER_ID, taskEmail.getRecipientId());
+        assertEquals(List.of("task-1"), taskEmail.getTaskNotifications().stream()
+                .map(TaskNotificationDTO::getTaskId).toList());
+        assertEquals(1.0, failures("requeued"));
+    }
+
+    @Test
+    void sendTaskDigestEmail_RecipientUnknown_HandedToRecoverer() {
+        // Arrange - the recoverer parks failures it cannot retry
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(null);
+
+        // Act
+        dispatcher.sendTaskDigestEmail(TEST_USER_ID, List.of(task("task-1"), task("task-2")), false);
+
+        // Assert
+        verify(messageRecoverer).recover(any(Message.class), any(IllegalStateException.class));
+        verify(emailService, never()).sendTaskDigestEmail(any(), eq(false), any());
+        assertEquals(1.0, failures("requeued"));
+    }
+
+    @Test
+    void sendTaskEmail_RetryCannotBeQueued_CountedAsDropped() {
+        // Arrange
+        TaskNotificationDTO taskNotification = task("task-1");
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(TEST_EMAIL);
+        doThrow(new MailSendException("SMTP unavailable")).when(emailService)
+                .sendTaskDueSoonEmail(taskNotification, TEST_EMAIL);
+        doThrow(new IllegalStateException("broker down")).when(messageRecoverer).recover(any(Message.class), any());
+
+        // Act
+        dispatcher.sendTaskEmail(taskNotification, false, new ConcurrentHashMap<>());
+
+        // Assert
+        assertEquals(0.0, failures("requeued"));
+        assertEquals(1.0, failures("dropped"));
+    }
+
+    @Test
+    void sendTaskEmail_Delivered_NoFailureCounted() {
+        // Arrange
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(TEST_EMAIL);
+
+        // Act
+        dispatcher.sendTaskEmail(task("task-1"), true, new ConcurrentHashMap<>());
+
+        // Assert
+        verify(emailService).sendTaskOverdueEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+        verify(messageRecoverer, never()).recover(any(Message.class), any());
+        assertEquals(0.0, failures("requeued"));
+    }
+
+    @Test
+    void deliverTaskEmail_Failure_ThrownToListener() {
+        // Arrange
+        TaskEmailDTO taskEmail = new TaskEmailDTO(TEST_USER_ID, false, List.of(task("task-1"), task("task-2")));
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(TEST_EMAIL);
+        doThrow(new MailSendException("SMTP unavailable")).when(emailService)
+                .sendTaskDigestEmail(taskEmail.getTaskNotifications(), false, TEST_EMAIL);
+
+        // Act & Assert - the listener container hands it to the recoverer, not the dispatcher
+        assertThrows(MailSendException.class, () -> dispatcher.deliverTaskEmail(taskEmail));
+        verify(messageRecoverer, never()).recover(any(Message.class), any());
+    }
+}
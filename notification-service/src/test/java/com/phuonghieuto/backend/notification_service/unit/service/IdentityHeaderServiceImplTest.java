@@ -0,0 +1,153 @@
+package com.phuonghieuto.backend.notification_service.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.phuonghieuto.backend.notification_service.model.auth.UserType;
+import com.phuonghieuto.backend.notification_service.model.auth.enums.TokenClaims;
+import com.phuonghieuto.backend.notification_service.service.impl.IdentityHeaderServiceImpl;
+
+public class IdentityHeaderServiceImplTest {
+
+    private static final String SECRET = "test-identity-secret";
+    private static final String TOKEN = "header.payload.signature";
+
+    private final IdentityHeaderServiceImpl identityHeaderService = new IdentityHeaderServiceImpl(SECRET);
+
+    @Test
+    void getAuthentication_ValidHeader() throws Exception {
+        // Arrange
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"userType\":\"ADMIN\",\"exp\":" + expiresAt, TOKEN, SECRET);
+
+        // Act
+        UsernamePasswordAuthenticationToken auth = identityHeaderService.getAuthentication(header, TOKEN);
+
+        // Assert
+        assertNotNull(auth);
+        assertTrue(auth.getPrincipal() instanceof Jwt);
+        Jwt jwt = (Jwt) auth.getPrincipal();
+        assertEquals(TOKEN, jwt.getTokenValue());
+        assertEquals("user123", jwt.getClaim(TokenClaims.USER_ID.getValue()));
+        assertEquals(Instant.ofEpochSecond(expiresAt), jwt.getExpiresAt());
+        assertTrue(auth.getAuthorities().contains(new SimpleGrantedAuthority("ADMIN")));
+    }
+
+    @Test
+    void getAuthentication_MissingUserType_DefaultsToUser() throws Exception {
+        // Arrange
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"exp\":" + expiresAt, TOKEN, SECRET);
+
+        // Act
+        UsernamePasswordAuthenticationToken auth = identityHeaderService.getAuthentication(header, TOKEN);
+
+        // Assert
+        assertNotNull(auth);
+        assertEquals(UserType.USER.name(), auth.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void getAuthentication_SignedWithOtherSecret() throws Exception {
+        // Arrange
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"exp\":" + expiresAt, TOKEN, "other-secret");
+
+        // Act & Assert
+        assertNull(identityHeaderService.getAuthentication(header, TOKEN));
+    }
+
+    @Test
+    void getAuthentication_TamperedPayload() throws Exception {
+        // Arrange
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"exp\":" + expiresAt, TOKEN, SECRET);
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"userId\":\"admin\",\"exp\":" + expiresAt + "}").getBytes(StandardCharsets.UTF_8));
+        String tamperedHeader = forgedPayload + header.substring(header.indexOf('.'));
+
+        // Act & Assert
+        assertNull(identityHeaderService.getAuthentication(tamperedHeader, TOKEN));
+    }
+
+    @Test
+    void getAuthentication_HeaderForAnotherToken() throws Exception {
+        // Arrange
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"exp\":" + expiresAt, "captured.token.value", SECRET);
+
+        // Act & Assert
+        assertNull(identityHeaderService.getAuthentication(header, TOKEN));
+    }
+
+    @Test
+    void getAuthentication_HeaderWithoutTokenHash() throws Exception {
+        // Arrange
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"exp\":" + expiresAt, null, SECRET);
+
+        // Act & Assert
+        assertNull(identityHeaderService.getAuthentication(header, TOKEN));
+    }
+
+    @Test
+    void getAuthentication_ExpiredHeader() throws Exception {
+        // Arrange
+        long expiresAt = Instant.now().minusSeconds(1).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"exp\":" + expiresAt, TOKEN, SECRET);
+
+        // Act & Assert
+        assertNull(identityHeaderService.getAuthentication(header, TOKEN));
+    }
+
+    @Test
+    void getAuthentication_MalformedHeader() {
+        // Act & Assert
+        assertNull(identityHeaderService.getAuthentication("not-an-identity", TOKEN));
+        assertNull(identityHeaderService.getAuthentication("bm90IGpzb24.!!!", TOKEN));
+    }
+
+    @Test
+    void getAuthentication_NoHeader() {
+        // Act & Assert
+        assertNull(identityHeaderService.getAuthentication(null, TOKEN));
+    }
+
+    @Test
+    void getAuthentication_NoSecretConfigured() throws Exception {
+        // Arrange
+        IdentityHeaderServiceImpl disabledService = new IdentityHeaderServiceImpl("");
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        String header = sign("\"userId\":\"user123\",\"exp\":" + expiresAt, TOKEN, SECRET);
+
+        // Act & Assert
+        assertNull(disabledService.getAuthentication(header, TOKEN));
+    }
+
+    // Same encoding as the gateway's IdentityHeaderService
+    private static String sign(String claims, String token, String secret) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String json = "{" + claims + (token != null ? ",\"tokenHash\":\"" + encoder.encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII))) + "\"" : "")
+                + "}";
+        String payload = encoder.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return payload + "." + encoder.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -14,7 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import com.phuonghieuto.backend.notification_service.model.preference.entity.NotificationPreferenceEntity;
+import com.phuonghieuto.backend.notification_service.model.preference.event.PreferencesChangedEvent;
 import com.phuonghieuto.backend.notification_service.repository.NotificationPreferenceRepository;
 import com.phuonghieuto.backend.notification_service.service.impl.NotificationPreferenceServiceImpl;
 
@@ -24,6 +26,9 @@ class NotificationPreferenceServiceImplTest {
     @Mock
     private NotificationPreferenceRepository preferenceRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private NotificationPreferenceServiceImpl notificationPreferenceService;
 
@@ -139,6 +144,7 @@ class NotificationPreferenceServiceImplTest {
         // Verify repository calls
         verify(preferenceRepository).findByUserId(TEST_USER_ID);
         verify(preferenceRepository).save(updatedPreference);
+        verify(eventPublisher).publishEvent(new PreferencesChangedEvent(TEST_USER_ID));
     }
 
     @Test
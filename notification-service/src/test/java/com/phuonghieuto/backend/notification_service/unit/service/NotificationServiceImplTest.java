@@ -3,15 +3,21 @@ package com.phuonghieuto.backend.notification_service.unit.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -22,24 +28,39 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.phuonghieuto.backend.notification_service.client.AuthServiceClient;
+import com.phuonghieuto.backend.notification_service.cache.LocalPreferenceStore;
+import com.phuonghieuto.backend.notification_service.client.UserDirectory;
+import com.phuonghieuto.backend.notification_service.exception.InvalidCursorException;
+import com.phuonghieuto.backend.notification_service.exception.NotificationNotFoundException;
+import com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher;
 import com.phuonghieuto.backend.notification_service.messaging.email.EmailService;
 import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketService;
-import com.phuonghieuto.backend.notification_service.model.auth.dto.UserEmailDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.FeedCursor;
+import com.phuonghieuto.backend.notification_service.model.notification.NotificationFilter;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationFeedDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.NotificationSummaryDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.dto.TaskNotificationDTO;
 import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.PendingNotificationEntity;
 import com.phuonghieuto.backend.notification_service.model.preference.entity.NotificationPreferenceEntity;
 import com.phuonghieuto.backend.notification_service.repository.NotificationPreferenceRepository;
 import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.PendingNotificationRepository;
+import com.phuonghieuto.backend.notification_service.service.NotificationService;
+import com.phuonghieuto.backend.notification_service.service.ReadStateService;
 import com.phuonghieuto.backend.notification_service.service.impl.NotificationServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +72,9 @@ class NotificationServiceImplTest {
     @Mock
     private NotificationPreferenceRepository preferenceRepository;
 
+    @Mock
+    private PendingNotificationRepository pendingNotificationRepository;
+
     @Mock
     private WebSocketService webSocketService;
 
@@ -58,12 +82,14 @@ class NotificationServiceImplTest {
     private EmailService emailService;
 
     @Mock
-    private AuthServiceClient authServiceClient;
+    private UserDirectory userDirectory;
 
     @Mock
     private ObjectMapper objectMapper;
 
-    @InjectMocks
+    @Mock
+    private ReadStateService readStateService;
+
     private NotificationServiceImpl notificationService;
 
     private static final String TEST_USER_ID = "test-user-id";
@@ -79,6 +105,15 @@ class NotificationServiceImplTest {
 
     @BeforeEach
     void setUp() throws JsonProcessingException {
+        // Real local store backed by the mocked repository, so preference lookups stay visible to the tests,
+        // and a dispatcher running every channel on the calling thread
+        NotificationDispatcher notificationDispatcher = new NotificationDispatcher(webSocketService, emailService,
+                userDirectory, new SimpleMeterRegistry(), Runnable::run, Runnable::run,
+                Mockito.mock(MessageRecoverer.class));
+        notificationService = new NotificationServiceImpl(notificationRepository, pendingNotificationRepository,
+                new LocalPreferenceStore(preferenceRepository, 1000, Duration.ofMinutes(10)), notificationDispatcher,
+                objectMapper, readStateService);
+
         // Set up task notification
         taskNotification = new TaskNotificationDTO();
         taskNotification.setTaskId(TEST_TASK_ID);
@@ -110,240 +145,313 @@ class NotificationServiceImplTest {
     }
 
     @Test
-    void createTaskDueSoonNotification_Success() throws Exception {
+    void queueTaskNotifications_ValidNotifications_InsertedInBulkWithoutDelivery() throws Exception {
         // Arrange
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
-        when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(preferenceEntity));
-        when(authServiceClient.getUserEmail(TEST_USER_ID)).thenReturn(new UserEmailDTO(TEST_USER_ID, TEST_EMAIL));
-        doNothing().when(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        doNothing().when(emailService).sendTaskDueSoonEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+        taskNotification.setType("TASK_DUE_SOON");
+        TaskNotificationDTO overdueNotification = new TaskNotificationDTO("TASK_OVERDUE", "overdue-task-id",
+                "Overdue Task", "test-board-id", "Test Board", null, null, TEST_USER_ID, null, null);
+        TaskNotificationDTO otherUserNotification = new TaskNotificationDTO("TASK_DUE_SOON", "other-task-id",
+                "Other Task", "test-board-id", "Test Board", null, null, "other-user-id", null, null);
+
+        when(objectMapper.writeValueAsString(any(TaskNotificationDTO.class))).thenReturn(jsonPayload);
 
         // Act
-        NotificationEntity result = notificationService.createTaskDueSoonNotification(taskNotification);
+        int queued = notificationService
+                .queueTaskNotifications(List.of(taskNotification, otherUserNotification, overdueNotification));
 
         // Assert
-        assertNotNull(result);
-        assertEquals(TEST_NOTIFICATION_ID, result.getId());
-        assertEquals(TEST_USER_ID, result.getUserId());
-        assertEquals(TEST_TASK_ID, result.getReferenceId());
-        assertEquals("TASK", result.getReferenceType());
-        assertFalse(result.isRead());
-
-        // Verify interactions
-        verify(notificationRepository).save(any(NotificationEntity.class));
-        verify(preferenceRepository).findByUserId(TEST_USER_ID);
-        verify(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        verify(authServiceClient).getUserEmail(TEST_USER_ID);
-        verify(emailService).sendTaskDueSoonEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
-    }
+        assertEquals(3, queued);
+        ArgumentCaptor<List<PendingNotificationEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pendingNotificationRepository).saveAll(captor.capture());
+        assertEquals(3, captor.getValue().size());
+        assertEquals("TASK_OVERDUE", captor.getValue().get(2).getType());
 
-        @Test
-    void createTaskDueSoonNotification_WithQuietHours_NoNotifications() throws Exception {
-        // Arrange
-        preferenceEntity.setQuietHoursEnabled(true);
-        preferenceEntity.setQuietHoursStart(18); // 6 PM
-        preferenceEntity.setQuietHoursEnd(6);    // 6 AM
-        
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
-        when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(preferenceEntity));
-        
-        // Create spy and configure it 
-        NotificationServiceImpl notificationServiceSpy = Mockito.spy(notificationService);
-        Mockito.doReturn(LocalTime.of(23, 0)).when(notificationServiceSpy).getCurrentTime();
-        
-        // Act - Use the spy instead of the original service
-        NotificationEntity result = notificationServiceSpy.createTaskDueSoonNotification(taskNotification);
-        
-        // Assert
-        assertNotNull(result);
-        assertEquals(TEST_NOTIFICATION_ID, result.getId());
-        
-        // Verify interactions - should still save notification but not send it
-        verify(notificationRepository).save(any(NotificationEntity.class));
-        verify(preferenceRepository).findByUserId(TEST_USER_ID);
+        // Nothing is persisted or delivered until the coalescing window closes
+        verify(notificationRepository, never()).save(any(NotificationEntity.class));
+        verify(notificationRepository, never()).saveAll(anyList());
         verify(webSocketService, never()).sendNotificationToUser(anyString(), any(NotificationEntity.class));
-        verify(authServiceClient, never()).getUserEmail(anyString());
-        verify(emailService, never()).sendTaskDueSoonEmail(any(TaskNotificationDTO.class), anyString());
+        verify(preferenceRepository, never()).findByUserIdIn(anyCollection());
     }
 
     @Test
-    void createTaskDueSoonNotification_NoPreferences_CreatesDefaultAndNotifies() throws Exception {
+    void queueTaskNotifications_UnknownTypesOnly_NothingQueued() {
         // Arrange
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
-        when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.empty());
-        when(preferenceRepository.save(any(NotificationPreferenceEntity.class))).thenReturn(preferenceEntity);
-        when(authServiceClient.getUserEmail(TEST_USER_ID)).thenReturn(new UserEmailDTO(TEST_USER_ID, TEST_EMAIL));
-        doNothing().when(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        doNothing().when(emailService).sendTaskDueSoonEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+        taskNotification.setType("BOARD_INVITATION");
 
         // Act
-        NotificationEntity result = notificationService.createTaskDueSoonNotification(taskNotification);
+        int queued = notificationService.queueTaskNotifications(List.of(taskNotification));
 
         // Assert
-        assertNotNull(result);
-        assertEquals(TEST_NOTIFICATION_ID, result.getId());
-
-        // Verify interactions - should create default preferences
-        verify(notificationRepository).save(any(NotificationEntity.class));
-        verify(preferenceRepository).findByUserId(TEST_USER_ID);
-        verify(preferenceRepository).save(any(NotificationPreferenceEntity.class));
-        verify(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        verify(authServiceClient).getUserEmail(TEST_USER_ID);
-        verify(emailService).sendTaskDueSoonEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+        assertEquals(0, queued);
+        verify(pendingNotificationRepository, never()).saveAll(anyList());
     }
 
     @Test
-    void createTaskDueSoonNotification_NotificationsDisabled_OnlySavesNotification() throws Exception {
+    void flushPendingNotifications_MultipleTasks_SingleDigestNotificationAndEmail() throws Exception {
         // Arrange
-        preferenceEntity.setEmailEnabled(false);
-        preferenceEntity.setWebsocketEnabled(false);
-        preferenceEntity.setDueSoonNotifications(false);
-
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
+        List<PendingNotificationEntity> pending = List.of(pendingNotification("1"), pendingNotification("2"),
+                pendingNotification("3"));
+        TaskNotificationDTO first = new TaskNotificationDTO("TASK_OVERDUE", "task-1", "First", "test-board-id",
+                "Test Board", null, null, TEST_USER_ID, null, null);
+        TaskNotificationDTO second = new TaskNotificationDTO("TASK_OVERDUE", "task-2", "Second", "test-board-id",
+                "Test Board", null, null, TEST_USER_ID, null, null);
+        TaskNotificationDTO third = new TaskNotificationDTO("TASK_OVERDUE", "task-3", "Third", "test-board-id",
+                "Test Board", null, null, TEST_USER_ID, null, null);
+
+        when(pendingNotificationRepository.findByUserIdAndTypeOrderByCreatedAtAsc(TEST_USER_ID, "TASK_OVERDUE"))
+                .thenReturn(pending);
         when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(preferenceEntity));
+        when(objectMapper.readValue(anyString(), eq(TaskNotificationDTO.class))).thenReturn(first, second, third);
+        when(objectMapper.writeValueAsString(anyList())).thenReturn("[]");
+        when(notificationRepository.save(any(NotificationEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(TEST_EMAIL);
 
         // Act
-        NotificationEntity result = notificationService.createTaskDueSoonNotification(taskNotification);
+        NotificationEntity result = notificationService.flushPendingNotifications(TEST_USER_ID, "TASK_OVERDUE");
 
         // Assert
         assertNotNull(result);
-        assertEquals(TEST_NOTIFICATION_ID, result.getId());
-
-        // Verify interactions - should still save notification but not send it
-        verify(notificationRepository).save(any(NotificationEntity.class));
-        verify(preferenceRepository).findByUserId(TEST_USER_ID);
-        verify(webSocketService, never()).sendNotificationToUser(anyString(), any(NotificationEntity.class));
-        verify(authServiceClient, never()).getUserEmail(anyString());
-        verify(emailService, never()).sendTaskDueSoonEmail(any(TaskNotificationDTO.class), anyString());
+        assertEquals("3 Tasks Overdue", result.getTitle());
+        assertEquals("TASK_DIGEST", result.getReferenceType());
+        assertTrue(result.getMessage().contains("'First', 'Second', 'Third'"));
+
+        // One row, one frame and one email for the whole window
+        verify(notificationRepository, times(1)).save(any(NotificationEntity.class));
+        verify(webSocketService, times(1)).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
+        verify(emailService).sendTaskDigestEmail(List.of(first, second, third), true, TEST_EMAIL);
+        verify(emailService, never()).sendTaskOverdueEmail(any(TaskNotificationDTO.class), anyString());
+        verify(pendingNotificationRepository).deleteAllInBatch(pending);
+        verify(readStateService).adjustUnreadCount(TEST_USER_ID, 1);
     }
 
     @Test
-    void createTaskDueSoonNotification_EmailServiceException_ContinuesWithoutEmail() throws Exception {
+    void flushPendingNotifications_SingleTask_NotificationAndEmail() throws Exception {
         // Arrange
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
-        when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(preferenceEntity));
-        when(authServiceClient.getUserEmail(TEST_USER_ID)).thenReturn(new UserEmailDTO(TEST_USER_ID, TEST_EMAIL));
-        doNothing().when(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
+        taskNotification.setType("TASK_DUE_SOON");
+        List<PendingNotificationEntity> pending = List.of(pendingNotification("1"));
 
-        // Simulate email service exception
-        when(authServiceClient.getUserEmail(TEST_USER_ID)).thenThrow(new RuntimeException("Email service error"));
+        when(pendingNotificationRepository.findByUserIdAndTypeOrderByCreatedAtAsc(TEST_USER_ID, "TASK_DUE_SOON"))
+                .thenReturn(pending);
+        when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(preferenceEntity));
+        when(objectMapper.readValue(anyString(), eq(TaskNotificationDTO.class))).thenReturn(taskNotification);
+        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(TEST_EMAIL);
 
         // Act
-        NotificationEntity result = notificationService.createTaskDueSoonNotification(taskNotification);
+        NotificationEntity result = notificationService.flushPendingNotifications(TEST_USER_ID, "TASK_DUE_SOON");
 
-        // Assert
-        assertNotNull(result);
+        // Assert - a window of one is delivered as a plain task notification
         assertEquals(TEST_NOTIFICATION_ID, result.getId());
-
-        // Verify interactions - should still send websocket notification but not email
-        verify(notificationRepository).save(any(NotificationEntity.class));
-        verify(preferenceRepository).findByUserId(TEST_USER_ID);
         verify(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        verify(authServiceClient).getUserEmail(TEST_USER_ID);
-        verify(emailService, never()).sendTaskDueSoonEmail(any(TaskNotificationDTO.class), anyString());
+        verify(emailService).sendTaskDueSoonEmail(taskNotification, TEST_EMAIL);
+        verify(pendingNotificationRepository).deleteAllInBatch(pending);
+        verify(readStateService).adjustUnreadCount(TEST_USER_ID, 1);
     }
 
     @Test
-    void createTaskOverdueNotification_Success() throws Exception {
-        // Arrange
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
+    void flushPendingNotifications_OverdueDuringQuietHours_StillDelivered() throws Exception {
+        // Arrange - overdue notifications bypass quiet hours
+        preferenceEntity.setQuietHoursEnabled(true);
+        preferenceEntity.setQuietHoursStart(18);
+        preferenceEntity.setQuietHoursEnd(6);
+        taskNotification.setType("TASK_OVERDUE");
+        List<PendingNotificationEntity> pending = List.of(pendingNotification("1"));
+
+        when(pendingNotificationRepository.findByUserIdAndTypeOrderByCreatedAtAsc(TEST_USER_ID, "TASK_OVERDUE"))
+                .thenReturn(pending);
         when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(preferenceEntity));
-        when(authServiceClient.getUserEmail(TEST_USER_ID)).thenReturn(new UserEmailDTO(TEST_USER_ID, TEST_EMAIL));
-        doNothing().when(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        doNothing().when(emailService).sendTaskOverdueEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+        when(objectMapper.readValue(anyString(), eq(TaskNotificationDTO.class))).thenReturn(taskNotification);
+        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
+        when(userDirectory.getEmail(TEST_USER_ID)).thenReturn(TEST_EMAIL);
+
+        NotificationServiceImpl notificationServiceSpy = Mockito.spy(notificationService);
+        Mockito.doReturn(LocalTime.of(23, 0)).when(notificationServiceSpy).getCurrentTime();
 
         // Act
-        NotificationEntity result = notificationService.createTaskOverdueNotification(taskNotification);
+        NotificationEntity result = notificationServiceSpy.flushPendingNotifications(TEST_USER_ID, "TASK_OVERDUE");
 
         // Assert
         assertNotNull(result);
-        assertEquals(TEST_NOTIFICATION_ID, result.getId());
-        assertEquals(TEST_USER_ID, result.getUserId());
-        assertEquals(TEST_TASK_ID, result.getReferenceId());
-        assertEquals("TASK", result.getReferenceType());
-        assertFalse(result.isRead());
-
-        // Verify interactions
-        verify(notificationRepository).save(any(NotificationEntity.class));
-        verify(preferenceRepository).findByUserId(TEST_USER_ID);
         verify(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        verify(authServiceClient).getUserEmail(TEST_USER_ID);
-        verify(emailService).sendTaskOverdueEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+        verify(emailService).sendTaskOverdueEmail(taskNotification, TEST_EMAIL);
+        verify(pendingNotificationRepository).deleteAllInBatch(pending);
     }
 
     @Test
-    void createTaskOverdueNotification_WithQuietHours_StillNotifies() throws Exception {
-        // Arrange - Overdue notifications bypass quiet hours
+    void flushPendingNotifications_DueSoonDuringQuietHours_WindowKeptOpen() {
+        // Arrange
         preferenceEntity.setQuietHoursEnabled(true);
-        preferenceEntity.setQuietHoursStart(LocalTime.now().getHour() - 1); // Start 1 hour ago
-        preferenceEntity.setQuietHoursEnd(LocalTime.now().getHour() + 1); // End 1 hour from now
+        preferenceEntity.setQuietHoursStart(18);
+        preferenceEntity.setQuietHoursEnd(6);
+        List<PendingNotificationEntity> pending = List.of(pendingNotification("1"), pendingNotification("2"));
 
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(notificationEntity);
+        when(pendingNotificationRepository.findByUserIdAndTypeOrderByCreatedAtAsc(TEST_USER_ID, "TASK_DUE_SOON"))
+                .thenReturn(pending);
         when(preferenceRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(preferenceEntity));
-        when(authServiceClient.getUserEmail(TEST_USER_ID)).thenReturn(new UserEmailDTO(TEST_USER_ID, TEST_EMAIL));
-        doNothing().when(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        doNothing().when(emailService).sendTaskOverdueEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+
+        NotificationServiceImpl notificationServiceSpy = Mockito.spy(notificationService);
+        Mockito.doReturn(LocalTime.of(23, 0)).when(notificationServiceSpy).getCurrentTime();
 
         // Act
-        NotificationEntity result = notificationService.createTaskOverdueNotification(taskNotification);
+        NotificationEntity result = notificationServiceSpy.flushPendingNotifications(TEST_USER_ID, "TASK_DUE_SOON");
 
-        // Assert
-        assertNotNull(result);
-        assertEquals(TEST_NOTIFICATION_ID, result.getId());
+        // Assert - pending rows stay queued for the first digest after quiet hours
+        assertNull(result);
+        verify(notificationRepository, never()).save(any(NotificationEntity.class));
+        verify(pendingNotificationRepository, never()).deleteAllInBatch(anyList());
+        verify(webSocketService, never()).sendNotificationToUser(anyString(), any(NotificationEntity.class));
+        // and the window is not looked at again before quiet hours end at 06:00 the next day
+        verify(pendingNotificationRepository).saveAll(pending);
+        LocalDateTime quietHoursEnd = LocalDate.now().plusDays(1).atTime(6, 0);
+        pending.forEach(pendingNotification -> assertEquals(quietHoursEnd, pendingNotification.getNextAttemptAt()));
+    }
 
-        // Verify interactions - should still notify despite quiet hours (overdue is
-        // urgent)
-        verify(notificationRepository).save(any(NotificationEntity.class));
-        verify(preferenceRepository).findByUserId(TEST_USER_ID);
-        verify(webSocketService).sendNotificationToUser(eq(TEST_USER_ID), any(NotificationEntity.class));
-        verify(authServiceClient).getUserEmail(TEST_USER_ID);
-        verify(emailService).sendTaskOverdueEmail(any(TaskNotificationDTO.class), eq(TEST_EMAIL));
+    private PendingNotificationEntity pendingNotification(String id) {
+        return PendingNotificationEntity.builder().id(id).userId(TEST_USER_ID).payload(jsonPayload).build();
     }
 
     @Test
     void getUserNotifications_Success() {
         // Arrange
         Pageable pageable = Pageable.unpaged();
-        Page<NotificationEntity> page = new PageImpl<>(notificationList);
-        when(notificationRepository.findByUserIdOrderByCreatedAtDesc(TEST_USER_ID, pageable)).thenReturn(page);
+        List<NotificationSummaryDTO> summaries = List.of(summary(TEST_NOTIFICATION_ID, false));
+        Page<NotificationSummaryDTO> page = new PageImpl<>(summaries);
+        when(notificationRepository.findSummariesByUserId(TEST_USER_ID, pageable)).thenReturn(page);
 
         // Act
-        Page<NotificationEntity> result = notificationService.getUserNotifications(TEST_USER_ID, pageable);
+        Page<NotificationSummaryDTO> result = notificationService.getUserNotifications(TEST_USER_ID, pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals(TEST_NOTIFICATION_ID, result.getContent().get(0).getId());
-        assertEquals(TEST_USER_ID, result.getContent().get(0).getUserId());
 
-        // Verify repository was called
-        verify(notificationRepository).findByUserIdOrderByCreatedAtDesc(TEST_USER_ID, pageable);
+        // Verify the projection was queried and read state resolved for the page
+        verify(notificationRepository).findSummariesByUserId(TEST_USER_ID, pageable);
+        verify(readStateService).applyReadState(TEST_USER_ID, summaries);
     }
 
     @Test
     void getUnreadNotifications_Success() {
         // Arrange
-        when(notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(TEST_USER_ID))
-                .thenReturn(notificationList);
+        when(readStateService.getReadWatermark(TEST_USER_ID)).thenReturn(42L);
+        when(notificationRepository.findUnreadAboveWatermark(TEST_USER_ID, 42L, Long.MAX_VALUE,
+                PageRequest.of(0, NotificationService.FEED_PAGE_SIZE + 1)))
+                .thenReturn(List.of(summary(TEST_NOTIFICATION_ID, false)));
 
         // Act
-        List<NotificationEntity> result = notificationService.getUnreadNotifications(TEST_USER_ID);
+        NotificationFeedDTO result = notificationService.getUnreadNotifications(TEST_USER_ID, null,
+                NotificationService.FEED_PAGE_SIZE);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(TEST_NOTIFICATION_ID, result.get(0).getId());
-        assertEquals(TEST_USER_ID, result.get(0).getUserId());
-        assertFalse(result.get(0).isRead());
+        assertEquals(1, result.getItems().size());
+        assertEquals(TEST_NOTIFICATION_ID, result.getItems().get(0).getId());
+        assertFalse(result.getItems().get(0).isRead());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getUnreadNotifications_MorePages_NextCursorIsLastStreamCursor() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        when(readStateService.getReadWatermark(TEST_USER_ID)).thenReturn(42L);
+        when(notificationRepository.findUnreadAboveWatermark(TEST_USER_ID, 42L, 48L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary("n-47", now, 47L), summary("n-46", now, 46L), summary("n-45", now, 45L)));
+
+        // Act
+        NotificationFeedDTO result = notificationService.getUnreadNotifications(TEST_USER_ID, "48", 2);
 
-        // Verify repository was called
-        verify(notificationRepository).findByUserIdAndReadFalseOrderByCreatedAtDesc(TEST_USER_ID);
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertEquals("n-46", result.getItems().get(1).getId());
+        assertEquals("46", result.getNextCursor());
+    }
+
+    @Test
+    void getUnreadNotifications_InvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> notificationService.getUnreadNotifications(TEST_USER_ID, "not-a-cursor", 10));
+        verify(notificationRepository, never()).findUnreadAboveWatermark(anyString(), Mockito.anyLong(),
+                Mockito.anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getNotificationFeed_FullPage_NextCursorPointsAtLastEntry() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationSummaryDTO> rows = List.of(summary("n-2", now, 2L), summary("n-1", now.minusMinutes(1), 1L));
+        when(notificationRepository.findFeed(TEST_USER_ID, PageRequest.of(0, 2))).thenReturn(rows);
+
+        // Act
+        NotificationFeedDTO result = notificationService.getNotificationFeed(TEST_USER_ID, null, 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(new FeedCursor(now, "n-2"), FeedCursor.decode(result.getNextCursor()));
+        verify(readStateService).applyReadState(TEST_USER_ID, result.getItems());
+    }
+
+    @Test
+    void getNotificationFeed_NextPage_ContinuesAfterCursor() {
+        // Arrange
+        LocalDateTime position = LocalDateTime.now().minusHours(1);
+        List<NotificationSummaryDTO> rows = List.of(summary("n-1", position.minusMinutes(5), 1L));
+        when(notificationRepository.findFeedBefore(TEST_USER_ID, position, "n-2", PageRequest.of(0, 11)))
+                .thenReturn(rows);
+
+        // Act
+        NotificationFeedDTO result = notificationService.getNotificationFeed(TEST_USER_ID,
+                new FeedCursor(position, "n-2").encode(), 10);
+
+        // Assert
+        assertEquals(rows, result.getItems());
+        assertNull(result.getNextCursor());
+        verify(notificationRepository, never()).findFeed(anyString(), any(Pageable.class));
+    }
+
+    private NotificationSummaryDTO summary(String id, boolean read) {
+        return NotificationSummaryDTO.builder().id(id).title("Task Due Soon").type("TASK_DUE_SOON").read(read)
+                .createdAt(LocalDateTime.now()).cursor(43L).build();
+    }
+
+    private NotificationSummaryDTO summary(String id, LocalDateTime createdAt, long cursor) {
+        return NotificationSummaryDTO.builder().id(id).title("Task Due Soon").type("TASK_DUE_SOON")
+                .createdAt(createdAt).cursor(cursor).build();
+    }
+
+    @Test
+    void getNotification_Success() {
+        // Arrange
+        when(notificationRepository.findByIdAndUserId(TEST_NOTIFICATION_ID, TEST_USER_ID))
+                .thenReturn(Optional.of(notificationEntity));
+
+        // Act
+        NotificationEntity result = notificationService.getNotification(TEST_USER_ID, TEST_NOTIFICATION_ID);
+
+        // Assert
+        assertEquals(TEST_NOTIFICATION_ID, result.getId());
+        assertEquals(jsonPayload, result.getPayload());
+        verify(readStateService).applyReadState(TEST_USER_ID, List.of(notificationEntity));
+    }
+
+    @Test
+    void getNotification_OtherUsersNotification_NotFound() {
+        // Arrange
+        when(notificationRepository.findByIdAndUserId(TEST_NOTIFICATION_ID, "other-user-id"))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(NotificationNotFoundException.class,
+                () -> notificationService.getNotification("other-user-id", TEST_NOTIFICATION_ID));
+        verifyNoInteractions(readStateService);
     }
 
     @Test
     void countUnreadNotifications_Success() {
         // Arrange
-        when(notificationRepository.countByUserIdAndReadFalse(TEST_USER_ID)).thenReturn(5L);
+        when(readStateService.getUnreadCount(TEST_USER_ID)).thenReturn(5L);
 
         // Act
         long result = notificationService.countUnreadNotifications(TEST_USER_ID);
@@ -351,80 +459,105 @@ class NotificationServiceImplTest {
         // Assert
         assertEquals(5L, result);
 
-        // Verify repository was called
-        verify(notificationRepository).countByUserIdAndReadFalse(TEST_USER_ID);
+        // Served from the counter, no row count
+        verify(notificationRepository, never()).countUnreadAboveWatermark(anyString(), Mockito.anyLong());
     }
 
     @Test
     void markAsRead_Success() {
         // Arrange
         NotificationEntity unreadNotification = NotificationEntity.builder().id(TEST_NOTIFICATION_ID)
-                .userId(TEST_USER_ID).read(false).build();
-
-        NotificationEntity readNotification = NotificationEntity.builder().id(TEST_NOTIFICATION_ID).userId(TEST_USER_ID)
-                .read(true).build();
-
-        when(notificationRepository.findById(TEST_NOTIFICATION_ID)).thenReturn(Optional.of(unreadNotification));
-        when(notificationRepository.save(any(NotificationEntity.class))).thenReturn(readNotification);
+                .userId(TEST_USER_ID).read(false).cursor(7L).build();
+        when(notificationRepository.findByIdAndUserId(TEST_NOTIFICATION_ID, TEST_USER_ID)).thenReturn(Optional.of(unreadNotification));
+        when(readStateService.markRead(unreadNotification)).thenReturn(true);
 
         // Act
-        NotificationEntity result = notificationService.markAsRead(TEST_NOTIFICATION_ID);
+        NotificationEntity result = notificationService.markAsRead(TEST_USER_ID, TEST_NOTIFICATION_ID);
 
         // Assert
         assertNotNull(result);
         assertEquals(TEST_NOTIFICATION_ID, result.getId());
         assertTrue(result.isRead());
 
-        // Verify repository calls
-        verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
-        verify(notificationRepository).save(any(NotificationEntity.class));
+        // Recorded in the read state, the notification row itself is not written
+        verify(notificationRepository).findByIdAndUserId(TEST_NOTIFICATION_ID, TEST_USER_ID);
+        verify(readStateService).markRead(unreadNotification);
+        verify(notificationRepository, never()).save(any(NotificationEntity.class));
+    }
+
+    @Test
+    void markAsRead_AlreadyRead_StillReportedRead() {
+        // Arrange
+        NotificationEntity notification = NotificationEntity.builder().id(TEST_NOTIFICATION_ID).userId(TEST_USER_ID)
+                .read(false).cursor(7L).build();
+        when(notificationRepository.findByIdAndUserId(TEST_NOTIFICATION_ID, TEST_USER_ID)).thenReturn(Optional.of(notification));
+        when(readStateService.markRead(notification)).thenReturn(false);
+
+        // Act
+        NotificationEntity result = notificationService.markAsRead(TEST_USER_ID, TEST_NOTIFICATION_ID);
+
+        // Assert
+        assertTrue(result.isRead());
+        verify(notificationRepository, never()).save(any(NotificationEntity.class));
     }
 
     @Test
     void markAsRead_NotificationNotFound() {
         // Arrange
-        when(notificationRepository.findById(TEST_NOTIFICATION_ID)).thenReturn(Optional.empty());
+        when(notificationRepository.findByIdAndUserId(TEST_NOTIFICATION_ID, TEST_USER_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
         Exception exception = assertThrows(RuntimeException.class, () -> {
-            notificationService.markAsRead(TEST_NOTIFICATION_ID);
+            notificationService.markAsRead(TEST_USER_ID, TEST_NOTIFICATION_ID);
         });
         assertEquals("Notification not found", exception.getMessage());
 
         // Verify repository calls
-        verify(notificationRepository).findById(TEST_NOTIFICATION_ID);
+        verify(notificationRepository).findByIdAndUserId(TEST_NOTIFICATION_ID, TEST_USER_ID);
         verify(notificationRepository, never()).save(any(NotificationEntity.class));
     }
 
     @Test
     void markAllAsRead_Success() {
-        // Arrange
-        when(notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(TEST_USER_ID))
-                .thenReturn(notificationList);
-        when(notificationRepository.saveAll(notificationList)).thenReturn(notificationList);
-
         // Act
         notificationService.markAllAsRead(TEST_USER_ID);
 
-        // Assert - verify all notifications were marked as read
-        assertTrue(notificationList.stream().allMatch(NotificationEntity::isRead));
+        // Assert - only the watermark moves, no notification is loaded or written
+        verify(readStateService).markAllRead(TEST_USER_ID);
+        verifyNoInteractions(notificationRepository);
+    }
 
-        // Verify repository calls
-        verify(notificationRepository).findByUserIdAndReadFalseOrderByCreatedAtDesc(TEST_USER_ID);
-        verify(notificationRepository).saveAll(notificationList);
+    @Test
+    void archiveMatching_ReadsThenArchivesInSetOperations() {
+        // Arrange
+        NotificationFilter filter = NotificationFilter.ofIds(TEST_USER_ID, List.of("n-1", "n-2"));
+        when(notificationRepository.archiveMatching(filter)).thenReturn(2);
+
+        // Act
+        int result = notificationService.archiveMatching(filter);
+
+        // Assert
+        assertEquals(2, result);
+        InOrder inOrder = Mockito.inOrder(readStateService, notificationRepository);
+        inOrder.verify(readStateService).markReadMatching(filter);
+        inOrder.verify(notificationRepository).archiveMatching(filter);
+        verify(notificationRepository, never()).findById(anyString());
     }
 
     @Test
-    void markAllAsRead_NoUnreadNotifications() {
+    void deleteMatching_ReadMarksRemovedWithRows() {
         // Arrange
-        when(notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(TEST_USER_ID))
-                .thenReturn(new ArrayList<>());
+        NotificationFilter filter = new NotificationFilter(TEST_USER_ID, null, "TASK_OVERDUE", null, null, null, null);
+        when(notificationRepository.deleteMatching(filter)).thenReturn(3);
 
         // Act
-        notificationService.markAllAsRead(TEST_USER_ID);
+        int result = notificationService.deleteMatching(filter);
 
-        // Verify repository calls
-        verify(notificationRepository).findByUserIdAndReadFalseOrderByCreatedAtDesc(TEST_USER_ID);
-        verify(notificationRepository, never()).saveAll(any());
+        // Assert
+        assertEquals(3, result);
+        InOrder inOrder = Mockito.inOrder(readStateService, notificationRepository);
+        inOrder.verify(readStateService).markReadMatching(filter);
+        inOrder.verify(notificationRepository).deleteReadMarksMatching(filter);
+        inOrder.verify(notificationRepository).deleteMatching(filter);
     }
 }
\ No newline at end of file
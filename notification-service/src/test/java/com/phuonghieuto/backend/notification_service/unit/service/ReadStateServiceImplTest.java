@@ -0,0 +1,291 @@
+package com.phuonghieuto.backend.notification_service.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.phuonghieuto.backend.notification_service.client.UserDirectory;
+import com.phuonghieuto.backend.notification_service.messaging.dispatch.NotificationDispatcher;
+import com.phuonghieuto.backend.notification_service.messaging.email.EmailService;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketService;
+import com.phuonghieuto.backend.notification_service.model.notification.dto.UnreadCountUpdateDTO;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.UserNotificationStateEntity;
+import com.phuonghieuto.backend.notification_service.repository.NotificationReadRepository;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+import com.phuonghieuto.backend.notification_service.repository.UserNotificationStateRepository;
+import com.phuonghieuto.backend.notification_service.service.impl.ReadStateServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ReadStateServiceImplTest {
+
+    @Mock
+    private UserNotificationStateRepository stateRepository;
+
+    @Mock
+    private NotificationReadRepository readRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private WebSocketService webSocketService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private ReadStateServiceImpl readStateService;
+
+    private static final String TEST_USER_ID = "test-user-id";
+
+    @BeforeEach
+    void setUp() {
+        NotificationDispatcher notificationDispatcher = new NotificationDispatcher(webSocketService,
+                mock(EmailService.class), mock(UserDirectory.class),
+                new SimpleMeterRegistry(), Runnable::run, Runnable::run, mock(MessageRecoverer.class));
+        readStateService = new ReadStateServiceImpl(stateRepository, readRepository, notificationRepository,
+                notificationDispatcher, cacheManager);
+    }
+
+    @Test
+    void getUnreadCount_ExistingCounter_NoRowCount() {
+        // Arrange
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.of(7L));
+
+        // Act
+        long result = readStateService.getUnreadCount(TEST_USER_ID);
+
+        // Assert
+        assertEquals(7L, result);
+        verify(notificationRepository, never()).countUnreadAboveWatermark(TEST_USER_ID, 0L);
+    }
+
+    @Test
+    void getUnreadCount_NoCounterYet_SeededFromRowCount() {
+        // Arrange
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.empty(), Optional.of(3L));
+        when(notificationRepository.countUnreadAboveWatermark(TEST_USER_ID, 0L)).thenReturn(3L);
+        when(stateRepository.insertIfAbsent(TEST_USER_ID, 3L)).thenReturn(1);
+
+        // Act
+        long result = readStateService.getUnreadCount(TEST_USER_ID);
+
+        // Assert
+        assertEquals(3L, result);
+        verify(stateRepository).insertIfAbsent(TEST_USER_ID, 3L);
+    }
+
+    @Test
+    void getUnreadCount_SeededConcurrently_OtherRowKept() {
+        // Arrange
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.empty(), Optional.of(4L));
+        when(notificationRepository.countUnreadAboveWatermark(TEST_USER_ID, 0L)).thenReturn(3L);
+        when(stateRepository.insertIfAbsent(TEST_USER_ID, 3L)).thenReturn(0);
+
+        // Act
+        long result = readStateService.getUnreadCount(TEST_USER_ID);
+
+        // Assert - no duplicate key failure, the row that won is read back
+        assertEquals(4L, result);
+    }
+
+    @Test
+    void adjustUnreadCount_ExistingCounter_BadgeDeltaPushed() {
+        // Arrange
+        when(stateRepository.adjustUnreadCount(TEST_USER_ID, 1)).thenReturn(1);
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.of(4L));
+        when(cacheManager.getCache("unreadNotificationsCount")).thenReturn(cache);
+
+        // Act
+        readStateService.adjustUnreadCount(TEST_USER_ID, 1);
+
+        // Assert
+        ArgumentCaptor<UnreadCountUpdateDTO> captor = ArgumentCaptor.forClass(UnreadCountUpdateDTO.class);
+        verify(webSocketService).sendUnreadCount(eq(TEST_USER_ID), captor.capture());
+        assertEquals(1L, captor.getValue().getDelta());
+        assertEquals(4L, captor.getValue().getUnreadCount());
+        verify(cache).evict(TEST_USER_ID);
+        verify(notificationRepository, never()).countUnreadAboveWatermark(TEST_USER_ID, 0L);
+    }
+
+    @Test
+    void adjustUnreadCount_RowSeededConcurrently_ChangeAppliedToIt() {
+        // Arrange
+        when(stateRepository.adjustUnreadCount(TEST_USER_ID, 1)).thenReturn(0, 1);
+        when(notificationRepository.countUnreadAboveWatermark(TEST_USER_ID, 0L)).thenReturn(5L);
+        when(stateRepository.insertIfAbsent(TEST_USER_ID, 5L)).thenReturn(0);
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.of(5L));
+        when(cacheManager.getCache("unreadNotificationsCount")).thenReturn(cache);
+
+        // Act
+        readStateService.adjustUnreadCount(TEST_USER_ID, 1);
+
+        // Assert - the other request counted without this change, so it is applied on top
+        verify(stateRepository, times(2)).adjustUnreadCount(TEST_USER_ID, 1);
+    }
+
+    @Test
+    void markAllRead_WatermarkMovedToLatestCursor() {
+        // Arrange
+        when(stateRepository.lockByUserId(TEST_USER_ID)).thenReturn(Optional.of(state(1200L)));
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.of(1200L));
+        when(notificationRepository.findMaxCursorByUserId(TEST_USER_ID)).thenReturn(Optional.of(5000L));
+        when(notificationRepository.countUnreadAboveWatermark(TEST_USER_ID, 5000L)).thenReturn(0L);
+        when(cacheManager.getCache("unreadNotificationsCount")).thenReturn(cache);
+
+        // Act
+        readStateService.markAllRead(TEST_USER_ID);
+
+        // Assert - one state row update under the row lock, no notification touched
+        InOrder inOrder = inOrder(stateRepository, notificationRepository);
+        inOrder.verify(stateRepository).lockByUserId(TEST_USER_ID);
+        inOrder.verify(notificationRepository).findMaxCursorByUserId(TEST_USER_ID);
+        inOrder.verify(stateRepository).advanceReadWatermark(TEST_USER_ID, 5000L, 0L);
+        verify(readRepository).deleteCoveredByWatermark(TEST_USER_ID, 5000L);
+        verify(notificationRepository, never()).saveAll(any());
+        ArgumentCaptor<UnreadCountUpdateDTO> captor = ArgumentCaptor.forClass(UnreadCountUpdateDTO.class);
+        verify(webSocketService).sendUnreadCount(eq(TEST_USER_ID), captor.capture());
+        assertEquals(-1200L, captor.getValue().getDelta());
+        assertEquals(0L, captor.getValue().getUnreadCount());
+    }
+
+    @Test
+    void markAllRead_NothingUnread_NoBadgePushed() {
+        // Arrange
+        when(stateRepository.lockByUserId(TEST_USER_ID)).thenReturn(Optional.of(state(0L)));
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.of(0L));
+        when(notificationRepository.findMaxCursorByUserId(TEST_USER_ID)).thenReturn(Optional.empty());
+
+        // Act
+        readStateService.markAllRead(TEST_USER_ID);
+
+        // Assert
+        verify(stateRepository).advanceReadWatermark(TEST_USER_ID, 0L, 0L);
+        verify(webSocketService, never()).sendUnreadCount(any(), any());
+    }
+
+    @Test
+    void markAllRead_NoStateRow_SeededThenLocked() {
+        // Arrange
+        when(stateRepository.lockByUserId(TEST_USER_ID)).thenReturn(Optional.empty(), Optional.of(state(3L)));
+        when(notificationRepository.countUnreadAboveWatermark(TEST_USER_ID, 0L)).thenReturn(3L);
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.of(3L));
+        when(notificationRepository.findMaxCursorByUserId(TEST_USER_ID)).thenReturn(Optional.of(90L));
+        when(notificationRepository.countUnreadAboveWatermark(TEST_USER_ID, 90L)).thenReturn(0L);
+        when(cacheManager.getCache("unreadNotificationsCount")).thenReturn(cache);
+
+        // Act
+        readStateService.markAllRead(TEST_USER_ID);
+
+        // Assert
+        verify(stateRepository).insertIfAbsent(TEST_USER_ID, 3L);
+        verify(stateRepository, times(2)).lockByUserId(TEST_USER_ID);
+        verify(stateRepository).advanceReadWatermark(TEST_USER_ID, 90L, 0L);
+    }
+
+    private static UserNotificationStateEntity state(long unreadCount) {
+        return UserNotificationStateEntity.builder().userId(TEST_USER_ID).unreadCount(unreadCount).build();
+    }
+
+    @Test
+    void markRead_AboveWatermark_RecordedAsReadMark() {
+        // Arrange
+        NotificationEntity notification = notification("n-1", 120L);
+        when(stateRepository.lockByUserId(TEST_USER_ID)).thenReturn(Optional.of(state(3L)));
+        when(stateRepository.findReadWatermarkByUserId(TEST_USER_ID)).thenReturn(Optional.of(100L));
+        when(readRepository.insertIfAbsent("n-1", TEST_USER_ID, 120L)).thenReturn(1);
+        when(stateRepository.adjustUnreadCount(TEST_USER_ID, -1)).thenReturn(1);
+        when(stateRepository.findUnreadCountByUserId(TEST_USER_ID)).thenReturn(Optional.of(2L));
+        when(cacheManager.getCache("unreadNotificationsCount")).thenReturn(cache);
+
+        // Act
+        boolean result = readStateService.markRead(notification);
+
+        // Assert - the watermark is only read under the state row lock
+        assertTrue(result);
+        InOrder inOrder = inOrder(stateRepository, readRepository);
+        inOrder.verify(stateRepository).lockByUserId(TEST_USER_ID);
+        inOrder.verify(stateRepository).findReadWatermarkByUserId(TEST_USER_ID);
+        inOrder.verify(readRepository).insertIfAbsent("n-1", TEST_USER_ID, 120L);
+        inOrder.verify(stateRepository).adjustUnreadCount(TEST_USER_ID, -1);
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void markRead_MarkedByConcurrentRequest_CounterUntouched() {
+        // Arrange
+        when(stateRepository.lockByUserId(TEST_USER_ID)).thenReturn(Optional.of(state(2L)));
+        when(stateRepository.findReadWatermarkByUserId(TEST_USER_ID)).thenReturn(Optional.of(100L));
+        when(readRepository.insertIfAbsent("n-1", TEST_USER_ID, 120L)).thenReturn(0);
+
+        // Act
+        boolean result = readStateService.markRead(notification("n-1", 120L));
+
+        // Assert
+        assertFalse(result);
+        verify(stateRepository, never()).adjustUnreadCount(any(), anyLong());
+        verify(webSocketService, never()).sendUnreadCount(any(), any());
+    }
+
+    @Test
+    void markRead_BelowWatermark_NothingRecorded() {
+        // Arrange
+        when(stateRepository.lockByUserId(TEST_USER_ID)).thenReturn(Optional.of(state(0L)));
+        when(stateRepository.findReadWatermarkByUserId(TEST_USER_ID)).thenReturn(Optional.of(100L));
+
+        // Act
+        boolean result = readStateService.markRead(notification("n-1", 80L));
+
+        // Assert
+        assertFalse(result);
+        verify(readRepository, never()).insertIfAbsent(any(), any(), anyLong());
+        verify(stateRepository, never()).adjustUnreadCount(any(), eq(-1L));
+    }
+
+    @Test
+    void applyReadState_WatermarkAndReadMarksResolved() {
+        // Arrange
+        NotificationEntity belowWatermark = notification("n-1", 80L);
+        NotificationEntity readMark = notification("n-2", 120L);
+        NotificationEntity unread = notification("n-3", 130L);
+        when(stateRepository.findReadWatermarkByUserId(TEST_USER_ID)).thenReturn(Optional.of(100L));
+        when(readRepository.findReadIds(List.of("n-2", "n-3"))).thenReturn(Set.of("n-2"));
+
+        // Act
+        readStateService.applyReadState(TEST_USER_ID, List.of(belowWatermark, readMark, unread));
+
+        // Assert
+        assertTrue(belowWatermark.isRead());
+        assertTrue(readMark.isRead());
+        assertFalse(unread.isRead());
+    }
+
+    private NotificationEntity notification(String id, long cursor) {
+        return NotificationEntity.builder().id(id).userId(TEST_USER_ID).cursor(cursor).build();
+    }
+}
@@ -6,16 +6,20 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -121,7 +125,6 @@ public class TokenServiceImplTest {
     void validateToken_InvalidTokenFormat() {
         // Arrange
         String invalidToken = "invalid.jwt.token";
-        when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
 
         // Act & Assert
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
@@ -130,7 +133,8 @@ public class TokenServiceImplTest {
         // Verify exception details
         assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
         assertTrue(exception.getMessage().contains("Invalid JWT token"));
-        verify(tokenConfigurationParameter).getPublicKey();
+        // The key is only looked up once the header has been read
+        verifyNoInteractions(tokenConfigurationParameter);
     }
 
     @Test
@@ -154,9 +158,6 @@ public class TokenServiceImplTest {
 
     @Test
     void validateToken_NullToken() {
-        // Arrange
-        when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
-
         // Act & Assert
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> tokenService.validateToken(null));
@@ -181,6 +182,44 @@ public class TokenServiceImplTest {
         verify(tokenConfigurationParameter).getPublicKey();
     }
 
+    @Test
+    void validateToken_KeyIdSelectsPreviousKey() throws Exception {
+        // Arrange
+        // A token signed with the EC key being rotated out while RSA is current
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair previousKeyPair = keyPairGenerator.generateKeyPair();
+        String previousKeyToken = Jwts.builder().setHeaderParam("typ", "Bearer").setHeaderParam("kid", "previous")
+                .setId(validTokenId).setIssuedAt(issuedAt).setExpiration(expiresAt)
+                .claim(TokenClaims.USER_ID.getValue(), "user123")
+                .signWith(previousKeyPair.getPrivate(), SignatureAlgorithm.ES256).compact();
+
+        when(tokenConfigurationParameter.getVerificationKeys())
+                .thenReturn(Map.of("current", publicKey, "previous", previousKeyPair.getPublic()));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> tokenService.validateToken(previousKeyToken));
+        verify(tokenConfigurationParameter, never()).getPublicKey();
+    }
+
+    @Test
+    void validateToken_UnknownKeyId() {
+        // Arrange
+        String unknownKeyToken = Jwts.builder().setHeaderParam("typ", "Bearer").setHeaderParam("kid", "retired")
+                .setId(validTokenId).setIssuedAt(issuedAt).setExpiration(expiresAt)
+                .claim(TokenClaims.USER_ID.getValue(), "user123").signWith(privateKey, SignatureAlgorithm.RS256)
+                .compact();
+
+        when(tokenConfigurationParameter.getVerificationKeys()).thenReturn(Map.of("current", publicKey));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> tokenService.validateToken(unknownKeyToken));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        assertTrue(exception.getMessage().contains("Invalid JWT token"));
+    }
+
     @Test
     void getAuthentication_Success() {
         // Arrange
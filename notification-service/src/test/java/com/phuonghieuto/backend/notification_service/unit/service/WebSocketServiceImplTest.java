@@ -0,0 +1,203 @@
+package com.phuonghieuto.backend.notification_service.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.BufferedSessionFactory;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.BufferedWebSocketSession.OverflowPolicy;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.LocalWebSocketFanout;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.NotificationWebSocketHandler;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketAuthInterceptor;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketReplayer;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketServiceImpl;
+import com.phuonghieuto.backend.notification_service.messaging.websocket.WebSocketSessionRegistry;
+import com.phuonghieuto.backend.notification_service.model.notification.entity.NotificationEntity;
+import com.phuonghieuto.backend.notification_service.repository.NotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketServiceImplTest {
+
+    private static final String TEST_USER_ID = "test-user-id";
+    private static final String OTHER_USER_ID = "other-user-id";
+    private static final int MAX_CONNECTIONS_PER_USER = 2;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private WebSocketSessionRegistry sessionRegistry;
+    private NotificationWebSocketHandler webSocketHandler;
+    private WebSocketServiceImpl webSocketService;
+
+    private NotificationEntity notification;
+
+    @BeforeEach
+    void setUp() {
+        createService(Runnable::run, 256, OverflowPolicy.DROP_OLDEST);
+
+        notification = NotificationEntity.builder()
+                .id("notification-id")
+                .userId(TEST_USER_ID)
+                .title("Task Due Soon")
+                .message("Your task is due soon")
+                .build();
+    }
+
+    @Test
+    void sendNotificationToUser_MultipleSessions_AllSessionsReceiveNotification() throws Exception {
+        // Arrange
+        WebSocketSession firstTab = openSession("session-1", TEST_USER_ID);
+        WebSocketSession secondTab = openSession("session-2", TEST_USER_ID);
+
+        // Act
+        webSocketService.sendNotificationToUser(TEST_USER_ID, notification);
+
+        // Assert
+        verify(firstTab, never()).close(any(CloseStatus.class));
+        assertTrue(capturePayload(firstTab).contains("Task Due Soon"));
+        assertTrue(capturePayload(secondTab).contains("Task Due Soon"));
+        assertEquals(2, sessionRegistry.getSessions(TEST_USER_ID).size());
+    }
+
+    @Test
+    void sendNotificationToUser_OneSessionClosed_RemainingSessionReceivesNotification() throws Exception {
+        // Arrange
+        WebSocketSession closedTab = connect("session-1", TEST_USER_ID);
+        WebSocketSession openTab = openSession("session-2", TEST_USER_ID);
+        webSocketHandler.afterConnectionClosed(closedTab, CloseStatus.NORMAL);
+
+        // Act
+        webSocketService.sendNotificationToUser(TEST_USER_ID, notification);
+
+        // Assert
+        verify(closedTab, never()).sendMessage(any());
+        assertTrue(capturePayload(openTab).contains("notification-id"));
+        assertEquals(1, sessionRegistry.getSessionCount());
+    }
+
+    @Test
+    void broadcastNotification_SessionsOfDifferentUsers_AllSessionsReceiveNotification() throws Exception {
+        // Arrange
+        WebSocketSession userSession = openSession("session-1", TEST_USER_ID);
+        WebSocketSession otherUserSession = openSession("session-2", OTHER_USER_ID);
+
+        // Act
+        webSocketService.broadcastNotification(notification);
+
+        // Assert
+        assertTrue(capturePayload(userSession).contains("Task Due Soon"));
+        assertTrue(capturePayload(otherUserSession).contains("Task Due Soon"));
+    }
+
+    @Test
+    void afterConnectionEstablished_ReconnectWithCursor_MissedNotificationsReplayed() throws Exception {
+        // Arrange
+        notification.setCursor(42L);
+        when(notificationRepository.findByUserIdAndCursorGreaterThanOrderByCursorAsc(eq(TEST_USER_ID), eq(41L),
+                any(Pageable.class))).thenReturn(List.of(notification));
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("userId", TEST_USER_ID);
+        attributes.put(WebSocketAuthInterceptor.CURSOR_ATTRIBUTE, 41L);
+        when(session.getId()).thenReturn("session-1");
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+
+        // Act
+        webSocketHandler.afterConnectionEstablished(session);
+
+        // Assert
+        assertTrue(capturePayload(session).contains("\"cursor\":42"));
+    }
+
+    @Test
+    void afterConnectionEstablished_UserAtConnectionLimit_NewSessionRejected() throws Exception {
+        // Arrange
+        connect("session-1", TEST_USER_ID);
+        connect("session-2", TEST_USER_ID);
+
+        // Act
+        WebSocketSession thirdTab = connect("session-3", TEST_USER_ID);
+
+        // Assert
+        ArgumentCaptor<CloseStatus> captor = ArgumentCaptor.forClass(CloseStatus.class);
+        verify(thirdTab).close(captor.capture());
+        assertEquals(CloseStatus.POLICY_VIOLATION.getCode(), captor.getValue().getCode());
+        assertEquals(MAX_CONNECTIONS_PER_USER, sessionRegistry.getSessions(TEST_USER_ID).size());
+    }
+
+    @Test
+    void sendNotificationToUser_SlowSessionWithCoalescePolicy_BacklogReplacedByResyncFrame() throws Exception {
+        // Arrange
+        List<Runnable> pendingWrites = new ArrayList<>();
+        createService(pendingWrites::add, 2, OverflowPolicy.COALESCE);
+        WebSocketSession slowSession = openSession("session-1", TEST_USER_ID);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            webSocketService.sendNotificationToUser(TEST_USER_ID, notification);
+        }
+        List<Runnable> writes = new ArrayList<>(pendingWrites);
+        writes.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(1, writes.size());
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(slowSession, Mockito.times(2)).sendMessage(captor.capture());
+        assertEquals("{\"type\":\"RESYNC\",\"dropped\":2}", captor.getAllValues().get(0).getPayload());
+        assertTrue(captor.getAllValues().get(1).getPayload().contains("notification-id"));
+    }
+
+    private void createService(Executor sendExecutor, int capacity, OverflowPolicy policy) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sessionRegistry = new WebSocketSessionRegistry(meterRegistry, MAX_CONNECTIONS_PER_USER, 1000);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        webSocketHandler = new NotificationWebSocketHandler(sessionRegistry,
+                new BufferedSessionFactory(sendExecutor, meterRegistry, capacity, 32, policy, 5),
+                new WebSocketReplayer(notificationRepository, objectMapper, 200));
+        webSocketService = new WebSocketServiceImpl(new LocalWebSocketFanout(webSocketHandler), objectMapper);
+    }
+
+    private WebSocketSession openSession(String sessionId, String userId) throws Exception {
+        WebSocketSession session = connect(sessionId, userId);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private WebSocketSession connect(String sessionId, String userId) throws Exception {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("userId", userId);
+        when(session.getId()).thenReturn(sessionId);
+        when(session.getAttributes()).thenReturn(attributes);
+        webSocketHandler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private String capturePayload(WebSocketSession session) throws Exception {
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        return captor.getValue().getPayload();
+    }
+}
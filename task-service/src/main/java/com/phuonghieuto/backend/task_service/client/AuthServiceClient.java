@@ -1,15 +1,22 @@
 package com.phuonghieuto.backend.task_service.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import com.phuonghieuto.backend.task_service.model.auth.dto.UserEmailDTO;
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserEmailsRequestDTO;
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserIdsRequestDTO;
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserProfileDTO;
 
 
 //Feign client for the Auth Service
-@FeignClient(name = "auth-service", path = "/api/v1/users")
+@FeignClient(name = "auth-service", path = "/api/v1/users", configuration = AuthServiceClientConfig.class)
 public interface AuthServiceClient {
 
     @GetMapping("/{userId}/email")
@@ -17,4 +24,17 @@ public interface AuthServiceClient {
 
     @GetMapping("/by-email")
     UserEmailDTO getUserIdFromEmail(@RequestParam("email") String email);
+
+    // Emails without a user are left out of the result
+    @PostMapping("/by-emails")
+    List<UserEmailDTO> getUserIdsFromEmails(@RequestBody UserEmailsRequestDTO request);
+
+    // Names and emails, which access tokens do not carry. Unknown user ids are left out of the result
+    @PostMapping("/profiles")
+    List<UserProfileDTO> getUserProfiles(@RequestBody UserIdsRequestDTO request);
+
+    // One page of the directory in user id order, starting after the given id
+    @GetMapping("/directory")
+    List<UserEmailDTO> getUserDirectory(@RequestParam(value = "after", required = false) String after,
+            @RequestParam("limit") int limit);
 }
@@ -0,0 +1,51 @@
+package com.phuonghieuto.backend.task_service.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserEmailDTO;
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserEmailsRequestDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * User ids by email. Answered from the local {@link UserDirectoryReplica} when it knows the email; otherwise lookups
+ * made at about the same time, including the repeated ones of a single invitation check, are sent to auth-service as
+ * one batch request and the answers are kept for a short while.
+ */
+@Component
+public class UserDirectory {
+
+    private final UserDirectoryReplica replica;
+    private final CoalescingLookup<String, String> userIds;
+
+    public UserDirectory(AuthServiceClient authServiceClient, UserDirectoryReplica replica,
+            @Value("${auth.user-directory.batch-window:PT0.01S}") Duration batchWindow,
+            @Value("${auth.user-directory.max-batch-size:500}") int maxBatchSize,
+            @Value("${auth.user-directory.ttl:PT1M}") Duration ttl,
+            @Value("${auth.user-directory.max-entries:10000}") int maxEntries) {
+        this.replica = replica;
+        this.userIds = new CoalescingLookup<>("user-id",
+                emails -> authServiceClient.getUserIdsFromEmails(new UserEmailsRequestDTO(new ArrayList<>(emails)))
+                        .stream().collect(Collectors.toMap(UserEmailDTO::getEmail, UserEmailDTO::getUserId,
+                                (first, second) -> first)),
+                batchWindow, maxBatchSize, ttl, maxEntries);
+    }
+
+    /**
+     * Id of the user registered with the email, or {@code null} when there is none.
+     */
+    public String getUserIdByEmail(String email) {
+        String userId = replica.getUserId(email);
+        return userId != null ? userId : userIds.get(email);
+    }
+
+    @PreDestroy
+    public void close() {
+        userIds.close();
+    }
+}
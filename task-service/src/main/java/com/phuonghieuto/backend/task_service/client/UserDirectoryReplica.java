@@ -0,0 +1,56 @@
+package com.phuonghieuto.backend.task_service.client;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserEmailDTO;
+
+/**
+ * Local copy of the auth-service user directory, kept up to date from the user events and seeded from a snapshot at
+ * startup (see {@link com.phuonghieuto.backend.task_service.messaging.consumer.UserEventConsumer}). Reads
+ * never leave the process. Writes are rare and serialised so the two maps cannot drift apart.
+ */
+@Component
+public class UserDirectoryReplica {
+
+    private final Map<String, String> emailsByUserId = new ConcurrentHashMap<>();
+    private final Map<String, String> userIdsByEmail = new ConcurrentHashMap<>();
+
+    public String getEmail(String userId) {
+        return emailsByUserId.get(userId);
+    }
+
+    public String getUserId(String email) {
+        return userIdsByEmail.get(email);
+    }
+
+    public synchronized void put(String userId, String email) {
+        if (userId == null || email == null) {
+            return;
+        }
+        String previous = emailsByUserId.put(userId, email);
+        if (previous != null && !previous.equals(email)) {
+            userIdsByEmail.remove(previous, userId);
+        }
+        userIdsByEmail.put(email, userId);
+    }
+
+    /**
+     * Adds a snapshot page. Users already known were written by an event, which is at least as recent as the
+     * snapshot, so they are left alone.
+     */
+    public synchronized void load(Collection<UserEmailDTO> users) {
+        for (UserEmailDTO user : users) {
+            if (!emailsByUserId.containsKey(user.getUserId())) {
+                put(user.getUserId(), user.getEmail());
+            }
+        }
+    }
+
+    public int size() {
+        return emailsByUserId.size();
+    }
+}
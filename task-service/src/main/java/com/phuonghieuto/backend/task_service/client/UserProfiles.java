@@ -0,0 +1,64 @@
+package com.phuonghieuto.backend.task_service.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserIdsRequestDTO;
+import com.phuonghieuto.backend.task_service.model.auth.dto.UserProfileDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Names and emails of users by id. Access tokens only carry the user id and type, so the rest of the profile is
+ * fetched from auth-service in batches and kept for a while; the user events evict entries that changed.
+ */
+@Component
+public class UserProfiles {
+
+    private final UserDirectoryReplica replica;
+    private final CoalescingLookup<String, UserProfileDTO> profiles;
+
+    public UserProfiles(AuthServiceClient authServiceClient, UserDirectoryReplica replica,
+            @Value("${auth.user-profiles.batch-window:PT0.01S}") Duration batchWindow,
+            @Value("${auth.user-profiles.max-batch-size:500}") int maxBatchSize,
+            @Value("${auth.user-profiles.ttl:PT10M}") Duration ttl,
+            @Value("${auth.user-profiles.max-entries:10000}") int maxEntries) {
+        this.replica = replica;
+        this.profiles = new CoalescingLookup<>("user-profile",
+                userIds -> authServiceClient.getUserProfiles(new UserIdsRequestDTO(new ArrayList<>(userIds)))
+                        .stream().collect(Collectors.toMap(UserProfileDTO::getUserId, Function.identity(),
+                                (first, second) -> first)),
+                batchWindow, maxBatchSize, ttl, maxEntries);
+    }
+
+    /**
+     * Email of the user, from the local {@link UserDirectoryReplica} when it knows the user.
+     */
+    public String getEmail(String userId) {
+        String email = replica.getEmail(userId);
+        if (email != null) {
+            return email;
+        }
+        UserProfileDTO profile = profiles.get(userId);
+        return profile != null ? profile.getEmail() : null;
+    }
+
+    public String getFullName(String userId) {
+        UserProfileDTO profile = profiles.get(userId);
+        return profile != null ? profile.getFirstName() + " " + profile.getLastName() : null;
+    }
+
+    public void evict(String userId) {
+        profiles.evict(userId);
+    }
+
+    @PreDestroy
+    public void close() {
+        profiles.close();
+    }
+}
@@ -7,6 +7,9 @@ import com.phuonghieuto.backend.task_service.security.FileKeyProvider;
 import com.phuonghieuto.backend.task_service.util.KeyConverter;
 
 import java.security.PublicKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Configuration class named {@link TokenConfigurationParameter} for token
@@ -18,10 +21,20 @@ import java.security.PublicKey;
 public class TokenConfigurationParameter {
         private final FileKeyProvider fileKeyProvider;
         private final PublicKey publicKey;
+        private final Map<String, PublicKey> verificationKeys;
 
         public TokenConfigurationParameter(FileKeyProvider fileKeyProvider) {
                 this.fileKeyProvider = fileKeyProvider;
                 this.publicKey = KeyConverter.convertPublicKey(fileKeyProvider.getPublicKey());
+
+                // Keyed by kid; the additional keys keep tokens signed with a previous key verifying during a rotation
+                final Map<String, PublicKey> keys = new LinkedHashMap<>();
+                keys.put(KeyConverter.keyId(publicKey), publicKey);
+                for (String additionalPublicKey : fileKeyProvider.getAdditionalPublicKeys()) {
+                        final PublicKey key = KeyConverter.convertPublicKey(additionalPublicKey);
+                        keys.putIfAbsent(KeyConverter.keyId(key), key);
+                }
+                this.verificationKeys = Collections.unmodifiableMap(keys);
         }
 
 }
@@ -5,6 +5,7 @@ import com.phuonghieuto.backend.task_service.model.collaboration.dto.response.Bo
 import com.phuonghieuto.backend.task_service.model.collaboration.enums.InvitationStatus;
 import com.phuonghieuto.backend.task_service.model.common.dto.response.CustomResponse;
 import com.phuonghieuto.backend.task_service.service.BoardInvitationService;
+import com.phuonghieuto.backend.task_service.util.AuthUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,8 +18,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -31,6 +30,7 @@ import java.util.List;
 public class BoardInvitationController {
 
         private final BoardInvitationService boardInvitationService;
+        private final AuthUtils authUtils;
 
         @Operation(summary = "Create a board invitation", description = "Sends an invitation to collaborate on a board")
         @ApiResponses(value = {
@@ -81,9 +81,9 @@ public class BoardInvitationController {
                         @ApiResponse(responseCode = "200", description = "Invitations retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = List.class))),
                         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content) })
         @GetMapping("/my-invitations")
-        public CustomResponse<List<BoardInvitationResponseDTO>> getMyPendingInvitations(Authentication authentication) {
-                Jwt jwt = (Jwt) authentication.getPrincipal();
-                String email = jwt.getClaim("userEmail");
+        public CustomResponse<List<BoardInvitationResponseDTO>> getMyPendingInvitations() {
+                // Access tokens no longer carry the email
+                String email = authUtils.getCurrentUserEmail();
                 log.info("Getting pending invitations for user: {}", email);
                 List<BoardInvitationResponseDTO> invitations = boardInvitationService
                                 .getPendingInvitationsForUser(email);
@@ -16,13 +16,15 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.phuonghieuto.backend.task_service.model.auth.Token;
+import com.phuonghieuto.backend.task_service.service.IdentityHeaderService;
 import com.phuonghieuto.backend.task_service.service.TokenService;
 
 import java.io.IOException;
 
 /**
- * Custom filter for handling Bearer token authentication in HTTP requests. Uses
- * a hybrid approach with local validation and remote invalidation check.
+ * Custom filter for handling Bearer token authentication in HTTP requests.
+ * Requests routed by the gateway are authenticated from the identity header it
+ * signed, direct calls fall back to verifying the token locally.
  */
 @Slf4j
 @Component
@@ -30,6 +32,7 @@ import java.io.IOException;
 public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
+    private final IdentityHeaderService identityHeaderService;
 
     @Override
     protected void doFilterInternal(@NonNull final HttpServletRequest httpServletRequest,
@@ -45,12 +48,18 @@ public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter
             final String jwt = Token.getJwt(authorizationHeader);
 
             try {
-                // Step 1: Local validation (signature, expiration)
-                tokenService.validateToken(jwt);
-                log.debug("Token validation succeeded for request: {}", httpServletRequest.getRequestURI());
+                // The gateway has already validated the token and signed who it belongs to
+                UsernamePasswordAuthenticationToken authentication = identityHeaderService
+                        .getAuthentication(httpServletRequest.getHeader(IdentityHeaderService.HEADER), jwt);
 
-                // Step 2: Get authentication from local token parsing
-                final UsernamePasswordAuthenticationToken authentication = tokenService.getAuthentication(jwt);
+                if (authentication == null) {
+                    // Step 1: Local validation (signature, expiration)
+                    tokenService.validateToken(jwt);
+                    log.debug("Token validation succeeded for request: {}", httpServletRequest.getRequestURI());
+
+                    // Step 2: Get authentication from local token parsing
+                    authentication = tokenService.getAuthentication(jwt);
+                }
 
                 // Set authentication to SecurityContextHolder
                 SecurityContextHolder.getContext().setAuthentication(authentication);
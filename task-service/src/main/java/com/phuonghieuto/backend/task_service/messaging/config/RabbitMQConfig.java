@@ -5,6 +5,7 @@ import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,15 +14,38 @@ import com.phuonghieuto.backend.task_service.model.common.rabbitmq.RabbitMQConst
 @Configuration
 public class RabbitMQConfig {
 
-    public static final String QUEUE_TASK_NOTIFICATIONS = RabbitMQConstants.QUEUE_TASK_NOTIFICATIONS;
+    public static final String QUEUE_TASK_DUE_SOON = RabbitMQConstants.QUEUE_TASK_DUE_SOON;
+    public static final String QUEUE_TASK_OVERDUE = RabbitMQConstants.QUEUE_TASK_OVERDUE;
+    public static final String QUEUE_BOARD_INVITATION = RabbitMQConstants.QUEUE_BOARD_INVITATION;
     public static final String EXCHANGE_TASKS = RabbitMQConstants.EXCHANGE_TASKS;
     public static final String ROUTING_KEY_TASK_DUE_SOON = RabbitMQConstants.ROUTING_KEY_TASK_DUE_SOON;
     public static final String ROUTING_KEY_TASK_OVERDUE = RabbitMQConstants.ROUTING_KEY_TASK_OVERDUE;
     public static final String ROUTING_KEY_BOARD_INVITATION = RabbitMQConstants.ROUTING_KEY_BOARD_INVITATION;
+    public static final String QUEUE_PARKING_LOT = RabbitMQConstants.QUEUE_PARKING_LOT;
+    public static final String EXCHANGE_USER_EVENTS = RabbitMQConstants.EXCHANGE_USER_EVENTS;
+    public static final String ROUTING_KEY_USER_EVENTS = RabbitMQConstants.ROUTING_KEY_USER_EVENTS;
 
     @Bean
-    public Queue taskNotificationsQueue() {
-        return new Queue(QUEUE_TASK_NOTIFICATIONS, true);
+    public Queue taskDueSoonQueue() {
+        return workQueue(QUEUE_TASK_DUE_SOON);
+    }
+
+    @Bean
+    public Queue taskOverdueQueue() {
+        return workQueue(QUEUE_TASK_OVERDUE);
+    }
+
+    @Bean
+    public Queue boardInvitationQueue() {
+        return workQueue(QUEUE_BOARD_INVITATION);
+    }
+
+    // Arguments must match the declaration in notification-service or the broker rejects the redeclare
+    private static Queue workQueue(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(QUEUE_PARKING_LOT)
+                .build();
     }
 
     @Bean
@@ -30,8 +54,8 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Binding taskDueSoonBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_TASK_DUE_SOON);
+    public Binding taskDueSoonBinding(Queue taskDueSoonQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(taskDueSoonQueue).to(tasksExchange).with(ROUTING_KEY_TASK_DUE_SOON);
     }
 
     @Bean
@@ -47,12 +71,31 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Binding taskOverdueBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_TASK_OVERDUE);
+    public Binding taskOverdueBinding(Queue taskOverdueQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(taskOverdueQueue).to(tasksExchange).with(ROUTING_KEY_TASK_OVERDUE);
+    }
+
+    @Bean
+    public Binding boardInvitationBinding(Queue boardInvitationQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(boardInvitationQueue).to(tasksExchange).with(ROUTING_KEY_BOARD_INVITATION);
+    }
+
+    // Private, auto-deleted queue per instance, each one keeps its own user directory replica
+    @Bean
+    @ConditionalOnProperty(name = "auth.user-directory.replica.enabled", havingValue = "true", matchIfMissing = true)
+    public Queue userEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.user-directory.replica.enabled", havingValue = "true", matchIfMissing = true)
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(EXCHANGE_USER_EVENTS);
     }
 
     @Bean
-    public Binding boardInvitationBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with(ROUTING_KEY_BOARD_INVITATION);
+    @ConditionalOnProperty(name = "auth.user-directory.replica.enabled", havingValue = "true", matchIfMissing = true)
+    public Binding userEventsBinding(Queue userEventsQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userEventsQueue).to(userEventsExchange).with(ROUTING_KEY_USER_EVENTS);
     }
-}
\ No newline at end of file
+}
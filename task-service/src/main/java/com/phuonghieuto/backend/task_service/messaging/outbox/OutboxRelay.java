@@ -0,0 +1,182 @@
+package com.phuonghieuto.backend.task_service.messaging.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.phuonghieuto.backend.task_service.model.outbox.entity.OutboxMessageEntity;
+import com.phuonghieuto.backend.task_service.model.outbox.enums.OutboxStatus;
+import com.phuonghieuto.backend.task_service.repository.OutboxMessageRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the notification outbox in batches. Each batch is published on a single channel without waiting
+ * between sends, then confirmed as a whole; rows are deleted only after the broker acknowledged every message.
+ * <p>
+ * When a batch is refused its rows are published one by one, so only the row that fails is held back. That row waits
+ * an exponentially growing delay before its next attempt and is marked {@link OutboxStatus#FAILED} after
+ * {@code outbox.relay.max-attempts}. An unreachable broker is not the fault of any row: the relay pauses itself
+ * with the same backoff and leaves the rows untouched.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.relay.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    // Only touched by the scheduler thread
+    private int brokerFailures;
+    private LocalDateTime pausedUntil;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository, RabbitTemplate rabbitTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relayPendingMessages() {
+        if (pausedUntil != null && LocalDateTime.now().isBefore(pausedUntil)) {
+            return;
+        }
+        int relayed;
+        do {
+            Integer result = transactionTemplate.execute(status -> relayBatch(LocalDateTime.now()));
+            relayed = result != null ? result : 0;
+        } while (relayed == batchSize);
+    }
+
+    private int relayBatch(LocalDateTime now) {
+        List<OutboxMessageEntity> batch = outboxMessageRepository.findBatchForRelay(OutboxStatus.PENDING, now,
+                PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            publish(batch);
+        } catch (AmqpConnectException e) {
+            pause(now, e);
+            return 0;
+        } catch (Exception e) {
+            log.warn("Failed to relay {} outbox messages, relaying them one by one: {}", batch.size(),
+                    e.getMessage());
+            return relayOneByOne(batch, now);
+        }
+
+        brokerFailures = 0;
+        outboxMessageRepository.deleteAllInBatch(batch);
+        log.debug("Relayed {} outbox messages", batch.size());
+        return batch.size();
+    }
+
+    private int relayOneByOne(List<OutboxMessageEntity> batch, LocalDateTime now) {
+        List<OutboxMessageEntity> relayed = new ArrayList<>(batch.size());
+        for (OutboxMessageEntity outboxMessage : batch) {
+            try {
+                publish(List.of(outboxMessage));
+                relayed.add(outboxMessage);
+            } catch (AmqpConnectException e) {
+                pause(now, e);
+                break;
+            } catch (Exception e) {
+                recordFailure(outboxMessage, now, e);
+            }
+        }
+        if (!relayed.isEmpty()) {
+            outboxMessageRepository.deleteAllInBatch(relayed);
+        }
+        return relayed.size();
+    }
+
+    private void publish(List<OutboxMessageEntity> outboxMessages) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxMessageEntity outboxMessage : outboxMessages) {
+                operations.send(outboxMessage.getExchange(), outboxMessage.getRoutingKey(),
+                        toMessage(outboxMessage));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+
+    private void recordFailure(OutboxMessageEntity outboxMessage, LocalDateTime now, Exception e) {
+        int attempts = outboxMessage.getAttempts() + 1;
+        outboxMessage.setAttempts(attempts);
+        outboxMessage.setLastError(StringUtils.abbreviate(e.getMessage(), 500));
+        if (attempts >= maxAttempts) {
+            outboxMessage.setStatus(OutboxStatus.FAILED);
+            log.error("Giving up on outbox message {} after {} attempts: {}", outboxMessage.getId(), attempts,
+                    e.getMessage());
+            return;
+        }
+        Duration backoff = backoff(attempts);
+        outboxMessage.setNextAttemptAt(now.plus(backoff));
+        log.warn("Failed to relay outbox message {} (attempt {}/{}), retrying in {} ms: {}", outboxMessage.getId(),
+                attempts, maxAttempts, backoff.toMillis(), e.getMessage());
+    }
+
+    private void pause(LocalDateTime now, Exception e) {
+        brokerFailures++;
+        Duration backoff = backoff(brokerFailures);
+        pausedUntil = now.plus(backoff);
+        log.warn("Broker unreachable, pausing the outbox relay for {} ms: {}", backoff.toMillis(), e.getMessage());
+    }
+
+    // Doubles with every failure: initial, 2 x initial, 4 x initial ... up to the maximum
+    private Duration backoff(int failures) {
+        long delayMs = initialBackoffMs << Math.min(failures - 1, 30);
+        return Duration.ofMillis(delayMs > 0 ? Math.min(delayMs, maxBackoffMs) : maxBackoffMs);
+    }
+
+    private Message toMessage(OutboxMessageEntity outboxMessage) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        // Outbox delivery is at-least-once: a batch confirmed by the broker but not deleted is published again.
+        // The row ID is carried for tracing only, consumers do not deduplicate on it
+        properties.setMessageId(outboxMessage.getId());
+        if (outboxMessage.getTypeId() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outboxMessage.getTypeId());
+        }
+        return new Message(outboxMessage.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -5,100 +5,114 @@ import com.phuonghieuto.backend.task_service.model.collaboration.entity.BoardInv
 import com.phuonghieuto.backend.task_service.model.notification.dto.BoardInvitationNotificationDTO;
 import com.phuonghieuto.backend.task_service.model.notification.dto.TaskNotificationDTO;
 import com.phuonghieuto.backend.task_service.model.notification.enums.NotificationType;
+import com.phuonghieuto.backend.task_service.model.outbox.entity.OutboxMessageEntity;
 import com.phuonghieuto.backend.task_service.model.task.entity.TaskEntity;
+import com.phuonghieuto.backend.task_service.repository.OutboxMessageRepository;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Writes notification events to the transactional outbox. The rows are committed together with the caller's
+ * business transaction and published to RabbitMQ asynchronously by
+ * {@link com.phuonghieuto.backend.task_service.messaging.outbox.OutboxRelay}.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationProducer {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MessageConverter messageConverter;
 
+    @Transactional
     public void sendTaskDueSoonNotification(TaskEntity task) {
-        try {
-            if (task.getAssignedUserId() == null) {
-                log.info("Task {} has no assigned user, skipping notification", task.getId());
-                return;
-            }
-
-            Map<String, Object> additionalData = new HashMap<>();
-            additionalData.put("dueDate", task.getDueDate().toString());
-
-            TaskNotificationDTO notification = TaskNotificationDTO.builder().type(NotificationType.TASK_DUE_SOON)
-                    .taskId(task.getId()).taskTitle(task.getTitle()).boardId(task.getTable().getBoard().getId())
-                    .boardName(task.getTable().getBoard().getName()).tableId(task.getTable().getId())
-                    .tableName(task.getTable().getName()).recipientId(task.getAssignedUserId())
-                    .dueDate(task.getDueDate()).additionalData(additionalData).build();
-
-            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_TASKS, RabbitMQConfig.ROUTING_KEY_TASK_DUE_SOON,
-                    notification);
-
-            log.info("Sent due soon notification for task ID: {} to queue", task.getId());
-        } catch (Exception e) {
-            log.error("Failed to send task due soon notification: {}", e.getMessage(), e);
+        if (task.getAssignedUserId() == null) {
+            log.info("Task {} has no assigned user, skipping notification", task.getId());
+            return;
         }
+
+        Map<String, Object> additionalData = new HashMap<>();
+        additionalData.put("dueDate", task.getDueDate().toString());
+
+        TaskNotificationDTO notification = TaskNotificationDTO.builder().type(NotificationType.TASK_DUE_SOON)
+                .taskId(task.getId()).taskTitle(task.getTitle()).boardId(task.getTable().getBoard().getId())
+                .boardName(task.getTable().getBoard().getName()).tableId(task.getTable().getId())
+                .tableName(task.getTable().getName()).recipientId(task.getAssignedUserId())
+                .dueDate(task.getDueDate()).additionalData(additionalData).build();
+
+        enqueue(RabbitMQConfig.ROUTING_KEY_TASK_DUE_SOON, notification);
+
+        log.info("Queued due soon notification for task ID: {} in outbox", task.getId());
     }
 
+    @Transactional
     public void sendTaskOverdueNotification(TaskEntity task) {
-        try {
-            if (task.getAssignedUserId() == null) {
-                log.info("Task {} has no assigned user, skipping overdue notification", task.getId());
-                return;
-            }
-
-            Map<String, Object> additionalData = new HashMap<>();
-            additionalData.put("dueDate", task.getDueDate().toString());
-            additionalData.put("daysOverdue", ChronoUnit.DAYS.between(task.getDueDate(), LocalDateTime.now()));
-
-            TaskNotificationDTO notification = TaskNotificationDTO.builder().type(NotificationType.TASK_OVERDUE)
-                    .taskId(task.getId()).taskTitle(task.getTitle()).boardId(task.getTable().getBoard().getId())
-                    .boardName(task.getTable().getBoard().getName()).tableId(task.getTable().getId())
-                    .tableName(task.getTable().getName()).recipientId(task.getAssignedUserId())
-                    .dueDate(task.getDueDate()).additionalData(additionalData).build();
-
-            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_TASKS, RabbitMQConfig.ROUTING_KEY_TASK_OVERDUE,
-                    notification);
-
-            log.info("Sent overdue notification for task ID: {} to queue", task.getId());
-        } catch (Exception e) {
-            log.error("Failed to send task overdue notification: {}", e.getMessage(), e);
+        if (task.getAssignedUserId() == null) {
+            log.info("Task {} has no assigned user, skipping overdue notification", task.getId());
+            return;
         }
+
+        Map<String, Object> additionalData = new HashMap<>();
+        additionalData.put("dueDate", task.getDueDate().toString());
+        additionalData.put("daysOverdue", ChronoUnit.DAYS.between(task.getDueDate(), LocalDateTime.now()));
+
+        TaskNotificationDTO notification = TaskNotificationDTO.builder().type(NotificationType.TASK_OVERDUE)
+                .taskId(task.getId()).taskTitle(task.getTitle()).boardId(task.getTable().getBoard().getId())
+                .boardName(task.getTable().getBoard().getName()).tableId(task.getTable().getId())
+                .tableName(task.getTable().getName()).recipientId(task.getAssignedUserId())
+                .dueDate(task.getDueDate()).additionalData(additionalData).build();
+
+        enqueue(RabbitMQConfig.ROUTING_KEY_TASK_OVERDUE, notification);
+
+        log.info("Queued overdue notification for task ID: {} in outbox", task.getId());
     }
 
+    @Transactional
     public void sendBoardInvitationNotification(BoardInvitationEntity invitation, String inviterName) {
-        try {
-            String boardUrl = "/board-invitations/token/" + invitation.getToken();
-            
-            BoardInvitationNotificationDTO notification = BoardInvitationNotificationDTO.builder()
-                    .invitationId(invitation.getId())
-                    .boardId(invitation.getBoard().getId())
-                    .boardName(invitation.getBoard().getName())
-                    .inviterUserId(invitation.getInviterUserId())
-                    .inviterName(inviterName)
-                    .inviteeEmail(invitation.getInviteeEmail())
-                    .token(invitation.getToken())
-                    .expiresAt(invitation.getExpiresAt())
-                    .invitationUrl(boardUrl)
-                    .build();
-            
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EXCHANGE_TASKS,
-                    RabbitMQConfig.ROUTING_KEY_BOARD_INVITATION,
-                    notification
-            );
-            
-            log.info("Sent board invitation notification for board ID: {} to queue", invitation.getBoard().getId());
-        } catch (Exception e) {
-            log.error("Failed to send board invitation notification: {}", e.getMessage(), e);
-        }
+        String boardUrl = "/board-invitations/token/" + invitation.getToken();
+
+        BoardInvitationNotificationDTO notification = BoardInvitationNotificationDTO.builder()
+                .invitationId(invitation.getId())
+                .boardId(invitation.getBoard().getId())
+                .boardName(invitation.getBoard().getName())
+                .inviterUserId(invitation.getInviterUserId())
+                .inviterName(inviterName)
+                .inviteeEmail(invitation.getInviteeEmail())
+                .token(invitation.getToken())
+                .expiresAt(invitation.getExpiresAt())
+                .invitationUrl(boardUrl)
+                .build();
+
+        enqueue(RabbitMQConfig.ROUTING_KEY_BOARD_INVITATION, notification);
+
+        log.info("Queued board invitation notification for board ID: {} in outbox", invitation.getBoard().getId());
+    }
+
+    private void enqueue(String routingKey, Object notification) {
+        // Serialize with the same converter the RabbitTemplate uses so the relayed message is byte-identical
+        Message message = messageConverter.toMessage(notification, new MessageProperties());
+        Object typeId = message.getMessageProperties().getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+
+        OutboxMessageEntity outboxMessage = OutboxMessageEntity.builder()
+                .exchange(RabbitMQConfig.EXCHANGE_TASKS)
+                .routingKey(routingKey)
+                .typeId(typeId != null ? typeId.toString() : null)
+                .payload(new String(message.getBody(), StandardCharsets.UTF_8))
+                .build();
+
+        outboxMessageRepository.save(outboxMessage);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.phuonghieuto.backend.task_service.model.auth.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserEmailsRequestDTO {
+    private List<String> emails;
+}
@@ -0,0 +1,20 @@
+package com.phuonghieuto.backend.task_service.model.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User directory change published by auth-service. The type (CREATED, UPDATED, CONFIRMED) is informational, every
+ * event carries the user's current email.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserEventDTO {
+    private String type;
+    private String userId;
+    private String email;
+}
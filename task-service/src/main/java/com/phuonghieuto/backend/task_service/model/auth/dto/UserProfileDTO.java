@@ -0,0 +1,17 @@
+package com.phuonghieuto.backend.task_service.model.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProfileDTO {
+    private String userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+}
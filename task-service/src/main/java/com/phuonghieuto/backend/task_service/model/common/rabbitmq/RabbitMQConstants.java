@@ -1,8 +1,13 @@
 package com.phuonghieuto.backend.task_service.model.common.rabbitmq;
 
 public class RabbitMQConstants {
-    // Queue names
-    public static final String QUEUE_TASK_NOTIFICATIONS = "task.notifications.queue";
+    // Queue names, one durable queue per notification type
+    public static final String QUEUE_TASK_DUE_SOON = "task.due.soon.queue";
+    public static final String QUEUE_TASK_OVERDUE = "task.overdue.queue";
+    public static final String QUEUE_BOARD_INVITATION = "board.invitation.queue";
+
+    // Declared by notification-service, work queues dead-letter into it
+    public static final String QUEUE_PARKING_LOT = "notification.parking-lot.queue";
     
     // Exchange names
     public static final String EXCHANGE_TASKS = "task.events.exchange";
@@ -12,5 +17,9 @@ public class RabbitMQConstants {
     public static final String ROUTING_KEY_TASK_OVERDUE = "task.overdue";
 
     public static final String ROUTING_KEY_BOARD_INVITATION = "board.invitation";
+
+    // User directory changes published by auth-service
+    public static final String EXCHANGE_USER_EVENTS = "user.events.exchange";
+    public static final String ROUTING_KEY_USER_EVENTS = "user.#";
     
 }
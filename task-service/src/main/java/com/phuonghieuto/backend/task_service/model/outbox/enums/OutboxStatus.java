@@ -0,0 +1,7 @@
+package com.phuonghieuto.backend.task_service.model.outbox.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    // Out of attempts, left for inspection and no longer picked up by the relay
+    FAILED,
+}
@@ -0,0 +1,31 @@
+package com.phuonghieuto.backend.task_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.phuonghieuto.backend.task_service.model.outbox.entity.OutboxMessageEntity;
+import com.phuonghieuto.backend.task_service.model.outbox.enums.OutboxStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessageEntity, String> {
+
+    // Lock timeout -2 maps to SKIP LOCKED so several relay instances can drain the outbox side by side
+    // Rows backing off after a failed attempt are skipped, so they never hold up the rows queued behind them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxMessageEntity o WHERE o.status = :status "
+            + "AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now) ORDER BY o.createdAt ASC")
+    List<OutboxMessageEntity> findBatchForRelay(@Param("status") OutboxStatus status,
+            @Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -5,26 +5,36 @@ import com.phuonghieuto.backend.task_service.model.task.entity.TaskEntity;
 import com.phuonghieuto.backend.task_service.model.task.enums.TaskStatus;
 import com.phuonghieuto.backend.task_service.repository.TaskRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+/**
+ * Each task is handled in its own transaction, so a task that fails rolls back its flag and outbox row alone instead
+ * of marking the shared transaction rollback-only and losing every other task of the run.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class TaskReminderScheduler {
 
     private final TaskRepository taskRepository;
     private final NotificationProducer notificationProducer;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskReminderScheduler(TaskRepository taskRepository, NotificationProducer notificationProducer,
+            PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.notificationProducer = notificationProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Scheduled(cron = "${task.reminder.schedule:0 0 * * * *}")
-    @Transactional
     public void checkForDueSoonTasks() {
         LocalDateTime now = LocalDateTime.now();
         String timestamp = now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
@@ -35,21 +45,28 @@ public class TaskReminderScheduler {
         List<TaskEntity> dueSoonTasks = taskRepository.findByDueDateBetweenAndReminderSent(now, threshold, false);
         log.info("[{}] Found {} tasks due soon", timestamp, dueSoonTasks.size());
 
-        for (TaskEntity task : dueSoonTasks) {
+        for (TaskEntity dueSoonTask : dueSoonTasks) {
             try {
-                notificationProducer.sendTaskDueSoonNotification(task);
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Reloaded inside the transaction; skipped when another instance already sent the reminder
+                    TaskEntity task = taskRepository.findById(dueSoonTask.getId()).orElse(null);
+                    if (task == null || task.isReminderSent()) {
+                        return;
+                    }
+                    notificationProducer.sendTaskDueSoonNotification(task);
 
-                task.setReminderSent(true);
-                taskRepository.save(task);
-                log.info("[{}] Sent due soon notification for task ID: {}", timestamp, task.getId());
+                    task.setReminderSent(true);
+                    taskRepository.save(task);
+                });
+                log.info("[{}] Sent due soon notification for task ID: {}", timestamp, dueSoonTask.getId());
             } catch (Exception e) {
-                log.error("[{}] Failed to send notification for task {}: {}", timestamp, task.getId(), e.getMessage());
+                log.error("[{}] Failed to send notification for task {}: {}", timestamp, dueSoonTask.getId(),
+                        e.getMessage());
             }
         }
     }
 
     @Scheduled(cron = "${task.overdue.schedule:0 0 * * * *}")
-    @Transactional
     public void checkForOverdueTasks() {
         LocalDateTime now = LocalDateTime.now();
         String timestamp = now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
@@ -61,23 +78,27 @@ public class TaskReminderScheduler {
 
         log.info("[{}] Found {} overdue tasks that need notifications", timestamp, overdueTasks.size());
 
-        for (TaskEntity task : overdueTasks) {
+        for (TaskEntity overdueTask : overdueTasks) {
             try {
-                // IMPORTANT: Set these flags BEFORE sending notification and saving
-                task.setOverdueNotificationSent(true);
-                task.setStatus(TaskStatus.OVERDUE);
-                
-                // Save the task with updated flags
-                taskRepository.save(task);
-                
-                // Send notification after saving to ensure flags are persisted
-                // even if notification sending fails
-                notificationProducer.sendTaskOverdueNotification(task);
-                
-                log.info("[{}] Sent overdue notification for task ID: {}", timestamp, task.getId());
+                transactionTemplate.executeWithoutResult(status -> {
+                    TaskEntity task = taskRepository.findById(overdueTask.getId()).orElse(null);
+                    if (task == null || task.isOverdueNotificationSent()) {
+                        return;
+                    }
+                    task.setOverdueNotificationSent(true);
+                    task.setStatus(TaskStatus.OVERDUE);
+                    taskRepository.save(task);
+
+                    // The outbox row commits with the flag update, so the run never queues it twice. The relay
+                    // delivers at least once and consumers do not deduplicate, a redelivery shows up twice
+                    notificationProducer.sendTaskOverdueNotification(task);
+                });
+
+                log.info("[{}] Sent overdue notification for task ID: {}", timestamp, overdueTask.getId());
             } catch (Exception e) {
-                log.error("[{}] Failed to send overdue notification for task {}: {}", timestamp, task.getId(), e.getMessage());
+                log.error("[{}] Failed to send overdue notification for task {}: {}", timestamp, overdueTask.getId(),
+                        e.getMessage());
             }
         }
     }
-}
\ No newline at end of file
+}
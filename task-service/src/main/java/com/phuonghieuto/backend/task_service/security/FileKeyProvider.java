@@ -5,6 +5,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -26,13 +28,24 @@ public class FileKeyProvider {
     @Value("${auth.keys.public-key-path:/app/keys/public.pem}")
     private String publicKeyPath;
 
+    // Public keys still accepted besides the current one, e.g. the previous key while rotating
+    @Value("${auth.keys.additional-public-key-paths:}")
+    private List<String> additionalPublicKeyPaths;
+
     private String publicKey;
+    private final List<String> additionalPublicKeys = new ArrayList<>();
 
     @PostConstruct
     public void init() {
         try {
             log.info("Loading keys from paths: public={}", publicKeyPath);
             publicKey = readFileContent(publicKeyPath);
+            for (String path : additionalPublicKeyPaths) {
+                if (!path.isBlank()) {
+                    log.info("Loading additional public key from path: {}", path);
+                    additionalPublicKeys.add(readFileContent(path.trim()));
+                }
+            }
             log.info("Successfully loaded public key from file");
         } catch (Exception e) {
             log.error("Failed to load public key from file", e);
@@ -51,6 +51,7 @@ public class BoardInvitationServiceImpl implements BoardInvitationService {
 
     @Override
     @CacheEvict(value = {"boardInvitations", "userInvitations"}, allEntries = true)
+    @Transactional
     public BoardInvitationResponseDTO createInvitation(String boardId, BoardInvitationRequestDTO invitationRequest) {
         log.info("Creating invitation for board: {}, invitee: {}", boardId, invitationRequest.getEmail());
         String currentUserId = authUtils.getCurrentUserId();
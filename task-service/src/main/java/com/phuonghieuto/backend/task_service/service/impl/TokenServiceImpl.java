@@ -21,6 +21,7 @@ import org.springframework.web.server.ResponseStatusException;
 import com.phuonghieuto.backend.task_service.config.TokenConfigurationParameter;
 import com.phuonghieuto.backend.task_service.model.auth.UserType;
 import com.phuonghieuto.backend.task_service.model.auth.enums.TokenClaims;
+import com.phuonghieuto.backend.task_service.security.KeyIdSigningKeyResolver;
 import com.phuonghieuto.backend.task_service.service.TokenService;
 
 import java.util.ArrayList;
@@ -37,7 +38,8 @@ public class TokenServiceImpl implements TokenService {
     @Cacheable(value = "tokenValidation", key = "#token")
     public void validateToken(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder().setSigningKey(tokenConfigurationParameter.getPublicKey())
+            Jws<Claims> claimsJws = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                     .build().parseClaimsJws(token);
 
             Claims claims = claimsJws.getBody();
@@ -67,7 +69,8 @@ public class TokenServiceImpl implements TokenService {
         try {
             validateToken(token);
 
-            final Jws<Claims> claimsJws = Jwts.parserBuilder().setSigningKey(tokenConfigurationParameter.getPublicKey())
+            final Jws<Claims> claimsJws = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new KeyIdSigningKeyResolver(tokenConfigurationParameter))
                     .build().parseClaimsJws(token);
 
             final JwsHeader<?> jwsHeader = claimsJws.getHeader();
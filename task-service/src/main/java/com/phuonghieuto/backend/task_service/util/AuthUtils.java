@@ -5,7 +5,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
-import com.phuonghieuto.backend.task_service.client.AuthServiceClient;
+import com.phuonghieuto.backend.task_service.client.UserDirectory;
+import com.phuonghieuto.backend.task_service.client.UserProfiles;
 import com.phuonghieuto.backend.task_service.exception.UnauthorizedAccessException;
 import com.phuonghieuto.backend.task_service.model.auth.enums.TokenClaims;
 
@@ -14,7 +15,8 @@ import lombok.RequiredArgsConstructor;
 @Component
 @RequiredArgsConstructor
 public class AuthUtils {
-    private final AuthServiceClient authServiceClient;
+    private final UserDirectory userDirectory;
+    private final UserProfiles userProfiles;
 
     public String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -25,19 +27,23 @@ public class AuthUtils {
         throw new UnauthorizedAccessException("User not authenticated");
     }
 
+    // Batched with concurrent lookups and cached briefly, invitation checks ask for the same email several times
     public String getUserIdFromEmail(String email) {
         try {
-            return authServiceClient.getUserIdFromEmail(email).getUserId();
+            return userDirectory.getUserIdByEmail(email);
         } catch (Exception e) {
             return null;
         }
     }
 
+    // Access tokens only carry the user id, the profile is resolved locally and cached
     public String getCurrentUserEmail() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof Jwt) {
             Jwt jwt = (Jwt) authentication.getPrincipal();
-            return jwt.getClaim(TokenClaims.USER_EMAIL.getValue());
+            // Tokens issued before the compact profile still carry it
+            String email = jwt.getClaim(TokenClaims.USER_EMAIL.getValue());
+            return email != null ? email : userProfiles.getEmail(jwt.getClaim(TokenClaims.USER_ID.getValue()));
         }
         throw new UnauthorizedAccessException("User not authenticated");
     }
@@ -46,7 +52,11 @@ public class AuthUtils {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof Jwt) {
             Jwt jwt = (Jwt) authentication.getPrincipal();
-            return jwt.getClaim(TokenClaims.USER_FIRST_NAME.getValue()) + " " + jwt.getClaim(TokenClaims.USER_LAST_NAME.getValue());
+            if (jwt.hasClaim(TokenClaims.USER_FIRST_NAME.getValue())) {
+                return jwt.getClaim(TokenClaims.USER_FIRST_NAME.getValue()) + " "
+                        + jwt.getClaim(TokenClaims.USER_LAST_NAME.getValue());
+            }
+            return userProfiles.getFullName(jwt.getClaim(TokenClaims.USER_ID.getValue()));
         }
         throw new UnauthorizedAccessException("User not authenticated");
     }
@@ -1,5 +1,6 @@
 package com.phuonghieuto.backend.task_service.util;
 
+import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.experimental.UtilityClass;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
@@ -8,8 +9,15 @@ import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAKey;
+import java.util.Arrays;
+import java.util.Base64;
 
 /**
  * Utility class for converting PEM-encoded keys to {@link PublicKey} and {@link PrivateKey} objects.
@@ -58,4 +66,36 @@ public class KeyConverter {
 
     }
 
+    /**
+     * Derives the {@code kid} of a public key from its encoding, the same way auth-service does when it signs tokens.
+     *
+     * @param publicKey the public key
+     * @return the first 128 bits of the SHA-256 of the encoded key, base64url encoded
+     */
+    public String keyId(final PublicKey publicKey) {
+
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+    }
+
+    /**
+     * Tells whether the key belongs to the family of the signature algorithm, RSA keys for RS/PS algorithms and EC
+     * keys for ES algorithms.
+     *
+     * @param key the key to check
+     * @param signatureAlgorithm the algorithm named in a token header
+     * @return {@code true} if the key can be used with the algorithm
+     */
+    public boolean isKeyFor(final Key key, final SignatureAlgorithm signatureAlgorithm) {
+
+        return (signatureAlgorithm.isRsa() && key instanceof RSAKey)
+                || (signatureAlgorithm.isEllipticCurve() && key instanceof ECKey);
+
+    }
+
 }
@@ -25,7 +25,7 @@ public class TestNotificationConfig {
         
         public TestNotificationProducer() {
             // Call parent constructor with null to avoid Spring trying to autowire
-            super(null);
+            super(null, null);
         }
         
         @Override
@@ -27,9 +27,25 @@ public class TestRabbitMQConfig {
     // Mock all RabbitMQ queue beans
     @Bean
     @Primary
-    public Queue taskNotificationsQueue() {
+    public Queue taskDueSoonQueue() {
         Queue mockQueue = Mockito.mock(Queue.class);
-        Mockito.when(mockQueue.getName()).thenReturn("mock.task.notifications.queue");
+        Mockito.when(mockQueue.getName()).thenReturn("mock.task.due.soon.queue");
+        return mockQueue;
+    }
+
+    @Bean
+    @Primary
+    public Queue taskOverdueQueue() {
+        Queue mockQueue = Mockito.mock(Queue.class);
+        Mockito.when(mockQueue.getName()).thenReturn("mock.task.overdue.queue");
+        return mockQueue;
+    }
+
+    @Bean
+    @Primary
+    public Queue boardInvitationQueue() {
+        Queue mockQueue = Mockito.mock(Queue.class);
+        Mockito.when(mockQueue.getName()).thenReturn("mock.board.invitation.queue");
         return mockQueue;
     }
     
@@ -61,20 +77,20 @@ public class TestRabbitMQConfig {
     // Mock all binding beans with proper parameters to prevent the null destination error
     @Bean
     @Primary
-    public Binding taskDueSoonBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with("task.due.soon");
+    public Binding taskDueSoonBinding(Queue taskDueSoonQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(taskDueSoonQueue).to(tasksExchange).with("task.due.soon");
     }
     
     @Bean
     @Primary
-    public Binding taskOverdueBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with("task.overdue");
+    public Binding taskOverdueBinding(Queue taskOverdueQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(taskOverdueQueue).to(tasksExchange).with("task.overdue");
     }
     
     @Bean
     @Primary
-    public Binding boardInvitationBinding(Queue taskNotificationsQueue, DirectExchange tasksExchange) {
-        return BindingBuilder.bind(taskNotificationsQueue).to(tasksExchange).with("board.invitation");
+    public Binding boardInvitationBinding(Queue boardInvitationQueue, DirectExchange tasksExchange) {
+        return BindingBuilder.bind(boardInvitationQueue).to(tasksExchange).with("board.invitation");
     }
     
     @Bean
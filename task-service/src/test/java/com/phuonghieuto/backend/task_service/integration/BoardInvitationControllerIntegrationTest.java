@@ -30,6 +30,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phuonghieuto.backend.task_service.client.UserDirectoryReplica;
 import com.phuonghieuto.backend.task_service.config.TestTokenConfigurationParameter;
 import com.phuonghieuto.backend.task_service.model.auth.enums.TokenClaims;
 import com.phuonghieuto.backend.task_service.model.collaboration.dto.request.BoardInvitationRequestDTO;
@@ -57,6 +58,9 @@ public class BoardInvitationControllerIntegrationTest extends BaseIntegrationTes
         
         @Autowired
         private TestTokenConfigurationParameter tokenConfigurationParameter;
+
+        @Autowired
+        private UserDirectoryReplica userDirectoryReplica;
         
         private static final String TEST_USER_ID = "test-user-id";
         private static final String TEST_USER_EMAIL = "test@example.com";
@@ -417,6 +421,37 @@ public class BoardInvitationControllerIntegrationTest extends BaseIntegrationTes
                                 .andExpect(jsonPath("$.response", hasSize(2)));
         }
         
+        @Test
+        void getMyPendingInvitations_CompactToken() throws Exception {
+                // Tokens issued now carry only the user id, type and jti, the email comes from the directory
+                userDirectoryReplica.put(TEST_USER_ID, TEST_USER_EMAIL);
+                String compactToken = Jwts.builder()
+                                .setHeaderParam(TokenClaims.TYP.getValue(), "Bearer")
+                                .setId(UUID.randomUUID().toString())
+                                .setIssuedAt(new Date())
+                                .setExpiration(DateUtils.addMinutes(new Date(), 30))
+                                .signWith(tokenConfigurationParameter.getPrivateKey())
+                                .addClaims(Map.of(TokenClaims.USER_ID.getValue(), TEST_USER_ID,
+                                                TokenClaims.USER_TYPE.getValue(), "USER"))
+                                .compact();
+
+                BoardInvitationEntity invitation = new BoardInvitationEntity();
+                invitation.setBoard(testBoard);
+                invitation.setInviterUserId(OTHER_USER_ID);
+                invitation.setInviteeEmail(TEST_USER_EMAIL);
+                invitation.setStatus(InvitationStatus.PENDING);
+                invitation.setExpiresAt(LocalDateTime.now().plusDays(2));
+                invitationRepository.save(invitation);
+
+                mockMvc.perform(get("/board-invitations/my-invitations")
+                                .header("Authorization", "Bearer " + compactToken))
+                                .andDo(print())
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.isSuccess").value(true))
+                                .andExpect(jsonPath("$.response", hasSize(1)))
+                                .andExpect(jsonPath("$.response[0].inviteeEmail").value(TEST_USER_EMAIL));
+        }
+
         @Test
         void getMyPendingInvitations_EmptyList() throws Exception {
                 // No invitations for the test user
@@ -26,8 +26,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -42,6 +40,7 @@ import com.phuonghieuto.backend.task_service.model.collaboration.dto.request.Boa
 import com.phuonghieuto.backend.task_service.model.collaboration.dto.response.BoardInvitationResponseDTO;
 import com.phuonghieuto.backend.task_service.model.collaboration.enums.InvitationStatus;
 import com.phuonghieuto.backend.task_service.service.BoardInvitationService;
+import com.phuonghieuto.backend.task_service.util.AuthUtils;
 
 @ExtendWith(MockitoExtension.class)
 class BoardInvitationControllerTest {
@@ -53,9 +52,7 @@ class BoardInvitationControllerTest {
         private BoardInvitationService boardInvitationService;
 
         @Mock
-        private Authentication authentication;
-        @Mock
-        private Jwt jwt;
+        private AuthUtils authUtils;
 
         @InjectMocks
         private BoardInvitationController boardInvitationController;
@@ -280,33 +277,31 @@ class BoardInvitationControllerTest {
 
         @Test
         void getMyPendingInvitations_Success() throws Exception {
-                when(authentication.getPrincipal()).thenReturn(jwt);
-                when(jwt.getClaim("userEmail")).thenReturn(TEST_EMAIL);
+                when(authUtils.getCurrentUserEmail()).thenReturn(TEST_EMAIL);
                 when(boardInvitationService.getPendingInvitationsForUser(TEST_EMAIL))
                                 .thenReturn(invitationResponseList);
 
-                mockMvc.perform(get("/board-invitations/my-invitations").principal(authentication))
+                mockMvc.perform(get("/board-invitations/my-invitations"))
                                 .andExpect(status().isOk()).andExpect(jsonPath("$.isSuccess").value(true))
                                 .andExpect(jsonPath("$.response").isArray())
                                 .andExpect(jsonPath("$.response", hasSize(2)));
 
-                verify(authentication, times(1)).getPrincipal();
+                verify(authUtils, times(1)).getCurrentUserEmail();
                 verify(boardInvitationService, times(1)).getPendingInvitationsForUser(TEST_EMAIL);
         }
 
         @Test
         void getMyPendingInvitations_EmptyList() throws Exception {
-                when(authentication.getPrincipal()).thenReturn(jwt);
-                when(jwt.getClaim("userEmail")).thenReturn(TEST_EMAIL);
+                when(authUtils.getCurrentUserEmail()).thenReturn(TEST_EMAIL);
                 when(boardInvitationService.getPendingInvitationsForUser(TEST_EMAIL))
                                 .thenReturn(Collections.emptyList());
 
-                mockMvc.perform(get("/board-invitations/my-invitations").principal(authentication))
+                mockMvc.perform(get("/board-invitations/my-invitations"))
                                 .andExpect(status().isOk()).andExpect(jsonPath("$.isSuccess").value(true))
                                 .andExpect(jsonPath("$.response").isArray())
                                 .andExpect(jsonPath("$.response").isEmpty());
 
-                verify(authentication, times(1)).getPrincipal();
+                verify(authUtils, times(1)).getCurrentUserEmail();
                 verify(boardInvitationService, times(1)).getPendingInvitationsForUser(TEST_EMAIL);
         }
 
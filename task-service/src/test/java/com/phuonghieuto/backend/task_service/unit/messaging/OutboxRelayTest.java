@@ -0,0 +1,174 @@
+package com.phuonghieuto.backend.task_service.unit.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.net.ConnectException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitOperations.OperationsCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import com.phuonghieuto.backend.task_service.messaging.outbox.OutboxRelay;
+import com.phuonghieuto.backend.task_service.model.outbox.entity.OutboxMessageEntity;
+import com.phuonghieuto.backend.task_service.model.outbox.enums.OutboxStatus;
+import com.phuonghieuto.backend.task_service.repository.OutboxMessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxMessageRepository, rabbitTemplate, transactionManager);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "confirmTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 5);
+        ReflectionTestUtils.setField(relay, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 300_000L);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    private static OutboxMessageEntity outboxMessage(String id) {
+        OutboxMessageEntity outboxMessage = OutboxMessageEntity.builder().exchange("task.events.exchange")
+                .routingKey("task.overdue").payload("{\"taskId\":\"" + id + "\"}").build();
+        outboxMessage.setId(id);
+        return outboxMessage;
+    }
+
+    // The broker confirms every publish except the ones that contain the poison message
+    @SuppressWarnings("unchecked")
+    private void brokerRefuses(String poisonId) {
+        when(rabbitTemplate.invoke(any(OperationsCallback.class))).thenAnswer(invocation -> {
+            List<String> sent = new ArrayList<>();
+            RabbitOperations operations = mock(RabbitOperations.class);
+            doAnswer(send -> sent.add(send.getArgument(2, Message.class).getMessageProperties().getMessageId()))
+                    .when(operations).send(anyString(), anyString(), any(Message.class));
+            doAnswer(wait -> {
+                if (sent.contains(poisonId)) {
+                    throw new AmqpException("Nack received for " + poisonId);
+                }
+                return null;
+            }).when(operations).waitForConfirmsOrDie(anyLong());
+            return invocation.getArgument(0, OperationsCallback.class).doInRabbit(operations);
+        });
+    }
+
+    @Test
+    void relayPendingMessages_PoisonRow_OthersRelayedAndPoisonBackedOff() {
+        // Arrange
+        OutboxMessageEntity first = outboxMessage("outbox-1");
+        OutboxMessageEntity poison = outboxMessage("outbox-2");
+        poison.setAttempts(2);
+        OutboxMessageEntity third = outboxMessage("outbox-3");
+        when(outboxMessageRepository.findBatchForRelay(eq(OutboxStatus.PENDING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(first, poison, third));
+        brokerRefuses("outbox-2");
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        relay.relayPendingMessages();
+
+        // Assert - the rows around the poison message are not held back by it
+        verify(outboxMessageRepository).deleteAllInBatch(List.of(first, third));
+        assertEquals(3, poison.getAttempts());
+        assertEquals(OutboxStatus.PENDING, poison.getStatus());
+        assertNotNull(poison.getLastError());
+        // Third attempt failed: 1 s doubled twice
+        assertFalse(poison.getNextAttemptAt().isBefore(before.plusSeconds(4)));
+        assertTrue(poison.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(5)));
+    }
+
+    @Test
+    void relayPendingMessages_PoisonRowOutOfAttempts_MarkedFailed() {
+        // Arrange
+        OutboxMessageEntity poison = outboxMessage("outbox-1");
+        poison.setAttempts(4);
+        when(outboxMessageRepository.findBatchForRelay(eq(OutboxStatus.PENDING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(poison));
+        brokerRefuses("outbox-1");
+
+        // Act
+        relay.relayPendingMessages();
+
+        // Assert - moved aside instead of being retried forever
+        assertEquals(5, poison.getAttempts());
+        assertEquals(OutboxStatus.FAILED, poison.getStatus());
+        assertNull(poison.getNextAttemptAt());
+        verify(outboxMessageRepository, never()).deleteAllInBatch(anyList());
+    }
+
+    @Test
+    void relayPendingMessages_WholeBatchConfirmed_DeletedTogether() {
+        // Arrange
+        OutboxMessageEntity first = outboxMessage("outbox-1");
+        OutboxMessageEntity second = outboxMessage("outbox-2");
+        when(outboxMessageRepository.findBatchForRelay(eq(OutboxStatus.PENDING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(first, second));
+        brokerRefuses("none");
+
+        // Act
+        relay.relayPendingMessages();
+
+        // Assert - one publish for the batch
+        verify(rabbitTemplate, times(1)).invoke(any(OperationsCallback.class));
+        verify(outboxMessageRepository).deleteAllInBatch(List.of(first, second));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayPendingMessages_BrokerUnreachable_RowsUntouchedAndRelayPaused() {
+        // Arrange
+        OutboxMessageEntity outboxMessage = outboxMessage("outbox-1");
+        when(outboxMessageRepository.findBatchForRelay(eq(OutboxStatus.PENDING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(List.of(outboxMessage));
+        when(rabbitTemplate.invoke(any(OperationsCallback.class)))
+                .thenThrow(new AmqpConnectException(new ConnectException("Connection refused")));
+
+        // Act
+        relay.relayPendingMessages();
+        relay.relayPendingMessages();
+
+        // Assert - no attempt charged to the row, the second run waits out the pause
+        assertEquals(0, outboxMessage.getAttempts());
+        assertNull(outboxMessage.getNextAttemptAt());
+        verify(outboxMessageRepository, never()).deleteAllInBatch(anyList());
+        verify(outboxMessageRepository, times(1)).findBatchForRelay(any(), any(), any());
+    }
+}
@@ -0,0 +1,115 @@
+package com.phuonghieuto.backend.task_service.unit.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import com.phuonghieuto.backend.task_service.messaging.producer.NotificationProducer;
+import com.phuonghieuto.backend.task_service.model.task.entity.TaskEntity;
+import com.phuonghieuto.backend.task_service.model.task.enums.TaskStatus;
+import com.phuonghieuto.backend.task_service.repository.TaskRepository;
+import com.phuonghieuto.backend.task_service.scheduler.TaskReminderScheduler;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReminderSchedulerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private NotificationProducer notificationProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TaskReminderScheduler(taskRepository, notificationProducer, transactionManager);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    private static TaskEntity task(String id) {
+        TaskEntity task = new TaskEntity();
+        task.setId(id);
+        task.setStatus(TaskStatus.TODO);
+        task.setDueDate(LocalDateTime.now().minusDays(1));
+        return task;
+    }
+
+    @Test
+    void checkForOverdueTasks_OneTaskFails_OthersStillCommitted() {
+        // Arrange
+        TaskEntity failing = task("task-1");
+        TaskEntity healthy = task("task-2");
+        when(taskRepository.findByDueDateBeforeAndStatusAndOverdueNotificationSentFalse(any(LocalDateTime.class),
+                eq(TaskStatus.TODO))).thenReturn(List.of(task("task-1"), task("task-2")));
+        when(taskRepository.findById("task-1")).thenReturn(Optional.of(failing));
+        when(taskRepository.findById("task-2")).thenReturn(Optional.of(healthy));
+        doThrow(new IllegalStateException("outbox insert failed")).when(notificationProducer)
+                .sendTaskOverdueNotification(failing);
+
+        // Act
+        scheduler.checkForOverdueTasks();
+
+        // Assert - the failure rolls back its own transaction only
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(notificationProducer).sendTaskOverdueNotification(healthy);
+        assertTrue(healthy.isOverdueNotificationSent());
+        assertEquals(TaskStatus.OVERDUE, healthy.getStatus());
+    }
+
+    @Test
+    void checkForDueSoonTasks_AlreadySentByAnotherRun_Skipped() {
+        // Arrange
+        TaskEntity alreadySent = task("task-1");
+        alreadySent.setReminderSent(true);
+        when(taskRepository.findByDueDateBetweenAndReminderSent(any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(false))).thenReturn(List.of(task("task-1")));
+        when(taskRepository.findById("task-1")).thenReturn(Optional.of(alreadySent));
+
+        // Act
+        scheduler.checkForDueSoonTasks();
+
+        // Assert
+        verify(notificationProducer, never()).sendTaskDueSoonNotification(any(TaskEntity.class));
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+    }
+
+    @Test
+    void checkForDueSoonTasks_ReminderQueued_FlagSetInSameTransaction() {
+        // Arrange
+        TaskEntity dueSoon = task("task-1");
+        when(taskRepository.findByDueDateBetweenAndReminderSent(any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(false))).thenReturn(List.of(task("task-1")));
+        when(taskRepository.findById("task-1")).thenReturn(Optional.of(dueSoon));
+
+        // Act
+        scheduler.checkForDueSoonTasks();
+
+        // Assert
+        verify(notificationProducer).sendTaskDueSoonNotification(dueSoon);
+        verify(taskRepository).save(dueSoon);
+        verify(transactionManager).commit(any());
+        assertTrue(dueSoon.isReminderSent());
+        assertFalse(dueSoon.isOverdueNotificationSent());
+    }
+}